@@ -0,0 +1,309 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.annotation.Prototype;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+
+/**
+ * Looks up prototype beans by a rotating set of types, more types than the bean candidate
+ * caches used to hold.
+ */
+@State(Scope.Benchmark)
+public class BeanLookupBenchmark {
+
+    private static final List<Class<?>> TYPES = List.of(
+        Lookup00.class, Lookup01.class, Lookup02.class, Lookup03.class, Lookup04.class, Lookup05.class, Lookup06.class, Lookup07.class,
+        Lookup08.class, Lookup09.class, Lookup10.class, Lookup11.class, Lookup12.class, Lookup13.class, Lookup14.class, Lookup15.class,
+        Lookup16.class, Lookup17.class, Lookup18.class, Lookup19.class, Lookup20.class, Lookup21.class, Lookup22.class, Lookup23.class,
+        Lookup24.class, Lookup25.class, Lookup26.class, Lookup27.class, Lookup28.class, Lookup29.class, Lookup30.class, Lookup31.class,
+        Lookup32.class, Lookup33.class, Lookup34.class, Lookup35.class, Lookup36.class, Lookup37.class, Lookup38.class, Lookup39.class,
+        Lookup40.class, Lookup41.class, Lookup42.class, Lookup43.class, Lookup44.class, Lookup45.class, Lookup46.class, Lookup47.class,
+        Lookup48.class, Lookup49.class, Lookup50.class, Lookup51.class, Lookup52.class, Lookup53.class, Lookup54.class, Lookup55.class,
+        Lookup56.class, Lookup57.class, Lookup58.class, Lookup59.class, Lookup60.class, Lookup61.class, Lookup62.class, Lookup63.class
+    );
+
+    @Param({"16", "64"})
+    int typeCount;
+
+    ApplicationContext context;
+    Class<?>[] types;
+    int next;
+
+    @Setup
+    public void setup() {
+        context = ApplicationContext.run();
+        types = TYPES.subList(0, typeCount).toArray(new Class<?>[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void getBean(Blackhole blackhole) {
+        Class<?> type = types[next++ % types.length];
+        blackhole.consume(context.getBean(type));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + BeanLookupBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    public interface Lookup00 {
+    }
+
+    public interface Lookup01 {
+    }
+
+    public interface Lookup02 {
+    }
+
+    public interface Lookup03 {
+    }
+
+    public interface Lookup04 {
+    }
+
+    public interface Lookup05 {
+    }
+
+    public interface Lookup06 {
+    }
+
+    public interface Lookup07 {
+    }
+
+    public interface Lookup08 {
+    }
+
+    public interface Lookup09 {
+    }
+
+    public interface Lookup10 {
+    }
+
+    public interface Lookup11 {
+    }
+
+    public interface Lookup12 {
+    }
+
+    public interface Lookup13 {
+    }
+
+    public interface Lookup14 {
+    }
+
+    public interface Lookup15 {
+    }
+
+    public interface Lookup16 {
+    }
+
+    public interface Lookup17 {
+    }
+
+    public interface Lookup18 {
+    }
+
+    public interface Lookup19 {
+    }
+
+    public interface Lookup20 {
+    }
+
+    public interface Lookup21 {
+    }
+
+    public interface Lookup22 {
+    }
+
+    public interface Lookup23 {
+    }
+
+    public interface Lookup24 {
+    }
+
+    public interface Lookup25 {
+    }
+
+    public interface Lookup26 {
+    }
+
+    public interface Lookup27 {
+    }
+
+    public interface Lookup28 {
+    }
+
+    public interface Lookup29 {
+    }
+
+    public interface Lookup30 {
+    }
+
+    public interface Lookup31 {
+    }
+
+    public interface Lookup32 {
+    }
+
+    public interface Lookup33 {
+    }
+
+    public interface Lookup34 {
+    }
+
+    public interface Lookup35 {
+    }
+
+    public interface Lookup36 {
+    }
+
+    public interface Lookup37 {
+    }
+
+    public interface Lookup38 {
+    }
+
+    public interface Lookup39 {
+    }
+
+    public interface Lookup40 {
+    }
+
+    public interface Lookup41 {
+    }
+
+    public interface Lookup42 {
+    }
+
+    public interface Lookup43 {
+    }
+
+    public interface Lookup44 {
+    }
+
+    public interface Lookup45 {
+    }
+
+    public interface Lookup46 {
+    }
+
+    public interface Lookup47 {
+    }
+
+    public interface Lookup48 {
+    }
+
+    public interface Lookup49 {
+    }
+
+    public interface Lookup50 {
+    }
+
+    public interface Lookup51 {
+    }
+
+    public interface Lookup52 {
+    }
+
+    public interface Lookup53 {
+    }
+
+    public interface Lookup54 {
+    }
+
+    public interface Lookup55 {
+    }
+
+    public interface Lookup56 {
+    }
+
+    public interface Lookup57 {
+    }
+
+    public interface Lookup58 {
+    }
+
+    public interface Lookup59 {
+    }
+
+    public interface Lookup60 {
+    }
+
+    public interface Lookup61 {
+    }
+
+    public interface Lookup62 {
+    }
+
+    public interface Lookup63 {
+    }
+
+    @Prototype
+    public static class LookupBean0 implements Lookup00, Lookup01, Lookup02, Lookup03, Lookup04, Lookup05, Lookup06, Lookup07 {
+    }
+
+    @Prototype
+    public static class LookupBean1 implements Lookup08, Lookup09, Lookup10, Lookup11, Lookup12, Lookup13, Lookup14, Lookup15 {
+    }
+
+    @Prototype
+    public static class LookupBean2 implements Lookup16, Lookup17, Lookup18, Lookup19, Lookup20, Lookup21, Lookup22, Lookup23 {
+    }
+
+    @Prototype
+    public static class LookupBean3 implements Lookup24, Lookup25, Lookup26, Lookup27, Lookup28, Lookup29, Lookup30, Lookup31 {
+    }
+
+    @Prototype
+    public static class LookupBean4 implements Lookup32, Lookup33, Lookup34, Lookup35, Lookup36, Lookup37, Lookup38, Lookup39 {
+    }
+
+    @Prototype
+    public static class LookupBean5 implements Lookup40, Lookup41, Lookup42, Lookup43, Lookup44, Lookup45, Lookup46, Lookup47 {
+    }
+
+    @Prototype
+    public static class LookupBean6 implements Lookup48, Lookup49, Lookup50, Lookup51, Lookup52, Lookup53, Lookup54, Lookup55 {
+    }
+
+    @Prototype
+    public static class LookupBean7 implements Lookup56, Lookup57, Lookup58, Lookup59, Lookup60, Lookup61, Lookup62, Lookup63 {
+    }
+}
@@ -15,10 +15,12 @@
  */
 package io.micronaut.context.env;
 
+import io.micronaut.core.naming.conventions.StringConvention;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -31,12 +33,24 @@ import java.util.Map;
 public class PropertySourcePropertyResolverBenchmark {
 
     Map<String, String> props = new HashMap<>();
+    PropertySourcePropertyResolver eachPropertyResolver;
+    int next;
 
     @Setup
     public void prepare() {
         for (int i = 0; i < 600; i++) {
              props.put(i + "}_A_B_C_D_E_F_G_SERVICE_PORT", "foo");
         }
+        // an @EachProperty like configuration with many entries under the same letter
+        Map<String, Object> datasources = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            datasources.put("datasources.ds" + i + ".url", "jdbc:h2:mem:ds" + i);
+            datasources.put("datasources.ds" + i + ".username", "${db.user}");
+            datasources.put("datasources.ds" + i + ".pool.max-size", i);
+            datasources.put("data.other" + i, i);
+        }
+        datasources.put("db.user", "sa");
+        eachPropertyResolver = new PropertySourcePropertyResolver(PropertySource.of("datasources", datasources));
     }
 
     @Benchmark
@@ -44,6 +58,18 @@ public class PropertySourcePropertyResolverBenchmark {
         new PropertySourcePropertyResolver(new EnvironmentPropertySource(props));
     }
 
+    @Benchmark
+    public void benchmarkPropertyEntries(Blackhole blackhole) {
+        blackhole.consume(eachPropertyResolver.getPropertyEntries("datasources"));
+    }
+
+    @Benchmark
+    public void benchmarkEachPropertyBinding(Blackhole blackhole) {
+        String prefix = "datasources.ds" + (next++ % 500);
+        blackhole.consume(eachPropertyResolver.containsProperties(prefix));
+        blackhole.consume(eachPropertyResolver.getProperties(prefix, StringConvention.RAW));
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + PropertySourcePropertyResolverBenchmark.class.getSimpleName() + ".*")
@@ -16,6 +16,7 @@
 package io.micronaut.core.convert;
 
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -29,11 +30,17 @@ import java.net.URI;
 @State(Scope.Benchmark)
 public class ConversionServiceBenchmark {
 
+    /**
+     * Whether warm conversions are looked up by class identity or with the pair keyed cache.
+     */
+    @Param({"true", "false"})
+    boolean directDispatch;
+
     ConversionService conversionService;
 
     @Setup
     public void prepare() {
-        conversionService = ConversionService.SHARED;
+        conversionService = new DefaultMutableConversionService(directDispatch);
     }
 
     @Benchmark
@@ -41,6 +48,16 @@ public class ConversionServiceBenchmark {
         return conversionService.convert("10", Integer.class);
     }
 
+    @Benchmark
+    public Object convertSuperTypeCacheHit() {
+        return conversionService.convert(new StringBuilder("10"), Integer.class);
+    }
+
+    @Benchmark
+    public boolean canConvertCacheHit() {
+        return conversionService.canConvert(String.class, Integer.class);
+    }
+
     @Benchmark
     public Object convertCacheMiss() {
         return conversionService.convert(URI.create("http://test.com"), Integer.class);
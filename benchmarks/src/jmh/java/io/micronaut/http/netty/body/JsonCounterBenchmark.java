@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.body;
+
+import io.micronaut.json.JsonSyntaxException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans NDJSON and array bodies of different sizes in 8 KiB chunks, as they arrive from Netty,
+ * with and without the eight bytes at a time scanning of {@link JsonCounter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonCounterBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"16384", "1048576", "8388608"})
+    int payloadSize;
+
+    @Param({"NDJSON", "ARRAY"})
+    Format format;
+
+    @Param({"true", "false"})
+    boolean swar;
+
+    ByteBuf[] chunks;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        StringBuilder payload = new StringBuilder(payloadSize + 512);
+        if (format == Format.ARRAY) {
+            payload.append('[');
+        }
+        for (int i = 0; payload.length() < payloadSize; i++) {
+            if (i > 0) {
+                payload.append(format == Format.ARRAY ? ",\n" : "\n");
+            }
+            payload.append("{\"id\":").append(i)
+                .append(",\"name\":\"customer-").append(random.nextInt(100_000)).append('"')
+                .append(",\"email\":\"user").append(i).append("@example.com\"")
+                .append(",\"active\":").append(random.nextBoolean())
+                .append(",\"tags\":[\"alpha\",\"beta\",\"gamma\"]")
+                .append(",\"address\":{\"street\":\"").append(random.nextInt(1000)).append(" Main Street\",\"city\":\"Springfield\"}")
+                .append(",\"note\":\"a \\\"quoted\\\" description with some length to it, as found in real payloads\"}");
+        }
+        if (format == Format.ARRAY) {
+            payload.append(']');
+        }
+        byte[] bytes = payload.toString().getBytes(StandardCharsets.UTF_8);
+        chunks = new ByteBuf[(bytes.length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            int offset = i * CHUNK_SIZE;
+            chunks[i] = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes, offset, Math.min(CHUNK_SIZE, bytes.length - offset)));
+        }
+    }
+
+    @Benchmark
+    public long scan() throws JsonSyntaxException {
+        JsonCounter counter = new JsonCounter(swar);
+        if (format == Format.ARRAY) {
+            counter.unwrapTopLevelArray();
+        }
+        long nodes = 0;
+        for (ByteBuf chunk : chunks) {
+            ByteBuf buf = chunk.duplicate();
+            while (buf.isReadable()) {
+                counter.feed(buf);
+                if (counter.pollFlushedRegion() != null) {
+                    nodes++;
+                }
+            }
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + JsonCounterBenchmark.class.getSimpleName() + ".*")
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    public enum Format {
+        NDJSON,
+        ARRAY,
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server;
+
+import io.micronaut.http.netty.body.FileRegionByteBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.FileRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways a {@link FileRegionByteBody} can be sent to a loopback socket: the stream
+ * that was used for all file bodies before, the memory-mapped chunks used for TLS and HTTP/2,
+ * and the zero-copy file region used for plaintext HTTP/1.1. Run with {@code -prof perfnorm}
+ * (or {@code -prof gc}) to compare the CPU and allocation cost per byte served.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileTransferBenchmark {
+
+    @Param({"65536", "16777216"})
+    int fileSize;
+
+    Path file;
+    ServerSocketChannel server;
+    SocketChannel client;
+    Thread drain;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("file-transfer-benchmark", ".bin");
+        byte[] data = new byte[fileSize];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Files.write(file, data);
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = SocketChannel.open(server.getLocalAddress());
+        SocketChannel accepted = server.accept();
+        drain = new Thread(() -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+            try (accepted) {
+                while (accepted.read(buffer) != -1) {
+                    buffer.clear();
+                }
+            } catch (IOException ignored) {
+            }
+        }, "file-transfer-benchmark-drain");
+        drain.setDaemon(true);
+        drain.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        drain.join();
+        server.close();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public long stream() throws IOException {
+        long written = 0;
+        try (InputStream stream = body().toInputStream()) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = stream.read(buffer)) != -1) {
+                written += writeFully(ByteBuffer.wrap(buffer, 0, n));
+            }
+        }
+        return written;
+    }
+
+    @Benchmark
+    public long mapped() {
+        // the chunks are generated synchronously on subscribe
+        MappedSubscriber subscriber = new MappedSubscriber();
+        body().toMappedByteBufs().subscribe(subscriber);
+        if (subscriber.failure != null) {
+            throw new IllegalStateException(subscriber.failure);
+        }
+        return subscriber.written;
+    }
+
+    @Benchmark
+    public long fileRegion() throws IOException {
+        FileRegion region = body().toFileRegion();
+        try {
+            while (region.transferred() < region.count()) {
+                region.transferTo(client, region.transferred());
+            }
+            return region.transferred();
+        } finally {
+            region.release();
+        }
+    }
+
+    private FileRegionByteBody body() {
+        try {
+            return new FileRegionByteBody(FileChannel.open(file, StandardOpenOption.READ), 0, fileSize, Runnable::run);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeFully(ByteBuffer buffer) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += client.write(buffer);
+        }
+        return written;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + FileTransferBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private final class MappedSubscriber implements Subscriber<ByteBuf> {
+        long written;
+        Throwable failure;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuf chunk) {
+            try {
+                written += writeFully(chunk.nioBuffer());
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                chunk.release();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failure = t;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.web.router.DefaultRouteBuilder;
+import io.micronaut.web.router.DefaultRouter;
+import io.micronaut.web.router.UriRoute;
+import io.micronaut.web.router.UriRouteInfo;
+import io.micronaut.web.router.UriRouteMatch;
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the indexed route lookup of {@link DefaultRouter} with a linear scan over all the routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000", "1400"})
+    int routeCount;
+
+    ApplicationContext context;
+    DefaultRouter router;
+    List<UriRouteInfo<Object, Object>> routes;
+    HttpRequest<?> staticRequest;
+    HttpRequest<?> variableRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = ApplicationContext.run();
+        DefaultRouteBuilder builder = new DefaultRouteBuilder(context) {
+        };
+        for (int i = 0; i < routeCount; i++) {
+            builder.GET("/api/v1/resource" + i, RouterTarget.class, "list");
+            builder.GET("/api/v1/resource" + i + "/{id}", RouterTarget.class, "show", String.class);
+        }
+        router = new DefaultRouter(builder);
+        routes = new ArrayList<>(builder.getUriRoutes().size());
+        for (UriRoute uriRoute : builder.getUriRoutes()) {
+            routes.add(uriRoute.toRouteInfo());
+        }
+        Collections.sort(routes);
+        int target = routeCount / 2;
+        staticRequest = HttpRequest.GET("/api/v1/resource" + target);
+        variableRequest = HttpRequest.GET("/api/v1/resource" + target + "/42");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void indexedStatic(Blackhole blackhole) {
+        blackhole.consume(router.findClosest(staticRequest));
+    }
+
+    @Benchmark
+    public void indexedVariable(Blackhole blackhole) {
+        blackhole.consume(router.findClosest(variableRequest));
+    }
+
+    @Benchmark
+    public void linearStatic(Blackhole blackhole) {
+        linear(staticRequest, blackhole);
+    }
+
+    @Benchmark
+    public void linearVariable(Blackhole blackhole) {
+        linear(variableRequest, blackhole);
+    }
+
+    private void linear(HttpRequest<?> request, Blackhole blackhole) {
+        String path = request.getPath();
+        for (UriRouteInfo<Object, Object> route : routes) {
+            if (!route.producesAll() && !route.doesProduce(request.accept())) {
+                continue;
+            }
+            if (!route.matching(request)) {
+                continue;
+            }
+            UriRouteMatch<Object, Object> match = route.tryMatch(path);
+            if (match != null) {
+                blackhole.consume(match);
+                return;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + RouterBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Singleton
+    @Executable
+    static class RouterTarget {
+        String list() {
+            return "list";
+        }
+
+        String show(String id) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of a controller that blocks on simulated I/O when it runs on a fixed
+ * pool of platform threads ({@code micronaut.server.thread-selection: IO}) and when every
+ * request runs on its own virtual thread ({@code micronaut.server.thread-selection: VIRTUAL}).
+ * Each invocation sends {@value #REQUESTS} concurrent requests over loopback. Requires a JVM
+ * with virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VirtualThreadBenchmark {
+    static final int REQUESTS = 256;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    Threads threads;
+
+    /**
+     * Size of the platform thread pool.
+     */
+    @Param({"32"})
+    int poolSize;
+
+    /**
+     * How long the controller blocks per request.
+     */
+    @Param({"1", "10"})
+    int blockMillis;
+
+    EmbeddedServer server;
+    HttpClient client;
+    HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = ApplicationContext.run(EmbeddedServer.class, Map.<String, Object>of(
+            "spec.name", "VirtualThreadBenchmark",
+            "micronaut.server.port", -1,
+            "micronaut.server.thread-selection", threads == Threads.VIRTUAL ? "VIRTUAL" : "IO",
+            "micronaut.executors.io.type", "fixed",
+            "micronaut.executors.io.n-threads", poolSize
+        ));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create(server.getURI() + "/blocking?millis=" + blockMillis)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int blockingRequests() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + VirtualThreadBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    public enum Threads {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    @Requires(property = "spec.name", value = "VirtualThreadBenchmark")
+    @Controller
+    static class BlockingController {
+        @Get("/blocking")
+        String blocking(@QueryValue int millis) throws InterruptedException {
+            // simulated blocking I/O, e.g. a JDBC call
+            Thread.sleep(millis);
+            return "done";
+        }
+    }
+}
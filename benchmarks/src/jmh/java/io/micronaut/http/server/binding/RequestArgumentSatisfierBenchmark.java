@@ -15,7 +15,6 @@
  */
 package io.micronaut.http.server.binding;
 
-import io.micronaut.aop.around.AroundCompileBenchmark;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MutableHttpRequest;
@@ -25,6 +24,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -54,9 +54,22 @@ public class RequestArgumentSatisfierBenchmark {
         );
     }
 
+    @Benchmark
+    public void benchmarkFulfillPrimitiveArgumentRequirements() {
+        final MutableHttpRequest<Object> request = HttpRequest.GET("/arguments/page?page=3&offset=4000&ratio=0.5")
+                .header("X-Debug", "true");
+        final UriRouteMatch<Object, Object> routeMatch = router.find(request.getMethod(), request.getPath(), request).findFirst().orElse(null);
+        requestArgumentSatisfier.fulfillArgumentRequirementsBeforeFilters(
+                routeMatch,
+                request
+        );
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
-                .include(".*" + AroundCompileBenchmark.class.getSimpleName() + ".*")
+                .include(".*" + RequestArgumentSatisfierBenchmark.class.getSimpleName() + ".*")
+                // the gc.alloc.rate.norm column shows the bytes allocated to bind the arguments
+                .addProfiler(GCProfiler.class)
                 .warmupIterations(3)
                 .measurementIterations(5)
                 .forks(1)
@@ -17,6 +17,8 @@ package io.micronaut.http.server.binding;
 
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.QueryValue;
 
 @Controller("/arguments")
 public class TestController {
@@ -25,4 +27,9 @@ public class TestController {
     String show(String name, int age) {
         return name + " is " + age;
     }
+
+    @Get("/page")
+    String page(@QueryValue int page, @QueryValue long offset, @QueryValue double ratio, @Header("X-Debug") boolean debug) {
+        return page + " " + offset + " " + ratio + " " + debug;
+    }
 }
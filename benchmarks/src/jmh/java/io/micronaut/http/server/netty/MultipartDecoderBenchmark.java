@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.multipart.HttpPostMultipartRequestDecoder;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import io.netty.handler.codec.http.multipart.InterfaceHttpPostRequestDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a multipart body with a file part of different sizes in 8 KiB chunks, as it arrives
+ * from Netty, with the netty decoder and with the {@link StreamingMultipartDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MultipartDecoderBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final String BOUNDARY = "----micronaut-benchmark-boundary";
+
+    @Param({"65536", "1048576", "16777216"})
+    int fileSize;
+
+    @Param({"true", "false"})
+    boolean streaming;
+
+    HttpRequest request;
+    HttpServerConfiguration.MultipartConfiguration multipartConfiguration;
+    ByteBuf[] chunks;
+
+    @Setup
+    public void setup() {
+        request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload");
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY);
+        multipartConfiguration = new HttpServerConfiguration.MultipartConfiguration();
+        multipartConfiguration.setMaxFileSize(Long.MAX_VALUE);
+
+        byte[] file = new byte[fileSize];
+        new Random(42).nextBytes(file);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(fileSize + 512);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"title\"\r\n\r\n"
+            + "benchmark upload\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"file.bin\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        byte[] bytes = body.toByteArray();
+        chunks = new ByteBuf[(bytes.length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            int offset = i * CHUNK_SIZE;
+            int length = Math.min(CHUNK_SIZE, bytes.length - offset);
+            chunks[i] = Unpooled.unreleasableBuffer(Unpooled.directBuffer(length).writeBytes(bytes, offset, length));
+        }
+    }
+
+    @Benchmark
+    public long decode() {
+        MicronautHttpData.Factory factory = new MicronautHttpData.Factory(multipartConfiguration, StandardCharsets.UTF_8);
+        InterfaceHttpPostRequestDecoder decoder = streaming
+            ? new StreamingMultipartDecoder(factory, request, StandardCharsets.UTF_8, 128, 1024)
+            : new HttpPostMultipartRequestDecoder(factory, request, StandardCharsets.UTF_8, 128, 1024);
+        long length = 0;
+        try {
+            for (int i = 0; i < chunks.length; i++) {
+                ByteBuf chunk = chunks[i].duplicate();
+                HttpContent content = i == chunks.length - 1 ? new DefaultLastHttpContent(chunk) : new DefaultHttpContent(chunk);
+                decoder.offer(content);
+                try {
+                    while (decoder.hasNext()) {
+                        InterfaceHttpData data = decoder.next();
+                        length += ((MicronautHttpData<?>) data).length();
+                    }
+                } catch (HttpPostRequestDecoder.EndOfDataDecoderException e) {
+                    // netty decoder is done
+                }
+            }
+        } finally {
+            decoder.destroy();
+        }
+        return length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + MultipartDecoderBenchmark.class.getSimpleName() + ".*")
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -4,6 +4,7 @@ import io.micronaut.context.ApplicationContext;
 import io.micronaut.http.server.netty.NettyHttpServer;
 import io.micronaut.runtime.server.EmbeddedServer;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
@@ -51,6 +52,15 @@ public class FullHttpStackBenchmark {
         response.release();
     }
 
+    @Benchmark
+    public int http2ManySmallResponses(Http2Holder holder) {
+        int responses = holder.exchange();
+        if (responses != holder.streamsPerExchange) {
+            throw new AssertionError("Expected " + holder.streamsPerExchange + " responses, got " + responses);
+        }
+        return responses;
+    }
+
     public static void main(String[] args) throws Exception {
         JmhFastThreadLocalExecutor exec = new JmhFastThreadLocalExecutor(1, "init-test");
         exec.submit(() -> {
@@ -61,6 +71,12 @@ public class FullHttpStackBenchmark {
                 holder.setUp();
                 holder.tearDown();
             }
+            for (boolean flushConsolidation : new boolean[]{false, true}) {
+                Http2Holder holder = new Http2Holder();
+                holder.flushConsolidation = flushConsolidation;
+                holder.setUp();
+                holder.tearDown();
+            }
             return null;
         }).get();
         exec.shutdown();
@@ -147,6 +163,140 @@ public class FullHttpStackBenchmark {
         }
     }
 
+    /**
+     * An HTTP/2 connection with prior knowledge that sends many small GET requests at once, each
+     * on its own stream.
+     */
+    @State(Scope.Thread)
+    public static class Http2Holder {
+        private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        private static final int FRAME_HEADER_LENGTH = 9;
+        private static final byte TYPE_DATA = 0x0;
+        private static final byte TYPE_HEADERS = 0x1;
+        private static final byte TYPE_RST_STREAM = 0x3;
+        private static final byte TYPE_SETTINGS = 0x4;
+        private static final byte TYPE_GOAWAY = 0x7;
+        private static final byte TYPE_WINDOW_UPDATE = 0x8;
+        private static final byte FLAG_END_STREAM = 0x1;
+        private static final byte FLAG_ACK = 0x1;
+        private static final byte FLAG_END_HEADERS = 0x4;
+
+        @Param({"false", "true"})
+        boolean flushConsolidation;
+
+        @Param({"100"})
+        int streamsPerExchange = 100;
+
+        AutoCloseable ctx;
+        EmbeddedChannel channel;
+        ByteBuf headerBlock;
+        int nextStreamId = 1;
+        int consumedData = 0;
+
+        @Setup
+        public void setUp() {
+            if (checkFtlThread && !(Thread.currentThread() instanceof FastThreadLocalThread)) {
+                throw new IllegalStateException("Should run on a netty FTL thread");
+            }
+
+            ApplicationContext ctx = ApplicationContext.run(Map.of(
+                "spec.name", "FullHttpStackBenchmark",
+                "micronaut.server.http-version", "2.0",
+                "micronaut.server.netty.flush-consolidation.enabled", flushConsolidation,
+                "micronaut.server.date-header", false
+            ));
+            this.ctx = ctx;
+            channel = ((NettyHttpServer) ctx.getBean(EmbeddedServer.class)).buildEmbeddedChannel(false);
+            channel.freezeTime();
+
+            // HPACK literals without indexing, so that the block is the same on every stream
+            headerBlock = Unpooled.buffer();
+            headerBlock.writeByte(0x82); // :method GET
+            headerBlock.writeByte(0x86); // :scheme http
+            writeLiteral(headerBlock, 0x04, "/search/ping"); // :path
+            writeLiteral(headerBlock, 0x01, "localhost"); // :authority
+
+            ByteBuf preface = Unpooled.buffer();
+            preface.writeBytes(PREFACE);
+            writeFrameHeader(preface, 0, TYPE_SETTINGS, (byte) 0, 0);
+            channel.writeInbound(preface);
+            channel.runPendingTasks();
+            // acknowledge the server settings
+            ByteBuf ack = Unpooled.buffer();
+            writeFrameHeader(ack, 0, TYPE_SETTINGS, FLAG_ACK, 0);
+            channel.writeInbound(ack);
+            channel.runPendingTasks();
+            NettyUtil.readAllOutboundComposite(channel).release();
+
+            // sanity check: every stream gets a response
+            Assertions.assertEquals(streamsPerExchange, exchange());
+        }
+
+        private static void writeLiteral(ByteBuf buf, int nameIndex, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+            buf.writeByte(nameIndex);
+            buf.writeByte(bytes.length);
+            buf.writeBytes(bytes);
+        }
+
+        private static void writeFrameHeader(ByteBuf buf, int length, byte type, byte flags, int streamId) {
+            buf.writeMedium(length);
+            buf.writeByte(type);
+            buf.writeByte(flags);
+            buf.writeInt(streamId);
+        }
+
+        /**
+         * Send a batch of requests and read the responses.
+         *
+         * @return The number of complete responses
+         */
+        int exchange() {
+            ByteBuf request = PooledByteBufAllocator.DEFAULT.buffer();
+            if (consumedData > 0) {
+                // return the connection flow control window of the previous responses
+                writeFrameHeader(request, 4, TYPE_WINDOW_UPDATE, (byte) 0, 0);
+                request.writeInt(consumedData);
+                consumedData = 0;
+            }
+            for (int i = 0; i < streamsPerExchange; i++) {
+                writeFrameHeader(request, headerBlock.readableBytes(), TYPE_HEADERS, (byte) (FLAG_END_HEADERS | FLAG_END_STREAM), nextStreamId);
+                request.writeBytes(headerBlock, headerBlock.readerIndex(), headerBlock.readableBytes());
+                nextStreamId += 2;
+            }
+            channel.writeInbound(request);
+            channel.runPendingTasks();
+
+            ByteBuf response = NettyUtil.readAllOutboundComposite(channel);
+            int responses = 0;
+            int i = response.readerIndex();
+            while (i + FRAME_HEADER_LENGTH <= response.writerIndex()) {
+                int length = response.getUnsignedMedium(i);
+                byte type = response.getByte(i + 3);
+                byte flags = response.getByte(i + 4);
+                if (type == TYPE_RST_STREAM || type == TYPE_GOAWAY) {
+                    response.release();
+                    throw new AssertionError("Unexpected frame type " + type);
+                }
+                if (type == TYPE_DATA) {
+                    consumedData += length;
+                }
+                if ((type == TYPE_DATA || type == TYPE_HEADERS) && (flags & FLAG_END_STREAM) != 0) {
+                    responses++;
+                }
+                i += FRAME_HEADER_LENGTH + length;
+            }
+            response.release();
+            return responses;
+        }
+
+        @TearDown
+        public void tearDown() throws Exception {
+            ctx.close();
+            headerBlock.release();
+        }
+    }
+
     public enum StackFactory {
         MICRONAUT {
             @Override
@@ -6,6 +6,7 @@ import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
 
 import java.util.List;
@@ -18,6 +19,11 @@ public class SearchController {
         return find(input.haystack, input.needle);
     }
 
+    @Get("ping")
+    public String ping() {
+        return "pong";
+    }
+
     private static MutableHttpResponse<Result> find(List<String> haystack, String needle) {
         for (int listIndex = 0; listIndex < haystack.size(); listIndex++) {
             String s = haystack.get(listIndex);
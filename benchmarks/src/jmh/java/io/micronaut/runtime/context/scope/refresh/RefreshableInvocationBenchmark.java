@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.runtime.context.scope.refresh;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.context.scope.Refreshable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Calls a method of a refreshable bean from an increasing number of threads.
+ */
+@State(Scope.Benchmark)
+public class RefreshableInvocationBenchmark {
+
+    ApplicationContext context;
+    RefreshableService service;
+
+    @Setup
+    public void setup() {
+        context = ApplicationContext.run();
+        service = context.getBean(RefreshableService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int invoke() {
+        return service.value();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 4, 16, 64}) {
+            Options opt = new OptionsBuilder()
+                    .include(".*" + RefreshableInvocationBenchmark.class.getSimpleName() + ".*")
+                    .threads(threads)
+                    .warmupIterations(3)
+                    .measurementIterations(5)
+                    .forks(1)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Refreshable
+    public static class RefreshableService {
+
+        private int value = 42;
+
+        public int value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.runtime.context.scope.refresh;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.ConfigurationReader;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.value.PropertyResolver;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.ConstructorInjectionPoint;
+import io.micronaut.inject.FieldInjectionPoint;
+import io.micronaut.inject.MethodInjectionPoint;
+import jakarta.inject.Provider;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Computes the configuration paths a refreshable bean is injected with, so that a refresh only
+ * disposes of the beans whose configuration changed.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class RefreshDependencies {
+
+    private static final String PLACEHOLDER_PREFIX = "${";
+
+    private RefreshDependencies() {
+    }
+
+    /**
+     * @param beanContext The bean context
+     * @param definition  The definition of the refreshable bean
+     * @return The configuration paths or {@code null} if the bean may read any configuration,
+     * for example because it is injected with the environment or created by a factory
+     */
+    @Nullable
+    static Set<String> resolve(BeanContext beanContext, BeanDefinition<?> definition) {
+        Set<String> paths = new HashSet<>();
+        definition.stringValue(ConfigurationReader.class, "prefix").ifPresent(paths::add);
+        ConstructorInjectionPoint<?> constructor = definition.getConstructor();
+        if (constructor instanceof MethodInjectionPoint || constructor instanceof FieldInjectionPoint) {
+            // the configuration of the factory is not known
+            return null;
+        }
+        if (constructor != null && !addArguments(beanContext, constructor.getArguments(), paths)) {
+            return null;
+        }
+        for (FieldInjectionPoint<?, ?> field : definition.getInjectedFields()) {
+            if (!addDependency(beanContext, field.asArgument(), field.getAnnotationMetadata(), paths)) {
+                return null;
+            }
+        }
+        for (MethodInjectionPoint<?, ?> method : definition.getInjectedMethods()) {
+            addPaths(method.getAnnotationMetadata(), paths);
+            if (!addArguments(beanContext, method.getArguments(), paths)) {
+                return null;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * @param key  The changed key
+     * @param path The configuration path, {@code *} matches a single segment
+     * @return Whether the key is the path or below it
+     */
+    static boolean matches(String key, String path) {
+        int k = 0;
+        int p = 0;
+        while (p < path.length()) {
+            if (k >= key.length()) {
+                return false;
+            }
+            char c = path.charAt(p);
+            if (c == '*') {
+                while (k < key.length() && !isSeparator(key.charAt(k))) {
+                    k++;
+                }
+            } else if (c == key.charAt(k)) {
+                k++;
+            } else {
+                return false;
+            }
+            p++;
+        }
+        return k == key.length() || isSeparator(key.charAt(k));
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '[' || c == ']';
+    }
+
+    private static boolean addArguments(BeanContext beanContext, Argument<?>[] arguments, Set<String> paths) {
+        for (Argument<?> argument : arguments) {
+            if (!addDependency(beanContext, argument, argument.getAnnotationMetadata(), paths)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean addDependency(BeanContext beanContext, Argument<?> argument, AnnotationMetadata annotationMetadata, Set<String> paths) {
+        if (addPaths(annotationMetadata, paths)) {
+            return true;
+        }
+        Class<?> type = argument.getType();
+        if (PropertyResolver.class.isAssignableFrom(type) || BeanLocator.class.isAssignableFrom(type)
+            || Provider.class.isAssignableFrom(type) || BeanProvider.class.isAssignableFrom(type)
+            || Supplier.class.isAssignableFrom(type)) {
+            // the bean may look up any configuration
+            return false;
+        }
+        Class<?> beanType = argument.isContainerType() || argument.isOptional()
+            ? argument.getFirstTypeVariable().map(Argument::getType).orElse(Object.class)
+            : type;
+        if (beanType != Object.class) {
+            for (BeanDefinition<?> dependency : beanContext.getBeanDefinitions(beanType)) {
+                dependency.stringValue(ConfigurationReader.class, "prefix").ifPresent(paths::add);
+            }
+        }
+        return true;
+    }
+
+    private static boolean addPaths(AnnotationMetadata annotationMetadata, Set<String> paths) {
+        boolean found = false;
+        String property = annotationMetadata.stringValue(Property.class, "name").orElse(null);
+        if (property != null) {
+            paths.add(property);
+            found = true;
+        }
+        String value = annotationMetadata.stringValue(Value.class).orElse(null);
+        if (value != null) {
+            int i = value.indexOf(PLACEHOLDER_PREFIX);
+            while (i > -1) {
+                int start = i + PLACEHOLDER_PREFIX.length();
+                int end = start;
+                while (end < value.length() && value.charAt(end) != '}' && value.charAt(end) != ':') {
+                    end++;
+                }
+                paths.add(value.substring(start, end).trim());
+                i = value.indexOf(PLACEHOLDER_PREFIX, end);
+            }
+            found = true;
+        }
+        return found;
+    }
+}
@@ -22,11 +22,11 @@ import io.micronaut.context.env.Environment;
 import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Singleton;
 
-import java.util.concurrent.locks.Lock;
-
 /**
- * <p>A {@link MethodInterceptor} that will lock the bean preventing it from being destroyed by a
- * {@link RefreshEvent} until the method completes.</p>
+ * <p>A {@link MethodInterceptor} that prevents the bean from being destroyed by a
+ * {@link RefreshEvent} until the method completes. The call is counted without locking the bean,
+ * so calls in flight during a refresh complete on the old instance while new calls go to the
+ * new one.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -47,13 +47,18 @@ public class RefreshInterceptor implements MethodInterceptor {
     @Nullable
     @Override
     public Object intercept(MethodInvocationContext context) {
-        Object target = context.getTarget();
-        Lock lock = refreshScope.getLock(target).readLock();
+        Object bean = context.getTarget();
+        RefreshTarget target = refreshScope.findTarget(bean);
+        if (target == null || !target.enter()) {
+            // the proxy resolved the bean before a refresh destroyed it
+            throw new IllegalStateException("No refreshable target present for object: " + bean
+                + ". The bean may have been destroyed by a refresh before the call to "
+                + context.getExecutableMethod() + " started");
+        }
         try {
-            lock.lock();
             return context.proceed();
         } finally {
-            lock.unlock();
+            target.exit();
         }
     }
 }
@@ -21,17 +21,20 @@ import io.micronaut.context.BeanRegistration;
 import io.micronaut.context.LifeCycle;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.ConfigurationReader;
+import io.micronaut.context.annotation.Property;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.event.ApplicationEventListener;
 import io.micronaut.context.scope.BeanCreationContext;
 import io.micronaut.context.scope.CreatedBean;
 import io.micronaut.context.scope.CustomScope;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.order.Ordered;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanIdentifier;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.context.scope.Refreshable;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import java.util.Collection;
@@ -42,7 +45,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Implementation of {@link Refreshable}.
@@ -58,15 +60,36 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
 
     public static final int POSITION = RefreshEventListener.DEFAULT_POSITION - 100;
 
+    /**
+     * The property that enables refreshing only the beans that depend on the changed keys.
+     *
+     * @since 4.7.0
+     */
+    public static final String INCREMENTAL_PROPERTY = "micronaut.refresh.incremental";
+
     private final Map<BeanIdentifier, CreatedBean<?>> refreshableBeans = new ConcurrentHashMap<>(10);
-    private final ConcurrentMap<Object, ReadWriteLock> locks = new ConcurrentHashMap<>();
+    private final Map<BeanIdentifier, Set<String>> dependencies = new ConcurrentHashMap<>(10);
+    private final ConcurrentMap<Object, RefreshTarget> targets = new ConcurrentHashMap<>();
     private final BeanContext beanContext;
+    private final boolean incremental;
 
     /**
      * @param beanContext     The bean context to allow DI of beans annotated with @Inject
      */
     public RefreshScope(BeanContext beanContext) {
+        this(beanContext, false);
+    }
+
+    /**
+     * @param beanContext The bean context to allow DI of beans annotated with @Inject
+     * @param incremental Whether to only refresh the beans that depend on the changed keys
+     * @since 4.7.0
+     */
+    @Inject
+    public RefreshScope(BeanContext beanContext,
+                        @Property(name = INCREMENTAL_PROPERTY, defaultValue = "false") boolean incremental) {
         this.beanContext = beanContext;
+        this.incremental = incremental;
     }
 
     @Override
@@ -85,7 +108,13 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
         final BeanIdentifier id = creationContext.id();
         CreatedBean<?> created = refreshableBeans.computeIfAbsent(id, key -> {
             CreatedBean<T> createdBean = creationContext.create();
-            locks.putIfAbsent(createdBean.bean(), new ReentrantReadWriteLock());
+            targets.putIfAbsent(createdBean.bean(), new RefreshTarget(createdBean, target -> targets.remove(target.bean(), target)));
+            if (incremental) {
+                Set<String> paths = RefreshDependencies.resolve(beanContext, createdBean.definition());
+                if (paths != null) {
+                    dependencies.put(key, paths);
+                }
+            }
             return createdBean;
         });
         return (T) created.bean();
@@ -94,7 +123,8 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
     @Override
     public RefreshScope stop() {
         disposeOfAllBeans();
-        locks.clear();
+        targets.clear();
+        dependencies.clear();
         return this;
     }
 
@@ -160,13 +190,26 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
     /**
      * @param object The bean
      * @return The lock on the object
+     * @deprecated The {@link RefreshInterceptor} no longer locks the bean, a refreshed bean is
+     * destroyed once the calls in flight complete. The returned lock still delays the refresh of
+     * the bean while its read lock is held.
      */
+    @Deprecated(since = "4.7.0", forRemoval = true)
     protected ReadWriteLock getLock(Object object) {
-        ReadWriteLock readWriteLock = locks.get(object);
-        if (readWriteLock == null) {
+        RefreshTarget target = targets.get(object);
+        if (target == null) {
             throw new IllegalStateException("No lock present for object: " + object);
         }
-        return readWriteLock;
+        return target.getLock();
+    }
+
+    /**
+     * @param object The bean
+     * @return The calls in flight on the bean or {@code null} if the bean is not in this scope
+     */
+    @Nullable
+    RefreshTarget findTarget(Object object) {
+        return targets.get(object);
     }
 
     private void refreshSubsetOfConfigurationProperties(Set<String> keySet) {
@@ -177,7 +220,7 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
             Optional<String> value = definition.stringValue(ConfigurationReader.class, "prefix");
             if (value.isPresent()) {
                 String configPrefix = value.get();
-                if (keySet.stream().anyMatch(key -> key.startsWith(configPrefix))) {
+                if (keySet.stream().anyMatch(key -> incremental ? RefreshDependencies.matches(key, configPrefix) : key.startsWith(configPrefix))) {
                     beanContext.refreshBean(registration);
                 }
             }
@@ -204,12 +247,27 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
                         }
                     }
                 }
-            } else {
+            } else if (dependsOnAny(entry.getKey(), keys)) {
                 disposeOfBean(entry.getKey());
             }
         }
     }
 
+    private boolean dependsOnAny(BeanIdentifier identifier, Collection<String> keys) {
+        Set<String> paths = incremental ? dependencies.get(identifier) : null;
+        if (paths == null) {
+            return true;
+        }
+        for (String key : keys) {
+            for (String path : paths) {
+                if (RefreshDependencies.matches(key, path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private void disposeOfAllBeans() {
         for (BeanIdentifier key : refreshableBeans.keySet()) {
             disposeOfBean(key);
@@ -218,13 +276,19 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
 
     private void disposeOfBean(BeanIdentifier key) {
         CreatedBean<?> createdBean = refreshableBeans.remove(key);
+        dependencies.remove(key);
         if (createdBean != null) {
-            Object bean = createdBean.bean();
-            Lock lock = getLock(bean).writeLock();
+            // new calls go to a new instance, the calls in flight complete on this one. The target
+            // stays registered until the bean is destroyed, so that late calls find it retired
+            RefreshTarget target = targets.get(createdBean.bean());
+            if (target == null) {
+                createdBean.close();
+                return;
+            }
+            Lock lock = target.getLock().writeLock();
             try {
                 lock.lock();
-                createdBean.close();
-                locks.remove(bean);
+                target.retire();
             } finally {
                 lock.unlock();
             }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.runtime.context.scope.refresh;
+
+import io.micronaut.context.scope.CreatedBean;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.inject.BeanDefinition;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the calls in flight on a refreshable bean so that the bean is only destroyed once
+ * the calls that started before a refresh completed.
+ *
+ * <p>The calls are counted with striped counters instead of a lock, so that concurrent calls on
+ * the same bean do not contend. Once the bean is retired, the last call to complete destroys it.
+ * A call may still enter a retired bean until it is destroyed. Entering and destroying a retired
+ * bean synchronize on the target, so that a call never runs on a destroyed bean.</p>
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class RefreshTarget {
+
+    private final CreatedBean<?> createdBean;
+    private final Consumer<RefreshTarget> onDestroy;
+    private final LongAdder entered = new LongAdder();
+    private final LongAdder exited = new LongAdder();
+    private boolean destroyed;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean retired;
+
+    /**
+     * @param createdBean The bean
+     * @param onDestroy   Called once the bean is destroyed
+     */
+    RefreshTarget(CreatedBean<?> createdBean, Consumer<RefreshTarget> onDestroy) {
+        this.createdBean = createdBean;
+        this.onDestroy = onDestroy;
+    }
+
+    /**
+     * @return The bean
+     */
+    Object bean() {
+        return createdBean.bean();
+    }
+
+    /**
+     * @return The definition of the bean
+     */
+    BeanDefinition<?> definition() {
+        return createdBean.definition();
+    }
+
+    /**
+     * @return The lock held while the bean is retired
+     */
+    ReadWriteLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Record a call starting on the bean.
+     *
+     * @return {@code false} if the bean was destroyed, the call must then not proceed on it
+     */
+    boolean enter() {
+        entered.increment();
+        // checked after counting the call, so a refresh either sees the call or the call sees the refresh
+        if (!retired) {
+            return true;
+        }
+        synchronized (this) {
+            if (!destroyed) {
+                // the bean is destroyed once this call exits
+                return true;
+            }
+        }
+        // the bean is gone, don't try to destroy it again
+        exited.increment();
+        return false;
+    }
+
+    /**
+     * Record a call completing on the bean, destroying it if it is the last call on a retired bean.
+     */
+    void exit() {
+        exited.increment();
+        if (retired) {
+            destroyIfIdle();
+        }
+    }
+
+    /**
+     * Retire the bean, destroying it now if no call is in flight or else when the last call completes.
+     */
+    void retire() {
+        retired = true;
+        destroyIfIdle();
+    }
+
+    private void destroyIfIdle() {
+        // read the completed calls first so that a call in flight is never missed
+        long completed = exited.sum();
+        if (completed != entered.sum()) {
+            return;
+        }
+        synchronized (this) {
+            // a call may have entered the retired bean since the sums were read
+            if (destroyed || exited.sum() != entered.sum()) {
+                return;
+            }
+            destroyed = true;
+        }
+        try {
+            createdBean.close();
+        } finally {
+            onDestroy.accept(this);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects virtual threads that are pinned to their carrier thread, usually because they block
+ * inside a {@code synchronized} section, using the {@code jdk.VirtualThreadPinned} flight
+ * recorder event. Each pinning site is logged once as a warning, later occurrences are logged
+ * at debug level and counted. A site is the first framework frame of the stack trace, so that
+ * pinning inside Micronaut code is reported where it happens even when it is reached from
+ * application code.
+ *
+ * <p>Enable with {@code micronaut.virtual-threads.pinning-detection.enabled}. The
+ * {@code threshold} property sets the minimum pinning duration that is reported.</p>
+ *
+ * @since 4.7.0
+ */
+@Context
+@Requires(property = VirtualThreadPinningMonitor.ENABLED, value = StringUtils.TRUE)
+@Requires(condition = LoomSupport.LoomCondition.class)
+public final class VirtualThreadPinningMonitor implements Closeable {
+
+    /**
+     * The configuration prefix.
+     */
+    public static final String PREFIX = "micronaut.virtual-threads.pinning-detection";
+
+    /**
+     * The property that enables pinning detection.
+     */
+    public static final String ENABLED = PREFIX + ".enabled";
+
+    /**
+     * The default threshold, same as the JDK default for the event.
+     */
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(20);
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final String FRAMEWORK_PACKAGE = "io.micronaut.";
+
+    private final RecordingStream stream;
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    /**
+     * @param threshold The minimum pinning duration that is reported
+     */
+    VirtualThreadPinningMonitor(@Nullable @Property(name = PREFIX + ".threshold") Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable(EVENT_NAME)
+            .withThreshold(threshold == null ? DEFAULT_THRESHOLD : threshold)
+            .withStackTrace();
+        stream.onEvent(EVENT_NAME, this::onPinned);
+        stream.startAsync();
+    }
+
+    /**
+     * @return The number of times a virtual thread was pinned for longer than the threshold
+     */
+    public long getPinnedCount() {
+        long count = 0;
+        for (LongAdder adder : sites.values()) {
+            count += adder.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return The pinning sites and the number of times a virtual thread was pinned there
+     */
+    @NonNull
+    public Map<String, Long> getPinnedSites() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        sites.forEach((site, count) -> result.put(site, count.sum()));
+        return result;
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = site(frames);
+        // events are dispatched sequentially by the stream, so the first count is seen once
+        LongAdder count = sites.computeIfAbsent(site, k -> new LongAdder());
+        boolean first = count.sum() == 0;
+        count.increment();
+        if (first && LOG.isWarnEnabled()) {
+            LOG.warn("Virtual thread {} was pinned to its carrier thread for {} at {}{}",
+                threadName(event), event.getDuration(), site, format(frames));
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("Virtual thread {} was pinned to its carrier thread for {} at {}",
+                threadName(event), event.getDuration(), site);
+        }
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(FRAMEWORK_PACKAGE)) {
+                return frame(frame);
+            }
+        }
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && !frame.getMethod().getType().getName().startsWith("java.")) {
+                return frame(frame);
+            }
+        }
+        return frames.isEmpty() ? "<unknown>" : frame(frames.get(0));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + '.' + frame.getMethod().getName() + ':' + frame.getLineNumber();
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder builder = new StringBuilder();
+        for (RecordedFrame frame : frames) {
+            builder.append(System.lineSeparator()).append("\tat ").append(frame(frame));
+        }
+        return builder.toString();
+    }
+
+    private static String threadName(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread == null ? "<unknown>" : "#" + thread.getJavaThreadId();
+    }
+}
@@ -25,6 +25,7 @@ import io.micronaut.core.type.TypeInformation;
 import io.micronaut.core.util.SupplierUtil;
 import io.micronaut.inject.MethodReference;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.LoomSupport;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.scheduling.exceptions.SchedulerConfigurationException;
@@ -48,6 +49,7 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     private final BeanLocator beanLocator;
     private final Supplier<ExecutorService> ioExecutor;
     private final Supplier<ExecutorService> blockingExecutor;
+    private final Supplier<ExecutorService> virtualExecutor;
 
     /**
      * Default constructor.
@@ -63,6 +65,10 @@ public class DefaultExecutorSelector implements ExecutorSelector {
         this.beanLocator = beanLocator;
         this.ioExecutor = SupplierUtil.memoized(ioExecutor::get);
         this.blockingExecutor = SupplierUtil.memoized(blockingExecutor::get);
+        this.virtualExecutor = SupplierUtil.memoized(() -> {
+            LoomSupport.checkSupported();
+            return beanLocator.getBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.VIRTUAL));
+        });
     }
 
     @Override
@@ -80,24 +86,9 @@ public class DefaultExecutorSelector implements ExecutorSelector {
                 );
             }
         } else if (threadSelection == ThreadSelection.AUTO) {
-            if (method.hasStereotype(NonBlocking.class)) {
-                return Optional.empty();
-            } else if (method.hasStereotype(Blocking.class)) {
-                return Optional.of(blockingExecutor.get());
-            } else {
-                TypeInformation<?> returnType = method.getReturnType();
-                if (returnType.isWrapperType()) {
-                    Optional<Argument<?>> generic = method.getReturnType().getFirstTypeVariable();
-                    if (generic.isPresent()) {
-                        returnType = generic.get();
-                    }
-                }
-                if (returnType.isAsyncOrReactive()) {
-                    return Optional.empty();
-                } else {
-                    return Optional.of(blockingExecutor.get());
-                }
-            }
+            return selectAuto(method, blockingExecutor);
+        } else if (threadSelection == ThreadSelection.VIRTUAL) {
+            return selectAuto(method, virtualExecutor);
         } else if (threadSelection == ThreadSelection.IO) {
             return Optional.of(ioExecutor.get());
         } else if (threadSelection == ThreadSelection.BLOCKING) {
@@ -106,6 +97,27 @@ public class DefaultExecutorSelector implements ExecutorSelector {
         return Optional.empty();
     }
 
+    private static Optional<ExecutorService> selectAuto(MethodReference<?, ?> method, Supplier<ExecutorService> blockingExecutor) {
+        if (method.hasStereotype(NonBlocking.class)) {
+            return Optional.empty();
+        } else if (method.hasStereotype(Blocking.class)) {
+            return Optional.of(blockingExecutor.get());
+        } else {
+            TypeInformation<?> returnType = method.getReturnType();
+            if (returnType.isWrapperType()) {
+                Optional<Argument<?>> generic = method.getReturnType().getFirstTypeVariable();
+                if (generic.isPresent()) {
+                    returnType = generic.get();
+                }
+            }
+            if (returnType.isAsyncOrReactive()) {
+                return Optional.empty();
+            } else {
+                return Optional.of(blockingExecutor.get());
+            }
+        }
+    }
+
     @Override
     public Optional<ExecutorService> select(String name) {
         return beanLocator.findBean(ExecutorService.class, Qualifiers.byName(name));
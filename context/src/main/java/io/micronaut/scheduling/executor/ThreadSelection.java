@@ -43,5 +43,16 @@ public enum ThreadSelection {
     /**
      * I/O selection will run all operations regardless of return type and annotations on the {@link io.micronaut.scheduling.TaskExecutors#BLOCKING blocking executor} and will never schedule an operation on the server event loop thread.
      */
-    BLOCKING
+    BLOCKING,
+    /**
+     * Virtual selection works like {@link #AUTO}, but every operation that would block runs on a new
+     * virtual thread of the {@link io.micronaut.scheduling.TaskExecutors#VIRTUAL virtual executor}, regardless
+     * of how the {@link io.micronaut.scheduling.TaskExecutors#BLOCKING blocking executor} is configured.
+     * Operations that are not blocking still run on the server event loop thread.
+     *
+     * <p>Requires a JVM that supports virtual threads, the server fails to start otherwise.</p>
+     *
+     * @since 4.7.0
+     */
+    VIRTUAL
 }
@@ -0,0 +1,50 @@
+package io.micronaut.scheduling
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+// blocking in synchronized sections no longer pins virtual threads since JDK 24
+@IgnoreIf({ !LoomSupport.isSupported() || Runtime.version().feature() >= 24 })
+class VirtualThreadPinningMonitorSpec extends Specification {
+
+    void "pinning detection is disabled by default"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run()
+
+        expect:
+        !ctx.containsBean(VirtualThreadPinningMonitor)
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "blocking in a synchronized section is reported"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run([
+                'micronaut.virtual-threads.pinning-detection.enabled'  : true,
+                'micronaut.virtual-threads.pinning-detection.threshold': '1ms',
+        ])
+        VirtualThreadPinningMonitor monitor = ctx.getBean(VirtualThreadPinningMonitor)
+        Object lock = new Object()
+
+        when:
+        Thread thread = LoomSupport.newVirtualThreadFactory("pinned").newThread {
+            synchronized (lock) {
+                Thread.sleep(50)
+            }
+        }
+        thread.start()
+        thread.join()
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert monitor.pinnedCount >= 1
+            assert monitor.pinnedSites.keySet().any { it.startsWith(VirtualThreadPinningMonitorSpec.name) }
+        }
+
+        cleanup:
+        ctx.close()
+    }
+}
@@ -70,6 +70,7 @@ import io.micronaut.core.annotation.AnnotationMetadataProvider;
 import io.micronaut.core.annotation.AnnotationUtil;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.AnnotationValueBuilder;
+import io.micronaut.core.annotation.Indexed;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NextMajorVersion;
 import io.micronaut.core.annotation.NonNull;
@@ -92,6 +93,7 @@ import io.micronaut.core.util.Toggleable;
 import io.micronaut.inject.AdvisedBeanType;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanDefinitionReference;
+import io.micronaut.inject.BeanDefinitionReferenceIndex;
 import io.micronaut.inject.DisposableBeanDefinition;
 import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.inject.ExecutableMethodsDefinition;
@@ -392,6 +394,7 @@ public class BeanDefinitionWriter extends AbstractClassFileWriter implements Bea
             ReflectionUtils.getRequiredMethod(Optional.class, "of", Object.class)
     );
     private static final String METHOD_NAME_INSTANTIATE = "instantiate";
+    private static final String ANN_ADAPTER = "io.micronaut.aop.Adapter";
     private static final org.objectweb.asm.commons.Method METHOD_BEAN_CONSTRUCTOR_INSTANTIATE = org.objectweb.asm.commons.Method.getMethod(ReflectionUtils.getRequiredMethod(
             BeanConstructor.class,
         METHOD_NAME_INSTANTIATE,
@@ -1602,6 +1605,67 @@ public class BeanDefinitionWriter extends AbstractClassFileWriter implements Bea
         }
     }
 
+    /**
+     * Builds the index that allows the bean context to index the bean without loading the reference class.
+     *
+     * @return The index or {@code null} if the reference needs to be loaded
+     */
+    @Nullable
+    private byte[] buildReferenceIndex() {
+        if (superType != TYPE_ABSTRACT_BEAN_DEFINITION_AND_REFERENCE || interceptedType != null
+            || beanTypeElement.isArray() || beanTypeElement.isPrimitive()) {
+            // the type hierarchy of generated proxies is not known here
+            return null;
+        }
+        AnnotationMetadata annotationMetadata = this.annotationMetadata != null ? this.annotationMetadata : AnnotationMetadata.EMPTY_METADATA;
+        int flags = 0;
+        if (annotationMetadata.hasDeclaredAnnotation(Context.class)) {
+            flags |= BeanDefinitionReferenceIndex.CONTEXT_SCOPE;
+        }
+        if (isSingleton(annotationMetadata.getAnnotationNameByStereotype(AnnotationUtil.SCOPE).orElse(null))) {
+            flags |= BeanDefinitionReferenceIndex.SINGLETON;
+        }
+        if (isConfigurationProperties) {
+            flags |= BeanDefinitionReferenceIndex.CONFIGURATION_PROPERTIES;
+        }
+        if (isContainerType()) {
+            flags |= BeanDefinitionReferenceIndex.CONTAINER_TYPE;
+        }
+        if (proxiedBean) {
+            flags |= BeanDefinitionReferenceIndex.PROXIED_BEAN;
+        }
+        if (isProxyTarget) {
+            flags |= BeanDefinitionReferenceIndex.PROXY_TARGET;
+        }
+        if (preprocessMethods) {
+            flags |= BeanDefinitionReferenceIndex.REQUIRES_METHOD_PROCESSING;
+        }
+
+        Set<ClassElement> superTypes = new HashSet<>();
+        populateBeanTypes(new HashSet<>(), superTypes, beanTypeElement.getSuperType().orElse(null), beanTypeElement.getInterfaces());
+        Set<String> types = new HashSet<>();
+        types.add(beanTypeElement.getName());
+        for (ClassElement type : superTypes) {
+            types.add(type.getName());
+        }
+        String[] indexedTypes = annotationMetadata.getAnnotationValuesByType(Indexed.class).stream()
+            .flatMap(av -> av.stringValue().stream())
+            .distinct()
+            .toArray(String[]::new);
+        String adapterType = annotationMetadata.hasStereotype(ANN_ADAPTER) ? annotationMetadata.stringValue(ANN_ADAPTER).orElse(null) : null;
+        Set<String> declaredStereotypes = new HashSet<>(annotationMetadata.getDeclaredAnnotationNames());
+        declaredStereotypes.addAll(annotationMetadata.getDeclaredStereotypeAnnotationNames());
+
+        return new BeanDefinitionReferenceIndex(
+            flags,
+            types,
+            indexedTypes,
+            adapterType,
+            new HashSet<>(annotationMetadata.getAnnotationNames()),
+            declaredStereotypes
+        ).toByteArray();
+    }
+
     private void addGetExposedTypes(GeneratorAdapter staticInit) {
         if (annotationMetadata.hasDeclaredAnnotation(Bean.class.getName())) {
             final String[] exposedTypes = annotationMetadata.stringValues(Bean.class.getName(), "typed");
@@ -1697,11 +1761,21 @@ public class BeanDefinitionWriter extends AbstractClassFileWriter implements Bea
         if (disabled) {
             return;
         }
-        visitor.visitServiceDescriptor(
-            BeanDefinitionReference.class,
-            beanDefinitionName,
-            getOriginatingElement()
-        );
+        byte[] referenceIndex = buildReferenceIndex();
+        if (referenceIndex != null) {
+            visitor.visitServiceDescriptor(
+                BeanDefinitionReference.class.getName(),
+                beanDefinitionName,
+                getOriginatingElement(),
+                referenceIndex
+            );
+        } else {
+            visitor.visitServiceDescriptor(
+                BeanDefinitionReference.class,
+                beanDefinitionName,
+                getOriginatingElement()
+            );
+        }
         try (OutputStream out = visitor.visitClass(getBeanDefinitionName(), getOriginatingElements())) {
             if (!innerClasses.isEmpty()) {
                 for (Map.Entry<String, ClassWriter> entry : innerClasses.entrySet()) {
@@ -92,6 +92,20 @@ public interface ClassWriterOutputVisitor {
      */
     void visitServiceDescriptor(String type, String classname, Element originatingElement);
 
+    /**
+     * Allows adding a class that will be written to the {@code META-INF/services} file under the given type and class
+     * name, with the given content. Visitors that don't support content write an empty descriptor.
+     *
+     * @param type      the fully qualified service name
+     * @param classname the fully qualified classname
+     * @param originatingElement The originating element
+     * @param content   The content of the descriptor
+     * @since 4.7.0
+     */
+    default void visitServiceDescriptor(String type, String classname, Element originatingElement, byte[] content) {
+        visitServiceDescriptor(type, classname, originatingElement);
+    }
+
     /**
      * Visit a file within the META-INF directory of the 'classes' directory.
      *
@@ -20,6 +20,8 @@ import io.micronaut.core.bind.ArgumentBinder.BindingResult;
 import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.PrimitiveConversions;
+import io.micronaut.core.convert.value.ConvertibleMultiValues;
 import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
@@ -78,9 +80,21 @@ public abstract class AbstractArgumentBinder<T> {
                                       String name,
                                       BindingResult<T> defaultResult) {
 
+        if (values instanceof ConvertibleMultiValues<?> multiValues && PrimitiveConversions.isSupported(conversionService, context.getArgument())) {
+            T value = resolvePrimitive(context.getArgument(), multiValues, name);
+            if (value != null) {
+                return new ConvertedBindingResult<>(value);
+            }
+        }
         return doConvert(doResolve(context, values, name), context, defaultResult);
     }
 
+    @Nullable
+    private T resolvePrimitive(Argument<T> argument, ConvertibleMultiValues<?> values, String name) {
+        List<?> all = values.getAll(StringUtils.isEmpty(name) ? argument.getName() : name);
+        return all.size() == 1 ? PrimitiveConversions.convert(conversionService, argument, all.get(0)) : null;
+    }
+
     /**
      * Do resolve.
      *
@@ -183,4 +197,33 @@ public abstract class AbstractArgumentBinder<T> {
             };
         }
     }
+
+    /**
+     * The result of a value converted without the {@link ConversionService}.
+     *
+     * @param value The value
+     * @param <T>   The argument type
+     */
+    private record ConvertedBindingResult<T>(T value) implements BindingResult<T> {
+
+        @Override
+        public Optional<T> getValue() {
+            return Optional.of(value);
+        }
+
+        @Override
+        public boolean isSatisfied() {
+            return true;
+        }
+
+        @Override
+        public boolean isPresentAndSatisfied() {
+            return true;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.micronaut.core.convert;
 
+import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.exceptions.ConversionErrorException;
 import io.micronaut.core.type.Argument;
@@ -177,6 +178,20 @@ public interface ConversionService {
         ).orElseThrow(() -> newConversionError(context, argument, value));
     }
 
+    /**
+     * Whether a converter from character sequences to the given type was added after the default
+     * converters. Such a converter replaces the default parsing done by {@link PrimitiveConversions}.
+     * Implementations that do not keep track of the added converters return {@code true}.
+     *
+     * @param targetType The target type
+     * @return Whether the conversion of character sequences to the type might be customized
+     * @since 4.7.0
+     */
+    @Internal
+    default boolean isCharSequenceConverterAdded(Class<?> targetType) {
+        return true;
+    }
+
     private static <T> ConversionErrorException newConversionError(ArgumentConversionContext<T> context, Argument<T> argument, Object value) {
         Optional<ConversionError> lastError = context.getLastError();
         return lastError.map(conversionError -> new ConversionErrorException(context.getArgument(), conversionError)).orElseGet(() -> new ConversionErrorException(context.getArgument(), new IllegalArgumentException("Cannot convert type [" + value.getClass() + "] to target type: " + argument.getType() + ". Considering defining a TypeConverter bean to handle this case.")));
@@ -91,6 +91,7 @@ import java.util.StringJoiner;
 import java.util.TimeZone;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static io.micronaut.core.reflect.ReflectionUtils.EMPTY_CLASS_ARRAY;
@@ -105,6 +106,7 @@ public class DefaultMutableConversionService implements MutableConversionService
 
     private static final int CACHE_MAX = 256;
     private static final int CACHE_EVICTION_BATCH = 64;
+    private static final int DIRECT_SOURCES_MAX = 16;
     private static final TypeConverter UNCONVERTIBLE = (object, targetType, context) -> Optional.empty();
 
     private static final Map<Class<?>, List<Class<?>>> COMMON_TYPE_HIERARCHY = CollectionUtils.newHashMap(30);
@@ -152,6 +154,29 @@ public class DefaultMutableConversionService implements MutableConversionService
      */
     private final Map<ConvertiblePair, TypeConverter> converterCache = new ConcurrentHashMap<>();
 
+    /**
+     * The resolved converters without a formatting annotation by target type, so that a warm
+     * conversion is found by class identity without allocating a {@link ConvertiblePair}.
+     * Cleared when a converter is added.
+     */
+    private final Map<Class<?>, DirectConverters> directConverters = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented before {@link #directConverters} is cleared, so that a converter resolved
+     * before a converter was added is not published afterwards.
+     */
+    private final AtomicInteger directGeneration = new AtomicInteger();
+
+    private final boolean directDispatch;
+
+    /**
+     * The types that character sequences are converted to by a converter added after the default
+     * converters, so that {@link PrimitiveConversions} does not parse them instead.
+     */
+    private final Set<Class<?>> charSequenceConverterTargets = ConcurrentHashMap.newKeySet();
+
+    private boolean defaultConvertersRegistered;
+
     /**
      * The mutable conversion service which is adding new converters to the internal collection which is not synchronized.
      */
@@ -172,6 +197,11 @@ public class DefaultMutableConversionService implements MutableConversionService
             return DefaultMutableConversionService.this.convert(object, targetType, context);
         }
 
+        @Override
+        public boolean isCharSequenceConverterAdded(Class<?> targetType) {
+            return DefaultMutableConversionService.this.isCharSequenceConverterAdded(targetType);
+        }
+
         @Override
         public <S, T> Optional<T> convert(S object, Class<? super S> sourceType, Class<T> targetType, ConversionContext context) {
             return DefaultMutableConversionService.this.convert(object, sourceType, targetType, context);
@@ -217,7 +247,22 @@ public class DefaultMutableConversionService implements MutableConversionService
      * Constructor.
      */
     public DefaultMutableConversionService() {
+        this(true);
+    }
+
+    /**
+     * @param directDispatch Whether the converters resolved for a source and target type are looked up by class identity
+     */
+    DefaultMutableConversionService(boolean directDispatch) {
+        this.directDispatch = directDispatch;
         registerDefaultConverters();
+        defaultConvertersRegistered = true;
+    }
+
+    @Override
+    public boolean isCharSequenceConverterAdded(Class<?> targetType) {
+        return !charSequenceConverterTargets.isEmpty()
+            && charSequenceConverterTargets.contains(ReflectionUtils.getWrapperType(targetType));
     }
 
     @SuppressWarnings("unchecked")
@@ -241,16 +286,21 @@ public class DefaultMutableConversionService implements MutableConversionService
         } else {
             formattingAnnotation = null;
         }
-        ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, formattingAnnotation);
-        TypeConverter<Object, T> typeConverter = findConverter(pair);
+        TypeConverter<Object, T> typeConverter = formattingAnnotation == null ? findDirectConverter(sourceType, targetType) : null;
         if (typeConverter == null) {
-            typeConverter = findTypeConverter(sourceType, targetType, formattingAnnotation);
+            int generation = directGeneration.get();
+            ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, formattingAnnotation);
+            typeConverter = findConverter(pair);
             if (typeConverter == null) {
-                addToConverterCache(pair, UNCONVERTIBLE);
-                return Optional.empty();
-            } else {
+                typeConverter = findTypeConverter(sourceType, targetType, formattingAnnotation);
+                if (typeConverter == null) {
+                    typeConverter = UNCONVERTIBLE;
+                }
                 addToConverterCache(pair, typeConverter);
             }
+            if (formattingAnnotation == null) {
+                addDirectConverter(sourceType, targetType, typeConverter, generation);
+            }
         }
         if (typeConverter == UNCONVERTIBLE) {
             return Optional.empty();
@@ -260,19 +310,49 @@ public class DefaultMutableConversionService implements MutableConversionService
 
     @Override
     public <S, T> boolean canConvert(Class<S> sourceType, Class<T> targetType) {
+        TypeConverter<Object, T> typeConverter = findDirectConverter(sourceType, targetType);
+        if (typeConverter != null) {
+            return typeConverter != UNCONVERTIBLE;
+        }
+        int generation = directGeneration.get();
         ConvertiblePair pair = new ConvertiblePair(sourceType, targetType, null);
-        TypeConverter<Object, T> typeConverter = findConverter(pair);
+        typeConverter = findConverter(pair);
         if (typeConverter == null) {
             typeConverter = findTypeConverter(sourceType, targetType, null);
             if (typeConverter != null) {
                 addToConverterCache(pair, typeConverter);
+                addDirectConverter(sourceType, targetType, typeConverter, generation);
                 return typeConverter != UNCONVERTIBLE;
             }
             return false;
         }
+        addDirectConverter(sourceType, targetType, typeConverter, generation);
         return typeConverter != UNCONVERTIBLE;
     }
 
+    private <T> TypeConverter<Object, T> findDirectConverter(Class<?> sourceType, Class<T> targetType) {
+        if (!directDispatch) {
+            return null;
+        }
+        DirectConverters converters = directConverters.get(targetType);
+        return converters != null ? converters.find(sourceType) : null;
+    }
+
+    private void addDirectConverter(Class<?> sourceType, Class<?> targetType, TypeConverter<?, ?> typeConverter, int generation) {
+        if (!directDispatch || (directConverters.size() >= CACHE_MAX && !directConverters.containsKey(targetType))) {
+            return;
+        }
+        directConverters.compute(targetType, (type, converters) -> {
+            if (directGeneration.get() != generation) {
+                // a converter was added since the lookup started, the resolved converter might be stale
+                return converters;
+            }
+            return converters == null
+                ? new DirectConverters(new Class<?>[]{sourceType}, new TypeConverter<?, ?>[]{typeConverter})
+                : converters.with(sourceType, typeConverter);
+        });
+    }
+
     private <T, S> TypeConverter<T, S> findConverter(ConvertiblePair pair) {
         TypeConverter typeConverter = internalConverters.get(pair);
         if (typeConverter != null) {
@@ -368,7 +448,12 @@ public class DefaultMutableConversionService implements MutableConversionService
                                           Class<T> targetType,
                                           TypeConverter<S, T> typeConverter) {
         ConvertiblePair pair = newPair(sourceType, targetType, typeConverter);
+        if (defaultConvertersRegistered && CharSequence.class.isAssignableFrom(sourceType)) {
+            charSequenceConverterTargets.add(ReflectionUtils.getWrapperType(targetType));
+        }
         typeConverters.put(pair, typeConverter);
+        directGeneration.incrementAndGet();
+        directConverters.clear();
         if (typeConverters != internalConverters) {
             addToConverterCache(pair, typeConverter);
         }
@@ -1272,6 +1357,36 @@ public class DefaultMutableConversionService implements MutableConversionService
         return pair;
     }
 
+    /**
+     * The converters resolved for a target type, by source type.
+     *
+     * @param sources    The source types
+     * @param converters The converter of each source type
+     */
+    private record DirectConverters(Class<?>[] sources, TypeConverter<?, ?>[] converters) {
+
+        @SuppressWarnings("unchecked")
+        <T> TypeConverter<Object, T> find(Class<?> sourceType) {
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i] == sourceType) {
+                    return (TypeConverter<Object, T>) converters[i];
+                }
+            }
+            return null;
+        }
+
+        DirectConverters with(Class<?> sourceType, TypeConverter<?, ?> typeConverter) {
+            if (find(sourceType) != null || sources.length >= DIRECT_SOURCES_MAX) {
+                return this;
+            }
+            Class<?>[] newSources = Arrays.copyOf(sources, sources.length + 1);
+            TypeConverter<?, ?>[] newConverters = Arrays.copyOf(converters, converters.length + 1);
+            newSources[sources.length] = sourceType;
+            newConverters[converters.length] = typeConverter;
+            return new DirectConverters(newSources, newConverters);
+        }
+    }
+
     /**
      * Binds the source and target.
      */
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.core.convert;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.format.Format;
+import io.micronaut.core.type.Argument;
+
+/**
+ * Converts character sequences to {@code int}, {@code long}, {@code double} and {@code boolean}
+ * values and their wrappers the same way as the default converters, without looking up a
+ * converter or wrapping the result in an {@link java.util.Optional}.
+ *
+ * <p>Values that are empty or cannot be parsed are not converted, so that the caller falls back
+ * to the {@link ConversionService}, which reports the error. Neither are values of a type that a
+ * converter was added for, see {@link ConversionService#isCharSequenceConverterAdded(Class)}.</p>
+ *
+ * @since 4.7.0
+ */
+@Internal
+public final class PrimitiveConversions {
+
+    private PrimitiveConversions() {
+    }
+
+    /**
+     * @param argument The argument
+     * @return Whether values of the argument can be converted by {@link #convert(CharSequence, Class)}
+     */
+    public static boolean isSupported(Argument<?> argument) {
+        return isSupported(argument.getType())
+            && !argument.getAnnotationMetadata().hasStereotypeNonRepeating(Format.class);
+    }
+
+    /**
+     * @param conversionService The conversion service that would convert the values otherwise
+     * @param argument          The argument
+     * @return Whether values of the argument can be converted by {@link #convert(CharSequence, Class)}
+     * instead of the conversion service
+     */
+    public static boolean isSupported(ConversionService conversionService, Argument<?> argument) {
+        return isSupported(argument) && !conversionService.isCharSequenceConverterAdded(argument.getType());
+    }
+
+    /**
+     * @param type The type
+     * @return Whether values can be converted to the type by {@link #convert(CharSequence, Class)}
+     */
+    public static boolean isSupported(Class<?> type) {
+        return type == int.class || type == Integer.class
+            || type == long.class || type == Long.class
+            || type == double.class || type == Double.class
+            || type == boolean.class || type == Boolean.class;
+    }
+
+    /**
+     * @param value The value
+     * @param type  The type, which must be {@link #isSupported(Class) supported}
+     * @return The converted value or {@code null} if the value must be converted by the {@link ConversionService}
+     */
+    @Nullable
+    public static Object convert(CharSequence value, Class<?> type) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            if (type == int.class || type == Integer.class) {
+                return Integer.parseInt(value, 0, value.length(), 10);
+            }
+            if (type == long.class || type == Long.class) {
+                return Long.parseLong(value, 0, value.length(), 10);
+            }
+            if (type == double.class || type == Double.class) {
+                return Double.parseDouble(value.toString());
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return convertBoolean(value);
+        }
+        return null;
+    }
+
+    /**
+     * @param conversionService The conversion service that would convert the value otherwise
+     * @param argument          The argument
+     * @param value             The value
+     * @param <T>               The argument type
+     * @return The converted value or {@code null} if the value must be converted by the {@link ConversionService}
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <T> T convert(ConversionService conversionService, Argument<T> argument, @Nullable Object value) {
+        if (value instanceof CharSequence charSequence && isSupported(conversionService, argument)) {
+            return (T) convert(charSequence, argument.getType());
+        }
+        return null;
+    }
+
+    private static Boolean convertBoolean(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 127) {
+                // let the converter apply the locale rules
+                return null;
+            }
+        }
+        return equalsIgnoreCase(value, "yes") || equalsIgnoreCase(value, "y")
+            || equalsIgnoreCase(value, "on") || equalsIgnoreCase(value, "true");
+    }
+
+    private static boolean equalsIgnoreCase(CharSequence value, String expected) {
+        if (value.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(value.charAt(i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
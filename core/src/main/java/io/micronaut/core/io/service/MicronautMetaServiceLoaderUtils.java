@@ -19,9 +19,11 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.io.IOUtils;
+import io.micronaut.core.util.CollectionUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.net.URI;
@@ -33,6 +35,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -41,6 +44,8 @@ import java.util.ServiceConfigurationError;
 import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -76,10 +81,79 @@ public final class MicronautMetaServiceLoaderUtils {
         if (staticServiceLoader != null) {
             return staticServiceLoader.load(predicate);
         }
-        return new MicronautServiceCollector<>(classLoader, serviceClass.getName(), predicate)
+        return new MicronautServiceCollector<>(classLoader, serviceClass.getName(), predicate, null)
             .collect(true);
     }
 
+    /**
+     * Find all instantiated Micronaut service entries. The entries whose service descriptor is not empty
+     * are created by the descriptor factory from the descriptor content instead of being instantiated,
+     * unless the factory returns {@code null}.
+     *
+     * @param classLoader       The classloader
+     * @param serviceClass      The service class
+     * @param predicate         The predicate
+     * @param descriptorFactory Creates an entry from its class name and descriptor content
+     * @param <S>               The service type
+     * @return the result
+     * @since 4.7.0
+     */
+    @NonNull
+    public static <S> List<S> findMetaMicronautServiceEntries(@NonNull ClassLoader classLoader,
+                                                              @NonNull Class<S> serviceClass,
+                                                              @Nullable Predicate<S> predicate,
+                                                              @NonNull BiFunction<String, byte[], S> descriptorFactory) {
+        SoftServiceLoader.StaticServiceLoader<S> staticServiceLoader = (SoftServiceLoader.StaticServiceLoader<S>) SoftServiceLoader.STATIC_SERVICES.get(serviceClass.getName());
+        if (staticServiceLoader != null) {
+            return staticServiceLoader.load(predicate);
+        }
+        Map<String, byte[]> descriptors;
+        try {
+            descriptors = findMicronautMetaServiceDescriptors(classLoader, serviceClass.getName());
+        } catch (IOException e) {
+            descriptors = Map.of();
+        }
+        Function<String, S> entryFactory = null;
+        if (!descriptors.isEmpty()) {
+            Map<String, byte[]> finalDescriptors = descriptors;
+            entryFactory = className -> {
+                byte[] descriptor = finalDescriptors.get(className);
+                return descriptor != null ? descriptorFactory.apply(className, descriptor) : null;
+            };
+        }
+        return new MicronautServiceCollector<>(classLoader, serviceClass.getName(), predicate, entryFactory)
+            .collect(true);
+    }
+
+    /**
+     * Find the content of the Micronaut service descriptors that are not empty. The scan of the
+     * service entries only remembers where these descriptors are, they are read on every call and
+     * not cached. A descriptor that cannot be read is left out.
+     *
+     * @param classLoader The classloader
+     * @param serviceName The service name
+     * @return The descriptor content by entry
+     * @throws IOException
+     * @since 4.7.0
+     */
+    @NonNull
+    public static Map<String, byte[]> findMicronautMetaServiceDescriptors(@NonNull ClassLoader classLoader,
+                                                                          @NonNull String serviceName) throws IOException {
+        Map<String, URI> locations = cacheEntry(classLoader).descriptors.get(serviceName);
+        if (locations == null) {
+            return Map.of();
+        }
+        Map<String, byte[]> descriptors = CollectionUtils.newHashMap(locations.size());
+        for (Map.Entry<String, URI> entry : locations.entrySet()) {
+            try (InputStream inputStream = entry.getValue().toURL().openStream()) {
+                descriptors.put(entry.getKey(), inputStream.readAllBytes());
+            } catch (IOException e) {
+                // ignore, the entry is instantiated
+            }
+        }
+        return descriptors;
+    }
+
     /**
      * Find Micronaut service entries.
      *
@@ -91,12 +165,16 @@ public final class MicronautMetaServiceLoaderUtils {
     @NonNull
     public static Set<String> findMicronautMetaServiceEntries(@NonNull ClassLoader classLoader,
                                                               @NonNull String serviceName) throws IOException {
+        return cacheEntry(classLoader).services.getOrDefault(serviceName, Set.of());
+    }
+
+    private static CacheEntry cacheEntry(ClassLoader classLoader) throws IOException {
         CacheEntry ce = cacheEntry;
         if (ce == null || ce.classLoader != classLoader) {
-            ce = new CacheEntry(classLoader, findAllMicronautMetaServices(classLoader));
+            ce = scan(classLoader);
             cacheEntry = ce;
         }
-        return ce.services.getOrDefault(serviceName, Set.of());
+        return ce;
     }
 
     /**
@@ -108,19 +186,32 @@ public final class MicronautMetaServiceLoaderUtils {
      */
     @NonNull
     public static Map<String, Set<String>> findAllMicronautMetaServices(@NonNull ClassLoader classLoader) throws IOException {
+        return scan(classLoader).services;
+    }
+
+    /**
+     * Scans the Micronaut services and records the location of the descriptors that are not empty.
+     *
+     * @param classLoader The classloader
+     * @return The services and descriptor locations
+     * @throws IOException
+     */
+    private static CacheEntry scan(ClassLoader classLoader) throws IOException {
         final ServiceScanner.StaticServiceDefinitions ssd = ServiceScanner.findStaticServiceDefinitions();
         if (ssd != null) {
-            return ssd.serviceTypeMap();
+            return new CacheEntry(classLoader, ssd.serviceTypeMap(), Map.of());
         }
         List<URI> resourceDefs = IOUtils.getResources(classLoader, MICRONAUT_SERVICES_PATH);
         if (resourceDefs.isEmpty()) {
-            return Map.of();
+            return new CacheEntry(classLoader, Map.of(), Map.of());
         }
 
         Map<String, Set<String>> services = new LinkedHashMap<>();
+        Map<String, Map<String, URI>> descriptors = new HashMap<>();
 
         FileVisitor<Path> visitor = new FileVisitor<>() {
 
+            private String serviceName;
             private Set<String> definitions;
 
             @Override
@@ -128,7 +219,7 @@ public final class MicronautMetaServiceLoaderUtils {
                 if (dir.endsWith(MICRONAUT_SERVICES_PATH)) {
                     return FileVisitResult.CONTINUE;
                 }
-                String serviceName = dir.getFileName().toString();
+                serviceName = dir.getFileName().toString();
                 definitions = services.get(serviceName);
                 if (definitions == null) {
                     definitions = new LinkedHashSet<>();
@@ -146,7 +237,12 @@ public final class MicronautMetaServiceLoaderUtils {
                 if (fileName.startsWith(".")) {
                     return FileVisitResult.CONTINUE;
                 }
-                definitions.add(fileName.toString());
+                String entryName = fileName.toString();
+                // the first entry on the classpath wins, like the class that is loaded
+                if (definitions.add(entryName) && attrs.size() > 0) {
+                    descriptors.computeIfAbsent(serviceName, name -> new HashMap<>())
+                        .put(entryName, currentPath.toUri());
+                }
                 return FileVisitResult.SKIP_SUBTREE;
             }
 
@@ -164,13 +260,15 @@ public final class MicronautMetaServiceLoaderUtils {
         List<Closeable> toClose = new ArrayList<>();
         try {
             for (URI uri : resourceDefs) {
-                Path myPath = IOUtils.resolvePath(uri, MICRONAUT_SERVICES_PATH, toClose);
-                if (myPath != null) {
-                    Files.walkFileTree(myPath, Collections.emptySet(), 2, visitor);
+                try {
+                    Path myPath = IOUtils.resolvePath(uri, MICRONAUT_SERVICES_PATH, toClose);
+                    if (myPath != null) {
+                        Files.walkFileTree(myPath, Collections.emptySet(), 2, visitor);
+                    }
+                } catch (IOException e) {
+                    // ignore the root, can't do anything here and can't log because class used in compiler
                 }
             }
-        } catch (IOException e) {
-            // ignore, can't do anything here and can't log because class used in compiler
         } finally {
             for (Closeable closeable : toClose) {
                 try {
@@ -179,7 +277,17 @@ public final class MicronautMetaServiceLoaderUtils {
                 }
             }
         }
-        return services;
+        return new CacheEntry(classLoader, services, descriptors);
+    }
+
+    private static <S> S create(String className, ClassLoader classLoader, @Nullable Function<String, S> entryFactory) {
+        if (entryFactory != null) {
+            S entry = entryFactory.apply(className);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return instantiate(className, classLoader);
     }
 
     private static <S> S instantiate(String className, ClassLoader classLoader) {
@@ -212,13 +320,16 @@ public final class MicronautMetaServiceLoaderUtils {
         private final ClassLoader classLoader;
         private final String serviceName;
         private final Predicate<S> predicate;
+        @Nullable
+        private final Function<String, S> entryFactory;
         private final List<RecursiveActionValuesCollector<S>> tasks = new ArrayList<>();
         private int size;
 
-        MicronautServiceCollector(ClassLoader classLoader, String serviceName, Predicate<S> predicate) {
+        MicronautServiceCollector(ClassLoader classLoader, String serviceName, Predicate<S> predicate, @Nullable Function<String, S> entryFactory) {
             this.classLoader = classLoader;
             this.serviceName = serviceName;
             this.predicate = predicate;
+            this.entryFactory = entryFactory;
         }
 
         @Override
@@ -227,7 +338,7 @@ public final class MicronautMetaServiceLoaderUtils {
                 Set<String> serviceEntries = MicronautMetaServiceLoaderUtils.findMicronautMetaServiceEntries(classLoader, serviceName);
                 size = serviceEntries.size();
                 for (String serviceEntry : serviceEntries) {
-                    final ServiceInstanceLoader<S> task = new ServiceInstanceLoader<>(classLoader, serviceEntry, predicate);
+                    final ServiceInstanceLoader<S> task = new ServiceInstanceLoader<>(classLoader, serviceEntry, predicate, entryFactory);
                     tasks.add(task);
                     task.fork();
                 }
@@ -256,7 +367,7 @@ public final class MicronautMetaServiceLoaderUtils {
                 Set<String> serviceEntries = MicronautMetaServiceLoaderUtils.findMicronautMetaServiceEntries(classLoader, serviceName);
                 List<S> collection = new ArrayList<>(serviceEntries.size());
                 for (String serviceEntry : serviceEntries) {
-                    S val = instantiate(serviceEntry, classLoader);
+                    S val = create(serviceEntry, classLoader, entryFactory);
                     if (val != null && predicate.test(val)) {
                         collection.add(val);
                     }
@@ -283,19 +394,22 @@ public final class MicronautMetaServiceLoaderUtils {
         private final ClassLoader classLoader;
         private final String className;
         private final Predicate<S> predicate;
+        @Nullable
+        private final Function<String, S> entryFactory;
         private S result;
         private Throwable throwable;
 
-        public ServiceInstanceLoader(ClassLoader classLoader, String className, Predicate<S> predicate) {
+        public ServiceInstanceLoader(ClassLoader classLoader, String className, Predicate<S> predicate, @Nullable Function<String, S> entryFactory) {
             this.classLoader = classLoader;
             this.className = className;
             this.predicate = predicate;
+            this.entryFactory = entryFactory;
         }
 
         @Override
         protected void compute() {
             try {
-                result = instantiate(className, classLoader);
+                result = create(className, classLoader, entryFactory);
                 if (result != null && predicate != null && !predicate.test(result)) {
                     result = null;
                 }
@@ -331,7 +445,9 @@ public final class MicronautMetaServiceLoaderUtils {
 
     }
 
-    private record CacheEntry(ClassLoader classLoader, Map<String, Set<String>> services) {
+    private record CacheEntry(ClassLoader classLoader,
+                              Map<String, Set<String>> services,
+                              Map<String, Map<String, URI>> descriptors) {
     }
 
 }
@@ -7,6 +7,7 @@ import spock.lang.Specification
 import java.nio.charset.Charset
 import java.nio.charset.StandardCharsets
 import java.time.DayOfWeek
+import java.util.function.Function
 /**
  * Created by graemerocher on 12/06/2017.
  */
@@ -119,4 +120,25 @@ class DefaultConversionServiceSpec extends Specification {
         "1"          | Optional   | [T: Argument.of(Long, 'T')]    | Optional.of(1L)
 
     }
+
+    void "test converters resolved by class identity are replaced when a converter is added"() {
+        given:
+        def conversionService = new DefaultMutableConversionService()
+
+        expect:
+        conversionService.convert(new StringBuilder("10"), Integer).get() == 10
+        conversionService.convert(new StringBuilder("10"), Integer).get() == 10
+        conversionService.canConvert(StringBuilder, Integer)
+        !conversionService.convert(URI.create("http://test.com"), Integer).isPresent()
+        !conversionService.canConvert(URI, Integer)
+
+        when:
+        conversionService.addConverter(StringBuilder, Integer, { StringBuilder sb -> sb.length() } as Function<StringBuilder, Integer>)
+        conversionService.addConverter(URI, Integer, { URI uri -> uri.port } as Function<URI, Integer>)
+
+        then:
+        conversionService.convert(new StringBuilder("10"), Integer).get() == 2
+        conversionService.convert(URI.create("http://test.com:8080"), Integer).get() == 8080
+        conversionService.canConvert(URI, Integer)
+    }
 }
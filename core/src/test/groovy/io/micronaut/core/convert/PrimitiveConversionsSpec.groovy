@@ -0,0 +1,97 @@
+package io.micronaut.core.convert
+
+import io.micronaut.core.bind.annotation.AbstractArgumentBinder
+import io.micronaut.core.convert.value.ConvertibleMultiValues
+import io.micronaut.core.convert.value.ConvertibleMultiValuesMap
+import io.micronaut.core.type.Argument
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class PrimitiveConversionsSpec extends Specification {
+
+    void "test converting #value to #type is the same as the conversion service"() {
+        given:
+        ConversionService conversionService = new DefaultMutableConversionService()
+
+        expect:
+        PrimitiveConversions.isSupported(type)
+        PrimitiveConversions.convert(value, type) == conversionService.convert(value, type).get()
+
+        where:
+        value                      | type
+        "10"                       | int
+        "-10"                      | Integer
+        "+10"                      | int
+        new StringBuilder("10")    | int
+        "9000000000"               | long
+        "-9000000000"              | Long
+        "1.5"                      | double
+        "1e3"                      | Double
+        "yes"                      | boolean
+        "Y"                        | boolean
+        "ON"                       | Boolean
+        "True"                     | boolean
+        "no"                       | boolean
+        "false"                    | Boolean
+        "anything"                 | boolean
+    }
+
+    void "test values that are left to the conversion service"() {
+        expect:
+        PrimitiveConversions.convert(value, type) == null
+
+        where:
+        value     | type
+        ""        | int
+        "junk"    | int
+        "1.5"     | long
+        "junk"    | double
+        "truİ"    | boolean
+        "10"      | String
+    }
+
+    void "test converting argument values"() {
+        given:
+        ConversionService conversionService = new DefaultMutableConversionService()
+
+        expect:
+        PrimitiveConversions.isSupported(Argument.of(int))
+        !PrimitiveConversions.isSupported(Argument.of(String))
+        PrimitiveConversions.convert(conversionService, Argument.of(int), "10") == 10
+        PrimitiveConversions.convert(conversionService, Argument.of(int), 10) == null
+    }
+
+    void "test a converter added by the application takes precedence"() {
+        given:
+        DefaultMutableConversionService conversionService = new DefaultMutableConversionService()
+        AbstractArgumentBinder<Boolean> binder = new AbstractArgumentBinder<Boolean>(conversionService) {}
+        ConvertibleMultiValues<String> values = new ConvertibleMultiValuesMap<String>([flag: ["1"]], conversionService)
+
+        expect:
+        !conversionService.isCharSequenceConverterAdded(boolean)
+        binder.doBind(ConversionContext.of(Argument.of(boolean, "flag")), values, "flag").get() == false
+
+        when:"a converter is added the way the application context adds TypeConverter beans"
+        conversionService.addInternalConverter(CharSequence, Boolean, { CharSequence value -> value == "1" } as Function<CharSequence, Boolean>)
+
+        then:
+        conversionService.isCharSequenceConverterAdded(boolean)
+        conversionService.isCharSequenceConverterAdded(Boolean)
+        !conversionService.isCharSequenceConverterAdded(int)
+        !PrimitiveConversions.isSupported(conversionService, Argument.of(boolean))
+        PrimitiveConversions.convert(conversionService, Argument.of(boolean), "1") == null
+        binder.doBind(ConversionContext.of(Argument.of(boolean, "flag")), values, "flag").get() == true
+    }
+
+    void "test a converter added for a character sequence type takes precedence"() {
+        given:
+        MutableConversionService conversionService = new DefaultMutableConversionService()
+        conversionService.addConverter(StringBuilder, Integer, { StringBuilder sb -> sb.length() } as Function<StringBuilder, Integer>)
+
+        expect:
+        conversionService.isCharSequenceConverterAdded(int)
+        PrimitiveConversions.convert(conversionService, Argument.of(int), new StringBuilder("10")) == null
+        conversionService.convert(new StringBuilder("10"), Integer).get() == 2
+    }
+}
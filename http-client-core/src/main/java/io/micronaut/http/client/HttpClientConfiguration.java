@@ -22,6 +22,7 @@ import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.format.ReadableBytes;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpVersion;
 import io.micronaut.http.ssl.ClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
@@ -107,12 +108,41 @@ public abstract class HttpClientConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_ALLOW_BLOCK_EVENT_LOOP = false;
 
+    /**
+     * The default value.
+     *
+     * @since 4.7.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_SINGLE_FLIGHT = false;
+
+    /**
+     * The default response cache size in bytes.
+     *
+     * @since 4.7.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_RESPONSE_CACHE_MAX_SIZE = 1024 * 1024 * 10; // 10MiB
+
     /**
      * The default value.
      */
     @SuppressWarnings("WeakerAccess")
     public static final DnsResolutionMode DEFAULT_DNS_RESOLUTION_MODE = DnsResolutionMode.DEFAULT;
 
+    /**
+     * The default headers that must match for requests to share an exchange.
+     *
+     * @since 4.7.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final List<String> DEFAULT_SINGLE_FLIGHT_HEADERS = List.of(
+        HttpHeaders.ACCEPT,
+        HttpHeaders.ACCEPT_LANGUAGE,
+        HttpHeaders.AUTHORIZATION,
+        HttpHeaders.COOKIE
+    );
+
     private Map<String, Object> channelOptions = Collections.emptyMap();
 
     private Integer numOfThreads = null;
@@ -182,6 +212,16 @@ public abstract class HttpClientConfiguration {
     @Nullable
     private String addressResolverGroupName = null;
 
+    private boolean singleFlight = DEFAULT_SINGLE_FLIGHT;
+
+    private List<String> singleFlightHeaders = DEFAULT_SINGLE_FLIGHT_HEADERS;
+
+    private boolean responseCacheEnabled = false;
+
+    private long responseCacheMaxSize = DEFAULT_RESPONSE_CACHE_MAX_SIZE;
+
+    private boolean responseCacheOffHeap = false;
+
     /**
      * Default constructor.
      */
@@ -228,6 +268,11 @@ public abstract class HttpClientConfiguration {
             this.sslConfiguration = copy.sslConfiguration;
             this.threadFactory = copy.threadFactory;
             this.httpVersion = copy.httpVersion;
+            this.singleFlight = copy.singleFlight;
+            this.singleFlightHeaders = copy.singleFlightHeaders;
+            this.responseCacheEnabled = copy.responseCacheEnabled;
+            this.responseCacheMaxSize = copy.responseCacheMaxSize;
+            this.responseCacheOffHeap = copy.responseCacheOffHeap;
         }
     }
 
@@ -861,6 +906,129 @@ public abstract class HttpClientConfiguration {
         this.addressResolverGroupName = addressResolverGroupName;
     }
 
+    /**
+     * Whether concurrent identical {@code GET} and {@code HEAD} requests without a body share a
+     * single exchange. The response is buffered and handed to every caller. Requests are
+     * identical if they have the same URI, the same response types, and the same values for
+     * {@link #getSingleFlightHeaders()}. Headers added later by client filters are not
+     * considered, so this should not be enabled if a filter adds caller-specific headers.
+     * Default value ({@value #DEFAULT_SINGLE_FLIGHT}). Can also be enabled for single methods of
+     * a declarative client using {@link io.micronaut.http.client.annotation.SingleFlight}.
+     *
+     * @return Whether identical requests are coalesced
+     * @since 4.7.0
+     */
+    public boolean isSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Whether concurrent identical {@code GET} and {@code HEAD} requests without a body share a
+     * single exchange. Default value ({@value #DEFAULT_SINGLE_FLIGHT}).
+     *
+     * @param singleFlight Whether identical requests are coalesced
+     * @since 4.7.0
+     */
+    public void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    /**
+     * The request headers that must have the same values for requests to share an exchange when
+     * {@link #isSingleFlight() single flight} is enabled. Defaults to {@code Accept},
+     * {@code Accept-Language}, {@code Authorization} and {@code Cookie}.
+     *
+     * @return The header names
+     * @since 4.7.0
+     */
+    @NonNull
+    public List<String> getSingleFlightHeaders() {
+        return singleFlightHeaders;
+    }
+
+    /**
+     * The request headers that must have the same values for requests to share an exchange when
+     * {@link #isSingleFlight() single flight} is enabled.
+     *
+     * @param singleFlightHeaders The header names
+     * @since 4.7.0
+     */
+    public void setSingleFlightHeaders(@NonNull List<String> singleFlightHeaders) {
+        ArgumentUtils.requireNonNull("singleFlightHeaders", singleFlightHeaders);
+        this.singleFlightHeaders = singleFlightHeaders;
+    }
+
+    /**
+     * Whether responses to {@code GET} requests are cached in memory according to their
+     * {@code Cache-Control}, {@code ETag}, {@code Last-Modified} and {@code Vary} headers. Fresh
+     * responses are served from the cache, stale responses are revalidated with a conditional
+     * request, and responses within their {@code stale-while-revalidate} window are served while
+     * they are revalidated in the background. Only responses that are read in full (not streamed)
+     * are cached. Responses to requests with an {@code Authorization} header are only cached if
+     * they are marked {@code public}. Default value ({@code false}).
+     *
+     * @return Whether the response cache is enabled
+     * @since 4.7.0
+     */
+    public boolean isResponseCacheEnabled() {
+        return responseCacheEnabled;
+    }
+
+    /**
+     * Whether responses to {@code GET} requests are cached in memory. Default value
+     * ({@code false}).
+     *
+     * @param responseCacheEnabled Whether the response cache is enabled
+     * @since 4.7.0
+     */
+    public void setResponseCacheEnabled(boolean responseCacheEnabled) {
+        this.responseCacheEnabled = responseCacheEnabled;
+    }
+
+    /**
+     * The maximum total size of the response bodies held by the response cache. Default value
+     * ({@value #DEFAULT_RESPONSE_CACHE_MAX_SIZE} bytes).
+     *
+     * @return The maximum size in bytes
+     * @since 4.7.0
+     */
+    public long getResponseCacheMaxSize() {
+        return responseCacheMaxSize;
+    }
+
+    /**
+     * The maximum total size of the response bodies held by the response cache. Default value
+     * ({@value #DEFAULT_RESPONSE_CACHE_MAX_SIZE} bytes).
+     *
+     * @param responseCacheMaxSize The maximum size in bytes
+     * @since 4.7.0
+     */
+    public void setResponseCacheMaxSize(@ReadableBytes long responseCacheMaxSize) {
+        this.responseCacheMaxSize = responseCacheMaxSize;
+    }
+
+    /**
+     * Whether the response cache keeps the bodies in pooled direct buffers instead of on the
+     * heap. Default value ({@code false}).
+     *
+     * @return Whether cached bodies are kept off-heap
+     * @since 4.7.0
+     */
+    public boolean isResponseCacheOffHeap() {
+        return responseCacheOffHeap;
+    }
+
+    /**
+     * Whether the response cache keeps the bodies in pooled direct buffers instead of on the
+     * heap. Default value ({@code false}).
+     *
+     * @param responseCacheOffHeap Whether cached bodies are kept off-heap
+     * @since 4.7.0
+     */
+    public void setResponseCacheOffHeap(boolean responseCacheOffHeap) {
+        this.responseCacheOffHeap = responseCacheOffHeap;
+    }
+
     /**
      * Obtains the HTTP/2 configuration.
      *
@@ -890,6 +1058,7 @@ public abstract class HttpClientConfiguration {
         private int maxPendingConnections = 4;
 
         private int maxConcurrentRequestsPerHttp2Connection = Integer.MAX_VALUE;
+        private int targetConcurrentRequestsPerHttp2Connection = Integer.MAX_VALUE;
         private int maxConcurrentHttp1Connections = Integer.MAX_VALUE;
         private int maxConcurrentHttp2Connections = 1;
 
@@ -998,6 +1167,34 @@ public abstract class HttpClientConfiguration {
             this.maxConcurrentRequestsPerHttp2Connection = maxConcurrentRequestsPerHttp2Connection;
         }
 
+        /**
+         * The number of requests (streams) per HTTP2 connection above which the pool prefers to
+         * open another connection, up to {@link #getMaxConcurrentHttp2Connections()}. Requests are
+         * spread over the open connections. Each new connection gets its event loop from the client's
+         * event loop group in turn, like any other connection, so the connections are usually but not
+         * necessarily on different event loops.
+         * Unlike {@link #getMaxConcurrentRequestsPerHttp2Connection()}, this is not a hard limit:
+         * once no more connections can be opened, requests are still dispatched to the
+         * connections until the hard limit is reached.
+         * [available in the Netty HTTP client]
+         * @return The target concurrent request count
+         * @since 4.7.0
+         */
+        public int getTargetConcurrentRequestsPerHttp2Connection() {
+            return targetConcurrentRequestsPerHttp2Connection;
+        }
+
+        /**
+         * The number of requests (streams) per HTTP2 connection above which the pool prefers to
+         * open another connection, up to {@link #getMaxConcurrentHttp2Connections()}.
+         *
+         * @param targetConcurrentRequestsPerHttp2Connection The target concurrent request count
+         * @since 4.7.0
+         */
+        public void setTargetConcurrentRequestsPerHttp2Connection(int targetConcurrentRequestsPerHttp2Connection) {
+            this.targetConcurrentRequestsPerHttp2Connection = targetConcurrentRequestsPerHttp2Connection;
+        }
+
         /**
          * The maximum number of concurrent HTTP1 connections in the pool.
          * [available in the Netty HTTP client]
@@ -20,6 +20,7 @@ import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.client.loadbalance.LoadBalancingStrategy;
 import io.micronaut.http.context.ClientContextPathProvider;
 import io.micronaut.http.ssl.AbstractClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
@@ -67,6 +68,14 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     @SuppressWarnings("WeakerAccess")
     public static final long DEFAULT_HEALTHCHECKINTERVAL_SECONDS = 30;
 
+    /**
+     * The default load balancing strategy.
+     *
+     * @since 4.7.0
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final LoadBalancingStrategy DEFAULT_LOAD_BALANCING_STRATEGY = LoadBalancingStrategy.ROUND_ROBIN;
+
     private final String serviceId;
     private final ServiceConnectionPoolConfiguration connectionPoolConfiguration;
     private final ServiceWebSocketCompressionConfiguration webSocketCompressionConfiguration;
@@ -76,6 +85,7 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     private boolean healthCheck = DEFAULT_HEALTHCHECK;
     private Duration healthCheckInterval = Duration.ofSeconds(DEFAULT_HEALTHCHECKINTERVAL_SECONDS);
     private String path;
+    private LoadBalancingStrategy loadBalancingStrategy = DEFAULT_LOAD_BALANCING_STRATEGY;
 
     /**
      * Creates a new client configuration for the given service ID.
@@ -288,6 +298,31 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
         }
     }
 
+    /**
+     * The strategy used to select between the URLs of the service.
+     *
+     * @return The load balancing strategy
+     * @since 4.7.0
+     */
+    public LoadBalancingStrategy getLoadBalancingStrategy() {
+        return loadBalancingStrategy;
+    }
+
+    /**
+     * Sets the strategy used to select between the URLs of the service. Default value
+     * ({@code round-robin}). The {@code least-outstanding} and {@code peak-ewma} strategies
+     * prefer the instances that respond faster, based on the requests in flight and the response
+     * times observed by the client.
+     *
+     * @param loadBalancingStrategy The load balancing strategy
+     * @since 4.7.0
+     */
+    public void setLoadBalancingStrategy(LoadBalancingStrategy loadBalancingStrategy) {
+        if (loadBalancingStrategy != null) {
+            this.loadBalancingStrategy = loadBalancingStrategy;
+        }
+    }
+
     @Override
     public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
         return connectionPoolConfiguration;
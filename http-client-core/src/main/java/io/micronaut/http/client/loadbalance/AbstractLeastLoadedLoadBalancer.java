@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.LoadBalancer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link LoadBalancer} that picks two random available instances and selects the less loaded
+ * one ("power of two choices"). The load of each instance is read from the
+ * {@link InstanceLoadProvider}s registered by the HTTP clients using this load balancer, which
+ * track it in their connection pools.
+ *
+ * @since 4.7.0
+ */
+public abstract class AbstractLeastLoadedLoadBalancer implements LoadBalancer {
+    /**
+     * Response time assumed for instances that have requests in flight but have not responded
+     * yet, so that a new instance is not flooded with requests before its speed is known.
+     */
+    private static final double UNKNOWN_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadBalancingStrategy strategy;
+    private final List<InstanceLoadProvider> loadProviders = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param strategy The strategy, either {@link LoadBalancingStrategy#LEAST_OUTSTANDING} or
+     *                 {@link LoadBalancingStrategy#PEAK_EWMA}
+     */
+    protected AbstractLeastLoadedLoadBalancer(@NonNull LoadBalancingStrategy strategy) {
+        if (Objects.requireNonNull(strategy, "strategy") == LoadBalancingStrategy.ROUND_ROBIN) {
+            throw new IllegalArgumentException("Use a round robin load balancer instead");
+        }
+        this.strategy = strategy;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public abstract String getServiceID();
+
+    /**
+     * @return The strategy
+     */
+    public LoadBalancingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Register a source of load statistics, usually the connection pools of an HTTP client.
+     *
+     * @param loadProvider The provider
+     */
+    public void addLoadProvider(@NonNull InstanceLoadProvider loadProvider) {
+        loadProviders.add(Objects.requireNonNull(loadProvider, "loadProvider"));
+    }
+
+    /**
+     * Remove a source of load statistics, e.g. when the HTTP client is closed.
+     *
+     * @param loadProvider The provider
+     */
+    public void removeLoadProvider(@NonNull InstanceLoadProvider loadProvider) {
+        loadProviders.remove(loadProvider);
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The less loaded of two random available instances or a
+     * {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getLeastLoaded(List<ServiceInstance> serviceInstances) {
+        List<ServiceInstance> availableServices = new ArrayList<>(serviceInstances.size());
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (serviceInstance.getHealthStatus().equals(HealthStatus.UP)) {
+                availableServices.add(serviceInstance);
+            }
+        }
+        int len = availableServices.size();
+        if (len == 0) {
+            throw new NoAvailableServiceException(getServiceID());
+        }
+        if (len == 1) {
+            return availableServices.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(len);
+        int j = random.nextInt(len - 1);
+        if (j >= i) {
+            j++;
+        }
+        ServiceInstance first = availableServices.get(i);
+        ServiceInstance second = availableServices.get(j);
+        return cost(second) < cost(first) ? second : first;
+    }
+
+    private double cost(ServiceInstance instance) {
+        URI uri = instance.getURI();
+        int outstanding = 0;
+        double latency = 0;
+        for (InstanceLoadProvider loadProvider : loadProviders) {
+            InstanceLoad load = loadProvider.load(uri);
+            if (load != null) {
+                outstanding += load.outstanding();
+                latency = Math.max(latency, load.latencyNanos());
+            }
+        }
+        if (strategy == LoadBalancingStrategy.LEAST_OUTSTANDING) {
+            return outstanding;
+        }
+        if (latency == 0 && outstanding > 0) {
+            latency = UNKNOWN_LATENCY_NANOS;
+        }
+        return (latency + 1) * (outstanding + 1);
+    }
+}
@@ -48,6 +48,21 @@ public class DiscoveryClientLoadBalancerFactory {
         return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
     }
 
+    /**
+     * Creates a {@link LoadBalancer} for the given service ID using the given strategy.
+     *
+     * @param serviceID The service ID
+     * @param strategy  The load balancing strategy
+     * @return The {@link LoadBalancer}
+     * @since 4.7.0
+     */
+    public LoadBalancer create(String serviceID, LoadBalancingStrategy strategy) {
+        if (strategy == LoadBalancingStrategy.ROUND_ROBIN) {
+            return create(serviceID);
+        }
+        return new DiscoveryClientLeastLoadedLoadBalancer(serviceID, discoveryClient, strategy);
+    }
+
     /**
      * @return The {@link DiscoveryClient} being used
      */
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load statistics of a single service instance: the number of requests in flight and the
+ * peak-EWMA of the response time. The average jumps to any response time above it and decays
+ * towards lower response times, and towards zero when the instance is idle, with the configured
+ * decay time.
+ *
+ * @since 4.7.0
+ */
+public final class InstanceLoad {
+    /**
+     * The default decay time of the response time average.
+     */
+    public static final Duration DEFAULT_DECAY = Duration.ofSeconds(10);
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final double decayNanos;
+    private long stamp = System.nanoTime();
+    private double latencyNanos;
+
+    /**
+     * Create statistics with the {@link #DEFAULT_DECAY default decay time}.
+     */
+    public InstanceLoad() {
+        this(DEFAULT_DECAY);
+    }
+
+    /**
+     * @param decay The decay time of the response time average
+     */
+    public InstanceLoad(Duration decay) {
+        this.decayNanos = Math.max(1, decay.toNanos());
+    }
+
+    /**
+     * Record the start of a request.
+     *
+     * @return The start time, to be passed to {@link #complete(long)}
+     */
+    public long start() {
+        outstanding.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the completion of a request.
+     *
+     * @param startNanos The start time returned by {@link #start()}
+     */
+    public void complete(long startNanos) {
+        outstanding.decrementAndGet();
+        long now = System.nanoTime();
+        observe(now, Math.max(0, now - startNanos));
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return The decayed peak-EWMA response time in nanoseconds, or {@code 0} if no response
+     * has been observed yet
+     */
+    public double latencyNanos() {
+        return observe(System.nanoTime(), 0);
+    }
+
+    /**
+     * @return The decayed peak-EWMA response time
+     */
+    public Duration latency() {
+        return Duration.ofNanos((long) latencyNanos());
+    }
+
+    private synchronized double observe(long now, double rtt) {
+        long elapsed = Math.max(0, now - stamp);
+        stamp = now;
+        if (rtt > latencyNanos) {
+            latencyNanos = rtt;
+        } else {
+            double w = Math.exp(-elapsed / decayNanos);
+            latencyNanos = latencyNanos * w + rtt * (1 - w);
+        }
+        return latencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceLoad{outstanding=" + outstanding() + ", latency=" + TimeUnit.NANOSECONDS.toMillis((long) latencyNanos()) + "ms}";
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.net.URI;
+
+/**
+ * Provides the {@link InstanceLoad} of service instances, usually from the connection pools of
+ * an HTTP client.
+ *
+ * @since 4.7.0
+ */
+@FunctionalInterface
+public interface InstanceLoadProvider {
+    /**
+     * @param instance The URI of the service instance
+     * @return The load of the instance, or {@code null} if no requests have been sent to it
+     */
+    @Nullable
+    InstanceLoad load(@NonNull URI instance);
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+/**
+ * The strategy used to select between the instances of a service.
+ *
+ * @since 4.7.0
+ */
+public enum LoadBalancingStrategy {
+    /**
+     * Rotate through the available instances.
+     */
+    ROUND_ROBIN,
+    /**
+     * Pick two random instances and use the one with fewer requests in flight.
+     */
+    LEAST_OUTSTANDING,
+    /**
+     * Pick two random instances and use the one with the lower peak-EWMA response time,
+     * weighted by the requests in flight.
+     */
+    PEAK_EWMA
+}
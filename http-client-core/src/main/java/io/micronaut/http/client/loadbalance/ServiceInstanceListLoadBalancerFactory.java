@@ -40,4 +40,19 @@ public class ServiceInstanceListLoadBalancerFactory {
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
         return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
     }
+
+    /**
+     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList} using the given strategy.
+     *
+     * @param serviceInstanceList The {@link ServiceInstanceList}
+     * @param strategy            The load balancing strategy
+     * @return The {@link LoadBalancer}
+     * @since 4.7.0
+     */
+    public LoadBalancer create(ServiceInstanceList serviceInstanceList, LoadBalancingStrategy strategy) {
+        if (strategy == LoadBalancingStrategy.ROUND_ROBIN) {
+            return create(serviceInstanceList);
+        }
+        return new ServiceInstanceListLeastLoadedLoadBalancer(serviceInstanceList, strategy);
+    }
 }
@@ -0,0 +1,571 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.IllegalReferenceCountException;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * In-memory cache for the responses of a client
+ * ({@link HttpClientConfiguration#isResponseCacheEnabled()}). Follows the freshness and
+ * validation model of RFC 9111 for {@code GET} requests: {@code max-age}, {@code s-maxage},
+ * {@code no-store}, {@code no-cache}, {@code must-revalidate}, {@code stale-while-revalidate}
+ * and {@code Vary}. A client is usually shared by the users of an application, so the cache
+ * follows the rules of a shared cache: {@code private} responses are not stored, and responses
+ * to requests with credentials are only stored when the server allows it. Responses are keyed by
+ * the URI, the credential headers and the headers named by {@code Vary} of the filtered request.
+ *
+ * @since 4.7.0
+ */
+@Internal
+public final class ClientResponseCache {
+    private static final List<CharSequence> CONDITIONAL_HEADERS = List.of(
+        HttpHeaderNames.IF_NONE_MATCH,
+        HttpHeaderNames.IF_MODIFIED_SINCE,
+        HttpHeaderNames.IF_MATCH,
+        HttpHeaderNames.IF_UNMODIFIED_SINCE,
+        HttpHeaderNames.IF_RANGE,
+        HttpHeaderNames.RANGE
+    );
+    private static final List<String> CREDENTIAL_HEADERS = List.of(
+        HttpHeaders.AUTHORIZATION,
+        HttpHeaders.PROXY_AUTHORIZATION,
+        HttpHeaders.COOKIE
+    );
+
+    private final Logger log;
+    private final long maxSize;
+    private final boolean offHeap;
+    private final BiFunction<FullHttpResponse, Argument<?>, HttpResponse<?>> responseFactory;
+    private final Map<Key, Entry> entries;
+    /**
+     * The {@code Vary} header names of the last response stored for each URI.
+     */
+    private final Map<String, List<String>> varyHeaders = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    /**
+     * @param log             The client logger
+     * @param configuration   The client configuration
+     * @param responseFactory Creates the response for the caller from a cached response
+     */
+    ClientResponseCache(Logger log, HttpClientConfiguration configuration, BiFunction<FullHttpResponse, Argument<?>, HttpResponse<?>> responseFactory) {
+        this.log = log;
+        this.maxSize = configuration.getResponseCacheMaxSize();
+        this.offHeap = configuration.isResponseCacheOffHeap();
+        this.responseFactory = responseFactory;
+        this.entries = new ConcurrentLinkedHashMap.Builder<Key, Entry>()
+            .maximumWeightedCapacity(maxSize)
+            .weigher(Entry::weight)
+            .listener((key, entry) -> {
+                // the other variants are found again once a new response names the same headers
+                varyHeaders.remove(key.uri(), entry.varyNames);
+                entry.release();
+            })
+            .build();
+    }
+
+    /**
+     * @return The number of requests that were answered from the cache without contacting the
+     * server, including stale responses served while they are revalidated
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of requests that had no usable cached response
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of conditional requests sent to revalidate a stale response
+     */
+    public long revalidations() {
+        return revalidations.sum();
+    }
+
+    /**
+     * @return The number of cached responses
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all responses from the cache.
+     */
+    public void clear() {
+        for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+            if (entries.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().release();
+            }
+        }
+        varyHeaders.clear();
+    }
+
+    /**
+     * Check whether a request may be answered from the cache.
+     *
+     * @param request The filtered request
+     * @return {@code true} for {@code GET} requests without a body that are not conditional
+     */
+    boolean isCacheable(HttpRequest<?> request) {
+        if (request.getMethod() != HttpMethod.GET || request.getBody().isPresent()) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (CharSequence header : CONDITIONAL_HEADERS) {
+            if (headers.contains(header.toString())) {
+                // the caller does its own validation
+                return false;
+            }
+        }
+        return !CacheControl.parse(headers.getAll(HttpHeaders.CACHE_CONTROL)).noStore;
+    }
+
+    /**
+     * Answer a request from the cache, revalidate the cached response, or send the request and
+     * cache the response. This is called once the client filters have run, so that the
+     * credentials they add are taken into account.
+     *
+     * @param uri      The resolved request URI
+     * @param request  The filtered request
+     * @param bodyType The body type of the caller
+     * @param exchange Sends a request to the server
+     * @return The response publisher
+     */
+    Flux<HttpResponse<?>> exchange(URI uri, MutableHttpRequest<?> request, Argument<?> bodyType, Function<MutableHttpRequest<?>, Publisher<HttpResponse<?>>> exchange) {
+        String uriKey = uri.toString();
+        Key key = key(uriKey, varyHeaders.getOrDefault(uriKey, List.of()), request);
+        Entry entry = get(key);
+        if (entry == null) {
+            misses.increment();
+            return store(uriKey, request, exchange.apply(request));
+        }
+        boolean noCache = CacheControl.parse(request.getHeaders().getAll(HttpHeaders.CACHE_CONTROL)).noCache;
+        long age = System.nanoTime() - entry.storedAt;
+        if (!noCache && age < entry.freshNanos) {
+            hits.increment();
+            return respond(entry, entry.headers, bodyType);
+        }
+        if (!noCache && !entry.mustRevalidate && age < entry.freshNanos + entry.staleNanos && entry.hasValidators()) {
+            hits.increment();
+            if (entry.revalidating.compareAndSet(false, true)) {
+                // don't touch the request of this caller, it is answered from the cache
+                MutableHttpRequest<?> revalidation = HttpRequest.GET(uri);
+                for (Map.Entry<String, List<String>> header : request.getHeaders()) {
+                    for (String value : header.getValue()) {
+                        revalidation.header(header.getKey(), value);
+                    }
+                }
+                entry.retain();
+                revalidate(uriKey, key, entry, revalidation, bodyType, exchange)
+                    .doFinally(signal -> entry.revalidating.set(false))
+                    .subscribe(response -> { }, e -> {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Failed to revalidate cached response for {}", uri, e);
+                        }
+                    });
+            }
+            return respond(entry, entry.headers, bodyType);
+        }
+        if (entry.hasValidators()) {
+            return revalidate(uriKey, key, entry, request, bodyType, exchange);
+        }
+        entry.release();
+        misses.increment();
+        return store(uriKey, request, exchange.apply(request));
+    }
+
+    /**
+     * @param uri        The resolved request URI
+     * @param varyNames  The {@code Vary} header names of the response
+     * @param request    The filtered request
+     * @return The key of the cached response for the request
+     */
+    private static Key key(String uri, List<String> varyNames, HttpRequest<?> request) {
+        HttpHeaders headers = request.getHeaders();
+        List<List<String>> values = new ArrayList<>(CREDENTIAL_HEADERS.size() + varyNames.size());
+        for (String name : CREDENTIAL_HEADERS) {
+            values.add(headers.getAll(name));
+        }
+        for (String name : varyNames) {
+            values.add(headers.getAll(name));
+        }
+        return new Key(uri, varyNames, values);
+    }
+
+    /**
+     * Find the cached response for a key. The caller must release the returned entry.
+     */
+    @Nullable
+    private Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            entry.retain();
+            return entry;
+        } catch (IllegalReferenceCountException e) {
+            // evicted concurrently
+            return null;
+        }
+    }
+
+    /**
+     * Send a conditional request for a retained entry, and release the entry when done.
+     */
+    private Flux<HttpResponse<?>> revalidate(String uri, Key key, Entry entry, MutableHttpRequest<?> request, Argument<?> bodyType, Function<MutableHttpRequest<?>, Publisher<HttpResponse<?>>> exchange) {
+        revalidations.increment();
+        if (entry.etag != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, entry.etag);
+        }
+        if (entry.lastModified != null) {
+            request.header(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified);
+        }
+        return Flux.from(exchange.apply(request))
+            .concatMap(response -> response.code() == HttpStatus.NOT_MODIFIED.getCode() ?
+                notModified(key, entry, response, bodyType) :
+                Flux.<HttpResponse<?>>just(response).doOnNext(r -> put(uri, request, r)))
+            .doFinally(signal -> entry.release());
+    }
+
+    /**
+     * Update a retained entry with the headers of a {@code 304 Not Modified} response, and
+     * respond from it.
+     */
+    private Flux<HttpResponse<?>> notModified(Key key, Entry entry, HttpResponse<?> response, Argument<?> bodyType) {
+        io.netty.handler.codec.http.HttpHeaders headers = entry.headers.copy();
+        for (Map.Entry<String, List<String>> header : response.getHeaders()) {
+            if (!header.getKey().equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                headers.set(header.getKey(), header.getValue());
+            }
+        }
+        Entry revalidated = entry.revalidated(headers);
+        if (entries.replace(key, entry, revalidated)) {
+            // release the reference held by the map
+            entry.release();
+        } else {
+            revalidated.release();
+        }
+        return respond0(entry, headers, bodyType);
+    }
+
+    /**
+     * Respond from a retained entry, and release it.
+     */
+    private Flux<HttpResponse<?>> respond(Entry entry, io.netty.handler.codec.http.HttpHeaders headers, Argument<?> bodyType) {
+        return respond0(entry, headers, bodyType).doFinally(signal -> entry.release());
+    }
+
+    private Flux<HttpResponse<?>> respond0(Entry entry, io.netty.handler.codec.http.HttpHeaders headers, Argument<?> bodyType) {
+        return Mono.<HttpResponse<?>>fromCallable(() -> {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, entry.status, entry.content.retainedDuplicate(), headers.copy(), EmptyHttpHeaders.INSTANCE);
+            try {
+                return responseFactory.apply(response, bodyType);
+            } finally {
+                response.release();
+            }
+        }).flux();
+    }
+
+    private Flux<HttpResponse<?>> store(String uri, HttpRequest<?> request, Publisher<HttpResponse<?>> responses) {
+        return Flux.from(responses).doOnNext(response -> put(uri, request, response));
+    }
+
+    private void put(String uri, HttpRequest<?> request, HttpResponse<?> response) {
+        if (!(response instanceof FullNettyClientHttpResponse<?> full) || response.code() != HttpStatus.OK.getCode()) {
+            return;
+        }
+        HttpHeaders headers = response.getHeaders();
+        List<String> varyNames = new ArrayList<>();
+        for (String vary : headers.getAll(HttpHeaders.VARY)) {
+            for (String name : vary.split(",")) {
+                name = name.trim();
+                if (name.equals("*")) {
+                    return;
+                }
+                if (!name.isEmpty()) {
+                    varyNames.add(name.toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        Key key = key(uri, varyNames, request);
+        CacheControl cacheControl = CacheControl.parse(headers.getAll(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl.noStore || cacheControl.isPrivate) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                removed.release();
+            }
+            return;
+        }
+        if (request.getHeaders().contains(HttpHeaders.AUTHORIZATION) && !cacheControl.allowsAuthorized()) {
+            return;
+        }
+        String etag = headers.get(HttpHeaders.ETAG);
+        String lastModified = headers.get(HttpHeaders.LAST_MODIFIED);
+        long freshNanos = cacheControl.freshNanos(age(headers.get(HttpHeaders.AGE)));
+        if (freshNanos <= 0 && etag == null && lastModified == null) {
+            // would never be used
+            return;
+        }
+        ByteBuf body = full.toFullHttpResponse().content();
+        if (body.readableBytes() >= maxSize) {
+            return;
+        }
+        ByteBuf content = offHeap ?
+            ByteBufAllocator.DEFAULT.directBuffer(body.readableBytes()).writeBytes(body, body.readerIndex(), body.readableBytes()) :
+            Unpooled.copiedBuffer(body);
+        Entry entry = new Entry(
+            full.toHttpResponse().status(),
+            full.toHttpResponse().headers().copy(),
+            content,
+            varyNames,
+            etag,
+            lastModified,
+            cacheControl,
+            freshNanos
+        );
+        varyHeaders.put(uri, varyNames);
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    private static long age(@Nullable String age) {
+        if (age != null) {
+            try {
+                return Math.max(0, Long.parseLong(age.trim()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The cache key of a response.
+     *
+     * @param uri          The resolved request URI
+     * @param varyNames    The lower case {@code Vary} header names of the response
+     * @param headerValues The values of the credential headers and the {@code Vary} headers of
+     *                     the request
+     */
+    private record Key(String uri, List<String> varyNames, List<List<String>> headerValues) {
+    }
+
+    /**
+     * The relevant {@code Cache-Control} directives.
+     *
+     * @param maxAge               The {@code max-age} in seconds, or -1
+     * @param sMaxAge              The {@code s-maxage} in seconds, or -1
+     * @param staleWhileRevalidate The {@code stale-while-revalidate} window in seconds, or 0
+     * @param noStore              {@code no-store}
+     * @param noCache              {@code no-cache}
+     * @param mustRevalidate       {@code must-revalidate}, {@code proxy-revalidate} or
+     *                             {@code s-maxage}
+     * @param isPublic             {@code public}
+     * @param isPrivate            {@code private}
+     */
+    private record CacheControl(long maxAge, long sMaxAge, long staleWhileRevalidate, boolean noStore, boolean noCache, boolean mustRevalidate, boolean isPublic, boolean isPrivate) {
+        private static final CacheControl NONE = new CacheControl(-1, -1, 0, false, false, false, false, false);
+
+        static CacheControl parse(List<String> values) {
+            if (values.isEmpty()) {
+                return NONE;
+            }
+            long maxAge = -1;
+            long sMaxAge = -1;
+            long staleWhileRevalidate = 0;
+            boolean noStore = false;
+            boolean noCache = false;
+            boolean mustRevalidate = false;
+            boolean isPublic = false;
+            boolean isPrivate = false;
+            for (String value : values) {
+                for (String directive : value.split(",")) {
+                    int equals = directive.indexOf('=');
+                    String name = (equals == -1 ? directive : directive.substring(0, equals)).trim().toLowerCase(Locale.ENGLISH);
+                    switch (name) {
+                        case "max-age" -> maxAge = seconds(directive, equals);
+                        case "s-maxage" -> sMaxAge = seconds(directive, equals);
+                        case "stale-while-revalidate" -> staleWhileRevalidate = Math.max(0, seconds(directive, equals));
+                        case "no-store" -> noStore = true;
+                        case "no-cache" -> noCache = true;
+                        case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                        case "public" -> isPublic = true;
+                        case "private" -> isPrivate = true;
+                        default -> {
+                        }
+                    }
+                }
+            }
+            // s-maxage includes the semantics of proxy-revalidate for a shared cache
+            return new CacheControl(maxAge, sMaxAge, staleWhileRevalidate, noStore, noCache, mustRevalidate || sMaxAge >= 0, isPublic, isPrivate);
+        }
+
+        private static long seconds(String directive, int equals) {
+            if (equals == -1) {
+                return -1;
+            }
+            String value = directive.substring(equals + 1).trim();
+            if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        /**
+         * @return Whether a response to a request with {@code Authorization} may be stored
+         */
+        boolean allowsAuthorized() {
+            return isPublic || mustRevalidate;
+        }
+
+        /**
+         * @param age The {@code Age} of the response in seconds
+         * @return How long the response is fresh from now, in nanoseconds
+         */
+        long freshNanos(long age) {
+            // s-maxage overrides max-age for a shared cache
+            long lifetime = sMaxAge >= 0 ? sMaxAge : maxAge;
+            if (noCache || lifetime <= age) {
+                return 0;
+            }
+            return TimeUnit.SECONDS.toNanos(lifetime - age);
+        }
+    }
+
+    /**
+     * A cached response. The map holds one reference, each use of the entry holds another.
+     */
+    private static final class Entry extends AbstractReferenceCounted {
+        final HttpResponseStatus status;
+        final io.netty.handler.codec.http.HttpHeaders headers;
+        final ByteBuf content;
+        final List<String> varyNames;
+        @Nullable
+        final String etag;
+        @Nullable
+        final String lastModified;
+        final long storedAt = System.nanoTime();
+        final long freshNanos;
+        final long staleNanos;
+        final boolean mustRevalidate;
+        final AtomicBoolean revalidating = new AtomicBoolean();
+
+        Entry(HttpResponseStatus status,
+              io.netty.handler.codec.http.HttpHeaders headers,
+              ByteBuf content,
+              List<String> varyNames,
+              @Nullable String etag,
+              @Nullable String lastModified,
+              CacheControl cacheControl,
+              long freshNanos) {
+            this.status = status;
+            this.headers = headers;
+            this.content = content;
+            this.varyNames = varyNames;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.freshNanos = freshNanos;
+            this.staleNanos = TimeUnit.SECONDS.toNanos(cacheControl.staleWhileRevalidate);
+            this.mustRevalidate = cacheControl.mustRevalidate;
+        }
+
+        /**
+         * @return A new entry for the same content, after a {@code 304 Not Modified} response
+         */
+        Entry revalidated(io.netty.handler.codec.http.HttpHeaders headers) {
+            CacheControl cacheControl = CacheControl.parse(headers.getAll(HttpHeaderNames.CACHE_CONTROL));
+            return new Entry(
+                status,
+                headers,
+                content.retain(),
+                varyNames,
+                headers.get(HttpHeaderNames.ETAG, etag),
+                headers.get(HttpHeaderNames.LAST_MODIFIED, lastModified),
+                cacheControl,
+                cacheControl.freshNanos(age(headers.get(HttpHeaderNames.AGE)))
+            );
+        }
+
+        boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        int weight() {
+            return Math.max(1, content.readableBytes());
+        }
+
+        @Override
+        protected void deallocate() {
+            content.release();
+        }
+
+        @Override
+        public Entry touch(Object hint) {
+            return this;
+        }
+    }
+}
@@ -27,6 +27,8 @@ import io.micronaut.http.client.HttpClientConfiguration;
 import io.micronaut.http.client.HttpVersionSelection;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.exceptions.HttpClientExceptionUtils;
+import io.micronaut.http.client.loadbalance.InstanceLoad;
+import io.micronaut.http.client.loadbalance.InstanceLoadProvider;
 import io.micronaut.http.client.netty.ssl.ClientSslBuilder;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
@@ -118,6 +120,7 @@ import javax.net.ssl.SSLParameters;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.SocketAddress;
+import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -139,7 +142,7 @@ import java.util.function.Supplier;
  * Note: This class is public for use in micronaut-oracle-cloud.
  */
 @Internal
-public class ConnectionManager {
+public class ConnectionManager implements InstanceLoadProvider {
 
     final NettyClientCustomizer clientCustomizer;
 
@@ -333,6 +336,42 @@ public class ConnectionManager {
         return count.get();
     }
 
+    /**
+     * Get a snapshot of the state of the connection pools, e.g. for metrics.
+     *
+     * @return The statistics of each pool
+     * @since 4.7.0
+     */
+    @NonNull
+    public final List<PoolStatistics> getPoolStatistics() {
+        List<PoolStatistics> statistics = new ArrayList<>(pools.size());
+        for (Pool pool : pools.values()) {
+            int[] counts = new int[3];
+            pool.forEachConnection(c -> {
+                Pool.ConnectionHolder holder = (Pool.ConnectionHolder) c;
+                if (holder.retired()) {
+                    counts[1]++;
+                } else {
+                    counts[0]++;
+                }
+                if (c instanceof Pool.Http2ConnectionHolder http2) {
+                    counts[2] += http2.liveRequests.get();
+                } else if (holder.hasLiveRequests()) {
+                    counts[2]++;
+                }
+            });
+            statistics.add(new PoolStatistics(
+                pool.requestKey,
+                counts[0],
+                counts[1],
+                counts[2],
+                pool.pendingRequestCount(),
+                pool.pendingConnectionCount()
+            ));
+        }
+        return statistics;
+    }
+
     /**
      * @see DefaultHttpClient#start()
      */
@@ -484,6 +523,30 @@ public class ConnectionManager {
         return pools.computeIfAbsent(requestKey, Pool::new).acquire(blockHint);
     }
 
+    /**
+     * Get the load of the pool for the given remote, for load balancing.
+     *
+     * @param instance The remote URI
+     * @return The load, or {@code null} if there is no pool for the remote
+     */
+    @Override
+    @Nullable
+    public final InstanceLoad load(@NonNull URI instance) {
+        String host = instance.getHost();
+        if (host == null) {
+            return null;
+        }
+        boolean secure = DefaultHttpClient.isSecureScheme(instance.getScheme());
+        int port = instance.getPort() > -1 ? instance.getPort() : secure ? DefaultHttpClient.DEFAULT_HTTPS_PORT : DefaultHttpClient.DEFAULT_HTTP_PORT;
+        for (Pool pool : pools.values()) {
+            DefaultHttpClient.RequestKey requestKey = pool.requestKey;
+            if (requestKey.getPort() == port && requestKey.isSecure() == secure && requestKey.getHost().equals(host)) {
+                return pool.instanceLoad;
+            }
+        }
+        return null;
+    }
+
     /**
      * Builds an {@link SslContext} for the given WebSocket URI if necessary.
      *
@@ -969,6 +1032,28 @@ public class ConnectionManager {
         }
     }
 
+    /**
+     * Snapshot of the state of one connection pool.
+     *
+     * @param requestKey          The remote of the pool
+     * @param openConnections     Connections that accept new requests
+     * @param retiringConnections Connections that finish their running requests before closing,
+     *                            e.g. after a GOAWAY
+     * @param liveRequests        Requests (HTTP2 streams) currently running
+     * @param pendingAcquisitions Requests waiting for a connection
+     * @param pendingConnections  Connections that are being established
+     * @since 4.7.0
+     */
+    public record PoolStatistics(
+        DefaultHttpClient.RequestKey requestKey,
+        int openConnections,
+        int retiringConnections,
+        int liveRequests,
+        int pendingAcquisitions,
+        int pendingConnections
+    ) {
+    }
+
     /**
      * Handle for a pooled connection. One pool handle generally corresponds to one request, and
      * once the request and response are done, the handle is {@link #release() released} and a new
@@ -983,6 +1068,10 @@ public class ConnectionManager {
 
         boolean released = false;
 
+        @Nullable
+        private InstanceLoad instanceLoad;
+        private long loadStart;
+
         private final ResourceLeakTracker<PoolHandle> tracker = LEAK_DETECTOR.get().track(this);
 
         private PoolHandle(boolean http2, Channel channel) {
@@ -1015,6 +1104,19 @@ public class ConnectionManager {
             if (tracker != null) {
                 tracker.close(this);
             }
+            if (instanceLoad != null) {
+                instanceLoad.complete(loadStart);
+            }
+        }
+
+        /**
+         * Count the request using this handle towards the given load until it is released.
+         *
+         * @param instanceLoad The load of the pool
+         */
+        final void trackLoad(InstanceLoad instanceLoad) {
+            this.instanceLoad = instanceLoad;
+            this.loadStart = instanceLoad.start();
         }
 
         /**
@@ -1041,6 +1143,10 @@ public class ConnectionManager {
      */
     private final class Pool extends PoolResizer {
         private final DefaultHttpClient.RequestKey requestKey;
+        /**
+         * Requests in flight and response times of this pool, read by load balancers.
+         */
+        private final InstanceLoad instanceLoad = new InstanceLoad();
 
         /**
          * {@link ChannelHandler} that is added to a connection to report failures during
@@ -1250,6 +1356,11 @@ public class ConnectionManager {
                 windDownConnection = true;
             }
 
+            @Override
+            boolean retired() {
+                return windDownConnection;
+            }
+
             /**
              * Send the finished pool handle to the given requester, if possible.
              *
@@ -1257,6 +1368,7 @@ public class ConnectionManager {
              * @param ph The pool handle
              */
             final void emitPoolHandle(Sinks.One<PoolHandle> sink, PoolHandle ph) {
+                ph.trackLoad(instanceLoad);
                 Sinks.EmitResult emitResult = sink.tryEmitValue(ph);
                 if (emitResult.isFailure()) {
                     ph.release();
@@ -1496,6 +1608,11 @@ public class ConnectionManager {
                 return liveRequests.get() > 0;
             }
 
+            @Override
+            int requestCount() {
+                return earmarkedOrLiveRequests.get();
+            }
+
             @Override
             void fireReadTimeout(ChannelHandlerContext ctx) {
                 channel.pipeline().fireExceptionCaught(new Http2MultiplexActiveStreamsException(ReadTimeoutException.INSTANCE));
@@ -1593,6 +1710,10 @@ public class ConnectionManager {
                 super.windDownConnection();
                 if (liveRequests.get() == 0) {
                     channel.close();
+                } else {
+                    // the running streams finish on this connection, but new requests may need a
+                    // replacement connection
+                    markConnectionAvailable();
                 }
             }
 
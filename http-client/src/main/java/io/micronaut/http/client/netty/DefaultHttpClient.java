@@ -72,6 +72,7 @@ import io.micronaut.http.client.exceptions.NoHostException;
 import io.micronaut.http.client.exceptions.ReadTimeoutException;
 import io.micronaut.http.client.filter.ClientFilterResolutionContext;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
+import io.micronaut.http.client.loadbalance.AbstractLeastLoadedLoadBalancer;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.multipart.MultipartDataFactory;
 import io.micronaut.http.client.netty.ssl.ClientSslBuilder;
@@ -229,8 +230,8 @@ public class DefaultHttpClient implements
      * Default logger, use {@link #log} where possible.
      */
     private static final Logger DEFAULT_LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
-    private static final int DEFAULT_HTTP_PORT = 80;
-    private static final int DEFAULT_HTTPS_PORT = 443;
+    static final int DEFAULT_HTTP_PORT = 80;
+    static final int DEFAULT_HTTPS_PORT = 443;
 
     /**
      * Which headers <i>not</i> to copy from the first request when redirecting to a second request. There doesn't
@@ -272,6 +273,9 @@ public class DefaultHttpClient implements
     private final ConversionService conversionService;
     @Nullable
     private final ExecutorService blockingExecutor;
+    private final SingleFlightExchanges singleFlightExchanges;
+    @Nullable
+    private final ClientResponseCache responseCache;
 
     /**
      * Construct a client for the given arguments.
@@ -414,6 +418,10 @@ public class DefaultHttpClient implements
         this.requestBinderRegistry = builder.requestBinderRegistry == null ? new DefaultRequestBinderRegistry(conversionService) : builder.requestBinderRegistry;
         this.informationalServiceId = builder.informationalServiceId;
         this.blockingExecutor = builder.blockingExecutor;
+        this.singleFlightExchanges = new SingleFlightExchanges(configuration);
+        this.responseCache = configuration.isResponseCacheEnabled() ?
+            new ClientResponseCache(log, configuration, (response, type) -> new FullNettyClientHttpResponse<>(response, handlerRegistry, (Argument<Object>) type, true, conversionService)) :
+            null;
 
         this.connectionManager = new ConnectionManager(
             log,
@@ -427,6 +435,9 @@ public class DefaultHttpClient implements
             builder.clientCustomizer,
             builder.informationalServiceId,
             builder.resolverGroup);
+        if (loadBalancer instanceof AbstractLeastLoadedLoadBalancer leastLoaded) {
+            leastLoaded.addLoadProvider(connectionManager);
+        }
     }
 
     /**
@@ -879,6 +890,50 @@ public class DefaultHttpClient implements
             .switchMap(uri -> (Publisher) exchangeImpl(uri, parentRequest, toMutableRequest(request), bodyType, errorType, blockHint));
     }
 
+    /**
+     * Answer a request from the {@link #responseCache()}, or send it. Called with the filtered
+     * request.
+     */
+    private Publisher<HttpResponse<?>> cachedExchange(
+        URI requestURI,
+        MutableHttpRequest<?> request,
+        @NonNull Argument<?> bodyType,
+        @NonNull Argument<?> errorType,
+        Function<MutableHttpRequest<?>, Publisher<HttpResponse<?>>> send) {
+        if (responseCache != null && responseCache.isCacheable(request)) {
+            return responseCache.exchange(requestURI, request, bodyType,
+                r -> exchangeOrJoin(requestURI, r, bodyType, errorType, send));
+        }
+        return exchangeOrJoin(requestURI, request, bodyType, errorType, send);
+    }
+
+    /**
+     * Join an identical in-flight exchange if {@link HttpClientConfiguration#isSingleFlight()}
+     * applies, or start a new one. Called with the filtered request.
+     */
+    private Publisher<HttpResponse<?>> exchangeOrJoin(
+        URI requestURI,
+        MutableHttpRequest<?> request,
+        @NonNull Argument<?> bodyType,
+        @NonNull Argument<?> errorType,
+        Function<MutableHttpRequest<?>, Publisher<HttpResponse<?>>> send) {
+        if (singleFlightExchanges.isEligible(request)) {
+            return singleFlightExchanges.exchange(requestURI, request, bodyType, errorType, () -> send.apply(request));
+        }
+        return send.apply(request);
+    }
+
+    /**
+     * The response cache of this client, if enabled.
+     *
+     * @return The response cache, or {@code null}
+     * @since 4.7.0
+     */
+    @Nullable
+    public ClientResponseCache responseCache() {
+        return responseCache;
+    }
+
     @Override
     public <I, O, E> Publisher<O> retrieve(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType) {
         setupConversionService(request);
@@ -931,6 +986,12 @@ public class DefaultHttpClient implements
 
     @Override
     public void close() {
+        if (loadBalancer instanceof AbstractLeastLoadedLoadBalancer leastLoaded) {
+            leastLoaded.removeLoadProvider(connectionManager);
+        }
+        if (responseCache != null) {
+            responseCache.clear();
+        }
         stop();
     }
 
@@ -1137,8 +1198,6 @@ public class DefaultHttpClient implements
         @NonNull Argument<?> bodyType,
         @NonNull Argument<E> errorType,
         @Nullable BlockHint blockHint) {
-        AtomicReference<MutableHttpRequest<?>> requestWrapper = new AtomicReference<>(request);
-
         RequestKey requestKey;
         try {
             requestKey = new RequestKey(this, requestURI);
@@ -1146,27 +1205,34 @@ public class DefaultHttpClient implements
             return Flux.error(e);
         }
 
-        Mono<ConnectionManager.PoolHandle> handlePublisher = connectionManager.connect(requestKey, blockHint);
-
-        Flux<HttpResponse<?>> responsePublisher = handlePublisher.flatMapMany(poolHandle -> Flux.create(emitter -> {
-            try {
-                sendRequestThroughChannel(
-                    requestWrapper.get(),
-                    bodyType,
-                    errorType,
-                    emitter,
-                    poolHandle
-                );
-            } catch (Exception e) {
-                emitter.error(e);
-            }
-        }));
+        // the connection is only acquired when the request is actually sent, a request that is
+        // answered from the cache or joins another exchange never needs one
+        Function<MutableHttpRequest<?>, Publisher<HttpResponse<?>>> send = r -> connectionManager.connect(requestKey, blockHint)
+            .flatMapMany(poolHandle -> Flux.create(emitter -> {
+                try {
+                    sendRequestThroughChannel(
+                        r,
+                        bodyType,
+                        errorType,
+                        emitter,
+                        poolHandle
+                    );
+                } catch (Exception e) {
+                    emitter.error(e);
+                }
+            }));
 
         Publisher<HttpResponse<?>> finalPublisher = applyFilterToResponsePublisher(
             parentRequest,
             request,
             requestURI,
-            responsePublisher
+            filteredRequest -> cachedExchange(
+                requestURI,
+                filteredRequest instanceof MutableHttpRequest<?> mutable ? mutable : request,
+                bodyType,
+                errorType,
+                send
+            )
         );
         Flux<HttpResponse<?>> finalReactiveSequence = Flux.from(finalPublisher);
         Duration requestTimeout = configuration.getRequestTimeout();
@@ -1253,9 +1319,27 @@ public class DefaultHttpClient implements
             io.micronaut.http.HttpRequest<I> request,
             URI requestURI,
             Publisher<HttpResponse<?>> responsePublisher) {
+        return applyFilterToResponsePublisher(parentRequest, request, requestURI, filteredRequest -> responsePublisher);
+    }
+
+    /**
+     * Run the client filters for a request.
+     *
+     * @param parentRequest     The parent request
+     * @param request           The request
+     * @param requestURI        The resolved request URI
+     * @param responsePublisher Provides the response for the filtered request
+     * @param <I>               The input type
+     * @return The filtered response publisher
+     */
+    private <I> Publisher<HttpResponse<?>> applyFilterToResponsePublisher(
+            io.micronaut.http.HttpRequest<?> parentRequest,
+            io.micronaut.http.HttpRequest<I> request,
+            URI requestURI,
+            Function<io.micronaut.http.HttpRequest<?>, Publisher<HttpResponse<?>>> responsePublisher) {
 
         if (!(request instanceof MutableHttpRequest<?> mutRequest)) {
-            return responsePublisher;
+            return responsePublisher.apply(request);
         }
 
         mutRequest.uri(requestURI);
@@ -1280,7 +1364,7 @@ public class DefaultHttpClient implements
             protected ExecutionFlow<HttpResponse<?>> provideResponse(io.micronaut.http.HttpRequest<?> request, PropagatedContext propagatedContext) {
                 try {
                     try (PropagatedContext.Scope ignore = propagatedContext.propagate()) {
-                        return ReactiveExecutionFlow.fromPublisher(responsePublisher);
+                        return ReactiveExecutionFlow.fromPublisher(responsePublisher.apply(request));
                     }
                 } catch (Throwable e) {
                     return ExecutionFlow.error(e);
@@ -36,6 +36,7 @@ import io.micronaut.http.netty.cookies.NettyCookies;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.FullHttpResponse;
 import org.slf4j.Logger;
@@ -66,6 +67,8 @@ public class FullNettyClientHttpResponse<B> implements HttpResponse<B>, NettyHtt
     private final Map<Argument, Optional> convertedBodies = new HashMap<>();
     private final MessageBodyHandlerRegistry handlerRegistry;
     private final B body;
+    private final Argument<B> bodyType;
+    private final boolean convertBody;
     private final ConversionService conversionService;
 
     /**
@@ -81,15 +84,27 @@ public class FullNettyClientHttpResponse<B> implements HttpResponse<B>, NettyHtt
             Argument<B> bodyType,
             boolean convertBody,
             ConversionService conversionService) {
-        this.conversionService = conversionService;
-        this.headers = new NettyHttpHeaders(fullHttpResponse.headers(), conversionService);
-        this.attributes = new MutableConvertibleValuesMap<>();
-        this.nettyHttpResponse = fullHttpResponse;
         // this class doesn't really have lifecycle management (we don't make the user release()
         // it), so we have to copy the data to a non-refcounted buffer.
-        this.unpooledContent = Unpooled.unreleasableBuffer(Unpooled.copiedBuffer(fullHttpResponse.content()));
+        this(fullHttpResponse, Unpooled.unreleasableBuffer(Unpooled.copiedBuffer(fullHttpResponse.content())), handlerRegistry, bodyType, convertBody, conversionService);
+    }
+
+    private FullNettyClientHttpResponse(
+            io.netty.handler.codec.http.HttpResponse nettyHttpResponse,
+            ByteBuf unpooledContent,
+            MessageBodyHandlerRegistry handlerRegistry,
+            Argument<B> bodyType,
+            boolean convertBody,
+            ConversionService conversionService) {
+        this.conversionService = conversionService;
+        this.headers = new NettyHttpHeaders(nettyHttpResponse.headers(), conversionService);
+        this.attributes = new MutableConvertibleValuesMap<>();
+        this.nettyHttpResponse = nettyHttpResponse;
+        this.unpooledContent = unpooledContent;
         this.handlerRegistry = handlerRegistry;
-        this.nettyCookies = new NettyCookies(fullHttpResponse.headers(), conversionService);
+        this.bodyType = bodyType;
+        this.convertBody = convertBody;
+        this.nettyCookies = new NettyCookies(nettyHttpResponse.headers(), conversionService);
         Class<?> rawBodyType = bodyType != null ? bodyType.getType() : null;
         if (rawBodyType != null && !HttpStatus.class.isAssignableFrom(rawBodyType)) {
             if (HttpResponse.class.isAssignableFrom(bodyType.getType())) {
@@ -108,6 +123,24 @@ public class FullNettyClientHttpResponse<B> implements HttpResponse<B>, NettyHtt
         }
     }
 
+    /**
+     * Create a response for another caller of a coalesced request. The content is shared, but
+     * the body is converted again, so that callers do not share body instances.
+     *
+     * @return The copy
+     * @since 4.7.0
+     */
+    FullNettyClientHttpResponse<B> duplicate() {
+        io.netty.handler.codec.http.HttpResponse response = new DefaultHttpResponse(
+            nettyHttpResponse.protocolVersion(),
+            nettyHttpResponse.status(),
+            nettyHttpResponse.headers().copy()
+        );
+        response.setDecoderResult(nettyHttpResponse.decoderResult());
+        // each copy gets its own reader index
+        return new FullNettyClientHttpResponse<>(response, unpooledContent.duplicate(), handlerRegistry, bodyType, convertBody, conversionService);
+    }
+
     @Override
     public String reason() {
         return this.nettyHttpResponse.status().reasonPhrase();
@@ -235,7 +268,7 @@ public class FullNettyClientHttpResponse<B> implements HttpResponse<B>, NettyHtt
         DefaultFullHttpResponse copy = new DefaultFullHttpResponse(
             nettyHttpResponse.protocolVersion(),
             nettyHttpResponse.status(),
-            unpooledContent,
+            unpooledContent.duplicate(),
             nettyHttpResponse.headers(),
             DefaultLastHttpContent.EMPTY_LAST_CONTENT.trailingHeaders()
         );
@@ -97,6 +97,7 @@ abstract class PoolResizer {
     }
 
     private void doSomeWork() {
+        int http2Target = connectionPoolConfiguration.getTargetConcurrentRequestsPerHttp2Connection();
         BlockHint blockedPendingRequests = null;
         while (true) {
             PoolSink<ConnectionManager.PoolHandle> toDispatch = pendingRequests.pollFirst();
@@ -104,10 +105,19 @@ abstract class PoolResizer {
                 break;
             }
             boolean dispatched = false;
-            for (ResizerConnection c : http2Connections) {
-                if (dispatchSafe(c, toDispatch)) {
+            if (http2Target != Integer.MAX_VALUE) {
+                // spread the streams over the connections, instead of filling up the first one
+                ResizerConnection leastLoaded = leastLoadedHttp2Connection();
+                if (leastLoaded != null && dispatchSafe(leastLoaded, toDispatch)) {
                     dispatched = true;
-                    break;
+                }
+            }
+            if (!dispatched) {
+                for (ResizerConnection c : http2Connections) {
+                    if (dispatchSafe(c, toDispatch)) {
+                        dispatched = true;
+                        break;
+                    }
                 }
             }
             if (!dispatched) {
@@ -130,10 +140,22 @@ abstract class PoolResizer {
         int pendingRequestCount = this.pendingRequests.size();
         int pendingConnectionCount = this.pendingConnectionCount.get();
         int http1ConnectionCount = this.http1Connections.size();
-        int http2ConnectionCount = this.http2Connections.size();
+        // connections that are winding down (e.g. after GOAWAY) don't take new requests, so they
+        // should not prevent us from opening a replacement.
+        int http2ConnectionCount = activeHttp2ConnectionCount();
 
         if (pendingRequestCount == 0) {
-            // if there are no pending requests, there is nothing to do.
+            // if there are no pending requests, there is nothing to do, unless all http2
+            // connections are above their target stream count. In that case, open another
+            // connection before requests have to share the busy ones.
+            if (http2Target != Integer.MAX_VALUE &&
+                pendingConnectionCount == 0 &&
+                http2ConnectionCount > 0 &&
+                http2ConnectionCount < connectionPoolConfiguration.getMaxConcurrentHttp2Connections() &&
+                allHttp2ConnectionsAtTarget(http2Target)) {
+
+                openNewConnections(1, null);
+            }
             return;
         }
         int connectionsToOpen = pendingRequestCount - pendingConnectionCount;
@@ -148,20 +170,60 @@ abstract class PoolResizer {
         }
 
         if (connectionsToOpen > 0) {
-            this.pendingConnectionCount.addAndGet(connectionsToOpen);
-            for (int i = 0; i < connectionsToOpen; i++) {
+            openNewConnections(connectionsToOpen, blockedPendingRequests);
+        }
+    }
+
+    private void openNewConnections(int connectionsToOpen, @Nullable BlockHint blockedPendingRequests) {
+        this.pendingConnectionCount.addAndGet(connectionsToOpen);
+        for (int i = 0; i < connectionsToOpen; i++) {
+            try {
+                openNewConnection(blockedPendingRequests);
+            } catch (Exception e) {
                 try {
-                    openNewConnection(blockedPendingRequests);
-                } catch (Exception e) {
-                    try {
-                        onNewConnectionFailure(e);
-                    } catch (Exception f) {
-                        log.error("Internal error", f);
-                    }
+                    onNewConnectionFailure(e);
+                } catch (Exception f) {
+                    log.error("Internal error", f);
                 }
             }
-            dirty();
         }
+        dirty();
+    }
+
+    @Nullable
+    private ResizerConnection leastLoadedHttp2Connection() {
+        ResizerConnection leastLoaded = null;
+        int leastRequests = Integer.MAX_VALUE;
+        for (ResizerConnection c : http2Connections) {
+            if (c.retired()) {
+                continue;
+            }
+            int requests = c.requestCount();
+            if (requests < leastRequests) {
+                leastLoaded = c;
+                leastRequests = requests;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private int activeHttp2ConnectionCount() {
+        int count = 0;
+        for (ResizerConnection c : http2Connections) {
+            if (!c.retired()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean allHttp2ConnectionsAtTarget(int target) {
+        for (ResizerConnection c : http2Connections) {
+            if (!c.retired() && c.requestCount() < target) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private boolean dispatchSafe(ResizerConnection connection, PoolSink<ConnectionManager.PoolHandle> toDispatch) {
@@ -247,6 +309,20 @@ abstract class PoolResizer {
         dirty();
     }
 
+    /**
+     * @return The number of requests waiting for a connection
+     */
+    final int pendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * @return The number of connections that are being established
+     */
+    final int pendingConnectionCount() {
+        return pendingConnectionCount.get();
+    }
+
     final void forEachConnection(Consumer<ResizerConnection> c) {
         for (ResizerConnection http1Connection : http1Connections) {
             c.accept(http1Connection);
@@ -282,5 +358,21 @@ abstract class PoolResizer {
          * request must be readded), or {@code false} if it fails immediately
          */
         abstract boolean dispatch(PoolSink<ConnectionManager.PoolHandle> sink) throws Exception;
+
+        /**
+         * @return The number of requests running on or earmarked for this connection. Only used
+         * for HTTP2 connections
+         */
+        int requestCount() {
+            return 0;
+        }
+
+        /**
+         * @return {@code true} if this connection does not accept new requests anymore, and only
+         * waits for the running requests to finish
+         */
+        boolean retired() {
+            return false;
+        }
     }
 }
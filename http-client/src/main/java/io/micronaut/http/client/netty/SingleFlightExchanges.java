@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationMetadataProvider;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.annotation.SingleFlight;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical requests of a client into a single exchange
+ * ({@link HttpClientConfiguration#isSingleFlight()}). The first caller starts the exchange, and
+ * every caller that arrives before it completes receives a copy of the same buffered response.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class SingleFlightExchanges {
+    /**
+     * Headers that always take part in the key, so that callers with different credentials never
+     * share a response.
+     */
+    private static final List<String> CREDENTIAL_HEADERS = List.of(
+        HttpHeaders.AUTHORIZATION,
+        HttpHeaders.PROXY_AUTHORIZATION,
+        HttpHeaders.COOKIE
+    );
+
+    private final HttpClientConfiguration configuration;
+    private final Map<Key, Mono<HttpResponse<?>>> inFlight = new ConcurrentHashMap<>();
+
+    SingleFlightExchanges(HttpClientConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Check whether a request may share an exchange with other requests.
+     *
+     * @param request The request
+     * @return {@code true} if the request is idempotent, has no body, and coalescing is enabled
+     * for the client or the declarative client method
+     */
+    boolean isEligible(HttpRequest<?> request) {
+        HttpMethod method = request.getMethod();
+        if ((method != HttpMethod.GET && method != HttpMethod.HEAD) || request.getBody().isPresent()) {
+            return false;
+        }
+        if (request.getHeaders().contains(HttpHeaders.IF_NONE_MATCH) || request.getHeaders().contains(HttpHeaders.IF_MODIFIED_SINCE)) {
+            // conditional requests may get a different response
+            return false;
+        }
+        Optional<AnnotationMetadataProvider> invocationContext = request.getAttribute(HttpAttributes.INVOCATION_CONTEXT, AnnotationMetadataProvider.class);
+        if (invocationContext.isPresent()) {
+            AnnotationMetadata annotationMetadata = invocationContext.get().getAnnotationMetadata();
+            if (annotationMetadata.hasAnnotation(SingleFlight.class)) {
+                return annotationMetadata.booleanValue(SingleFlight.class).orElse(true);
+            }
+        }
+        return configuration.isSingleFlight();
+    }
+
+    /**
+     * Join the in-flight exchange for an identical request, or start a new one. This is called
+     * once the client filters have run, so that the key sees the headers they add.
+     *
+     * @param uri       The resolved request URI
+     * @param request   The filtered request
+     * @param bodyType  The body type
+     * @param errorType The error type
+     * @param exchange  Starts the exchange for this request
+     * @return The response publisher for this caller
+     */
+    Flux<HttpResponse<?>> exchange(URI uri, HttpRequest<?> request, Argument<?> bodyType, Argument<?> errorType, Supplier<Publisher<HttpResponse<?>>> exchange) {
+        List<String> headerNames = configuration.getSingleFlightHeaders();
+        List<List<String>> headerValues = new ArrayList<>(headerNames.size() + CREDENTIAL_HEADERS.size());
+        for (String headerName : headerNames) {
+            headerValues.add(request.getHeaders().getAll(headerName));
+        }
+        for (String headerName : CREDENTIAL_HEADERS) {
+            headerValues.add(request.getHeaders().getAll(headerName));
+        }
+        Key key = new Key(request.getMethod(), uri, headerValues, bodyType, errorType);
+        Mono<HttpResponse<?>> flight = inFlight.computeIfAbsent(key, k -> Flux.from(exchange.get())
+            .next()
+            // late callers start a new exchange once this one is done
+            .doFinally(signal -> inFlight.remove(k))
+            .cache());
+        return flight.map(SingleFlightExchanges::copy).flux();
+    }
+
+    /**
+     * @return The number of exchanges that are currently shared, for testing
+     */
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static HttpResponse<?> copy(HttpResponse<?> response) {
+        // each caller gets its own body instance
+        return response instanceof FullNettyClientHttpResponse<?> full ? full.duplicate() : response;
+    }
+
+    private record Key(HttpMethod method, URI uri, List<List<String>> headerValues, Argument<?> bodyType, Argument<?> errorType) {
+    }
+}
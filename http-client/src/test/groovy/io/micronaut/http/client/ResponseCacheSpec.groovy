@@ -0,0 +1,297 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.annotation.Nullable
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.ClientFilter
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.RequestFilter
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResponseCacheSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'ResponseCacheSpec'])
+
+    ApplicationContext clientContext
+    DefaultHttpClient client
+
+    def setup() {
+        server.applicationContext.getBean(CacheController).calls.set(0)
+    }
+
+    def cleanup() {
+        client?.close()
+        clientContext?.close()
+    }
+
+    @Unroll
+    def 'fresh responses are served from the cache (off-heap=#offHeap)'() {
+        given:
+        createClient(offHeap)
+
+        when:
+        def first = retrieve('/cache/max-age')
+        def second = retrieve('/cache/max-age')
+
+        then:
+        first == 'value 1'
+        second == 'value 1'
+        calls() == 1
+        client.responseCache().misses() == 1
+        client.responseCache().hits() == 1
+
+        where:
+        offHeap << [false, true]
+    }
+
+    def 'no-store responses are not cached'() {
+        given:
+        createClient()
+
+        when:
+        retrieve('/cache/no-store')
+        retrieve('/cache/no-store')
+
+        then:
+        calls() == 2
+        client.responseCache().size() == 0
+        client.responseCache().hits() == 0
+    }
+
+    def 'stale responses are revalidated'() {
+        given:
+        createClient()
+
+        when:
+        def first = retrieve('/cache/etag')
+        def second = retrieve('/cache/etag')
+
+        then:
+        first == 'etag body'
+        second == 'etag body'
+        calls() == 2
+        server.applicationContext.getBean(CacheController).notModified.get() == 1
+        client.responseCache().revalidations() == 1
+    }
+
+    def 'responses are cached per vary header value'() {
+        given:
+        createClient()
+
+        when:
+        def en1 = retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'en'))
+        def en2 = retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'en'))
+        def de = retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'de'))
+        def en3 = retrieve(HttpRequest.GET('/cache/vary').header(HttpHeaders.ACCEPT_LANGUAGE, 'en'))
+
+        then:
+        en1 == 'en'
+        en2 == 'en'
+        de == 'de'
+        en3 == 'en'
+        calls() == 2
+        client.responseCache().size() == 2
+    }
+
+    def 'private responses are not cached'() {
+        given:
+        createClient()
+
+        when:
+        retrieve('/cache/private')
+        retrieve('/cache/private')
+
+        then:
+        calls() == 2
+        client.responseCache().size() == 0
+    }
+
+    def 's-maxage takes precedence over max-age'() {
+        given:
+        createClient()
+
+        when:
+        def first = retrieve('/cache/s-maxage')
+        def second = retrieve('/cache/s-maxage')
+
+        then:
+        first == 'value 1'
+        second == 'value 1'
+        calls() == 1
+    }
+
+    def 'requests with authorization are only cached for public responses'() {
+        given:
+        createClient()
+
+        when:
+        retrieve(HttpRequest.GET('/cache/max-age').header(HttpHeaders.AUTHORIZATION, 'Bearer foo'))
+        retrieve(HttpRequest.GET('/cache/max-age').header(HttpHeaders.AUTHORIZATION, 'Bearer foo'))
+
+        then:
+        calls() == 2
+    }
+
+    def 'authorization added by a filter is seen by the cache'() {
+        given:
+        createClient(false, ['spec.name': 'ResponseCacheSpec.filter'])
+
+        when: 'a filter adds credentials to a response that is not public'
+        retrieve(HttpRequest.GET('/cache/max-age').setAttribute('user', 'a'))
+        retrieve(HttpRequest.GET('/cache/max-age').setAttribute('user', 'a'))
+
+        then:
+        calls() == 2
+
+        when: 'public responses are cached per credentials'
+        def a1 = retrieve(HttpRequest.GET('/cache/public').setAttribute('user', 'a'))
+        def b1 = retrieve(HttpRequest.GET('/cache/public').setAttribute('user', 'b'))
+        def a2 = retrieve(HttpRequest.GET('/cache/public').setAttribute('user', 'a'))
+
+        then:
+        a1 == 'value 3'
+        b1 == 'value 4'
+        a2 == 'value 3'
+        calls() == 4
+    }
+
+    def 'stale-while-revalidate serves the stale response and revalidates in the background'() {
+        given:
+        createClient()
+        def conditions = new PollingConditions(timeout: 5)
+
+        when:
+        retrieve('/cache/swr')
+        sleep(1100)
+        def stale = retrieve('/cache/swr')
+
+        then:
+        stale == 'swr body'
+        client.responseCache().hits() == 1
+        conditions.eventually {
+            assert server.applicationContext.getBean(CacheController).notModified.get() == 1
+        }
+
+        when: 'the revalidated response is fresh again'
+        // the server counts the 304 before the client has stored it
+        sleep(200)
+        retrieve('/cache/swr')
+
+        then:
+        calls() == 2
+        client.responseCache().hits() == 2
+    }
+
+    private void createClient(boolean offHeap = false, Map<String, Object> properties = [:]) {
+        clientContext = ApplicationContext.run([
+                'micronaut.http.client.response-cache-enabled' : true,
+                'micronaut.http.client.response-cache-off-heap': offHeap,
+        ] + properties)
+        client = (DefaultHttpClient) clientContext.createBean(HttpClient, server.URI)
+    }
+
+    private String retrieve(String path) {
+        return retrieve(HttpRequest.GET(path))
+    }
+
+    private String retrieve(HttpRequest<?> request) {
+        return client.toBlocking().retrieve(request)
+    }
+
+    private int calls() {
+        return server.applicationContext.getBean(CacheController).calls.get()
+    }
+
+    @Requires(property = 'spec.name', value = 'ResponseCacheSpec.filter')
+    @ClientFilter('/cache/**')
+    static class UserFilter {
+        @RequestFilter
+        void filter(MutableHttpRequest<?> request) {
+            request.getAttribute('user', String).ifPresent { request.header(HttpHeaders.AUTHORIZATION, 'Bearer ' + it) }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ResponseCacheSpec')
+    @Controller('/cache')
+    static class CacheController {
+        final AtomicInteger calls = new AtomicInteger()
+        final AtomicInteger notModified = new AtomicInteger()
+
+        @Get('/max-age')
+        HttpResponse<String> maxAge() {
+            return HttpResponse.ok('value ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'max-age=300')
+        }
+
+        @Get('/public')
+        HttpResponse<String> publicMaxAge() {
+            return HttpResponse.ok('value ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'public, max-age=300')
+        }
+
+        @Get('/private')
+        HttpResponse<String> privateMaxAge() {
+            return HttpResponse.ok('value ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'private, max-age=300')
+        }
+
+        @Get('/s-maxage')
+        HttpResponse<String> sMaxAge() {
+            return HttpResponse.ok('value ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'max-age=0, s-maxage=300')
+        }
+
+        @Get('/no-store')
+        HttpResponse<String> noStore() {
+            return HttpResponse.ok('value ' + calls.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, 'no-store')
+        }
+
+        @Get('/etag')
+        HttpResponse<String> etag(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+            return validated('"v1"', 'no-cache', 'etag body', ifNoneMatch)
+        }
+
+        @Get('/swr')
+        HttpResponse<String> swr(@Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+            return validated('"s1"', 'max-age=1, stale-while-revalidate=60', 'swr body', ifNoneMatch)
+        }
+
+        @Get('/vary')
+        HttpResponse<String> vary(@Header(HttpHeaders.ACCEPT_LANGUAGE) String language) {
+            calls.incrementAndGet()
+            return HttpResponse.ok(language)
+                    .header(HttpHeaders.CACHE_CONTROL, 'max-age=300')
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+        }
+
+        private HttpResponse<String> validated(String etag, String cacheControl, String body, @Nullable String ifNoneMatch) {
+            calls.incrementAndGet()
+            if (ifNoneMatch == etag) {
+                notModified.incrementAndGet()
+                return HttpResponse.<String> notModified()
+                        .header(HttpHeaders.ETAG, etag)
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+            }
+            return HttpResponse.ok(body)
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.ClientFilter
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.annotation.RequestFilter
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.annotation.SingleFlight
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
+
+class SingleFlightSpec extends Specification {
+    static final int CALLERS = 10
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'SingleFlightSpec'])
+
+    def setup() {
+        server.applicationContext.getBean(SlowController).calls.set(0)
+    }
+
+    def 'identical requests of an annotated method share one exchange'() {
+        given:
+        def client = server.applicationContext.getBean(SlowClient)
+
+        when:
+        def results = Flux.merge((1..CALLERS).collect { client.coalesced() }).collectList().block()
+
+        then:
+        results.size() == CALLERS
+        results.every { it == [call: 1] }
+        // every caller gets its own body
+        !results[0].is(results[1])
+        calls() == 1
+
+        when: 'the exchange is done'
+        def next = client.coalesced().block()
+
+        then: 'a new one is started'
+        next == [call: 2]
+        calls() == 2
+    }
+
+    def 'methods without the annotation are not coalesced'() {
+        given:
+        def client = server.applicationContext.getBean(SlowClient)
+
+        when:
+        Flux.merge((1..CALLERS).collect { client.separate() }).collectList().block()
+
+        then:
+        calls() == CALLERS
+    }
+
+    def 'requests with different selected headers are not coalesced'() {
+        given:
+        def client = server.applicationContext.getBean(SlowClient)
+
+        when:
+        def results = Flux.merge(
+                client.coalesced('Bearer a'),
+                client.coalesced('Bearer a'),
+                client.coalesced('Bearer b'),
+        ).collectList().block()
+
+        then:
+        results.size() == 3
+        calls() == 2
+    }
+
+    def 'single flight can be enabled for a client'() {
+        given:
+        def ctx = ApplicationContext.run(['micronaut.http.client.single-flight': true])
+        def client = ctx.createBean(HttpClient, server.URI)
+
+        when:
+        def results = Flux.merge((1..CALLERS).collect {
+            client.retrieve(HttpRequest.GET('/single-flight/slow'), Map)
+        }).collectList().block()
+
+        then:
+        results.size() == CALLERS
+        calls() == 1
+
+        when: 'requests with a body are never coalesced'
+        Flux.merge((1..3).collect {
+            client.retrieve(HttpRequest.POST('/single-flight/slow', 'body'), Map)
+        }).collectList().block()
+
+        then:
+        calls() == 4
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'requests are coalesced after the client filters have run'() {
+        given:
+        def ctx = ApplicationContext.run(['spec.name': 'SingleFlightSpec.filter', 'micronaut.http.client.single-flight': true])
+        def client = ctx.createBean(HttpClient, server.URI)
+
+        when: 'a filter adds different credentials to otherwise identical requests'
+        def results = Flux.merge(['a', 'a', 'b', 'b'].collect {
+            client.retrieve(HttpRequest.GET('/single-flight/slow').setAttribute('user', it), Map)
+        }).collectList().block()
+
+        then:
+        results.size() == 4
+        calls() == 2
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    private int calls() {
+        server.applicationContext.getBean(SlowController).calls.get()
+    }
+
+    @Requires(property = 'spec.name', value = 'SingleFlightSpec')
+    @Client('/single-flight')
+    static interface SlowClient {
+        @SingleFlight
+        @Get('/slow')
+        Mono<Map<String, Object>> coalesced()
+
+        @SingleFlight
+        @Get('/slow')
+        Mono<Map<String, Object>> coalesced(@Header(HttpHeaders.AUTHORIZATION) String authorization)
+
+        @Get('/slow')
+        Mono<Map<String, Object>> separate()
+    }
+
+    @Requires(property = 'spec.name', value = 'SingleFlightSpec.filter')
+    @ClientFilter('/single-flight/**')
+    static class UserFilter {
+        @RequestFilter
+        void filter(MutableHttpRequest<?> request) {
+            request.getAttribute('user', String).ifPresent { request.header(HttpHeaders.AUTHORIZATION, 'Bearer ' + it) }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'SingleFlightSpec')
+    @Controller('/single-flight')
+    static class SlowController {
+        final AtomicInteger calls = new AtomicInteger()
+
+        @Get('/slow')
+        Mono<Map<String, Object>> slow() {
+            int call = calls.incrementAndGet()
+            return Mono.delay(Duration.ofMillis(300)).map { [call: call] as Map<String, Object> }
+        }
+
+        @Post('/slow')
+        Mono<Map<String, Object>> slowPost() {
+            return slow()
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.ServiceHttpClientConfiguration
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+
+class LeastLoadedLoadBalancerSpec extends Specification {
+    static final int REQUESTS = 90
+    static final int CONCURRENCY = 4
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer fast1 = stub('fast1', '0ms')
+    @Shared
+    @AutoCleanup
+    EmbeddedServer fast2 = stub('fast2', '0ms')
+    @Shared
+    @AutoCleanup
+    EmbeddedServer slow = stub('slow', '300ms')
+
+    def 'strategy is configured per service'() {
+        given:
+        def ctx = clientContext('peak-ewma')
+
+        expect:
+        ctx.getBean(ServiceHttpClientConfiguration, Qualifiers.byName('stubs')).loadBalancingStrategy == LoadBalancingStrategy.PEAK_EWMA
+
+        cleanup:
+        ctx.close()
+    }
+
+    @Unroll
+    def 'slow instance is avoided with #strategy'() {
+        given:
+        def roundRobin = run('round-robin')
+        def adaptive = run(strategy)
+
+        expect:
+        roundRobin.served['slow'] >= REQUESTS / 4
+        adaptive.served['slow'] < REQUESTS / 8
+        adaptive.p90 < roundRobin.p90
+
+        where:
+        strategy << ['least-outstanding', 'peak-ewma']
+    }
+
+    private Result run(String strategy) {
+        def ctx = clientContext(strategy)
+        try {
+            def client = ctx.getBean(StubClient)
+            List<Long> latencies = Collections.synchronizedList([])
+            Map<String, Integer> served = [:].withDefault { 0 }
+            Flux.range(0, REQUESTS)
+                    .flatMap({ i ->
+                        Mono.defer {
+                            long start = System.nanoTime()
+                            Mono.from(client.id()).doOnNext { latencies.add(System.nanoTime() - start) }
+                        }
+                    }, CONCURRENCY)
+                    .collectList()
+                    .block()
+                    .each { served[it]++ }
+            latencies.sort()
+            return new Result(served: served, p90: latencies[(int) (latencies.size() * 0.9)])
+        } finally {
+            ctx.close()
+        }
+    }
+
+    private ApplicationContext clientContext(String strategy) {
+        ApplicationContext.run([
+                'spec.name'                                           : 'LeastLoadedLoadBalancerSpec.client',
+                'micronaut.http.services.stubs.urls'                  : [fast1.URI, fast2.URI, slow.URI]*.toString(),
+                'micronaut.http.services.stubs.load-balancing-strategy': strategy,
+        ])
+    }
+
+    private static EmbeddedServer stub(String id, String delay) {
+        ApplicationContext.run(EmbeddedServer, [
+                'spec.name' : 'LeastLoadedLoadBalancerSpec.stub',
+                'stub.id'   : id,
+                'stub.delay': delay,
+        ])
+    }
+
+    static class Result {
+        Map<String, Integer> served
+        long p90
+    }
+
+    @Requires(property = 'spec.name', value = 'LeastLoadedLoadBalancerSpec.client')
+    @Client(id = 'stubs')
+    static interface StubClient {
+        @Get('/stub')
+        Mono<String> id()
+    }
+
+    @Requires(property = 'spec.name', value = 'LeastLoadedLoadBalancerSpec.stub')
+    @Controller
+    static class StubController {
+        @Value('${stub.id}')
+        String id
+        @Value('${stub.delay}')
+        Duration delay
+
+        @Get('/stub')
+        Mono<String> id() {
+            Mono.just(id).delayElement(delay)
+        }
+    }
+}
@@ -1050,6 +1050,110 @@ class ConnectionManagerSpec extends Specification {
         ctx.close()
     }
 
+    def 'http2 goaway with running request'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.ssl.insecure-trust-all-certificates': true
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp2()
+        conn1.setupHttp2Tls()
+        def conn2 = new EmbeddedTestConnectionHttp2()
+        conn2.setupHttp2Tls()
+        patch(client, conn1, conn2)
+
+        when:
+        def f1 = Mono.from(client.exchange('https://example.com/r1')).toFuture()
+        f1.exceptionally(t -> t.printStackTrace())
+        conn1.exchangeSettings()
+        def req1 = conn1.serverChannel.<Http2HeadersFrame> readInbound()
+        conn1.serverChannel.writeOutbound(new DefaultHttp2GoAwayFrame(Http2Error.NO_ERROR, Unpooled.copiedBuffer("foo", StandardCharsets.UTF_8)))
+        conn1.advance()
+        then:
+        req1.headers().get(Http2Headers.PseudoHeaderName.PATH.value()) == '/r1'
+        !f1.isDone()
+        client.connectionManager.poolStatistics[0].retiringConnections() == 1
+        client.connectionManager.poolStatistics[0].openConnections() == 0
+
+        when:
+        // the retiring connection does not count towards max-concurrent-http2-connections, so a
+        // new request gets a replacement connection while the first request is still running
+        def f2 = conn2.testExchangeRequest(client)
+        conn2.exchangeSettings()
+        conn2.testExchangeResponse(f2)
+        conn1.respondOk(req1.stream())
+        conn1.advance()
+        then:
+        f1.get().status() == HttpStatus.OK
+        assertPoolConnections(client, 1)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
+    def 'http2 target concurrent requests per connection'() {
+        given:
+        def ctx = ApplicationContext.run([
+                'micronaut.http.client.ssl.insecure-trust-all-certificates'                 : true,
+                'micronaut.http.client.pool.max-concurrent-http2-connections'               : 2,
+                'micronaut.http.client.pool.target-concurrent-requests-per-http2-connection': 1,
+        ])
+        def client = ctx.getBean(DefaultHttpClient)
+
+        def conn1 = new EmbeddedTestConnectionHttp2()
+        conn1.setupHttp2Tls()
+        def conn2 = new EmbeddedTestConnectionHttp2()
+        conn2.setupHttp2Tls()
+        patch(client, conn1, conn2)
+
+        when:
+        def f1 = Mono.from(client.exchange('https://example.com/r1')).toFuture()
+        f1.exceptionally(t -> t.printStackTrace())
+        conn1.exchangeSettings()
+        then:
+        def req1 = conn1.serverChannel.<Http2HeadersFrame> readInbound()
+        req1.headers().get(Http2Headers.PseudoHeaderName.PATH.value()) == '/r1'
+        // the first connection has reached its target, so a second one is opened in advance
+        conn2.clientChannel != null
+
+        when:
+        conn2.exchangeSettings()
+        def f2 = Mono.from(client.exchange('https://example.com/r2')).toFuture()
+        f2.exceptionally(t -> t.printStackTrace())
+        conn2.advance()
+        then:
+        def req2 = conn2.serverChannel.<Http2HeadersFrame> readInbound()
+        req2.headers().get(Http2Headers.PseudoHeaderName.PATH.value()) == '/r2'
+        conn1.serverChannel.readInbound() == null
+
+        when:
+        def statistics = client.connectionManager.poolStatistics
+        then:
+        statistics.size() == 1
+        statistics[0].requestKey().host == 'example.com'
+        statistics[0].openConnections() == 2
+        statistics[0].liveRequests() == 2
+        statistics[0].pendingAcquisitions() == 0
+        statistics[0].pendingConnections() == 0
+
+        when:
+        conn1.respondOk(req1.stream())
+        conn1.advance()
+        conn2.respondOk(req2.stream())
+        conn2.advance()
+        then:
+        f1.get().status() == HttpStatus.OK
+        f2.get().status() == HttpStatus.OK
+        client.connectionManager.poolStatistics[0].liveRequests() == 0
+        assertPoolConnections(client, 2)
+
+        cleanup:
+        client.close()
+        ctx.close()
+    }
+
     def 'http2 channel inactive but fire inactive channel scheduled after acquire'() {
         def ctx = ApplicationContext.run([
                 'micronaut.http.client.ssl.insecure-trust-all-certificates': true,
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.netty.body;
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.execution.ExecutionFlow;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.http.body.CloseableAvailableByteBody;
+import io.micronaut.http.body.CloseableByteBody;
+import io.micronaut.http.body.InternalByteBody;
+import io.micronaut.http.body.stream.InputStreamByteBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.util.internal.PlatformDependent;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link io.micronaut.http.body.ByteBody} implementation for a region of a file. Netty
+ * transports can send the region without copying it to user space ({@link #toFileRegion()}),
+ * or as memory-mapped chunks ({@link #toMappedByteBufs()}) when the data has to pass through
+ * user space anyway, e.g. for TLS, HTTP/2 framing or compression. All other operations read the
+ * file as a stream on the IO executor.
+ * <p>The memory-mapped path assumes the file is not truncated while it is being sent.
+ *
+ * @since 4.7.0
+ */
+@Internal
+public final class FileRegionByteBody implements CloseableByteBody, InternalByteBody {
+    /**
+     * Size of the chunks the file is mapped in by {@link #toMappedByteBufs()}.
+     */
+    static final int MAPPED_CHUNK_SIZE = 1024 * 1024;
+
+    private final long position;
+    private final long length;
+    private final Executor ioExecutor;
+    @Nullable
+    private FileChannel channel;
+    @Nullable
+    private CloseableByteBody stream;
+
+    /**
+     * Create a new body. Ownership of the channel is transferred to the body.
+     *
+     * @param channel    The file channel
+     * @param position   The position of the first byte of the region
+     * @param length     The length of the region
+     * @param ioExecutor An executor where blocking reads may be performed
+     */
+    public FileRegionByteBody(@NonNull FileChannel channel, long position, long length, @NonNull Executor ioExecutor) {
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.position = position;
+        this.length = length;
+        this.ioExecutor = Objects.requireNonNull(ioExecutor, "ioExecutor");
+    }
+
+    /**
+     * Claim this body as a {@link FileRegion} that can be written to a netty channel directly.
+     * This is a primary operation.
+     *
+     * @return The file region, or {@code null} if the file is already being read as a stream
+     */
+    @Nullable
+    public FileRegion toFileRegion() {
+        FileChannel channel = claimChannel();
+        return channel == null ? null : new DefaultFileRegion(channel, position, length);
+    }
+
+    /**
+     * Claim this body as a publisher of memory-mapped chunks of the file. Releasing a chunk
+     * unmaps it, so the chunks must not be accessed after they are released. This is a primary
+     * operation.
+     *
+     * @return The chunks, or {@code null} if the file is already being read as a stream
+     */
+    @Nullable
+    public Publisher<ByteBuf> toMappedByteBufs() {
+        FileChannel channel = claimChannel();
+        if (channel == null) {
+            return null;
+        }
+        long end = position + length;
+        return Flux.<ByteBuf, Long>generate(() -> position, (offset, sink) -> {
+            if (offset >= end) {
+                sink.complete();
+                return offset;
+            }
+            int chunkSize = (int) Math.min(MAPPED_CHUNK_SIZE, end - offset);
+            try {
+                sink.next(new MappedChunk(channel.map(FileChannel.MapMode.READ_ONLY, offset, chunkSize)));
+            } catch (IOException e) {
+                sink.error(e);
+            }
+            return offset + chunkSize;
+        }, offset -> closeQuietly(channel));
+    }
+
+    @Nullable
+    private FileChannel claimChannel() {
+        FileChannel channel = this.channel;
+        this.channel = null;
+        return channel;
+    }
+
+    private CloseableByteBody stream() {
+        CloseableByteBody stream = this.stream;
+        if (stream == null) {
+            FileChannel channel = claimChannel();
+            if (channel == null) {
+                throw new IllegalStateException("Body has already been claimed");
+            }
+            stream = InputStreamByteBody.create(new RegionInputStream(channel, position, length), OptionalLong.of(length), ioExecutor, NettyByteBufferFactory.DEFAULT);
+            this.stream = stream;
+        }
+        return stream;
+    }
+
+    @Override
+    public @NonNull CloseableByteBody split(@NonNull SplitBackpressureMode backpressureMode) {
+        return stream().split(backpressureMode);
+    }
+
+    @Override
+    public @NonNull OptionalLong expectedLength() {
+        return OptionalLong.of(length);
+    }
+
+    @Override
+    public @NonNull InputStream toInputStream() {
+        return stream().toInputStream();
+    }
+
+    @Override
+    public @NonNull Publisher<byte[]> toByteArrayPublisher() {
+        return stream().toByteArrayPublisher();
+    }
+
+    @Override
+    public @NonNull Publisher<ByteBuffer<?>> toByteBufferPublisher() {
+        return stream().toByteBufferPublisher();
+    }
+
+    @Override
+    public @NonNull ExecutionFlow<? extends CloseableAvailableByteBody> bufferFlow() {
+        return InternalByteBody.bufferFlow(stream());
+    }
+
+    @Override
+    public void close() {
+        FileChannel channel = claimChannel();
+        if (channel != null) {
+            closeQuietly(channel);
+        }
+        CloseableByteBody stream = this.stream;
+        if (stream != null) {
+            this.stream = null;
+            stream.close();
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Stream that reads a region of a file using positional reads.
+     */
+    private static final class RegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long offset;
+
+        RegionInputStream(FileChannel channel, long position, long length) {
+            this.channel = channel;
+            this.offset = position;
+            this.end = position + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(@NonNull byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (offset >= end) {
+                return -1;
+            }
+            int n = channel.read(java.nio.ByteBuffer.wrap(b, off, (int) Math.min(len, end - offset)), offset);
+            if (n == -1) {
+                // the file has been truncated
+                offset = end;
+                return -1;
+            }
+            offset += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * A mapped chunk of the file that is unmapped once the write of the chunk released it,
+     * instead of when the garbage collector finds the mapping unreachable, which can keep
+     * large files mapped long after they were sent.
+     */
+    private static final class MappedChunk extends CompositeByteBuf {
+        private final MappedByteBuffer mapping;
+
+        MappedChunk(MappedByteBuffer mapping) {
+            super(UnpooledByteBufAllocator.DEFAULT, true, 1, Unpooled.wrappedBuffer(mapping));
+            this.mapping = mapping;
+        }
+
+        @Override
+        protected void deallocate() {
+            super.deallocate();
+            PlatformDependent.freeDirectBuffer(mapping);
+        }
+    }
+}
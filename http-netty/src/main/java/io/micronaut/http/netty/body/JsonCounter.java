@@ -24,11 +24,30 @@ import io.netty.buffer.ByteBuf;
  * This class takes in JSON data and does simple parsing to detect boundaries between json nodes.
  * For example, this class can recognize the separation between the two JSON objects in
  * {@code {"foo":"bar"} {"bar":"baz"}}.<br>
+ * Inside strings and structures, the input is scanned eight bytes at a time (SWAR) for the bytes
+ * that change the state, and byte by byte for the remaining bytes.<br>
  * Public for fuzzing.
  */
 @SuppressWarnings({"BooleanMethodIsAlwaysInverted", "InnerAssignment"})
 @Internal
 public final class JsonCounter {
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    /**
+     * Setting this bit in every byte turns {@code [} into <code>{</code> and {@code ]} into
+     * <code>}</code>, and no other byte into either.
+     */
+    private static final long LOWER_CASE_BITS = 0x2020202020202020L;
+    private static final long QUOTES = ONES * '"';
+    private static final long BACKSLASHES = ONES * '\\';
+    private static final long OPENING_BRACES = ONES * '{';
+    private static final long CLOSING_BRACES = ONES * '}';
+
+    /**
+     * Whether to scan strings and structures eight bytes at a time.
+     */
+    private final boolean swar;
+
     /**
      * Total number of bytes consumed.
      */
@@ -67,6 +86,20 @@ public final class JsonCounter {
     @Nullable
     private BufferRegion lastFlushedRegion;
 
+    /**
+     * Default constructor.
+     */
+    public JsonCounter() {
+        this(true);
+    }
+
+    /**
+     * @param swar Whether to scan strings and structures eight bytes at a time, or only byte by byte
+     */
+    JsonCounter(boolean swar) {
+        this.swar = swar;
+    }
+
     /**
      * Parse some input data. If {@code buf} is readable, this method always advances (always
      * consumes at least one byte).
@@ -142,6 +175,9 @@ public final class JsonCounter {
             int start = i;
             if (state == State.BASE) {
                 assert depth > 0 : depth;
+                if (swar) {
+                    i = scanBufferingBase(buf, i, end);
+                }
                 for (; i < end; i++) {
                     if (!skipBufferingBase(buf.getByte(i))) {
                         break;
@@ -154,6 +190,9 @@ public final class JsonCounter {
                     position++;
                 }
             } else if (state == State.STRING) {
+                if (swar) {
+                    i = scanString(buf, i, end);
+                }
                 for (; i < end; i++) {
                     if (!skipString(buf.getByte(i))) {
                         break;
@@ -342,6 +381,25 @@ public final class JsonCounter {
         return b != '"' && b != '\\';
     }
 
+    /**
+     * Skip eight bytes at a time while they are all {@link #skipString string bytes}.
+     *
+     * @param i   The start index
+     * @param end The maximum index
+     * @return The index of the first byte that ends the string, or the index from which fewer than
+     * eight bytes remain
+     */
+    private static int scanString(ByteBuf buf, int i, int end) {
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            long word = buf.getLongLE(i);
+            long found = zeroBytes(word ^ QUOTES) | zeroBytes(word ^ BACKSLASHES);
+            if (found != 0) {
+                return i + firstByte(found);
+            }
+        }
+        return i;
+    }
+
     /**
      * Handle a special byte (anything but {@link #skipString}) in the {@link State#STRING} state.
      */
@@ -367,6 +425,46 @@ public final class JsonCounter {
         return (b != '"') & (b != '{') & (b != '[') & (b != ']') & (b != '}');
     }
 
+    /**
+     * Skip eight bytes at a time while they are all {@link #skipBufferingBase skipped} in the base
+     * state.
+     *
+     * @param i   The start index
+     * @param end The maximum index
+     * @return The index of the first byte that changes the state, or the index from which fewer
+     * than eight bytes remain
+     */
+    private static int scanBufferingBase(ByteBuf buf, int i, int end) {
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            long word = buf.getLongLE(i);
+            long lowerCase = word | LOWER_CASE_BITS;
+            long found = zeroBytes(word ^ QUOTES) | zeroBytes(lowerCase ^ OPENING_BRACES) | zeroBytes(lowerCase ^ CLOSING_BRACES);
+            if (found != 0) {
+                return i + firstByte(found);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * The high bit of the lowest zero byte of the input is set in the result. Bytes above it may
+     * be reported wrongly, so only the lowest bit of the result is meaningful.
+     *
+     * @param word Eight bytes
+     * @return The high bit set for zero bytes
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    /**
+     * @param found The result of {@link #zeroBytes}
+     * @return The index of the lowest byte that was found, in little endian order
+     */
+    private static int firstByte(long found) {
+        return Long.numberOfTrailingZeros(found) >>> 3;
+    }
+
     /**
      * Handle a special byte (anything but {@link #skipBufferingBase(byte)}) in the base state,
      * while buffering.
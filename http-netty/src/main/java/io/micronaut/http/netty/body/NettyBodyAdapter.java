@@ -71,7 +71,11 @@ public final class NettyBodyAdapter implements BufferConsumer.Upstream, Subscrib
         if (body instanceof AvailableByteBody available) {
             return new AvailableNettyByteBody(Unpooled.wrappedBuffer(available.toByteArray()));
         }
-        NettyBodyAdapter adapter = new NettyBodyAdapter(eventLoop, NettyByteBody.toByteBufs(body), null);
+        Publisher<ByteBuf> source = body instanceof FileRegionByteBody file ? file.toMappedByteBufs() : null;
+        if (source == null) {
+            source = NettyByteBody.toByteBufs(body);
+        }
+        NettyBodyAdapter adapter = new NettyBodyAdapter(eventLoop, source, null);
         adapter.sharedBuffer = new StreamingNettyByteBody.SharedBuffer(eventLoop, BodySizeLimits.UNLIMITED, adapter);
         body.expectedLength().ifPresent(adapter.sharedBuffer::setExpectedLength);
         return new StreamingNettyByteBody(adapter.sharedBuffer);
@@ -0,0 +1,116 @@
+package io.micronaut.http.netty.body
+
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import io.netty.channel.embedded.EmbeddedChannel
+import reactor.core.publisher.Flux
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.Executor
+
+class FileRegionByteBodySpec extends Specification {
+    @TempDir
+    Path tempDir
+
+    def 'file region'() {
+        given:
+        def body = fileBody(100, 10, 50)
+
+        when:
+        def region = body.toFileRegion()
+
+        then:
+        region.position() == 10
+        region.count() == 50
+        body.expectedLength().asLong == 50
+        body.toFileRegion() == null
+        body.toMappedByteBufs() == null
+
+        cleanup:
+        region.release()
+    }
+
+    def 'mapped chunks'() {
+        given:
+        def size = FileRegionByteBody.MAPPED_CHUNK_SIZE * 2 + 100
+        def body = fileBody(size, 7, size - 10)
+
+        when:
+        def chunks = Flux.from(body.toMappedByteBufs()).collectList().block()
+
+        then:
+        chunks.size() == 3
+        chunks[0].readableBytes() == FileRegionByteBody.MAPPED_CHUNK_SIZE
+        chunks[2].readableBytes() == size - 10 - 2 * FileRegionByteBody.MAPPED_CHUNK_SIZE
+        Unpooled.wrappedBuffer(chunks as ByteBuf[]) == Unpooled.wrappedBuffer(bytes(size), 7, size - 10)
+
+        when:
+        chunks*.release()
+
+        then: 'releasing a chunk unmaps it'
+        chunks.every { it.refCnt() == 0 }
+    }
+
+    def 'adapted body is streamed from the mapped file'() {
+        given:
+        def body = fileBody(100, 10, 50)
+        def adapted = NettyBodyAdapter.adapt(body, new EmbeddedChannel().eventLoop())
+
+        when:
+        def read = adapted.toByteArrayPublisher().collectList().block().collectMany { it as List }
+
+        then:
+        read == (bytes(100) as List).subList(10, 60)
+        adapted.expectedLength().asLong == 50
+        body.toFileRegion() == null
+    }
+
+    def 'stream fallback'() {
+        given:
+        def body = fileBody(100, 10, 50)
+
+        when:
+        def read = body.toInputStream().readAllBytes()
+
+        then:
+        read == Arrays.copyOfRange(bytes(100), 10, 60)
+        body.toFileRegion() == null
+
+        when:
+        body.toInputStream()
+
+        then:
+        thrown IllegalStateException
+    }
+
+    def 'close releases the file'() {
+        given:
+        def body = fileBody(100, 0, 100)
+
+        when:
+        body.close()
+
+        then:
+        body.toFileRegion() == null
+        body.toMappedByteBufs() == null
+    }
+
+    private FileRegionByteBody fileBody(int size, long position, long length) {
+        def file = tempDir.resolve("file" + size)
+        Files.write(file, bytes(size))
+        return new FileRegionByteBody(FileChannel.open(file, StandardOpenOption.READ), position, length, { it.run() } as Executor)
+    }
+
+    private static byte[] bytes(int size) {
+        def bytes = new byte[size]
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i
+        }
+        return bytes
+    }
+}
@@ -191,4 +191,55 @@ class JsonCounterSpec extends Specification {
                 '[{}] true',
         ]
     }
+
+    static List<Object> trace(byte[] input, boolean swar, int chunkSize) {
+        def events = []
+        def counter = new JsonCounter(swar)
+        try {
+            for (int offset = 0; offset < input.length; offset += chunkSize) {
+                def buf = Unpooled.wrappedBuffer(input, offset, Math.min(chunkSize, input.length - offset))
+                while (buf.isReadable()) {
+                    counter.feed(buf)
+                    def flushedRegion = counter.pollFlushedRegion()
+                    if (flushedRegion != null) {
+                        events.add(flushedRegion)
+                    }
+                }
+            }
+            events.add(counter.isBuffering() ? counter.bufferStart() : -1L)
+        } catch (JsonSyntaxException e) {
+            events.add(e.message)
+        }
+        events.add(counter.position())
+        return events
+    }
+
+    def 'eight byte scanning finds the same nodes as byte by byte scanning'() {
+        given:
+        def random = new Random(42)
+        def alphabet = ['a', 'é', ' ', ',', '"', '\\', '{', '}', '[', ']', '1'] as String[]
+
+        expect:
+        1000.times {
+            def input = new StringBuilder()
+            input.append(random.nextBoolean() ? '{"' : '[')
+            int length = random.nextInt(100)
+            for (int i = 0; i < length; i++) {
+                // mostly plain characters, so that there are long runs to skip
+                input.append(random.nextInt(4) == 0 ? alphabet[random.nextInt(alphabet.length)] : 'x')
+            }
+            def bytes = input.toString().getBytes(StandardCharsets.UTF_8)
+            int chunkSize = 1 + random.nextInt(bytes.length)
+            assert trace(bytes, true, chunkSize) == trace(bytes, false, chunkSize)
+        }
+    }
+
+    def 'eight byte scanning of long strings and structures'() {
+        given:
+        def input = '{"' + 'x' * 20 + '\\"' + 'y' * 13 + '":[' + '{"a":"]"}' * 5 + ']} ["' + 'z' * 17 + '"]'
+
+        expect:
+        splitUtf8(input.getBytes(StandardCharsets.UTF_8)).collect { new String(it, StandardCharsets.UTF_8) } ==
+                [input.substring(0, input.indexOf(' ')), input.substring(input.indexOf(' ') + 1)]
+    }
 }
@@ -15,15 +15,33 @@
  */
 package io.micronaut.http.server.netty;
 
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.Readable;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.scheduling.TaskExecutors;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Default implementation of {@link HttpCompressionStrategy}.
  *
@@ -36,14 +54,37 @@ final class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
 
     private final int compressionThreshold;
     private final int compressionLevel;
+    private final Set<String> excludedContentTypes;
+    private final long largeResponseThreshold;
+    private final int largeResponseLevel;
+    @Nullable
+    private final byte[] zstdDictionary;
+    @Nullable
+    private final HttpCompressionMetrics metrics;
+    private final long offloadThreshold;
+    @Nullable
+    private final Executor offloadExecutor;
 
     /**
      * @param serverConfiguration The netty server configuration
+     * @param metrics             The compression metrics
+     * @param blockingExecutor    The executor for compression off the event loop
      */
     @Inject
-    DefaultHttpCompressionStrategy(NettyHttpServerConfiguration serverConfiguration) {
+    DefaultHttpCompressionStrategy(NettyHttpServerConfiguration serverConfiguration,
+                                   HttpCompressionMetrics metrics,
+                                   @Named(TaskExecutors.BLOCKING) BeanProvider<ExecutorService> blockingExecutor) {
+        NettyHttpServerConfiguration.CompressionConfiguration compression = serverConfiguration.getCompression();
         this.compressionThreshold = serverConfiguration.getCompressionThreshold();
         this.compressionLevel = serverConfiguration.getCompressionLevel();
+        this.excludedContentTypes = normalize(compression.getExcludedContentTypes());
+        this.largeResponseThreshold = compression.getLargeResponseThreshold();
+        this.largeResponseLevel = compression.getLargeResponseLevel();
+        this.zstdDictionary = read(compression.getZstdDictionary());
+        this.metrics = metrics;
+        this.offloadThreshold = compression.getOffloadThreshold();
+        this.offloadExecutor = offloadThreshold >= 0 ?
+            new OffloadExecutor(blockingExecutor.get(), compression.getOffloadQueueSize(), metrics.offloadQueueDepth) : null;
     }
 
     /**
@@ -53,6 +94,13 @@ final class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
     DefaultHttpCompressionStrategy(int compressionThreshold, int compressionLevel) {
         this.compressionThreshold = compressionThreshold;
         this.compressionLevel = compressionLevel;
+        this.excludedContentTypes = Collections.emptySet();
+        this.largeResponseThreshold = -1;
+        this.largeResponseLevel = compressionLevel;
+        this.zstdDictionary = null;
+        this.metrics = null;
+        this.offloadThreshold = -1;
+        this.offloadExecutor = null;
     }
 
     @Override
@@ -72,11 +120,110 @@ final class DefaultHttpCompressionStrategy implements HttpCompressionStrategy {
 
         return contentType != null &&
                 (contentLength == null || contentLength >= compressionThreshold) &&
-                MediaType.isTextBased(contentType);
+                MediaType.isTextBased(contentType) &&
+                !isExcluded(contentType);
     }
 
     @Override
     public int getCompressionLevel() {
         return compressionLevel;
     }
+
+    @Override
+    public int getCompressionLevel(HttpResponse response) {
+        if (largeResponseThreshold >= 0) {
+            Long contentLength = response.headers().getLong(HttpHeaderNames.CONTENT_LENGTH);
+            if (contentLength != null && contentLength >= largeResponseThreshold) {
+                return largeResponseLevel;
+            }
+        }
+        return compressionLevel;
+    }
+
+    @Override
+    @Nullable
+    public byte[] getZstdDictionary() {
+        return zstdDictionary;
+    }
+
+    @Override
+    @Nullable
+    public Executor getOffloadExecutor(HttpResponse response) {
+        if (offloadExecutor != null) {
+            Long contentLength = response.headers().getLong(HttpHeaderNames.CONTENT_LENGTH);
+            if (contentLength != null && contentLength >= offloadThreshold) {
+                return offloadExecutor;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void recordCompression(CharSequence encoding, long uncompressedBytes, long compressedBytes, long eventLoopNanos, long offloadNanos) {
+        if (metrics != null) {
+            metrics.record(encoding, uncompressedBytes, compressedBytes, eventLoopNanos, offloadNanos);
+        }
+    }
+
+    private boolean isExcluded(String contentType) {
+        if (excludedContentTypes.isEmpty()) {
+            return false;
+        }
+        int end = contentType.indexOf(';');
+        String type = (end == -1 ? contentType : contentType.substring(0, end)).trim();
+        return excludedContentTypes.contains(type.toLowerCase(Locale.ENGLISH));
+    }
+
+    private static Set<String> normalize(List<String> contentTypes) {
+        if (contentTypes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> normalized = new HashSet<>(contentTypes.size());
+        for (String contentType : contentTypes) {
+            normalized.add(contentType.trim().toLowerCase(Locale.ENGLISH));
+        }
+        return normalized;
+    }
+
+    /**
+     * Executor that limits the number of queued and running tasks, so that a burst of large
+     * responses is compressed on the event loops instead of queueing up indefinitely.
+     *
+     * @param delegate The executor that runs the tasks
+     * @param maxDepth The maximum number of queued and running tasks
+     * @param depth    The current number of queued and running tasks
+     */
+    private record OffloadExecutor(Executor delegate, int maxDepth, AtomicInteger depth) implements Executor {
+        @Override
+        public void execute(Runnable command) {
+            if (depth.incrementAndGet() > maxDepth) {
+                depth.decrementAndGet();
+                throw new RejectedExecutionException("Compression offload queue is full");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        depth.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                depth.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    @Nullable
+    private static byte[] read(@Nullable Readable dictionary) {
+        if (dictionary == null) {
+            return null;
+        }
+        try (InputStream inputStream = dictionary.asInputStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to read zstd dictionary " + dictionary.getName() + ": " + e.getMessage(), e);
+        }
+    }
 }
@@ -37,6 +37,7 @@ import io.micronaut.http.netty.channel.converters.ChannelOptionFactory;
 import io.micronaut.http.netty.channel.converters.DefaultChannelOptionFactory;
 import io.micronaut.http.server.RouteExecutor;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
+import io.micronaut.http.server.netty.body.StaticResourceCache;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.ssl.CertificateProvidedSslBuilder;
 import io.micronaut.http.server.netty.ssl.SelfSignedSslBuilder;
@@ -90,6 +91,7 @@ public class DefaultNettyEmbeddedServerFactory
     private final MessageBodyHandlerRegistry messageBodyHandlerRegistry;
     private @Nullable ServerSslBuilder serverSslBuilder;
     private @Nullable ChannelOptionFactory channelOptionFactory;
+    private @Nullable StaticResourceCache staticResourceCache;
     private List<ChannelOutboundHandler> outboundHandlers = Collections.emptyList();
 
     /**
@@ -243,6 +245,11 @@ public class DefaultNettyEmbeddedServerFactory
         return staticResourceResolver;
     }
 
+    @Override
+    public StaticResourceCache getStaticResourceCache() {
+        return staticResourceCache;
+    }
+
     @Override
     public ExecutorSelector getExecutorSelector() {
         return executorSelector;
@@ -322,6 +329,16 @@ public class DefaultNettyEmbeddedServerFactory
         this.channelOptionFactory = channelOptionFactory;
     }
 
+    /**
+     * Configures the in-memory static resource cache.
+     * @param staticResourceCache The cache, if enabled
+     * @since 4.7.0
+     */
+    @Inject
+    protected void setStaticResourceCache(@Nullable StaticResourceCache staticResourceCache) {
+        this.staticResourceCache = staticResourceCache;
+    }
+
     /**
      * Configures the {@link io.micronaut.http.server.netty.ssl.ServerSslBuilder} the server ssl builder.
      * @param serverSslBuilder The builder
@@ -26,6 +26,7 @@ import io.micronaut.http.netty.channel.EventLoopGroupRegistry;
 import io.micronaut.http.netty.channel.NettyChannelType;
 import io.micronaut.http.netty.channel.converters.ChannelOptionFactory;
 import io.micronaut.http.server.RouteExecutor;
+import io.micronaut.http.server.netty.body.StaticResourceCache;
 import io.micronaut.http.server.netty.ssl.ServerSslBuilder;
 import io.micronaut.http.server.netty.websocket.NettyServerWebSocketUpgradeHandler;
 import io.micronaut.web.router.resource.StaticResourceResolver;
@@ -81,6 +82,11 @@ interface DelegateNettyEmbeddedServices extends NettyEmbeddedServices {
         return getDelegate().getStaticResourceResolver();
     }
 
+    @Override
+    default StaticResourceCache getStaticResourceCache() {
+        return getDelegate().getStaticResourceCache();
+    }
+
     @Override
     default ServerSslBuilder getServerSslBuilder() {
         return getDelegate().getServerSslBuilder();
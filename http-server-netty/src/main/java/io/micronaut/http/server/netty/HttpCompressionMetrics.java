@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.NonNull;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compression ratio and CPU time of the responses compressed by the
+ * {@link DefaultHttpCompressionStrategy default compression strategy}, per content encoding,
+ * and the number of responses that are compressed off the event loop.
+ *
+ * @since 4.7.0
+ */
+@Singleton
+public final class HttpCompressionMetrics {
+
+    final AtomicInteger offloadQueueDepth = new AtomicInteger();
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Records a compressed response.
+     *
+     * @param encoding          The content encoding
+     * @param uncompressedBytes The size of the response before compression
+     * @param compressedBytes   The size of the response after compression
+     * @param eventLoopNanos    The time spent compressing the response on the event loop
+     * @param offloadNanos      The time spent compressing the response off the event loop
+     */
+    public void record(CharSequence encoding, long uncompressedBytes, long compressedBytes, long eventLoopNanos, long offloadNanos) {
+        Counters c = counters.computeIfAbsent(encoding.toString(), k -> new Counters());
+        c.responses.increment();
+        c.uncompressedBytes.add(uncompressedBytes);
+        c.compressedBytes.add(compressedBytes);
+        c.eventLoopNanos.add(eventLoopNanos);
+        c.offloadNanos.add(offloadNanos);
+    }
+
+    /**
+     * @return The number of responses that currently wait for or run compression off the event loop
+     */
+    public int getOffloadQueueDepth() {
+        return offloadQueueDepth.get();
+    }
+
+    /**
+     * @return The statistics of every content encoding that was used so far
+     */
+    @NonNull
+    public List<CompressionStatistics> getStatistics() {
+        List<CompressionStatistics> statistics = new ArrayList<>(counters.size());
+        counters.forEach((encoding, c) -> statistics.add(new CompressionStatistics(
+            encoding,
+            c.responses.sum(),
+            c.uncompressedBytes.sum(),
+            c.compressedBytes.sum(),
+            c.eventLoopNanos.sum(),
+            c.offloadNanos.sum()
+        )));
+        return statistics;
+    }
+
+    /**
+     * The statistics of a content encoding.
+     *
+     * @param encoding          The content encoding
+     * @param responses         The number of compressed responses
+     * @param uncompressedBytes The total size of the responses before compression
+     * @param compressedBytes   The total size of the responses after compression
+     * @param eventLoopNanos    The total time spent compressing the responses on the event loop
+     * @param offloadNanos      The total time spent compressing the responses off the event loop
+     */
+    public record CompressionStatistics(
+        @NonNull String encoding,
+        long responses,
+        long uncompressedBytes,
+        long compressedBytes,
+        long eventLoopNanos,
+        long offloadNanos
+    ) {
+        /**
+         * @return The total time spent compressing the responses
+         */
+        public long compressionNanos() {
+            return eventLoopNanos + offloadNanos;
+        }
+
+        /**
+         * @return The compressed size relative to the uncompressed size, {@code 1} if nothing was compressed
+         */
+        public double ratio() {
+            return uncompressedBytes == 0 ? 1 : (double) compressedBytes / uncompressedBytes;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder responses = new LongAdder();
+        final LongAdder uncompressedBytes = new LongAdder();
+        final LongAdder compressedBytes = new LongAdder();
+        final LongAdder eventLoopNanos = new LongAdder();
+        final LongAdder offloadNanos = new LongAdder();
+    }
+}
@@ -15,10 +15,13 @@
  */
 package io.micronaut.http.server.netty;
 
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.Toggleable;
 import io.netty.handler.codec.compression.StandardCompressionOptions;
 import io.netty.handler.codec.http.HttpResponse;
 
+import java.util.concurrent.Executor;
+
 /**
  * Determines if a given http message should be compressed. It should
  * be assumed the client allows for compressed responses.
@@ -39,4 +42,50 @@ public interface HttpCompressionStrategy extends Toggleable {
     default int getCompressionLevel() {
         return StandardCompressionOptions.gzip().compressionLevel();
     }
+
+    /**
+     * @param response The HTTP response that is compressed
+     * @return The gzip and deflate compression level (0-9) of the response
+     * @since 4.7.0
+     */
+    default int getCompressionLevel(HttpResponse response) {
+        return getCompressionLevel();
+    }
+
+    /**
+     * @return A pre-trained zstd dictionary that responses are compressed with when the client
+     * announces it with the {@code Available-Dictionary} header, or {@code null}
+     * @since 4.7.0
+     */
+    @Nullable
+    default byte[] getZstdDictionary() {
+        return null;
+    }
+
+    /**
+     * The executor that compresses the response off the event loop. The executor may throw a
+     * {@link java.util.concurrent.RejectedExecutionException} when it is busy, the response is
+     * then compressed on the event loop.
+     *
+     * @param response The HTTP response that is compressed
+     * @return The executor, or {@code null} to compress the response on the event loop
+     * @since 4.7.0
+     */
+    @Nullable
+    default Executor getOffloadExecutor(HttpResponse response) {
+        return null;
+    }
+
+    /**
+     * Called once for every compressed response.
+     *
+     * @param encoding          The content encoding
+     * @param uncompressedBytes The size of the response before compression
+     * @param compressedBytes   The size of the response after compression
+     * @param eventLoopNanos    The time spent compressing the response on the event loop
+     * @param offloadNanos      The time spent compressing the response off the event loop
+     * @since 4.7.0
+     */
+    default void recordCompression(CharSequence encoding, long uncompressedBytes, long compressedBytes, long eventLoopNanos, long offloadNanos) {
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of flushes of response data, and the number of flushes that were saved by
+ * {@link io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration.FlushConsolidationConfiguration flush consolidation}.
+ * Each saved flush is a write system call that was merged into another.
+ *
+ * @since 4.7.0
+ */
+@Singleton
+public final class HttpFlushMetrics {
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder savedFlushes = new LongAdder();
+
+    /**
+     * Records a flush.
+     *
+     * @param requestedFlushes The number of flushes that were requested and done by this flush
+     */
+    public void recordFlush(int requestedFlushes) {
+        flushes.increment();
+        savedFlushes.add(requestedFlushes - 1);
+    }
+
+    /**
+     * Records flushes that were requested, but done by a flush that was not requested through flush consolidation.
+     *
+     * @param requestedFlushes The number of flushes
+     */
+    public void recordSavedFlushes(int requestedFlushes) {
+        savedFlushes.add(requestedFlushes);
+    }
+
+    /**
+     * @return The number of consolidated flushes
+     */
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    /**
+     * @return The number of flushes that were saved by consolidation
+     */
+    public long getSavedFlushes() {
+        return savedFlushes.sum();
+    }
+}
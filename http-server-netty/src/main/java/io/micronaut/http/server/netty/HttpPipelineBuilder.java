@@ -23,6 +23,7 @@ import io.micronaut.http.HttpVersion;
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
 import io.micronaut.http.netty.body.BodySizeLimits;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.http.server.netty.handler.FlushConsolidation;
 import io.micronaut.http.server.netty.handler.Http2ServerHandler;
 import io.micronaut.http.server.netty.handler.PipeliningServerHandler;
 import io.micronaut.http.server.netty.handler.RequestHandler;
@@ -122,6 +123,8 @@ final class HttpPipelineBuilder implements Closeable {
     private final QuicSslContext quicSslContext;
     private final HttpAccessLogHandler accessLogHandler;
     private final Http2AccessLogManager.Factory accessLogManagerFactory;
+    @Nullable
+    private final FlushConsolidation flushConsolidation;
 
     private final NettyServerCustomizer serverCustomizer;
 
@@ -152,6 +155,17 @@ final class HttpPipelineBuilder implements Closeable {
             accessLogHandler = null;
             accessLogManagerFactory = null;
         }
+
+        NettyHttpServerConfiguration.FlushConsolidationConfiguration flushConsolidationConfiguration = server.getServerConfiguration().getFlushConsolidation();
+        if (flushConsolidationConfiguration.isEnabled()) {
+            flushConsolidation = new FlushConsolidation(
+                flushConsolidationConfiguration.getMaxDelay().toNanos(),
+                flushConsolidationConfiguration.getMaxPendingFlushes(),
+                embeddedServices.getApplicationContext().getBean(HttpFlushMetrics.class)
+            );
+        } else {
+            flushConsolidation = null;
+        }
     }
 
     boolean supportsSsl() {
@@ -435,6 +449,7 @@ final class HttpPipelineBuilder implements Closeable {
             Http2ServerHandler.ConnectionHandlerBuilder builder = new Http2ServerHandler.ConnectionHandlerBuilder(makeRequestHandler(embeddedServices.getWebSocketUpgradeHandler(server), ssl))
                 .compressor(embeddedServices.getHttpCompressionStrategy())
                 .bodySizeLimits(bodySizeLimits())
+                .flushConsolidation(flushConsolidation)
                 .accessLogManagerFactory(accessLogManagerFactory)
                 .validateHeaders(server.getServerConfiguration().isValidateHeaders())
                 .initialSettings(server.getServerConfiguration().getHttp2().http2Settings());
@@ -687,6 +702,7 @@ final class HttpPipelineBuilder implements Closeable {
             PipeliningServerHandler pipeliningServerHandler = new PipeliningServerHandler(requestHandler);
             pipeliningServerHandler.setCompressionStrategy(embeddedServices.getHttpCompressionStrategy());
             pipeliningServerHandler.setBodySizeLimits(bodySizeLimits());
+            pipeliningServerHandler.setFlushConsolidation(flushConsolidation);
             pipeline.addLast(ChannelPipelineCustomizer.HANDLER_MICRONAUT_INBOUND, pipeliningServerHandler);
         }
 
@@ -41,6 +41,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -199,7 +200,8 @@ public abstract sealed class MicronautHttpData<D extends HttpData> extends Abstr
                         .addComponent(true, buffer);
                 }
             } else {
-                buffer.readBytes(channel, size, buffer.readableBytes());
+                channel.position(size);
+                write(buffer.nioBuffers(), buffer.readableBytes());
                 buffer.release();
                 chunk.loadFromDisk(newChunkSize);
             }
@@ -239,7 +241,8 @@ public abstract sealed class MicronautHttpData<D extends HttpData> extends Abstr
 
         for (Chunk chunk : chunks) {
             if (chunk.buf != null) {
-                chunk.buf.getBytes(chunk.buf.readerIndex(), channel, chunk.offset, chunk.buf.readableBytes());
+                channel.position(chunk.offset);
+                write(chunk.buf.nioBuffers(), chunk.buf.readableBytes());
             }
         }
         mmapSegments = new ArrayList<>();
@@ -256,6 +259,17 @@ public abstract sealed class MicronautHttpData<D extends HttpData> extends Abstr
         }
     }
 
+    /**
+     * Write the buffers to the current position of the channel with gathering writes, so that
+     * the components of a composite buffer need not be written one by one.
+     */
+    private void write(ByteBuffer[] buffers, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
     private Path newTempFile() throws IOException {
         Optional<File> location = factory.multipartConfiguration.getLocation();
         if (location.isPresent()) {
@@ -28,6 +28,7 @@ import io.micronaut.http.netty.channel.NettyChannelType;
 import io.micronaut.http.netty.channel.converters.ChannelOptionFactory;
 import io.micronaut.http.server.RouteExecutor;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
+import io.micronaut.http.server.netty.body.StaticResourceCache;
 import io.micronaut.http.server.netty.ssl.ServerSslBuilder;
 import io.micronaut.http.server.netty.websocket.NettyServerWebSocketUpgradeHandler;
 import io.micronaut.scheduling.executor.ExecutorSelector;
@@ -98,6 +99,15 @@ public interface NettyEmbeddedServices {
     @NonNull
     StaticResourceResolver getStaticResourceResolver();
 
+    /**
+     * @return The in-memory static resource cache, or {@code null} if it is disabled
+     * @since 4.7.0
+     */
+    @Nullable
+    default StaticResourceCache getStaticResourceCache() {
+        return null;
+    }
+
     /**
      * @return The executor resolver
      */
@@ -19,6 +19,7 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.execution.ExecutionFlow;
 import io.micronaut.core.execution.ImperativeExecutionFlow;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
@@ -28,6 +29,8 @@ import io.micronaut.http.body.ByteBody;
 import io.micronaut.http.netty.NettyMutableHttpResponse;
 import io.micronaut.http.server.RequestLifecycle;
 import io.micronaut.http.netty.body.NettyByteBody;
+import io.micronaut.http.server.netty.body.CachedStaticResource;
+import io.micronaut.http.server.netty.body.StaticResourceCache;
 import io.micronaut.http.server.netty.handler.OutboundAccess;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.http.server.types.files.StreamedFile;
@@ -111,10 +114,26 @@ final class NettyRequestLifecycle extends RequestLifecycle {
     @Nullable
     @Override
     protected FileCustomizableResponseType findFile(HttpRequest<?> request) {
-        Optional<URL> optionalUrl = rib.staticResourceResolver.resolve(request.getUri().getPath());
+        String path = request.getUri().getPath();
+        StaticResourceCache cache = rib.staticResourceCache;
+        // range requests are served from the file, the cache only holds complete representations
+        boolean cacheable = cache != null && !request.getHeaders().contains(HttpHeaders.RANGE);
+        if (cacheable) {
+            CachedStaticResource cached = cache.get(path);
+            if (cached != null) {
+                // released with the request, also when the body is never written, e.g. for HEAD
+                // requests or when a filter replaces the response
+                request.setAttribute(StaticResourceCache.RESOURCE_ATTRIBUTE, cached);
+                return cached;
+            }
+        }
+        Optional<URL> optionalUrl = rib.staticResourceResolver.resolve(path);
         if (optionalUrl.isPresent()) {
             try {
                 URL url = optionalUrl.get();
+                if (cacheable) {
+                    cache.load(path, url);
+                }
                 if (url.getProtocol().equals("file")) {
                     File file = Paths.get(url.toURI()).toFile();
                     if (file.exists() && !file.isDirectory() && file.canRead()) {
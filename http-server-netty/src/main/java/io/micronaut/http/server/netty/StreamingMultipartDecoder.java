@@ -0,0 +1,620 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.exceptions.ContentLengthExceededException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.multipart.HttpData;
+import io.netty.handler.codec.http.multipart.HttpDataFactory;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import io.netty.handler.codec.http.multipart.InterfaceHttpPostRequestDecoder;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Decoder for {@code multipart/form-data} that searches for the part delimiters directly in the
+ * incoming buffers, using the Boyer-Moore-Horspool algorithm. Part content is passed to the
+ * {@link HttpData} as retained slices of the incoming buffers, so it is not copied before it
+ * reaches the user or the disk.<br>
+ * Only the bytes of a delimiter that is split between two buffers and the part headers are
+ * buffered. Nested {@code multipart/mixed} parts are not split up and
+ * {@code Content-Transfer-Encoding} is ignored.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class StreamingMultipartDecoder implements InterfaceHttpPostRequestDecoder {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final String DEFAULT_FILE_CONTENT_TYPE = "application/octet-stream";
+
+    private final HttpDataFactory factory;
+    private final HttpRequest request;
+    private final Charset charset;
+    private final int maxFields;
+    private final int maxBufferedBytes;
+
+    /**
+     * {@code CRLF--boundary}, the delimiter that ends the content of a part.
+     */
+    private final byte[] delimiter;
+    /**
+     * Boyer-Moore-Horspool shift for each byte value.
+     */
+    private final int[] shift = new int[256];
+
+    private final List<InterfaceHttpData> bodyList = new ArrayList<>();
+    private final Queue<InterfaceHttpData> completed = new ArrayDeque<>();
+
+    private State state = State.BODY;
+    /**
+     * Bytes at the end of the previous buffer that may be the start of a delimiter. Initially a
+     * CRLF, because the first delimiter may be at the very start of the body.
+     */
+    @Nullable
+    private ByteBuf carry = Unpooled.wrappedBuffer(CRLF);
+    private final ByteBuf lineBuffer = Unpooled.buffer();
+    /**
+     * The part that is currently being read, {@code null} in the preamble.
+     */
+    @Nullable
+    private HttpData current;
+    private int fields;
+    private int discardThreshold;
+
+    @Nullable
+    private String partName;
+    @Nullable
+    private String fileName;
+    @Nullable
+    private String contentType;
+    @Nullable
+    private Charset partCharset;
+    private long partLength;
+
+    /**
+     * @param factory          The factory for the decoded data
+     * @param request          The request, which must be {@link HttpPostRequestDecoder#isMultipart multipart}
+     * @param charset          The charset of the part headers
+     * @param maxFields        The maximum number of parts, or a negative value for no limit
+     * @param maxBufferedBytes The maximum length of a part header line
+     */
+    StreamingMultipartDecoder(HttpDataFactory factory, HttpRequest request, Charset charset, int maxFields, int maxBufferedBytes) {
+        this.factory = factory;
+        this.request = request;
+        this.charset = charset;
+        this.maxFields = maxFields;
+        this.maxBufferedBytes = maxBufferedBytes;
+        String boundary = parseParameters(request.headers().get(HttpHeaderNames.CONTENT_TYPE)).get("boundary");
+        if (boundary == null || boundary.isEmpty()) {
+            throw new HttpPostRequestDecoder.ErrorDataDecoderException("Needs a boundary value");
+        }
+        byte[] boundaryBytes = boundary.getBytes(StandardCharsets.US_ASCII);
+        delimiter = new byte[boundaryBytes.length + 4];
+        delimiter[0] = '\r';
+        delimiter[1] = '\n';
+        delimiter[2] = '-';
+        delimiter[3] = '-';
+        System.arraycopy(boundaryBytes, 0, delimiter, 4, boundaryBytes.length);
+        int last = delimiter.length - 1;
+        Arrays.fill(shift, delimiter.length);
+        for (int i = 0; i < last; i++) {
+            shift[delimiter[i] & 0xff] = last - i;
+        }
+    }
+
+    @Override
+    public boolean isMultipart() {
+        return true;
+    }
+
+    @Override
+    public void setDiscardThreshold(int discardThreshold) {
+        this.discardThreshold = discardThreshold;
+    }
+
+    @Override
+    public int getDiscardThreshold() {
+        return discardThreshold;
+    }
+
+    @Override
+    public List<InterfaceHttpData> getBodyHttpDatas() {
+        return bodyList;
+    }
+
+    @Override
+    public List<InterfaceHttpData> getBodyHttpDatas(String name) {
+        List<InterfaceHttpData> datas = new ArrayList<>();
+        for (InterfaceHttpData data : bodyList) {
+            if (data.getName().equals(name)) {
+                datas.add(data);
+            }
+        }
+        return datas;
+    }
+
+    @Override
+    public InterfaceHttpData getBodyHttpData(String name) {
+        for (InterfaceHttpData data : bodyList) {
+            if (data.getName().equals(name)) {
+                return data;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public InterfaceHttpPostRequestDecoder offer(HttpContent content) {
+        // the caller releases the content, anything we keep is retained
+        ByteBuf in = content.content();
+        while (in.isReadable()) {
+            boolean more = switch (state) {
+                case BODY -> readBody(in);
+                case DELIMITER_END -> readDelimiterEnd(in);
+                case HEADERS -> readHeaders(in);
+                case EPILOGUE -> {
+                    in.skipBytes(in.readableBytes());
+                    yield false;
+                }
+            };
+            if (!more) {
+                break;
+            }
+        }
+        if (content instanceof LastHttpContent) {
+            releaseBuffers();
+            if (state != State.EPILOGUE) {
+                throw new HttpPostRequestDecoder.NotEnoughDataDecoderException("The multipart body ended before the close delimiter");
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !completed.isEmpty();
+    }
+
+    @Override
+    public InterfaceHttpData next() {
+        return completed.poll();
+    }
+
+    @Override
+    public InterfaceHttpData currentPartialHttpData() {
+        return current;
+    }
+
+    @Override
+    public void destroy() {
+        cleanFiles();
+        for (InterfaceHttpData data : bodyList) {
+            // might have been released by the user already
+            if (data.refCnt() > 0) {
+                data.release();
+            }
+        }
+        HttpData partial = current;
+        if (partial != null) {
+            // a part that was not completed, not in the body list
+            current = null;
+            if (partial.refCnt() > 0) {
+                partial.release();
+            }
+        }
+        releaseBuffers();
+        lineBuffer.release();
+    }
+
+    @Override
+    public void cleanFiles() {
+        factory.cleanRequestHttpData(request);
+    }
+
+    @Override
+    public void removeHttpDataFromClean(InterfaceHttpData data) {
+        factory.removeHttpDataFromClean(request, data);
+    }
+
+    private void releaseBuffers() {
+        if (carry != null) {
+            carry.release();
+            carry = null;
+        }
+    }
+
+    /**
+     * Read part content until the next delimiter.
+     *
+     * @param in The input buffer
+     * @return {@code true} if a delimiter was found
+     */
+    private boolean readBody(ByteBuf in) {
+        int length = delimiter.length;
+        if (carry != null) {
+            // check whether a delimiter starts in the bytes from the previous buffer
+            ByteBuf carried = carry;
+            carry = null;
+            int carryLength = carried.readableBytes();
+            int head = Math.min(in.readableBytes(), length - 1);
+            ByteBuf window = Unpooled.buffer(carryLength + head);
+            window.writeBytes(carried, carried.readerIndex(), carryLength);
+            window.writeBytes(in, in.readerIndex(), head);
+            int match = indexOf(window, 0, window.writerIndex());
+            if (match != -1 && match < carryLength) {
+                window.release();
+                in.skipBytes(match + length - carryLength);
+                addContent(carried.writerIndex(carried.readerIndex() + match), true);
+                state = State.DELIMITER_END;
+                return true;
+            }
+            if (head < length - 1) {
+                // too little input to know whether the carried bytes are content
+                carried.release();
+                in.skipBytes(head);
+                addContentBeforeDelimiterPrefix(window, 0, window.writerIndex());
+                window.release();
+                return false;
+            }
+            window.release();
+            addContent(carried, false);
+        }
+        int start = in.readerIndex();
+        int end = in.writerIndex();
+        int match = indexOf(in, start, end);
+        if (match != -1) {
+            ByteBuf content = match == start ? Unpooled.EMPTY_BUFFER : in.retainedSlice(start, match - start);
+            in.readerIndex(match + length);
+            addContent(content, true);
+            state = State.DELIMITER_END;
+            return true;
+        }
+        in.readerIndex(end);
+        addContentBeforeDelimiterPrefix(in, start, end);
+        return false;
+    }
+
+    /**
+     * Add the given range as content, except for a suffix that may be the start of a delimiter,
+     * which is kept as {@link #carry}.
+     */
+    private void addContentBeforeDelimiterPrefix(ByteBuf buf, int start, int end) {
+        int tail = end;
+        for (int i = Math.max(start, end - delimiter.length + 1); i < end; i++) {
+            if (isDelimiterPrefix(buf, i, end)) {
+                tail = i;
+                break;
+            }
+        }
+        if (tail < end) {
+            carry = buf.retainedSlice(tail, end - tail);
+        }
+        if (tail > start) {
+            addContent(buf.retainedSlice(start, tail - start), false);
+        }
+    }
+
+    private boolean isDelimiterPrefix(ByteBuf buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buf.getByte(i) != delimiter[i - start]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the first complete delimiter in the given range.
+     *
+     * @return The index of the delimiter or {@code -1}
+     */
+    private int indexOf(ByteBuf buf, int start, int end) {
+        int last = delimiter.length - 1;
+        byte lastByte = delimiter[last];
+        if (buf.hasArray()) {
+            byte[] array = buf.array();
+            int offset = buf.arrayOffset();
+            int limit = end + offset - last;
+            for (int i = start + offset; i < limit; ) {
+                byte b = array[i + last];
+                if (b == lastByte && Arrays.equals(array, i, i + last, delimiter, 0, last)) {
+                    return i - offset;
+                }
+                i += shift[b & 0xff];
+            }
+        } else {
+            int limit = end - last;
+            for (int i = start; i < limit; ) {
+                byte b = buf.getByte(i + last);
+                if (b == lastByte && isDelimiterPrefix(buf, i, i + last)) {
+                    return i;
+                }
+                i += shift[b & 0xff];
+            }
+        }
+        return -1;
+    }
+
+    private void addContent(ByteBuf content, boolean last) {
+        HttpData data = current;
+        if (data == null) {
+            // preamble
+            content.release();
+            return;
+        }
+        if (!last && !content.isReadable()) {
+            content.release();
+            return;
+        }
+        try {
+            data.addContent(content, last);
+        } catch (IOException e) {
+            throw new HttpPostRequestDecoder.ErrorDataDecoderException(e);
+        }
+        if (last) {
+            current = null;
+            bodyList.add(data);
+            completed.add(data);
+        }
+    }
+
+    /**
+     * Read the rest of the delimiter line, which is either the close delimiter or is followed by
+     * the headers of the next part.
+     *
+     * @param in The input buffer
+     * @return {@code true} if the line is complete
+     */
+    private boolean readDelimiterEnd(ByteBuf in) {
+        String line = readLine(in);
+        if (line == null) {
+            // the close delimiter need not be followed by a line break
+            if (lineBuffer.readableBytes() >= 2 && lineBuffer.getByte(0) == '-' && lineBuffer.getByte(1) == '-') {
+                lineBuffer.clear();
+                state = State.EPILOGUE;
+                in.skipBytes(in.readableBytes());
+            }
+            return false;
+        }
+        boolean close = line.startsWith("--");
+        if (!isTransportPadding(line, close ? 2 : 0)) {
+            throw new HttpPostRequestDecoder.ErrorDataDecoderException("Invalid characters after the multipart delimiter");
+        }
+        state = close ? State.EPILOGUE : State.HEADERS;
+        return true;
+    }
+
+    /**
+     * Check that the rest of a delimiter line is linear whitespace, as allowed by RFC 2046.
+     *
+     * @param line  The rest of the delimiter line
+     * @param start The index to start checking at
+     * @return {@code true} if the line only contains whitespace from the start index
+     */
+    private static boolean isTransportPadding(String line, int start) {
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the headers of a part.
+     *
+     * @param in The input buffer
+     * @return {@code true} if all headers were read
+     */
+    private boolean readHeaders(ByteBuf in) {
+        while (true) {
+            String line = readLine(in);
+            if (line == null) {
+                return false;
+            }
+            if (line.isEmpty()) {
+                startPart();
+                state = State.BODY;
+                return true;
+            }
+            int colon = line.indexOf(':');
+            if (colon == -1) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase(HttpHeaderNames.CONTENT_DISPOSITION.toString())) {
+                Map<String, String> parameters = parseParameters(value);
+                partName = parameters.get("name");
+                String extendedFileName = parameters.get("filename*");
+                fileName = extendedFileName != null ? decodeExtendedValue(extendedFileName) : parameters.get("filename");
+            } else if (name.equalsIgnoreCase(HttpHeaderNames.CONTENT_TYPE.toString())) {
+                int semicolon = value.indexOf(';');
+                contentType = (semicolon == -1 ? value : value.substring(0, semicolon)).trim();
+                String charsetName = parseParameters(value).get("charset");
+                if (charsetName != null) {
+                    try {
+                        partCharset = Charset.forName(charsetName);
+                    } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                        throw new HttpPostRequestDecoder.ErrorDataDecoderException(e);
+                    }
+                }
+            } else if (name.equalsIgnoreCase(HttpHeaderNames.CONTENT_LENGTH.toString())) {
+                try {
+                    partLength = Long.parseLong(value);
+                } catch (NumberFormatException ignored) {
+                    partLength = 0;
+                }
+            }
+        }
+    }
+
+    private void startPart() {
+        if (partName == null) {
+            throw new HttpPostRequestDecoder.ErrorDataDecoderException("Part without a name in Content-Disposition");
+        }
+        if (maxFields >= 0 && fields >= maxFields) {
+            throw new ContentLengthExceededException("Number of form fields exceeds configured limit of [" + maxFields + "]");
+        }
+        fields++;
+        if (fileName != null) {
+            current = factory.createFileUpload(request, partName, fileName,
+                contentType == null ? DEFAULT_FILE_CONTENT_TYPE : contentType, null, partCharset, partLength);
+        } else {
+            HttpData attribute = factory.createAttribute(request, partName);
+            if (partCharset != null) {
+                attribute.setCharset(partCharset);
+            }
+            current = attribute;
+        }
+        partName = null;
+        fileName = null;
+        contentType = null;
+        partCharset = null;
+        partLength = 0;
+    }
+
+    /**
+     * Read a header line, buffering it if it is split between buffers.
+     *
+     * @param in The input buffer
+     * @return The line without line break, or {@code null} if the line is not complete yet
+     */
+    @Nullable
+    private String readLine(ByteBuf in) {
+        int start = in.readerIndex();
+        int lf = in.indexOf(start, in.writerIndex(), (byte) '\n');
+        int length = (lf == -1 ? in.writerIndex() : lf + 1) - start;
+        if (lineBuffer.readableBytes() + length > maxBufferedBytes) {
+            throw new ContentLengthExceededException("Length of buffered form field exceeds configured limit of [" + maxBufferedBytes + "]");
+        }
+        lineBuffer.writeBytes(in, length);
+        if (lf == -1) {
+            return null;
+        }
+        int end = lineBuffer.writerIndex() - 1;
+        if (end > 0 && lineBuffer.getByte(end - 1) == '\r') {
+            end--;
+        }
+        String line = lineBuffer.toString(0, end, charset);
+        lineBuffer.clear();
+        return line;
+    }
+
+    /**
+     * Parse the parameters of a header value such as {@code form-data; name="a"; filename="b"}.
+     * The names are lower case and quoted values are unquoted.
+     */
+    static Map<String, String> parseParameters(@Nullable String value) {
+        Map<String, String> parameters = new HashMap<>();
+        if (value == null) {
+            return parameters;
+        }
+        int i = value.indexOf(';');
+        while (i != -1 && i < value.length()) {
+            int nameStart = i + 1;
+            int equals = value.indexOf('=', nameStart);
+            int semicolon = value.indexOf(';', nameStart);
+            if (equals == -1 || (semicolon != -1 && semicolon < equals)) {
+                i = semicolon;
+                continue;
+            }
+            String name = value.substring(nameStart, equals).trim().toLowerCase(Locale.ROOT);
+            int valueStart = equals + 1;
+            while (valueStart < value.length() && value.charAt(valueStart) == ' ') {
+                valueStart++;
+            }
+            if (valueStart < value.length() && value.charAt(valueStart) == '"') {
+                StringBuilder builder = new StringBuilder();
+                int j = valueStart + 1;
+                while (j < value.length() && value.charAt(j) != '"') {
+                    char c = value.charAt(j);
+                    if (c == '\\' && j + 1 < value.length()) {
+                        c = value.charAt(++j);
+                    }
+                    builder.append(c);
+                    j++;
+                }
+                parameters.putIfAbsent(name, builder.toString());
+                i = value.indexOf(';', j);
+            } else {
+                int valueEnd = semicolon == -1 ? value.length() : semicolon;
+                parameters.putIfAbsent(name, value.substring(valueStart, valueEnd).trim());
+                i = semicolon;
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Decode an RFC 5987 value such as {@code UTF-8''na%C3%AFve.txt}.
+     */
+    private static String decodeExtendedValue(String value) {
+        int firstQuote = value.indexOf('\'');
+        int secondQuote = firstQuote == -1 ? -1 : value.indexOf('\'', firstQuote + 1);
+        if (secondQuote == -1) {
+            return value;
+        }
+        try {
+            Charset valueCharset = Charset.forName(value.substring(0, firstQuote));
+            return URLDecoder.decode(value.substring(secondQuote + 1).replace("+", "%2B"), valueCharset);
+        } catch (IllegalArgumentException e) {
+            throw new HttpPostRequestDecoder.ErrorDataDecoderException(e);
+        }
+    }
+
+    private enum State {
+        /**
+         * Part content, or the preamble before the first delimiter.
+         */
+        BODY,
+        /**
+         * The rest of the line after a delimiter.
+         */
+        DELIMITER_END,
+        /**
+         * Part headers.
+         */
+        HEADERS,
+        /**
+         * After the close delimiter.
+         */
+        EPILOGUE
+    }
+}
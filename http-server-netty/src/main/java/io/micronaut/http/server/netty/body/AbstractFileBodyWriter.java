@@ -38,7 +38,7 @@ import java.util.Arrays;
  */
 @Experimental
 @Internal
-abstract sealed class AbstractFileBodyWriter permits InputStreamBodyWriter, StreamFileBodyWriter, SystemFileBodyWriter {
+abstract sealed class AbstractFileBodyWriter permits CachedStaticResourceBodyWriter, InputStreamBodyWriter, StreamFileBodyWriter, SystemFileBodyWriter {
     private static final String[] ENTITY_HEADERS = {HttpHeaders.ALLOW, HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_LOCATION, HttpHeaders.CONTENT_MD5, HttpHeaders.CONTENT_RANGE, HttpHeaders.CONTENT_TYPE, HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED};
     protected final NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration;
 
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.server.types.files.FileCustomizableResponseType;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+
+import java.nio.file.Path;
+
+/**
+ * A static resource held in memory by the {@link StaticResourceCache}, together with its
+ * precompressed variants. The buffers are released once the resource has been evicted and all
+ * responses using it have been written.
+ *
+ * @since 4.7.0
+ */
+@Internal
+public final class CachedStaticResource extends AbstractReferenceCounted implements FileCustomizableResponseType {
+    private static final Variant[] NO_VARIANTS = new Variant[0];
+
+    private final MediaType mediaType;
+    private final long lastModified;
+    @Nullable
+    private final Path file;
+    private final Variant identity;
+    private final Variant[] variants;
+
+    /**
+     * @param mediaType    The media type
+     * @param lastModified The last modified date
+     * @param file         The file the resource was read from, if any
+     * @param identity     The uncompressed content
+     * @param variants     The compressed variants, in order of preference
+     */
+    CachedStaticResource(MediaType mediaType, long lastModified, @Nullable Path file, Variant identity, Variant[] variants) {
+        this.mediaType = mediaType;
+        this.lastModified = lastModified;
+        this.file = file;
+        this.identity = identity;
+        this.variants = variants.length == 0 ? NO_VARIANTS : variants;
+    }
+
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public void process(MutableHttpResponse<?> response) {
+    }
+
+    /**
+     * @return The file the resource was read from, or {@code null} for other resources
+     */
+    @Nullable
+    Path file() {
+        return file;
+    }
+
+    /**
+     * @return Whether compressed variants are available
+     */
+    boolean hasVariants() {
+        return variants.length > 0;
+    }
+
+    /**
+     * @return The number of bytes held by this resource, at least 1
+     */
+    int weight() {
+        long weight = Math.max(1, identity.content.readableBytes());
+        for (Variant variant : variants) {
+            weight += variant.content.readableBytes();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Select the variant to send for the given {@code Accept-Encoding} header.
+     *
+     * @param acceptEncoding The {@code Accept-Encoding} header value
+     * @return The preferred variant accepted by the client, or the uncompressed content
+     */
+    @NonNull
+    Variant select(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null || variants.length == 0) {
+            return identity;
+        }
+        for (Variant variant : variants) {
+            if (accepts(acceptEncoding, variant.encoding)) {
+                return variant;
+            }
+        }
+        return identity;
+    }
+
+    /**
+     * Check whether an {@code If-None-Match} header matches any representation of this resource.
+     * Uses the weak comparison required for {@code If-None-Match}.
+     *
+     * @param ifNoneMatch The header value
+     * @return {@code true} if the resource has not been modified
+     */
+    boolean matches(@NonNull String ifNoneMatch) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(identity.etag)) {
+                return true;
+            }
+            for (Variant variant : variants) {
+                if (tag.equals(variant.etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        float starQ = -1;
+        for (String token : acceptEncoding.split(",")) {
+            int semicolon = token.indexOf(';');
+            String name = (semicolon == -1 ? token : token.substring(0, semicolon)).trim();
+            float q = 1;
+            if (semicolon != -1) {
+                int equals = token.indexOf('=', semicolon);
+                if (equals != -1) {
+                    try {
+                        q = Float.parseFloat(token.substring(equals + 1).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase(encoding)) {
+                return q > 0;
+            } else if (name.equals("*")) {
+                starQ = q;
+            }
+        }
+        return starQ > 0;
+    }
+
+    @Override
+    protected void deallocate() {
+        identity.content.release();
+        for (Variant variant : variants) {
+            variant.content.release();
+        }
+    }
+
+    @Override
+    public CachedStaticResource touch(Object hint) {
+        return this;
+    }
+
+    /**
+     * A representation of the resource.
+     *
+     * @param encoding The content encoding, or {@code null} for the uncompressed content
+     * @param etag     The strong entity tag of this representation
+     * @param content  The content
+     */
+    record Variant(@Nullable String encoding, String etag, ByteBuf content) {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.core.annotation.Experimental;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.MutableHeaders;
+import io.micronaut.http.ByteBodyHttpResponse;
+import io.micronaut.http.ByteBodyHttpResponseWrapper;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.body.ResponseBodyWriter;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.http.netty.body.AvailableNettyByteBody;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import jakarta.inject.Singleton;
+
+import java.io.OutputStream;
+
+/**
+ * Body writer for {@link CachedStaticResource}s. Selects the precompressed variant accepted by
+ * the client, so the response is sent as is without being compressed again. The resource is
+ * released with the request ({@link StaticResourceCache#RESOURCE_ATTRIBUTE}), the body holds its
+ * own reference to the content.
+ *
+ * @since 4.7.0
+ */
+@Singleton
+@Experimental
+@Internal
+final class CachedStaticResourceBodyWriter extends AbstractFileBodyWriter implements ResponseBodyWriter<CachedStaticResource> {
+    CachedStaticResourceBodyWriter(NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration) {
+        super(configuration);
+    }
+
+    @Override
+    public ByteBodyHttpResponse<?> write(ByteBufferFactory<?, ?> bufferFactory, HttpRequest<?> request, MutableHttpResponse<CachedStaticResource> outgoingResponse, Argument<CachedStaticResource> type, MediaType mediaType, CachedStaticResource object) throws CodecException {
+        String ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+        if (object.hasVariants()) {
+            outgoingResponse.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        CachedStaticResource.Variant variant = object.select(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+        outgoingResponse.header(HttpHeaders.ETAG, variant.etag());
+        boolean unchanged;
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            unchanged = object.matches(ifNoneMatch);
+            if (!unchanged) {
+                if (!outgoingResponse.getHeaders().contains(HttpHeaders.CONTENT_TYPE)) {
+                    outgoingResponse.header(HttpHeaders.CONTENT_TYPE, object.getMediaType().toString());
+                }
+                setDateAndCacheHeaders(outgoingResponse, object.getLastModified());
+            }
+        } else {
+            unchanged = handleIfModifiedAndHeaders(request, outgoingResponse, object, outgoingResponse);
+        }
+        if (unchanged) {
+            return notModified(outgoingResponse);
+        }
+        if (variant.encoding() != null) {
+            outgoingResponse.header(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        }
+        outgoingResponse.header(HttpHeaders.CONTENT_LENGTH, Integer.toString(variant.content().readableBytes()));
+        return ByteBodyHttpResponseWrapper.wrap(outgoingResponse, new AvailableNettyByteBody(variant.content().retainedDuplicate()));
+    }
+
+    @Override
+    public void writeTo(Argument<CachedStaticResource> type, MediaType mediaType, CachedStaticResource object, MutableHeaders outgoingHeaders, OutputStream outputStream) throws CodecException {
+        throw new UnsupportedOperationException("Can only be used in a Netty context");
+    }
+}
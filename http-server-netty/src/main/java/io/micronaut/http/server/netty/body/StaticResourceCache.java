@@ -0,0 +1,347 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.body;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.server.netty.HttpCompressionStrategy;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.io.watch.event.FileChangedEvent;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.GzipOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.Zstd;
+import io.netty.handler.codec.compression.ZstdEncoder;
+import io.netty.handler.codec.compression.ZstdOptions;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.IllegalReferenceCountException;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Bounded in-memory cache of static resources. Resources are loaded on the IO executor after
+ * the first request, which is still served from the resource itself. Later requests are served
+ * from pooled buffers, including precompressed variants for compressible content, so that a hit
+ * costs a single buffer retain.
+ * <p>Resources read from the file system are invalidated by the {@link FileChangedEvent}s of the
+ * file watcher ({@code micronaut.io.watch}). Without the file watcher, changed files are only
+ * picked up once they have been evicted. Resources that cannot be cached, because they are too
+ * large or their length is unknown, are remembered so that they are not read again on every
+ * request.
+ *
+ * @since 4.7.0
+ */
+@Singleton
+@Internal
+@Requires(property = StaticResourceCache.ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public final class StaticResourceCache implements ApplicationEventListener<FileChangedEvent> {
+    /**
+     * Property to enable the cache.
+     */
+    public static final String ENABLED = "micronaut.server.netty.responses.file.memory-cache.enabled";
+
+    /**
+     * Request attribute that holds the cached resource returned for a request, so that it is
+     * released with the request.
+     */
+    public static final String RESOURCE_ATTRIBUTE = "micronaut.http.server.netty.static-resource";
+
+    private static final int MAX_UNCACHEABLE = 10_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticResourceCache.class);
+
+    private final NettyHttpServerConfiguration.FileTypeHandlerConfiguration.MemoryCacheConfiguration configuration;
+    private final HttpCompressionStrategy compressionStrategy;
+    private final ExecutorService ioExecutor;
+    private final Map<String, CachedStaticResource> resources;
+    private final Map<String, Uncacheable> uncacheable = new ConcurrentLinkedHashMap.Builder<String, Uncacheable>()
+        .maximumWeightedCapacity(MAX_UNCACHEABLE)
+        .build();
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    /**
+     * Incremented for every invalidation, so that a load that overlaps one does not store
+     * content that may be stale.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param configuration       The file type handler configuration
+     * @param compressionStrategy The compression strategy
+     * @param ioExecutor          The IO executor
+     */
+    StaticResourceCache(NettyHttpServerConfiguration.FileTypeHandlerConfiguration configuration,
+                        HttpCompressionStrategy compressionStrategy,
+                        @Named(TaskExecutors.BLOCKING) ExecutorService ioExecutor) {
+        this.configuration = configuration.getMemoryCache();
+        this.compressionStrategy = compressionStrategy;
+        this.ioExecutor = ioExecutor;
+        this.resources = new ConcurrentLinkedHashMap.Builder<String, CachedStaticResource>()
+            .maximumWeightedCapacity(this.configuration.getMaxSize())
+            .weigher(CachedStaticResource::weight)
+            .listener((path, resource) -> resource.release())
+            .build();
+    }
+
+    /**
+     * Find a cached resource. The caller must release the returned resource.
+     *
+     * @param path The request path
+     * @return The retained resource, or {@code null} if it is not cached
+     */
+    @Nullable
+    public CachedStaticResource get(@NonNull String path) {
+        CachedStaticResource resource = resources.get(path);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            resource.retain();
+            return resource;
+        } catch (IllegalReferenceCountException e) {
+            // evicted concurrently
+            return null;
+        }
+    }
+
+    /**
+     * Load a resource into the cache in the background, unless it is already being loaded or
+     * is known not to be cacheable.
+     *
+     * @param path The request path
+     * @param url  The resolved resource
+     */
+    public void load(@NonNull String path, @NonNull URL url) {
+        if (uncacheable.containsKey(path) || !loading.add(path)) {
+            return;
+        }
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    long generation = this.generation.get();
+                    CachedStaticResource resource = read(url);
+                    if (resource == null) {
+                        Uncacheable entry = new Uncacheable(file(url));
+                        uncacheable.put(path, entry);
+                        if (generation != this.generation.get()) {
+                            // the file may have changed while it was read
+                            uncacheable.remove(path, entry);
+                        }
+                    } else if (generation != this.generation.get()) {
+                        resource.release();
+                    } else {
+                        CachedStaticResource previous = resources.put(path, resource);
+                        if (previous != null) {
+                            previous.release();
+                        }
+                        if (generation != this.generation.get()) {
+                            // invalidated between the check and the put
+                            invalidate(path, resource);
+                        }
+                    }
+                } catch (IOException | URISyntaxException | RuntimeException e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Failed to cache static resource {}", url, e);
+                    }
+                } finally {
+                    loading.remove(path);
+                }
+            });
+        } catch (RuntimeException e) {
+            loading.remove(path);
+            throw e;
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(FileChangedEvent event) {
+        generation.incrementAndGet();
+        // the watch service reports paths relative to the watched directory
+        Path changed = event.getPath();
+        for (Map.Entry<String, CachedStaticResource> entry : resources.entrySet()) {
+            if (affects(changed, entry.getValue().file())) {
+                invalidate(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Uncacheable> entry : uncacheable.entrySet()) {
+            if (affects(changed, entry.getValue().file())) {
+                uncacheable.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static boolean affects(Path changed, @Nullable Path file) {
+        return file != null && (changed.isAbsolute() ? file.startsWith(changed) : file.endsWith(changed));
+    }
+
+    /**
+     * Remove all resources from the cache.
+     */
+    @PreDestroy
+    public void clear() {
+        generation.incrementAndGet();
+        uncacheable.clear();
+        for (Map.Entry<String, CachedStaticResource> entry : resources.entrySet()) {
+            invalidate(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void invalidate(String path, CachedStaticResource resource) {
+        if (resources.remove(path, resource)) {
+            resource.release();
+        }
+    }
+
+    @Nullable
+    private CachedStaticResource read(URL url) throws IOException, URISyntaxException {
+        long maxFileSize = configuration.getMaxFileSize();
+        String name = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+        Path file = file(url);
+        long lastModified;
+        byte[] bytes;
+        if (file != null) {
+            if (!Files.isRegularFile(file) || Files.size(file) > maxFileSize) {
+                return null;
+            }
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+            bytes = Files.readAllBytes(file);
+        } else {
+            URLConnection connection = url.openConnection();
+            try (InputStream stream = connection.getInputStream()) {
+                long length = connection.getContentLengthLong();
+                if (length < 0 || length > maxFileSize) {
+                    return null;
+                }
+                lastModified = connection.getLastModified();
+                bytes = stream.readAllBytes();
+            }
+        }
+        if (bytes.length > maxFileSize) {
+            return null;
+        }
+
+        MediaType mediaType = MediaType.forFilename(name);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        String tag = Integer.toHexString(bytes.length) + "-" + Long.toHexString(crc.getValue());
+
+        ByteBuf content = ByteBufAllocator.DEFAULT.directBuffer(bytes.length).writeBytes(bytes);
+        List<CachedStaticResource.Variant> variants = new ArrayList<>(3);
+        if (configuration.isPrecompress() && shouldCompress(mediaType, bytes.length)) {
+            if (Brotli.isAvailable()) {
+                addVariant(variants, HttpHeaderValues.BR, tag, content, new BrotliEncoder(StandardCompressionOptions.brotli().parameters()));
+            }
+            if (Zstd.isAvailable()) {
+                ZstdOptions zstd = StandardCompressionOptions.zstd();
+                addVariant(variants, HttpHeaderValues.ZSTD, tag, content, new ZstdEncoder(zstd.compressionLevel(), zstd.blockSize(), zstd.maxEncodeSize()));
+            }
+            GzipOptions gzip = StandardCompressionOptions.gzip();
+            addVariant(variants, HttpHeaderValues.GZIP, tag, content, ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, compressionStrategy.getCompressionLevel(), gzip.windowBits(), gzip.memLevel()));
+        }
+        return new CachedStaticResource(
+            mediaType,
+            lastModified,
+            file,
+            new CachedStaticResource.Variant(null, '"' + tag + '"', content),
+            variants.toArray(new CachedStaticResource.Variant[0])
+        );
+    }
+
+    @Nullable
+    private static Path file(URL url) throws URISyntaxException {
+        return url.getProtocol().equals("file") ? Paths.get(url.toURI()).toAbsolutePath() : null;
+    }
+
+    private boolean shouldCompress(MediaType mediaType, int length) {
+        if (!compressionStrategy.isEnabled()) {
+            return false;
+        }
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers()
+            .set(HttpHeaderNames.CONTENT_TYPE, mediaType.toString())
+            .set(HttpHeaderNames.CONTENT_LENGTH, length);
+        return compressionStrategy.shouldCompress(response);
+    }
+
+    private static void addVariant(List<CachedStaticResource.Variant> variants, CharSequence encoding, String tag, ByteBuf content, ChannelHandler encoder) {
+        EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        ByteBuf compressed = ByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            channel.writeOutbound(content.retainedDuplicate());
+            channel.finish();
+            for (ByteBuf buf = channel.readOutbound(); buf != null; buf = channel.readOutbound()) {
+                compressed.writeBytes(buf);
+                buf.release();
+            }
+        } catch (RuntimeException e) {
+            channel.finishAndReleaseAll();
+            compressed.release();
+            throw e;
+        }
+        if (compressed.readableBytes() < content.readableBytes()) {
+            variants.add(new CachedStaticResource.Variant(encoding.toString(), '"' + tag + "-" + encoding + '"', compressed));
+        } else {
+            // not worth it
+            compressed.release();
+        }
+    }
+
+    /**
+     * A resource that was too large or had an unknown length.
+     *
+     * @param file The file the resource was read from, or {@code null} for other resources
+     */
+    private record Uncacheable(@Nullable Path file) {
+    }
+}
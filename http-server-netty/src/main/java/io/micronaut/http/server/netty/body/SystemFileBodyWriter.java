@@ -15,7 +15,6 @@
  */
 package io.micronaut.http.server.netty.body;
 
-import io.micronaut.buffer.netty.NettyByteBufferFactory;
 import io.micronaut.core.annotation.Experimental;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
@@ -32,9 +31,9 @@ import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.body.ResponseBodyWriter;
-import io.micronaut.http.body.stream.InputStreamByteBody;
 import io.micronaut.http.codec.CodecException;
 import io.micronaut.http.exceptions.MessageBodyException;
+import io.micronaut.http.netty.body.FileRegionByteBody;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.types.files.SystemFile;
 import io.micronaut.scheduling.TaskExecutors;
@@ -43,14 +42,10 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
-import java.io.EOFException;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.OptionalLong;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.ExecutorService;
 
 import static io.micronaut.http.HttpHeaders.CONTENT_RANGE;
@@ -123,16 +118,15 @@ public final class SystemFileBodyWriter extends AbstractFileBodyWriter implement
                 response.header(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
             }
 
-            File file = systemFile.getFile();
-            InputStream is;
+            FileChannel channel;
             try {
-                is = new FileInputStream(file);
-            } catch (FileNotFoundException e) {
+                channel = FileChannel.open(systemFile.getFile().toPath(), StandardOpenOption.READ);
+            } catch (IOException e) {
                 throw new MessageBodyException("Could not find file", e);
             }
 
-            @NonNull InputStream stream = new RangeInputStream(is, position, contentLength);
-            return ByteBodyHttpResponseWrapper.wrap(response, InputStreamByteBody.create(stream, OptionalLong.of(contentLength), ioExecutor, NettyByteBufferFactory.DEFAULT));
+            // the range is passed on as a file region, so the transport can send it without copying or skipping bytes
+            return ByteBodyHttpResponseWrapper.wrap(response, new FileRegionByteBody(channel, position, Math.max(contentLength, 0), ioExecutor));
         }
     }
 
@@ -169,73 +163,4 @@ public final class SystemFileBodyWriter extends AbstractFileBodyWriter implement
             this.lastPos = lastPos;
         }
     }
-
-    private static final class RangeInputStream extends InputStream {
-        private final InputStream delegate;
-        private final long toSkip;
-        private long remainingLength;
-        private boolean skipped = false;
-        private boolean skipSuccess = false;
-
-        private RangeInputStream(InputStream delegate, long toSkip, long length) {
-            this.delegate = delegate;
-            this.toSkip = toSkip;
-            this.remainingLength = length;
-
-            if (toSkip == 0) {
-                skipped = true;
-                skipSuccess = true;
-            }
-        }
-
-        private boolean doSkip() throws IOException {
-            if (!skipped) {
-                skipped = true;
-                try {
-                    delegate.skipNBytes(toSkip);
-                    skipSuccess = true;
-                } catch (EOFException ignored) {
-                }
-            }
-            return skipSuccess;
-        }
-
-        @Override
-        public int read() throws IOException {
-            if (!doSkip()) {
-                return -1;
-            }
-            if (remainingLength <= 0) {
-                return -1;
-            }
-            int read = delegate.read();
-            if (read != -1) {
-                remainingLength--;
-            }
-            return read;
-        }
-
-        @Override
-        public int read(@NonNull byte[] b, int off, int len) throws IOException {
-            if (!doSkip()) {
-                return -1;
-            }
-            if (remainingLength <= 0) {
-                return -1;
-            }
-            if (len > remainingLength) {
-                len = (int) remainingLength;
-            }
-            int n = delegate.read(b, off, len);
-            if (n != -1) {
-                remainingLength -= n;
-            }
-            return n;
-        }
-
-        @Override
-        public void close() throws IOException {
-            delegate.close();
-        }
-    }
 }
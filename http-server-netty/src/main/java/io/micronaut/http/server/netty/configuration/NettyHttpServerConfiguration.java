@@ -25,7 +25,9 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.io.Readable;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.netty.channel.ChannelPipelineListener;
 import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
 import io.micronaut.http.server.HttpServerConfiguration;
@@ -204,6 +206,8 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private String fallbackProtocol = ApplicationProtocolNames.HTTP_1_1;
     private AccessLogger accessLogger;
     private Http2Settings http2Settings = new Http2Settings();
+    private CompressionConfiguration compression = new CompressionConfiguration();
+    private FlushConsolidationConfiguration flushConsolidation = new FlushConsolidationConfiguration();
     private Http3Settings http3Settings = new Http3Settings();
     private boolean keepAliveOnServerError = DEFAULT_KEEP_ALIVE_ON_SERVER_ERROR;
     private String pcapLoggingPathPattern = null;
@@ -213,6 +217,7 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private boolean legacyMultiplexHandlers = false;
     private int formMaxFields = DEFAULT_FORM_MAX_FIELDS;
     private int formMaxBufferedBytes = DEFAULT_FORM_MAX_BUFFERED_BYTES;
+    private boolean streamingMultipartDecoder = false;
 
     /**
      * Default empty constructor.
@@ -472,6 +477,48 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return compressionLevel;
     }
 
+    /**
+     * @return The adaptive compression configuration
+     * @since 4.7.0
+     */
+    @NonNull
+    public CompressionConfiguration getCompression() {
+        return compression;
+    }
+
+    /**
+     * Sets the adaptive compression configuration.
+     *
+     * @param compression The adaptive compression configuration
+     * @since 4.7.0
+     */
+    public void setCompression(@Nullable CompressionConfiguration compression) {
+        if (compression != null) {
+            this.compression = compression;
+        }
+    }
+
+    /**
+     * @return The flush consolidation configuration
+     * @since 4.7.0
+     */
+    @NonNull
+    public FlushConsolidationConfiguration getFlushConsolidation() {
+        return flushConsolidation;
+    }
+
+    /**
+     * Sets the flush consolidation configuration.
+     *
+     * @param flushConsolidation The flush consolidation configuration
+     * @since 4.7.0
+     */
+    public void setFlushConsolidation(@Nullable FlushConsolidationConfiguration flushConsolidation) {
+        if (flushConsolidation != null) {
+            this.flushConsolidation = flushConsolidation;
+        }
+    }
+
     /**
      * @return The Netty child channel options.
      * @see io.netty.bootstrap.ServerBootstrap#childOption(io.netty.channel.ChannelOption, Object)
@@ -822,6 +869,32 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.formMaxBufferedBytes = formMaxBufferedBytes;
     }
 
+    /**
+     * Whether to decode {@code multipart/form-data} bodies with a decoder that searches for the
+     * part boundaries directly in the received buffers, instead of the netty decoder. Part
+     * content is not copied before it is passed on or written to disk. Nested
+     * {@code multipart/mixed} parts are not supported by this decoder.
+     *
+     * @return Whether to use the streaming multipart decoder
+     * @since 4.7.0
+     */
+    public boolean isStreamingMultipartDecoder() {
+        return streamingMultipartDecoder;
+    }
+
+    /**
+     * Whether to decode {@code multipart/form-data} bodies with a decoder that searches for the
+     * part boundaries directly in the received buffers, instead of the netty decoder. Part
+     * content is not copied before it is passed on or written to disk. Nested
+     * {@code multipart/mixed} parts are not supported by this decoder.
+     *
+     * @param streamingMultipartDecoder Whether to use the streaming multipart decoder
+     * @since 4.7.0
+     */
+    public void setStreamingMultipartDecoder(boolean streamingMultipartDecoder) {
+        this.streamingMultipartDecoder = streamingMultipartDecoder;
+    }
+
     /**
      * Http2 settings.
      */
@@ -1182,6 +1255,7 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
 
         private int cacheSeconds = DEFAULT_CACHESECONDS;
         private CacheControlConfiguration cacheControl = new CacheControlConfiguration();
+        private MemoryCacheConfiguration memoryCache = new MemoryCacheConfiguration();
 
         /**
          * Default constructor.
@@ -1240,6 +1314,24 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
             this.cacheControl = cacheControl;
         }
 
+        /**
+         * @return The in-memory static resource cache configuration
+         * @since 4.7.0
+         */
+        public MemoryCacheConfiguration getMemoryCache() {
+            return memoryCache;
+        }
+
+        /**
+         * Sets the in-memory static resource cache configuration.
+         *
+         * @param memoryCache The in-memory cache configuration
+         * @since 4.7.0
+         */
+        public void setMemoryCache(MemoryCacheConfiguration memoryCache) {
+            this.memoryCache = memoryCache;
+        }
+
         /**
          * Configuration for the Cache-Control header.
          */
@@ -1267,6 +1359,336 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
                 return publicCache;
             }
         }
+
+        /**
+         * Configuration for the in-memory cache of static resources.
+         *
+         * @since 4.7.0
+         */
+        @ConfigurationProperties("memory-cache")
+        public static class MemoryCacheConfiguration implements Toggleable {
+
+            /**
+             * The default enable value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_ENABLED = false;
+
+            /**
+             * The default maximum size of the cache in bytes.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+            /**
+             * The default maximum size of a single cached file in bytes.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final long DEFAULT_MAX_FILE_SIZE = 1024 * 1024;
+
+            /**
+             * The default precompression value.
+             */
+            @SuppressWarnings("WeakerAccess")
+            public static final boolean DEFAULT_PRECOMPRESS = true;
+
+            private boolean enabled = DEFAULT_ENABLED;
+            private long maxSize = DEFAULT_MAX_SIZE;
+            private long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+            private boolean precompress = DEFAULT_PRECOMPRESS;
+
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * Whether static resources are cached in memory. Default value ({@value #DEFAULT_ENABLED}).
+             *
+             * @param enabled True if static resources should be cached
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * @return The maximum size of the cache in bytes
+             */
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            /**
+             * The maximum number of bytes held by the cache, including the compressed variants. Default value ({@value #DEFAULT_MAX_SIZE}).
+             *
+             * @param maxSize The maximum size in bytes
+             */
+            public void setMaxSize(@ReadableBytes long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            /**
+             * @return The maximum size of a single cached file in bytes
+             */
+            public long getMaxFileSize() {
+                return maxFileSize;
+            }
+
+            /**
+             * Files larger than this are never cached. Default value ({@value #DEFAULT_MAX_FILE_SIZE}).
+             *
+             * @param maxFileSize The maximum file size in bytes
+             */
+            public void setMaxFileSize(@ReadableBytes long maxFileSize) {
+                this.maxFileSize = maxFileSize;
+            }
+
+            /**
+             * @return Whether compressed variants are computed when a file is cached
+             */
+            public boolean isPrecompress() {
+                return precompress;
+            }
+
+            /**
+             * Whether the compressed variants of compressible files are computed once when the file is cached, instead of on every response. Default value ({@value #DEFAULT_PRECOMPRESS}).
+             *
+             * @param precompress True if compressed variants should be cached
+             */
+            public void setPrecompress(boolean precompress) {
+                this.precompress = precompress;
+            }
+        }
+    }
+
+    /**
+     * Configuration of how flushes of responses that are written outside a read operation are
+     * merged. Responses that are written while reading requests are always flushed once the read
+     * operation completes. Merging flushes of other responses, across pipelined HTTP/1.1 requests
+     * and HTTP/2 streams, saves write system calls at the cost of some latency.
+     *
+     * @since 4.7.0
+     */
+    @ConfigurationProperties("flush-consolidation")
+    public static class FlushConsolidationConfiguration implements Toggleable {
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        /**
+         * The default maximum number of merged flushes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAX_PENDING_FLUSHES = 256;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private Duration maxDelay = Duration.ZERO;
+        private int maxPendingFlushes = DEFAULT_MAX_PENDING_FLUSHES;
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Whether flushes are merged. Default value ({@value #DEFAULT_ENABLED}).
+         *
+         * @param enabled Whether flushes are merged
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The latency budget of a flush
+         */
+        @NonNull
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        /**
+         * The maximum time a flush is delayed to merge it with other flushes. With the default of
+         * zero, flushes are delayed until the event loop has run the tasks that are already queued.
+         *
+         * @param maxDelay The latency budget of a flush
+         */
+        public void setMaxDelay(@Nullable Duration maxDelay) {
+            this.maxDelay = maxDelay == null || maxDelay.isNegative() ? Duration.ZERO : maxDelay;
+        }
+
+        /**
+         * @return The maximum number of flushes that are merged
+         */
+        public int getMaxPendingFlushes() {
+            return maxPendingFlushes;
+        }
+
+        /**
+         * The maximum number of flushes that are merged into one. Default value ({@value #DEFAULT_MAX_PENDING_FLUSHES}).
+         *
+         * @param maxPendingFlushes The maximum number of flushes
+         */
+        public void setMaxPendingFlushes(int maxPendingFlushes) {
+            this.maxPendingFlushes = maxPendingFlushes;
+        }
+    }
+
+    /**
+     * Configuration of how responses are compressed, in addition to the
+     * {@link #getCompressionThreshold() threshold} and {@link #getCompressionLevel() level}.
+     *
+     * @since 4.7.0
+     */
+    @ConfigurationProperties("compression")
+    public static class CompressionConfiguration {
+
+        /**
+         * The default size from which responses are compressed with the large response level.
+         * A value {@code < 0} disables the large response level.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_LARGE_RESPONSE_THRESHOLD = -1;
+
+        /**
+         * The default gzip and deflate level of large responses.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_LARGE_RESPONSE_LEVEL = 1;
+
+        /**
+         * The default size from which responses are compressed off the event loop.
+         * A value {@code < 0} disables the offload.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_OFFLOAD_THRESHOLD = -1;
+
+        /**
+         * The default maximum number of responses that wait for or run compression off the event loop.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_OFFLOAD_QUEUE_SIZE = 64;
+
+        private List<String> excludedContentTypes = Collections.emptyList();
+        private long largeResponseThreshold = DEFAULT_LARGE_RESPONSE_THRESHOLD;
+        private int largeResponseLevel = DEFAULT_LARGE_RESPONSE_LEVEL;
+        private Readable zstdDictionary;
+        private long offloadThreshold = DEFAULT_OFFLOAD_THRESHOLD;
+        private int offloadQueueSize = DEFAULT_OFFLOAD_QUEUE_SIZE;
+
+        /**
+         * @return The text based content types that are never compressed
+         */
+        @NonNull
+        public List<String> getExcludedContentTypes() {
+            return excludedContentTypes;
+        }
+
+        /**
+         * Text based content types that are never compressed, for example because they are
+         * already compressed or streamed with low latency, such as {@code text/event-stream}.
+         * Content types that are not text based are never compressed.
+         *
+         * @param excludedContentTypes The content types
+         */
+        public void setExcludedContentTypes(@Nullable List<String> excludedContentTypes) {
+            this.excludedContentTypes = excludedContentTypes == null ? Collections.emptyList() : excludedContentTypes;
+        }
+
+        /**
+         * @return The size from which responses are compressed with the large response level
+         */
+        public long getLargeResponseThreshold() {
+            return largeResponseThreshold;
+        }
+
+        /**
+         * Responses with a known length of at least this many bytes are compressed with the
+         * {@link #getLargeResponseLevel() large response level}, to spend less CPU time on the
+         * event loop per byte. Default value ({@value #DEFAULT_LARGE_RESPONSE_THRESHOLD}, disabled).
+         *
+         * @param largeResponseThreshold The threshold in bytes
+         */
+        public void setLargeResponseThreshold(@ReadableBytes long largeResponseThreshold) {
+            this.largeResponseThreshold = largeResponseThreshold;
+        }
+
+        /**
+         * @return The gzip and deflate level of large responses
+         */
+        public int getLargeResponseLevel() {
+            return largeResponseLevel;
+        }
+
+        /**
+         * The gzip and deflate level (0-9) of responses above the
+         * {@link #getLargeResponseThreshold() large response threshold}. Default value ({@value #DEFAULT_LARGE_RESPONSE_LEVEL}).
+         *
+         * @param largeResponseLevel The compression level
+         */
+        public void setLargeResponseLevel(int largeResponseLevel) {
+            this.largeResponseLevel = largeResponseLevel;
+        }
+
+        /**
+         * @return The pre-trained zstd dictionary
+         */
+        @Nullable
+        public Readable getZstdDictionary() {
+            return zstdDictionary;
+        }
+
+        /**
+         * A pre-trained zstd dictionary, for example {@code classpath:api.dict}. Clients that
+         * announce the dictionary with the {@code Available-Dictionary} header and accept the
+         * {@code dcz} encoding receive responses compressed with it (RFC 9842). Requires
+         * {@code com.github.luben:zstd-jni}.
+         *
+         * @param zstdDictionary The dictionary
+         */
+        public void setZstdDictionary(@Nullable Readable zstdDictionary) {
+            this.zstdDictionary = zstdDictionary;
+        }
+
+        /**
+         * @return The size from which responses are compressed off the event loop
+         */
+        public long getOffloadThreshold() {
+            return offloadThreshold;
+        }
+
+        /**
+         * Responses with a known length of at least this many bytes are compressed on the
+         * {@code blocking} executor instead of the event
+         * loop, so that large responses do not delay the other connections of the event loop.
+         * Default value ({@value #DEFAULT_OFFLOAD_THRESHOLD}, disabled).
+         *
+         * @param offloadThreshold The threshold in bytes
+         */
+        public void setOffloadThreshold(@ReadableBytes long offloadThreshold) {
+            this.offloadThreshold = offloadThreshold;
+        }
+
+        /**
+         * @return The maximum number of responses that wait for or run compression off the event loop
+         */
+        public int getOffloadQueueSize() {
+            return offloadQueueSize;
+        }
+
+        /**
+         * The maximum number of responses that wait for or run compression off the event loop.
+         * When the queue is full, responses are compressed on the event loop.
+         * Default value ({@value #DEFAULT_OFFLOAD_QUEUE_SIZE}).
+         *
+         * @param offloadQueueSize The queue size
+         */
+        public void setOffloadQueueSize(int offloadQueueSize) {
+            this.offloadQueueSize = offloadQueueSize;
+        }
     }
 
     /**
@@ -42,18 +42,35 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.AsciiString;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 final class Compressor {
+    /**
+     * Request header that names the dictionary the client has, RFC 9842.
+     */
+    static final AsciiString AVAILABLE_DICTIONARY = AsciiString.cached("available-dictionary");
+    /**
+     * Dictionary-compressed zstd content encoding, RFC 9842.
+     */
+    static final AsciiString DCZ = AsciiString.cached("dcz");
+
     private final HttpCompressionStrategy strategy;
     private final BrotliOptions brotliOptions;
     private final GzipOptions gzipOptions;
     private final DeflateOptions deflateOptions;
     private final ZstdOptions zstdOptions;
     private final SnappyOptions snappyOptions;
+    @Nullable
+    private final ZstdDictionaryEncoder.Dictionary zstdDictionary;
 
     Compressor(HttpCompressionStrategy strategy) {
         assert strategy.isEnabled();
@@ -67,6 +84,9 @@ final class Compressor {
         this.deflateOptions = StandardCompressionOptions.deflate(strategy.getCompressionLevel(), stdDeflate.windowBits(), stdDeflate.memLevel());
         this.zstdOptions = Zstd.isAvailable() ? StandardCompressionOptions.zstd() : null;
         this.snappyOptions = StandardCompressionOptions.snappy();
+        byte[] dictionary = strategy.getZstdDictionary();
+        this.zstdDictionary = dictionary != null && zstdOptions != null ?
+            ZstdDictionaryEncoder.Dictionary.of(dictionary, zstdOptions.compressionLevel()) : null;
     }
 
     @Nullable
@@ -90,18 +110,45 @@ final class Compressor {
             acceptEncoding.addAll(Arrays.asList(s.split(",")));
         }
         Algorithm encoding = determineEncoding(acceptEncoding);
+        if (zstdDictionary != null) {
+            response.headers().add(HttpHeaderNames.VARY, AVAILABLE_DICTIONARY);
+            if (acceptsDcz(acceptEncoding) && zstdDictionary.matches(request.headers().get(AVAILABLE_DICTIONARY))) {
+                encoding = Algorithm.DCZ;
+            }
+        }
         if (encoding == null) {
             return null;
         }
         response.headers().add(HttpHeaderNames.CONTENT_ENCODING, encoding.contentEncoding);
         ChannelHandler handler = switch (encoding) {
+            case DCZ -> new ZstdDictionaryEncoder(zstdDictionary);
             case BR -> makeBrotliEncoder();
             case ZSTD -> new ZstdEncoder(zstdOptions.compressionLevel(), zstdOptions.blockSize(), zstdOptions.maxEncodeSize());
             case SNAPPY -> new SnappyFrameEncoder();
-            case GZIP -> ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, gzipOptions.compressionLevel(), gzipOptions.windowBits(), gzipOptions.memLevel());
-            case DEFLATE -> ZlibCodecFactory.newZlibEncoder(ZlibWrapper.ZLIB, deflateOptions.compressionLevel(), deflateOptions.windowBits(), deflateOptions.memLevel());
+            case GZIP -> ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, strategy.getCompressionLevel(response), gzipOptions.windowBits(), gzipOptions.memLevel());
+            case DEFLATE -> ZlibCodecFactory.newZlibEncoder(ZlibWrapper.ZLIB, strategy.getCompressionLevel(response), deflateOptions.windowBits(), deflateOptions.memLevel());
         };
-        return new Session(ctx, handler);
+        return new Session(ctx, handler, strategy, encoding.contentEncoding, strategy.getOffloadExecutor(response));
+    }
+
+    private static boolean acceptsDcz(List<String> acceptEncoding) {
+        for (String encoding : acceptEncoding) {
+            int paramsPos = encoding.indexOf(';');
+            String name = (paramsPos == -1 ? encoding : encoding.substring(0, paramsPos)).trim();
+            if (!DCZ.contentEqualsIgnoreCase(name)) {
+                continue;
+            }
+            int equalsPos = encoding.indexOf('=', paramsPos);
+            if (paramsPos == -1 || equalsPos == -1) {
+                return true;
+            }
+            try {
+                return Float.parseFloat(encoding.substring(equalsPos + 1)) > 0.0f;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
     }
 
     private BrotliEncoder makeBrotliEncoder() {
@@ -176,6 +223,7 @@ final class Compressor {
     }
 
     private enum Algorithm {
+        DCZ(Compressor.DCZ),
         BR(HttpHeaderValues.BR),
         ZSTD(HttpHeaderValues.ZSTD),
         SNAPPY(HttpHeaderValues.SNAPPY),
@@ -190,10 +238,37 @@ final class Compressor {
     }
 
     static final class Session {
+        private final ChannelHandlerContext ctx;
         private final EmbeddedChannel compressionChannel;
+        private final HttpCompressionStrategy strategy;
+        private final CharSequence encoding;
+        @Nullable
+        private final Executor offloadExecutor;
         private boolean finished = false;
+        private boolean recorded = false;
+        private long uncompressedBytes;
+        private long compressedBytes;
+        private long eventLoopNanos;
+        private long offloadNanos;
+
+        /**
+         * Tasks that run one after another on the {@link #offloadExecutor}. Guarded by {@code this}.
+         */
+        private final Queue<Runnable> offloadTasks = new ArrayDeque<>();
+        /**
+         * {@code true} iff a thread is running the {@link #offloadTasks}. Guarded by {@code this}.
+         */
+        private boolean offloadRunning = false;
+        /**
+         * {@code true} iff {@link #pushOffloaded} was used, so {@link #discard} has to wait for the offloaded tasks.
+         */
+        private boolean offloadUsed = false;
 
-        private Session(ChannelHandlerContext ctx, ChannelHandler handler) {
+        private Session(ChannelHandlerContext ctx, ChannelHandler handler, HttpCompressionStrategy strategy, CharSequence encoding, @Nullable Executor offloadExecutor) {
+            this.ctx = ctx;
+            this.strategy = strategy;
+            this.encoding = encoding;
+            this.offloadExecutor = offloadExecutor;
             compressionChannel = new EmbeddedChannel(
                 ctx.channel().id(),
                 ctx.channel().metadata().hasDisconnect(),
@@ -202,12 +277,22 @@ final class Compressor {
             );
         }
 
+        /**
+         * @return {@code true} iff this response should be compressed with {@link #pushOffloaded}
+         */
+        boolean isOffloaded() {
+            return offloadExecutor != null;
+        }
+
         void push(ByteBuf data) {
             if (finished) {
                 throw new IllegalStateException("Compression already finished");
             }
             if (data.isReadable()) {
+                uncompressedBytes += data.readableBytes();
+                long start = System.nanoTime();
                 compressionChannel.writeOutbound(data);
+                addNanos(System.nanoTime() - start);
             } else {
                 data.release();
             }
@@ -215,12 +300,89 @@ final class Compressor {
 
         void finish() {
             if (!finished) {
+                long start = System.nanoTime();
                 compressionChannel.finish();
+                addNanos(System.nanoTime() - start);
                 finished = true;
             }
         }
 
+        private void addNanos(long nanos) {
+            if (ctx.executor().inEventLoop()) {
+                eventLoopNanos += nanos;
+            } else {
+                offloadNanos += nanos;
+            }
+        }
+
+        /**
+         * Compress some data on the offload executor. The compressed data is passed to the
+         * callback on the event loop, in the order of the calls to this method.
+         *
+         * @param data     The data to compress
+         * @param last     {@code true} iff this is the last data of the response
+         * @param callback The callback for the compressed data, which may be {@code null}
+         */
+        void pushOffloaded(ByteBuf data, boolean last, Consumer<ByteBuf> callback) {
+            assert offloadExecutor != null;
+            offloadUsed = true;
+            offload(() -> {
+                ByteBuf compressed;
+                try {
+                    push(data);
+                    if (last) {
+                        finish();
+                    }
+                    compressed = poll();
+                } catch (Throwable t) {
+                    ctx.executor().execute(() -> {
+                        ctx.fireExceptionCaught(t);
+                        ctx.close();
+                    });
+                    return;
+                }
+                ctx.executor().execute(() -> callback.accept(compressed));
+            });
+        }
+
+        private void offload(Runnable task) {
+            synchronized (this) {
+                offloadTasks.add(task);
+                if (offloadRunning) {
+                    return;
+                }
+                offloadRunning = true;
+            }
+            try {
+                offloadExecutor.execute(this::runOffloadTasks);
+            } catch (RejectedExecutionException e) {
+                // the executor is busy, compress on this thread
+                runOffloadTasks();
+            }
+        }
+
+        private void runOffloadTasks() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = offloadTasks.poll();
+                    if (task == null) {
+                        offloadRunning = false;
+                        return;
+                    }
+                }
+                task.run();
+            }
+        }
+
         void discard() {
+            if (offloadUsed) {
+                // wait for the compression that is in progress
+                offloadUsed = false;
+                offload(this::discard);
+                return;
+            }
+            recorded = true;
             if (!finished) {
                 try {
                     compressionChannel.finishAndReleaseAll();
@@ -246,6 +408,19 @@ final class Compressor {
 
         @Nullable
         ByteBuf poll() {
+            ByteBuf buf = poll0();
+            if (buf != null) {
+                compressedBytes += buf.readableBytes();
+            }
+            if (finished && !recorded) {
+                recorded = true;
+                strategy.recordCompression(encoding, uncompressedBytes, compressedBytes, eventLoopNanos, offloadNanos);
+            }
+            return buf;
+        }
+
+        @Nullable
+        private ByteBuf poll0() {
             int n = compressionChannel.outboundMessages().size();
             if (n == 0) {
                 return null;
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.handler;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.server.netty.HttpFlushMetrics;
+
+/**
+ * Policy for merging the flushes of responses that are written outside a read operation.
+ *
+ * @param maxDelayNanos     The maximum time a flush is delayed, {@code 0} to delay it until the
+ *                          tasks that are already queued on the event loop have run
+ * @param maxPendingFlushes The maximum number of flushes that are merged into one
+ * @param metrics           The metrics that flushes are recorded in
+ * @since 4.7.0
+ */
+@Internal
+public record FlushConsolidation(long maxDelayNanos, int maxPendingFlushes, HttpFlushMetrics metrics) {
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.handler;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the flushes of a connection according to a {@link FlushConsolidation} policy. Only
+ * accessed on the event loop.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class FlushConsolidator implements Runnable {
+    private final ChannelHandlerContext ctx;
+    private final FlushConsolidation policy;
+    private final Runnable flush;
+    /**
+     * Number of flushes that have been requested since the last flush.
+     */
+    private int pendingFlushes = 0;
+    /**
+     * {@code true} iff this is queued or scheduled on the event loop.
+     */
+    private boolean scheduled = false;
+    @Nullable
+    private ScheduledFuture<?> scheduledFuture;
+
+    /**
+     * @param ctx    The context of the handler
+     * @param policy The policy
+     * @param flush  The action that flushes the channel
+     */
+    FlushConsolidator(ChannelHandlerContext ctx, FlushConsolidation policy, Runnable flush) {
+        this.ctx = ctx;
+        this.policy = policy;
+        this.flush = flush;
+    }
+
+    /**
+     * Request a flush. The flush happens immediately if too many flushes are pending, otherwise
+     * within the latency budget of the policy.
+     */
+    void requestFlush() {
+        pendingFlushes++;
+        if (pendingFlushes >= policy.maxPendingFlushes()) {
+            run();
+        } else if (!scheduled) {
+            scheduled = true;
+            if (policy.maxDelayNanos() == 0) {
+                ctx.executor().execute(this);
+            } else {
+                scheduledFuture = ctx.executor().schedule(this, policy.maxDelayNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Signal that the channel has been flushed by other means, e.g. at the end of a read
+     * operation, so that the pending flushes are not necessary anymore.
+     */
+    void flushed() {
+        if (pendingFlushes > 0) {
+            policy.metrics().recordSavedFlushes(pendingFlushes);
+            pendingFlushes = 0;
+        }
+    }
+
+    /**
+     * Flush now, if any flushes are pending.
+     */
+    @Override
+    public void run() {
+        scheduled = false;
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduledFuture = null;
+        }
+        if (pendingFlushes > 0) {
+            int n = pendingFlushes;
+            pendingFlushes = 0;
+            flush.run();
+            policy.metrics().recordFlush(n);
+        }
+    }
+}
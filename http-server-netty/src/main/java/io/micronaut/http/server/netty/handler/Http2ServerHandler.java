@@ -64,6 +64,10 @@ public final class Http2ServerHandler extends MultiplexedServerHandler implement
     private Http2Connection.PropertyKey streamKey;
     private boolean reading = false;
     private boolean upgradedFromHttp1 = false;
+    @Nullable
+    private FlushConsolidation flushConsolidation;
+    @Nullable
+    private FlushConsolidator flushConsolidator;
 
     static {
         for (Http2Error value : Http2Error.values()) {
@@ -91,7 +95,15 @@ public final class Http2ServerHandler extends MultiplexedServerHandler implement
         // while reading, hold back flushes for efficiency.
         // Http2ConnectionHandler.readComplete does a flush.
         if (!reading) {
-            connectionHandler.flush(ctx);
+            if (flushConsolidation == null) {
+                connectionHandler.flush(ctx);
+            } else {
+                // merge with the flushes of other streams
+                if (flushConsolidator == null) {
+                    flushConsolidator = new FlushConsolidator(ctx, flushConsolidation, () -> connectionHandler.flush(ctx));
+                }
+                flushConsolidator.requestFlush();
+            }
         }
     }
 
@@ -227,6 +239,9 @@ public final class Http2ServerHandler extends MultiplexedServerHandler implement
             });
             handler.reading = false;
             super.channelReadComplete(ctx);
+            if (handler.flushConsolidator != null) {
+                handler.flushConsolidator.flushed();
+            }
         }
 
         @Override
@@ -318,6 +333,18 @@ public final class Http2ServerHandler extends MultiplexedServerHandler implement
             return this;
         }
 
+        /**
+         * Merge the flushes of streams that are written outside a read operation.
+         *
+         * @param flushConsolidation The flush consolidation policy, or {@code null} to flush every write immediately
+         * @return This builder
+         * @since 4.7.0
+         */
+        public ConnectionHandlerBuilder flushConsolidation(@Nullable FlushConsolidation flushConsolidation) {
+            frameListener.flushConsolidation = flushConsolidation;
+            return this;
+        }
+
         @Override
         public ConnectionHandler build() {
             connection(new DefaultHttp2Connection(isServer(), maxReservedStreams()));
@@ -23,6 +23,7 @@ import io.micronaut.http.netty.EventLoopFlow;
 import io.micronaut.http.netty.body.AvailableNettyByteBody;
 import io.micronaut.http.netty.body.BodySizeLimits;
 import io.micronaut.http.netty.body.BufferConsumer;
+import io.micronaut.http.netty.body.FileRegionByteBody;
 import io.micronaut.http.netty.body.NettyBodyAdapter;
 import io.micronaut.http.netty.body.NettyByteBody;
 import io.micronaut.http.netty.body.StreamingNettyByteBody;
@@ -35,6 +36,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.compression.Brotli;
 import io.netty.handler.codec.compression.BrotliDecoder;
@@ -60,6 +62,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import org.slf4j.Logger;
@@ -92,6 +95,10 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
     private final OptimisticBufferingInboundHandler optimisticBufferingInboundHandler = new OptimisticBufferingInboundHandler();
 
     private Compressor compressor;
+    @Nullable
+    private FlushConsolidation flushConsolidation;
+    @Nullable
+    private FlushConsolidator flushConsolidator;
     private BodySizeLimits bodySizeLimits = BodySizeLimits.UNLIMITED;
 
     /**
@@ -143,6 +150,16 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
         }
     }
 
+    /**
+     * Merge the flushes of responses that are written outside a read operation.
+     *
+     * @param flushConsolidation The flush consolidation policy, or {@code null} to flush every response immediately
+     * @since 4.7.0
+     */
+    public void setFlushConsolidation(@Nullable FlushConsolidation flushConsolidation) {
+        this.flushConsolidation = flushConsolidation;
+    }
+
     public void setBodySizeLimits(BodySizeLimits bodySizeLimits) {
         this.bodySizeLimits = bodySizeLimits;
     }
@@ -192,6 +209,9 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
         this.ctx = ctx;
+        if (flushConsolidation != null) {
+            flushConsolidator = new FlushConsolidator(ctx, flushConsolidation, ctx::flush);
+        }
         // we take control of reading now.
         ctx.channel().config().setAutoRead(false);
         refreshNeedMore();
@@ -227,6 +247,9 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
         if (flushPending) {
             ctx.flush();
             flushPending = false;
+            if (flushConsolidator != null) {
+                flushConsolidator.flushed();
+            }
         }
         refreshNeedMore();
     }
@@ -262,12 +285,19 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
     private void write(Object message, boolean flush, boolean close) {
         if (close) {
             ctx.writeAndFlush(message).addListener(ChannelFutureListener.CLOSE);
+            if (flushConsolidator != null) {
+                flushConsolidator.flushed();
+            }
         } else {
             if (flush) {
                 // delay flush until readComplete if possible
                 if (reading) {
                     ctx.write(message, ctx.voidPromise());
                     flushPending = true;
+                } else if (flushConsolidator != null) {
+                    // merge with the flushes of other responses
+                    ctx.write(message, ctx.voidPromise());
+                    flushConsolidator.requestFlush();
                 } else {
                     ctx.writeAndFlush(message, ctx.voidPromise());
                 }
@@ -848,7 +878,8 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
 
         @Override
         public void write(@NonNull HttpResponse response, @NonNull ByteBody body) {
-            NettyByteBody nbb = NettyBodyAdapter.adapt(body, ctx.channel().eventLoop());
+            // file bodies are adapted below, once we know whether they can be sent as a file region
+            NettyByteBody nbb = body instanceof FileRegionByteBody ? null : NettyBodyAdapter.adapt(body, ctx.channel().eventLoop());
             if (nbb instanceof AvailableNettyByteBody available) {
                 writeFull(new DefaultFullHttpResponse(response.protocolVersion(), response.status(), AvailableNettyByteBody.toByteBuf(available), response.headers(), EmptyHttpHeaders.INSTANCE), false);
             } else {
@@ -871,6 +902,17 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
                 preprocess(response);
                 StreamingOutboundHandler oh = new StreamingOutboundHandler(this, response);
                 prepareCompression(response, oh);
+                if (nbb == null) {
+                    // on plaintext connections, uncompressed files are sent by the transport
+                    // without copying them to user space (sendfile)
+                    FileRegion region = oh.compressionSession == null && ctx.pipeline().get(SslHandler.class) == null ?
+                        ((FileRegionByteBody) body).toFileRegion() : null;
+                    if (region != null) {
+                        write(new FileRegionOutboundHandler(this, response, region));
+                        return;
+                    }
+                    nbb = NettyBodyAdapter.adapt(body, ctx.channel().eventLoop());
+                }
                 oh.upstream = ((StreamingNettyByteBody) nbb).primary(oh);
                 write(oh);
             }
@@ -921,15 +963,41 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
             if (last) {
                 compressionSession.finish();
             }
+            writeCompressed(content, compressionSession.poll(), flush, close);
+        }
+
+        /**
+         * Like {@link #writeCompressing}, but compress on the offload executor of the
+         * {@link Compressor.Session}. The compressed data is written on the event loop, in order,
+         * and then {@code next} is run, unless the handler has been removed in the meantime.
+         */
+        protected final void writeCompressingOffloaded(HttpContent content, boolean flush, boolean close, Runnable next) {
+            boolean last = content instanceof LastHttpContent;
+            compressionSession.pushOffloaded(content.content(), last, toSend -> {
+                if (removed) {
+                    if (toSend != null) {
+                        toSend.release();
+                    }
+                    return;
+                }
+                writeCompressed(content, toSend, flush, close);
+                next.run();
+            });
+        }
+
+        private void writeCompressed(HttpContent content, @Nullable ByteBuf toSend, boolean flush, boolean close) {
+            boolean last = content instanceof LastHttpContent;
             if (content instanceof HttpResponse hr) {
                 assert last;
 
-                compressionSession.fixContentLength(hr);
+                // fix content-length if necessary
+                if (hr.headers().contains(HttpHeaderNames.CONTENT_LENGTH)) {
+                    hr.headers().set(HttpHeaderNames.CONTENT_LENGTH, toSend == null ? 0 : toSend.readableBytes());
+                }
 
                 // this can happen in FullHttpResponse, just send the full body.
                 write(new DefaultHttpResponse(hr.protocolVersion(), hr.status(), hr.headers()), false, false);
             }
-            ByteBuf toSend = compressionSession.poll();
             // send the compressed buffer with the flags.
             if (toSend == null) {
                 if (last) {
@@ -1006,6 +1074,10 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
      */
     private final class FullOutboundHandler extends OutboundHandler {
         private final FullHttpResponse message;
+        /**
+         * {@code true} iff the message has been passed to the offload executor for compression.
+         */
+        private boolean offloaded = false;
 
         FullOutboundHandler(OutboundAccessImpl outboundAccess, FullHttpResponse message) {
             super(outboundAccess);
@@ -1014,7 +1086,55 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
 
         @Override
         void writeSome() {
+            if (compressionSession != null && compressionSession.isOffloaded()) {
+                if (!offloaded) {
+                    offloaded = true;
+                    writeCompressingOffloaded(message, true, outboundAccess.closeAfterWrite, this::written);
+                }
+                // else still compressing
+                return;
+            }
             writeCompressing(message, true, outboundAccess.closeAfterWrite);
+            written();
+        }
+
+        private void written() {
+            outboundHandler = null;
+            requestHandler.responseWritten(outboundAccess.attachment);
+            PipeliningServerHandler.this.writeSome();
+        }
+
+        @Override
+        void discardOutbound() {
+            super.discardOutbound();
+            outboundHandler = null;
+            // pretend we wrote to clean up resources
+            requestHandler.responseWritten(outboundAccess.attachment);
+            if (!offloaded) {
+                // otherwise, the compression session owns the content
+                message.release();
+            }
+        }
+    }
+
+    /**
+     * Handler that writes a response with a {@link FileRegion} body.
+     */
+    private final class FileRegionOutboundHandler extends OutboundHandler {
+        private final HttpResponse message;
+        private final FileRegion region;
+
+        FileRegionOutboundHandler(OutboundAccessImpl outboundAccess, HttpResponse message, FileRegion region) {
+            super(outboundAccess);
+            this.message = message;
+            this.region = region;
+        }
+
+        @Override
+        void writeSome() {
+            write(message, false, false);
+            write(region, false, false);
+            write(LastHttpContent.EMPTY_LAST_CONTENT, true, outboundAccess.closeAfterWrite);
             outboundHandler = null;
             requestHandler.responseWritten(outboundAccess.attachment);
             PipeliningServerHandler.this.writeSome();
@@ -1026,7 +1146,7 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
             outboundHandler = null;
             // pretend we wrote to clean up resources
             requestHandler.responseWritten(outboundAccess.attachment);
-            message.release();
+            region.release();
         }
     }
 
@@ -1090,16 +1210,26 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
 
             if (!removed) {
                 int n = buf.readableBytes();
-                writeCompressing(new DefaultHttpContent(buf), true, false);
-                incompleteWrittenBytes += n;
-                if (ctx.channel().isWritable()) {
-                    writeSome();
+                if (compressionSession != null && compressionSession.isOffloaded()) {
+                    // only count the bytes as consumed once they are written, so that upstream
+                    // does not produce faster than we can compress
+                    writeCompressingOffloaded(new DefaultHttpContent(buf), true, false, () -> consumed(n));
+                } else {
+                    writeCompressing(new DefaultHttpContent(buf), true, false);
+                    consumed(n);
                 }
             } else {
                 buf.release();
             }
         }
 
+        private void consumed(int n) {
+            incompleteWrittenBytes += n;
+            if (ctx.channel().isWritable()) {
+                writeSome();
+            }
+        }
+
         @Override
         public void error(Throwable t) {
             if (flow.executeNow(() -> error0(t))) {
@@ -1132,19 +1262,33 @@ public final class PipeliningServerHandler extends ChannelInboundHandlerAdapter
                 return;
             }
 
-            outboundHandler = null;
-            if (!removed) {
-                if (initialMessage != null) {
-                    write(initialMessage, false, false);
-                    initialMessage = null;
-                }
+            if (removed) {
+                outboundHandler = null;
+                return;
+            }
+            if (initialMessage != null) {
+                write(initialMessage, false, false);
+                initialMessage = null;
+            }
 
-                if (!writtenLast) {
-                    writeCompressing(LastHttpContent.EMPTY_LAST_CONTENT, true, outboundAccess.closeAfterWrite);
-                }
-                requestHandler.responseWritten(outboundAccess.attachment);
-                PipeliningServerHandler.this.writeSome();
+            if (!writtenLast && compressionSession != null && compressionSession.isOffloaded()) {
+                // stay the outbound handler until the compressed data is written
+                writeCompressingOffloaded(LastHttpContent.EMPTY_LAST_CONTENT, true, outboundAccess.closeAfterWrite, this::completed);
+                return;
             }
+
+            outboundHandler = null;
+            if (!writtenLast) {
+                writeCompressing(LastHttpContent.EMPTY_LAST_CONTENT, true, outboundAccess.closeAfterWrite);
+            }
+            requestHandler.responseWritten(outboundAccess.attachment);
+            PipeliningServerHandler.this.writeSome();
+        }
+
+        private void completed() {
+            outboundHandler = null;
+            requestHandler.responseWritten(outboundAccess.attachment);
+            PipeliningServerHandler.this.writeSome();
         }
 
         @Override
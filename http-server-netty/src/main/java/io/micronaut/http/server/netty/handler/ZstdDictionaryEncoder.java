@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.handler;
+
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.ReferenceCountUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Encoder for the dictionary-compressed zstd content encoding ({@code dcz}) of RFC 9842. The
+ * output is a fixed header with the SHA-256 hash of the dictionary, followed by a zstd frame
+ * compressed with the dictionary.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class ZstdDictionaryEncoder extends ChannelOutboundHandlerAdapter {
+    private static final byte[] DCZ_MAGIC = {0x5e, 0x2a, 0x4d, 0x18, 0x20, 0x00, 0x00, 0x00};
+
+    private final Dictionary dictionary;
+    private final Sink sink = new Sink();
+    private ZstdOutputStreamNoFinalizer stream;
+
+    ZstdDictionaryEncoder(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        sink.alloc = ctx.alloc();
+        sink.write(DCZ_MAGIC);
+        sink.write(dictionary.hash);
+        stream = new ZstdOutputStreamNoFinalizer(sink);
+        stream.setLevel(dictionary.level);
+        stream.setDict(dictionary.compress);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof ByteBuf buf)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        try {
+            if (buf.hasArray()) {
+                stream.write(buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+            } else {
+                byte[] bytes = new byte[buf.readableBytes()];
+                buf.getBytes(buf.readerIndex(), bytes);
+                stream.write(bytes);
+            }
+            // like the zlib encoders, make everything written so far decodable by the client
+            stream.flush();
+        } catch (IOException e) {
+            promise.setFailure(new EncoderException(e));
+            return;
+        } finally {
+            ReferenceCountUtil.release(buf);
+        }
+        ByteBuf out = sink.take();
+        if (out == null) {
+            promise.setSuccess();
+        } else {
+            ctx.write(out, promise);
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        try {
+            // end the frame
+            stream.close();
+        } catch (IOException e) {
+            ReferenceCountUtil.release(sink.take());
+            ctx.close(promise);
+            throw new EncoderException(e);
+        }
+        ByteBuf out = sink.take();
+        if (out != null) {
+            ctx.writeAndFlush(out);
+        }
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        ReferenceCountUtil.release(sink.take());
+    }
+
+    /**
+     * A dictionary that is prepared for compression once and shared by all connections.
+     */
+    static final class Dictionary {
+        private static volatile Dictionary last;
+
+        private final byte[] raw;
+        private final int level;
+        private final byte[] hash;
+        private final String availableDictionary;
+        private final ZstdDictCompress compress;
+
+        private Dictionary(byte[] raw, int level) {
+            this.raw = raw;
+            this.level = level;
+            try {
+                this.hash = MessageDigest.getInstance("SHA-256").digest(raw);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not supported", e);
+            }
+            this.availableDictionary = ':' + Base64.getEncoder().encodeToString(hash) + ':';
+            this.compress = new ZstdDictCompress(raw, level);
+        }
+
+        /**
+         * @param raw   The dictionary, which must not be modified afterwards
+         * @param level The zstd compression level
+         * @return The prepared dictionary
+         */
+        static Dictionary of(byte[] raw, int level) {
+            Dictionary dictionary = last;
+            if (dictionary == null || dictionary.raw != raw || dictionary.level != level) {
+                dictionary = new Dictionary(raw, level);
+                last = dictionary;
+            }
+            return dictionary;
+        }
+
+        /**
+         * @param availableDictionary The {@code Available-Dictionary} request header
+         * @return Whether the client has this dictionary
+         */
+        boolean matches(@Nullable String availableDictionary) {
+            return availableDictionary != null && this.availableDictionary.equals(availableDictionary.trim());
+        }
+    }
+
+    /**
+     * Collects the output of the zstd stream in a {@link ByteBuf}.
+     */
+    private static final class Sink extends OutputStream {
+        ByteBufAllocator alloc;
+        @Nullable
+        ByteBuf buf;
+
+        @Override
+        public void write(int b) {
+            buffer(1).writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer(len).writeBytes(b, off, len);
+        }
+
+        private ByteBuf buffer(int minWritable) {
+            if (buf == null) {
+                buf = alloc.buffer(Math.max(minWritable, 256));
+            }
+            return buf;
+        }
+
+        @Nullable
+        ByteBuf take() {
+            ByteBuf taken = buf;
+            buf = null;
+            return taken;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package io.micronaut.http.server.netty
 
+import com.github.luben.zstd.ZstdInputStream
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.annotation.Requires
 import io.micronaut.context.event.BeanCreatedEvent
 import io.micronaut.context.event.BeanCreatedEventListener
 import io.micronaut.core.annotation.NonNull
 import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
 import io.micronaut.http.annotation.Body
 import io.micronaut.http.annotation.Controller
 import io.micronaut.http.annotation.Get
@@ -14,6 +16,7 @@ import io.micronaut.http.annotation.Produces
 import io.micronaut.http.client.HttpClient
 import io.micronaut.http.client.netty.NettyClientCustomizer
 import io.micronaut.http.netty.channel.ChannelPipelineCustomizer
+import io.micronaut.http.server.types.files.StreamedFile
 import io.micronaut.runtime.server.EmbeddedServer
 import io.netty.buffer.ByteBuf
 import io.netty.buffer.ByteBufUtil
@@ -29,7 +32,11 @@ import io.netty.handler.codec.http.HttpHeaderNames
 import io.netty.handler.codec.http.HttpHeaderValues
 import jakarta.inject.Singleton
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.security.MessageDigest
 import java.util.concurrent.ThreadLocalRandom
 
 class CompressionSpec extends Specification {
@@ -183,6 +190,134 @@ class CompressionSpec extends Specification {
         HttpHeaderValues.SNAPPY    | new SnappyFrameDecoder()
     }
 
+    def excludedContentType() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'CompressionSpec', 'micronaut.server.netty.compression.excluded-content-types': ['text/plain']] + serverOptions())
+
+        byte[] uncompressed = new byte[1024]
+        server.applicationContext.getBean(Ctrl).data = uncompressed
+
+        def client = server.applicationContext.createBean(HttpClient, server.URI).toBlocking()
+
+        when:
+        def response = client.exchange(HttpRequest.GET("/compress-stream").header("Accept-Encoding", "gzip"), byte[])
+        then:
+        response.header("Content-Encoding") == null
+        response.body() == uncompressed
+
+        cleanup:
+        client.close()
+        server.stop()
+    }
+
+    def compressionMetrics() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'CompressionSpec'] + serverOptions())
+
+        byte[] uncompressed = new byte[1024]
+        server.applicationContext.getBean(Ctrl).data = uncompressed
+
+        def client = server.applicationContext.createBean(HttpClient, server.URI).toBlocking()
+
+        when:
+        byte[] compressed = client.retrieve(HttpRequest.GET("/compress").header("Accept-Encoding", "gzip"), byte[])
+        def statistics = server.applicationContext.getBean(HttpCompressionMetrics).statistics
+        then:
+        statistics.size() == 1
+        statistics[0].encoding() == "gzip"
+        statistics[0].responses() == 1
+        statistics[0].uncompressedBytes() == uncompressed.length
+        statistics[0].compressedBytes() == compressed.length
+        statistics[0].ratio() < 0.1
+
+        cleanup:
+        client.close()
+        server.stop()
+    }
+
+    def dictionaryCompression() {
+        given:
+        byte[] dictionary = ("{\"id\":0,\"name\":\"customer\",\"email\":\"user@example.com\",\"active\":true}" * 8).getBytes(StandardCharsets.UTF_8)
+        def dictionaryFile = Files.createTempFile("dictionary", ".dict")
+        Files.write(dictionaryFile, dictionary)
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'CompressionSpec', 'micronaut.server.netty.compression.zstd-dictionary': 'file:' + dictionaryFile] + serverOptions())
+
+        byte[] uncompressed = "{\"id\":42,\"name\":\"customer\",\"email\":\"other@example.com\",\"active\":false}".getBytes(StandardCharsets.UTF_8)
+        server.applicationContext.getBean(Ctrl).data = uncompressed
+
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(dictionary)
+        def client = server.applicationContext.createBean(HttpClient, server.URI).toBlocking()
+
+        when:
+        def response = client.exchange(HttpRequest.GET("/compress")
+                .header("Accept-Encoding", "gzip, dcz")
+                .header("Available-Dictionary", ":" + Base64.encoder.encodeToString(hash) + ":"), byte[])
+        byte[] compressed = response.body()
+        def input = new ZstdInputStream(new ByteArrayInputStream(compressed, 40, compressed.length - 40))
+        input.setDict(dictionary)
+        then:
+        response.header("Content-Encoding") == "dcz"
+        response.header("Vary").contains("available-dictionary")
+        Arrays.copyOfRange(compressed, 0, 8) == [0x5e, 0x2a, 0x4d, 0x18, 0x20, 0, 0, 0] as byte[]
+        Arrays.copyOfRange(compressed, 8, 40) == hash
+        input.readAllBytes() == uncompressed
+
+        when:
+        response = client.exchange(HttpRequest.GET("/compress")
+                .header("Accept-Encoding", "gzip, dcz")
+                .header("Available-Dictionary", ":AAAA:"), byte[])
+        then:
+        response.header("Content-Encoding") == "gzip"
+
+        cleanup:
+        input.close()
+        client.close()
+        server.stop()
+        Files.deleteIfExists(dictionaryFile)
+    }
+
+    def offloadedCompression(String path) {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['spec.name': 'CompressionSpec', 'micronaut.server.netty.compression.offload-threshold': 1024] + serverOptions())
+
+        byte[] uncompressed = new byte[100000]
+        ThreadLocalRandom.current().nextBytes(uncompressed)
+        server.applicationContext.getBean(Ctrl).data = uncompressed
+
+        def client = server.applicationContext.createBean(HttpClient, server.URI).toBlocking()
+
+        when:
+        byte[] compressed = client.retrieve(HttpRequest.GET(path).header("Accept-Encoding", "gzip"), byte[])
+        def compChannel = new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP))
+        compChannel.writeInbound(Unpooled.copiedBuffer(compressed))
+        compChannel.finish()
+        ByteBuf decompressed = Unpooled.buffer()
+        while (true) {
+            ByteBuf o = compChannel.readInbound()
+            if (o == null) {
+                break
+            }
+            decompressed.writeBytes(o)
+            o.release()
+        }
+        def metrics = server.applicationContext.getBean(HttpCompressionMetrics)
+        then:
+        ByteBufUtil.getBytes(decompressed) == uncompressed
+        metrics.statistics[0].uncompressedBytes() == uncompressed.length
+        new PollingConditions(timeout: 5).eventually {
+            metrics.offloadQueueDepth == 0
+        }
+        // only HTTP/1.1 responses are compressed off the event loop
+        !serverOptions().isEmpty() || metrics.statistics[0].offloadNanos() > 0
+
+        cleanup:
+        client.close()
+        server.stop()
+
+        where:
+        path << ["/compress", "/compress-stream-length"]
+    }
+
     @Requires(property = "spec.name", value = "CompressionSpec")
     @Controller
     static class Ctrl {
@@ -203,6 +338,11 @@ class CompressionSpec extends Specification {
         InputStream sendStream() {
             return new ByteArrayInputStream(data)
         }
+
+        @Get("/compress-stream-length")
+        StreamedFile sendStreamWithLength() {
+            return new StreamedFile(new ByteArrayInputStream(data), MediaType.TEXT_PLAIN_TYPE, 0, data.length)
+        }
     }
 
     // the code below disables the automatic decompression in the http client so that we can see the compressed data in the test
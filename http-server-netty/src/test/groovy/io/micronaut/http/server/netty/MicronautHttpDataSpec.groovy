@@ -27,4 +27,26 @@ class MicronautHttpDataSpec extends Specification {
         where:
         threshold << [0, 4, 1000]
     }
+
+    def 'write composite buffers to disk'(boolean disk) {
+        given:
+        def cfg = new HttpServerConfiguration.MultipartConfiguration()
+        cfg.disk = disk
+        cfg.mixed = !disk
+        cfg.threshold = 4
+        def data = new MicronautHttpData.Factory(cfg, StandardCharsets.UTF_8).createAttribute("")
+
+        when:
+        data.addContent(Unpooled.wrappedBuffer("foo".bytes), false)
+        data.addContent(Unpooled.wrappedBuffer(Unpooled.wrappedBuffer("bar".bytes), Unpooled.directBuffer().writeBytes("baz".bytes)), true)
+
+        then:
+        data.getString(StandardCharsets.UTF_8) == "foobarbaz"
+
+        cleanup:
+        data.release()
+
+        where:
+        disk << [true, false]
+    }
 }
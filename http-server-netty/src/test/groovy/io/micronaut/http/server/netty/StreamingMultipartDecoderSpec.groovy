@@ -0,0 +1,291 @@
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.HttpClient
+import io.micronaut.http.client.multipart.MultipartBody
+import io.micronaut.http.exceptions.ContentLengthExceededException
+import io.micronaut.http.multipart.CompletedFileUpload
+import io.micronaut.http.server.HttpServerConfiguration
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.Unpooled
+import io.netty.handler.codec.http.DefaultHttpContent
+import io.netty.handler.codec.http.DefaultHttpRequest
+import io.netty.handler.codec.http.DefaultLastHttpContent
+import io.netty.handler.codec.http.HttpContent
+import io.netty.handler.codec.http.HttpHeaderNames
+import io.netty.handler.codec.http.HttpMethod
+import io.netty.handler.codec.http.HttpVersion
+import io.netty.handler.codec.http.multipart.FileUpload
+import io.netty.handler.codec.http.multipart.HttpData
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class StreamingMultipartDecoderSpec extends Specification {
+    static final String BODY = 'preamble\r\n' +
+            '--XbX\r\n' +
+            'Content-Disposition: form-data; name="title"\r\n' +
+            '\r\n' +
+            'hello\r\n' +
+            '--XbX \r\n' +
+            'content-disposition: form-data; name="file"; filename="a \\"b\\".txt"\r\n' +
+            'Content-Type: text/plain; charset=UTF-8\r\n' +
+            '\r\n' +
+            '\r\n--Xb content \r\n-\r\n--Xb\r\n' +
+            '--XbX\r\n' +
+            'Content-Disposition: form-data; name="empty"\r\n' +
+            '\r\n' +
+            '\r\n' +
+            '--XbX--\r\n' +
+            'epilogue'
+
+    def 'decode split at #split'(int split, boolean direct) {
+        given:
+        def decoder = decoder(4, 1024)
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8)
+        List<HttpData> data = []
+
+        when:
+        offer(decoder, new DefaultHttpContent(buffer(body, 0, split, direct)))
+        while (decoder.hasNext()) {
+            data.add((HttpData) decoder.next())
+        }
+        offer(decoder, new DefaultLastHttpContent(buffer(body, split, body.length - split, direct)))
+        while (decoder.hasNext()) {
+            data.add((HttpData) decoder.next())
+        }
+
+        then:
+        decoder.currentPartialHttpData() == null
+        data.size() == 3
+        data[0].name == 'title'
+        data[0].getString(StandardCharsets.UTF_8) == 'hello'
+        data[1].name == 'file'
+        data[1] instanceof FileUpload
+        ((FileUpload) data[1]).filename == 'a "b".txt'
+        ((FileUpload) data[1]).contentType == 'text/plain'
+        data[1].charset == StandardCharsets.UTF_8
+        data[1].getString(StandardCharsets.UTF_8) == '\r\n--Xb content \r\n-\r\n--Xb'
+        data[2].name == 'empty'
+        data[2].length() == 0
+
+        cleanup:
+        decoder.destroy()
+
+        where:
+        [split, direct] << [(0..BODY.length()).toList(), [false, true]].combinations()
+    }
+
+    def 'decode byte by byte'() {
+        given:
+        def decoder = decoder(4, 1024)
+        byte[] body = '--XbX\r\nContent-Disposition: form-data; name="a"\r\n\r\nvalue\r\n--XbX--'.getBytes(StandardCharsets.UTF_8)
+        List<HttpData> data = []
+
+        when:
+        for (int i = 0; i < body.length; i++) {
+            offer(decoder, new DefaultHttpContent(Unpooled.wrappedBuffer(body, i, 1)))
+            while (decoder.hasNext()) {
+                data.add((HttpData) decoder.next())
+            }
+        }
+        decoder.offer(new DefaultLastHttpContent())
+
+        then:
+        data.size() == 1
+        data[0].name == 'a'
+        data[0].getString(StandardCharsets.UTF_8) == 'value'
+
+        cleanup:
+        decoder.destroy()
+    }
+
+    def 'partial data is available before the part ends'() {
+        given:
+        def decoder = decoder(4, 1024)
+        def content = new DefaultHttpContent(Unpooled.copiedBuffer('--XbX\r\nContent-Disposition: form-data; name="f"; filename="f.bin"\r\n\r\nfoo\r\n--Xb', StandardCharsets.UTF_8))
+
+        when:
+        offer(decoder, content)
+        def partial = (HttpData) decoder.currentPartialHttpData()
+
+        then:
+        !decoder.hasNext()
+        partial.name == 'f'
+        ((FileUpload) partial).contentType == 'application/octet-stream'
+        partial.getString(StandardCharsets.UTF_8) == 'foo'
+        !partial.completed
+
+        cleanup:
+        decoder.destroy()
+    }
+
+    def 'partial data is released on destroy'() {
+        given:
+        def decoder = decoder(4, 1024)
+        def content = new DefaultHttpContent(Unpooled.copiedBuffer('--XbX\r\nContent-Disposition: form-data; name="f"; filename="f.bin"\r\n\r\nfoo', StandardCharsets.UTF_8))
+
+        when:
+        offer(decoder, content)
+        def partial = (HttpData) decoder.currentPartialHttpData()
+        decoder.removeHttpDataFromClean(partial)
+        decoder.destroy()
+
+        then:
+        partial.refCnt() == 0
+        decoder.currentPartialHttpData() == null
+    }
+
+    def 'body ending before the close delimiter'() {
+        given:
+        def decoder = decoder(4, 1024)
+        def content = new DefaultLastHttpContent(Unpooled.copiedBuffer('--XbX\r\nContent-Disposition: form-data; name="a"\r\n\r\nvalue\r\n--Xb', StandardCharsets.UTF_8))
+
+        when:
+        decoder.offer(content)
+
+        then:
+        thrown(HttpPostRequestDecoder.NotEnoughDataDecoderException)
+
+        cleanup:
+        content.release()
+        decoder.destroy()
+    }
+
+    def 'invalid transport padding'(String line) {
+        given:
+        def decoder = decoder(4, 1024)
+        def content = new DefaultLastHttpContent(Unpooled.copiedBuffer('--XbX' + line + '\r\nContent-Disposition: form-data; name="a"\r\n\r\nvalue\r\n--XbX--', StandardCharsets.UTF_8))
+
+        when:
+        decoder.offer(content)
+
+        then:
+        thrown(HttpPostRequestDecoder.ErrorDataDecoderException)
+
+        cleanup:
+        content.release()
+        decoder.destroy()
+
+        where:
+        line << ['Y', ' x', '--x']
+    }
+
+    def 'field limit'() {
+        given:
+        def decoder = decoder(1, 1024)
+        def content = new DefaultLastHttpContent(Unpooled.copiedBuffer(BODY, StandardCharsets.UTF_8))
+
+        when:
+        decoder.offer(content)
+
+        then:
+        def e = thrown(ContentLengthExceededException)
+        e.message == 'Number of form fields exceeds configured limit of [1]'
+
+        cleanup:
+        content.release()
+        decoder.destroy()
+    }
+
+    def 'header line limit'() {
+        given:
+        def decoder = decoder(4, 16)
+        def content = new DefaultLastHttpContent(Unpooled.copiedBuffer(BODY, StandardCharsets.UTF_8))
+
+        when:
+        decoder.offer(content)
+
+        then:
+        def e = thrown(ContentLengthExceededException)
+        e.message == 'Length of buffered form field exceeds configured limit of [16]'
+
+        cleanup:
+        content.release()
+        decoder.destroy()
+    }
+
+    def 'parse parameters'() {
+        expect:
+        StreamingMultipartDecoder.parseParameters(value) == expected
+
+        where:
+        value                                                   | expected
+        'multipart/form-data; boundary=abc'                     | [boundary: 'abc']
+        'multipart/form-data; Boundary="a;b"'                   | [boundary: 'a;b']
+        'form-data; name="x"; filename="y\\"z"'                 | [name: 'x', filename: 'y"z']
+        "form-data; name=x; filename*=UTF-8''na%C3%AFve.txt"    | [name: 'x', 'filename*': "UTF-8''na%C3%AFve.txt"]
+        'form-data'                                             | [:]
+    }
+
+    def 'upload with the streaming decoder'(boolean mixed) {
+        given:
+        def ctx = ApplicationContext.run([
+                'spec.name'                                        : 'StreamingMultipartDecoderSpec',
+                'micronaut.server.port'                            : -1,
+                'micronaut.server.netty.streaming-multipart-decoder': true,
+                'micronaut.server.multipart.mixed'                 : mixed,
+                'micronaut.server.multipart.threshold'             : 16,
+        ])
+        def server = ctx.getBean(EmbeddedServer)
+        server.start()
+        def client = ctx.createBean(HttpClient, server.URI).toBlocking()
+        byte[] file = new byte[100_000]
+        new Random(0).nextBytes(file)
+        def body = MultipartBody.builder()
+                .addPart('title', 'upload')
+                .addPart('file', 'file.bin', MediaType.APPLICATION_OCTET_STREAM_TYPE, file)
+                .build()
+
+        when:
+        def response = client.retrieve(HttpRequest.POST('/streaming-multipart', body).contentType(MediaType.MULTIPART_FORM_DATA_TYPE))
+
+        then:
+        response == 'upload file.bin ' + Arrays.hashCode(file)
+
+        cleanup:
+        server.stop()
+        ctx.close()
+
+        where:
+        mixed << [false, true]
+    }
+
+    private static StreamingMultipartDecoder decoder(int maxFields, int maxBufferedBytes) {
+        def request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, '/')
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, 'multipart/form-data; boundary=XbX')
+        def factory = new MicronautHttpData.Factory(new HttpServerConfiguration.MultipartConfiguration(), StandardCharsets.UTF_8)
+        return new StreamingMultipartDecoder(factory, request, StandardCharsets.UTF_8, maxFields, maxBufferedBytes)
+    }
+
+    private static void offer(StreamingMultipartDecoder decoder, HttpContent content) {
+        try {
+            decoder.offer(content)
+        } finally {
+            content.release()
+        }
+    }
+
+    private static ByteBuf buffer(byte[] body, int offset, int length, boolean direct) {
+        if (direct) {
+            return Unpooled.directBuffer(length).writeBytes(body, offset, length)
+        }
+        return Unpooled.wrappedBuffer(body, offset, length)
+    }
+
+    @Controller('/streaming-multipart')
+    @Requires(property = 'spec.name', value = 'StreamingMultipartDecoderSpec')
+    static class UploadController {
+        @Post(consumes = MediaType.MULTIPART_FORM_DATA)
+        String upload(String title, CompletedFileUpload file) {
+            return title + ' ' + file.filename + ' ' + Arrays.hashCode(file.bytes)
+        }
+    }
+}
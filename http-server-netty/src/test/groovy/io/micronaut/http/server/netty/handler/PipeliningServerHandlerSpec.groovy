@@ -7,6 +7,7 @@ import io.micronaut.http.body.CloseableAvailableByteBody
 import io.micronaut.http.body.CloseableByteBody
 import io.micronaut.http.netty.body.AvailableNettyByteBody
 import io.micronaut.http.netty.body.NettyBodyAdapter
+import io.micronaut.http.server.netty.HttpFlushMetrics
 import io.netty.buffer.ByteBuf
 import io.netty.buffer.CompositeByteBuf
 import io.netty.buffer.Unpooled
@@ -141,6 +142,51 @@ class PipeliningServerHandlerSpec extends Specification {
         ch.checkException()
     }
 
+    def 'streaming responses with flush consolidation merge their flushes'() {
+        given:
+        def mon = new MonitorHandler()
+        def metrics = new HttpFlushMetrics()
+        def resp = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK)
+        resp.headers().add(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED)
+        def sink = Sinks.many().unicast().<ByteBuf>onBackpressureBuffer()
+        def handler = new PipeliningServerHandler(new RequestHandler() {
+            @Override
+            void accept(ChannelHandlerContext ctx, HttpRequest request, CloseableByteBody body, OutboundAccess outboundAccess) {
+                body.close()
+                outboundAccess.write(resp, NettyBodyAdapter.adapt(sink.asFlux(), ctx.channel().eventLoop()))
+            }
+
+            @Override
+            void handleUnboundError(Throwable cause) {
+                cause.printStackTrace()
+            }
+        })
+        handler.setFlushConsolidation(new FlushConsolidation(0, 256, metrics))
+        def ch = new EmbeddedChannel(mon, handler)
+
+        when:
+        ch.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"))
+        def c1 = Unpooled.wrappedBuffer("foo".getBytes(StandardCharsets.UTF_8))
+        def c2 = Unpooled.wrappedBuffer("bar".getBytes(StandardCharsets.UTF_8))
+        sink.tryEmitNext(c1)
+        sink.tryEmitNext(c2)
+        then:
+        // the flush is delayed until the pending tasks have run
+        mon.flush == 0
+
+        when:
+        ch.runPendingTasks()
+        then:
+        mon.flush == 1
+        metrics.flushes == 1
+        metrics.savedFlushes == 1
+        ch.readOutbound() instanceof HttpResponse
+        ch.readOutbound() == new DefaultHttpContent(c1)
+        ch.readOutbound() == new DefaultHttpContent(c2)
+        ch.readOutbound() == null
+        ch.checkException()
+    }
+
     def 'requests that come in a single packet are accumulated'() {
         given:
         def mon = new MonitorHandler()
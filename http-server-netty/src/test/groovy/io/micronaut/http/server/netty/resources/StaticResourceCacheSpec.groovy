@@ -0,0 +1,192 @@
+package io.micronaut.http.server.netty.resources
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.server.netty.body.StaticResourceCache
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.io.watch.event.FileChangedEvent
+import io.micronaut.scheduling.io.watch.event.WatchEventType
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPInputStream
+
+class StaticResourceCacheSpec extends Specification {
+    static final String CONTENT = "<html><head></head><body>" + ("Cached page. " * 200) + "</body></html>"
+
+    @Shared
+    @TempDir
+    Path dir
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext ctx
+
+    @Shared
+    EmbeddedServer server
+
+    def setupSpec() {
+        Files.writeString(dir.resolve("cached.html"), CONTENT)
+        ctx = ApplicationContext.run([
+                'micronaut.router.static-resources.default.paths'    : ['file:' + dir],
+                'micronaut.server.netty.responses.file.memory-cache.enabled': true,
+        ])
+        server = ctx.getBean(EmbeddedServer)
+        server.start()
+    }
+
+    def 'cache is disabled by default'() {
+        given:
+        def other = ApplicationContext.run()
+
+        expect:
+        !other.containsBean(StaticResourceCache)
+
+        cleanup:
+        other.close()
+    }
+
+    def 'resources are served from the cache after the first request'() {
+        given:
+        def cache = ctx.getBean(StaticResourceCache)
+
+        when:
+        def first = get("/cached.html")
+
+        then:
+        first.responseCode == 200
+        first.inputStream.text == CONTENT
+        new PollingConditions(timeout: 5).eventually {
+            with(cache.get("/cached.html")) {
+                it != null
+                it.release()
+            }
+        }
+
+        when:
+        def cached = get("/cached.html")
+
+        then:
+        cached.responseCode == 200
+        cached.getHeaderField("ETag") ==~ /"[0-9a-f]+-[0-9a-f]+"/
+        cached.getHeaderField("Content-Type") == "text/html"
+        cached.getHeaderField("Content-Length") == String.valueOf(CONTENT.length())
+        cached.getHeaderField("Last-Modified") != null
+        cached.getHeaderField("Vary") == "Accept-Encoding"
+        cached.inputStream.text == CONTENT
+
+        when:
+        def notModified = get("/cached.html", ["If-None-Match": cached.getHeaderField("ETag")])
+
+        then:
+        notModified.responseCode == 304
+        notModified.getHeaderField("ETag") == cached.getHeaderField("ETag")
+    }
+
+    def 'precompressed variant is selected by accept-encoding'() {
+        given:
+        def cache = ctx.getBean(StaticResourceCache)
+        get("/cached.html").inputStream.text
+        new PollingConditions(timeout: 5).eventually {
+            with(cache.get("/cached.html")) {
+                it != null
+                it.release()
+            }
+        }
+
+        when:
+        def gzip = get("/cached.html", ["Accept-Encoding": "gzip"])
+
+        then:
+        gzip.responseCode == 200
+        gzip.getHeaderField("Content-Encoding") == "gzip"
+        gzip.getHeaderField("ETag").endsWith('-gzip"')
+        Integer.parseInt(gzip.getHeaderField("Content-Length")) < CONTENT.length()
+        new GZIPInputStream(gzip.inputStream).text == CONTENT
+    }
+
+    def 'file change events invalidate the cache'() {
+        given:
+        def cache = ctx.getBean(StaticResourceCache)
+        get("/cached.html").inputStream.text
+        new PollingConditions(timeout: 5).eventually {
+            with(cache.get("/cached.html")) {
+                it != null
+                it.release()
+            }
+        }
+
+        when:
+        ctx.publishEvent(new FileChangedEvent(Path.of("cached.html"), WatchEventType.MODIFY))
+
+        then:
+        cache.get("/cached.html") == null
+    }
+
+    def 'the cached resource is released when the body is not written'() {
+        given:
+        def cache = ctx.getBean(StaticResourceCache)
+        get("/cached.html").inputStream.text
+        new PollingConditions(timeout: 5).eventually {
+            with(cache.get("/cached.html")) {
+                it != null
+                it.release()
+            }
+        }
+        def resource = cache.get("/cached.html")
+        // one reference for the cache, one for this test
+        int references = resource.refCnt()
+
+        when:
+        def head = get("/cached.html")
+        head.requestMethod = "HEAD"
+
+        then:
+        head.responseCode == 200
+        new PollingConditions(timeout: 5).eventually {
+            assert resource.refCnt() == references
+        }
+
+        cleanup:
+        resource?.release()
+    }
+
+    def 'resources that are too large are not read again until they change'() {
+        given:
+        def cache = ctx.getBean(StaticResourceCache)
+        def file = dir.resolve("large.html")
+        Files.writeString(file, "x" * (2 * 1024 * 1024))
+
+        when:
+        get("/large.html").inputStream.text
+        sleep(500)
+        Files.writeString(file, CONTENT)
+        get("/large.html").inputStream.text
+        sleep(500)
+
+        then: 'the file is remembered as too large'
+        cache.get("/large.html") == null
+
+        when:
+        ctx.publishEvent(new FileChangedEvent(Path.of("large.html"), WatchEventType.MODIFY))
+        get("/large.html").inputStream.text
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            with(cache.get("/large.html")) {
+                it != null
+                it.release()
+            }
+        }
+    }
+
+    private HttpURLConnection get(String path, Map<String, String> headers = [:]) {
+        def connection = (HttpURLConnection) new URL(server.URL, path).openConnection()
+        headers.each { connection.setRequestProperty(it.key, it.value) }
+        return connection
+    }
+}
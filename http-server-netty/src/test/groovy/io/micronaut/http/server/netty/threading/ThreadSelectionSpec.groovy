@@ -20,6 +20,7 @@ import io.micronaut.http.filter.ServerFilterChain
 import io.micronaut.http.server.exceptions.ExceptionHandler
 import io.micronaut.http.sse.Event
 import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.LoomSupport
 import io.micronaut.scheduling.TaskExecutors
 import io.micronaut.scheduling.annotation.ExecuteOn
 import io.micronaut.scheduling.executor.ThreadSelection
@@ -30,6 +31,7 @@ import reactor.core.publisher.Flux
 import reactor.core.publisher.FluxSink
 import reactor.core.publisher.Mono
 import spock.lang.Ignore
+import spock.lang.IgnoreIf
 import spock.lang.Specification
 
 import java.util.concurrent.ExecutorService
@@ -115,6 +117,31 @@ class ThreadSelectionSpec extends Specification {
         ThreadSelection.MANUAL   | "controller: $LOOP"                     | "handler: $LOOP"                     | "handler: $IO"
     }
 
+    @IgnoreIf({ !LoomSupport.isSupported() })
+    void "test virtual thread selection"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec': getClass().getSimpleName(),
+                'micronaut.server.thread-selection': ThreadSelection.VIRTUAL,
+                // virtual selection does not use the blocking executor
+                'micronaut.executors.blocking.type': 'fixed',
+        ])
+        ThreadSelectionClient client = embeddedServer.applicationContext.getBean(ThreadSelectionClient)
+
+        expect:
+        client.blocking().contains(VIRTUAL)
+        client.blockingPost("test").contains(VIRTUAL)
+        client.nonblocking().contains(LOOP)
+        client.reactive().contains(LOOP)
+        client.reactiveBlocking().contains(VIRTUAL)
+        client.scheduleBlocking().contains(IO)
+        client.exception().contains("controller: $VIRTUAL")
+        client.exception().contains("handler: $VIRTUAL")
+
+        cleanup:
+        embeddedServer.close()
+    }
+
     @Ignore // pending feature, only works sometimes: https://github.com/micronaut-projects/micronaut-core/pull/10104
     void "test thread selection for error route #strategy"() {
         given:
@@ -157,6 +184,9 @@ class ThreadSelectionSpec extends Specification {
         @Get("/blocking")
         String blocking()
 
+        @Post(uri = "/blockingPost", produces = MediaType.TEXT_PLAIN)
+        String blockingPost(@Body String body)
+
         @Get("/nonblocking")
         String nonblocking()
 
@@ -199,6 +229,11 @@ class ThreadSelectionSpec extends Specification {
             return "thread: ${Thread.currentThread().name}"
         }
 
+        @Post(uri = "/blockingPost", consumes = MediaType.TEXT_PLAIN)
+        String blockingPost(@Body String body) {
+            return "thread: ${Thread.currentThread().name}"
+        }
+
         @Get("/nonblocking")
         @NonBlocking
         String nonblocking() {
@@ -51,7 +51,9 @@ import io.micronaut.http.server.exceptions.response.ErrorContext;
 import io.micronaut.http.server.exceptions.response.ErrorResponseProcessor;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.MethodReference;
+import io.micronaut.scheduling.LoomSupport;
 import io.micronaut.scheduling.executor.ExecutorSelector;
+import io.micronaut.scheduling.executor.ThreadSelection;
 import io.micronaut.scheduling.instrument.InstrumentedExecutorService;
 import io.micronaut.scheduling.instrument.InstrumentedScheduledExecutorService;
 import io.micronaut.web.router.DefaultRouteInfo;
@@ -137,6 +139,10 @@ public final class RouteExecutor {
         this.executorSelector = executorSelector;
         this.coroutineHelper = beanContext.findBean(CoroutineHelper.class);
         this.conversionService = beanContext.getConversionService();
+        if (serverConfiguration.getThreadSelection() == ThreadSelection.VIRTUAL) {
+            // fail on startup instead of on the first blocking request
+            LoomSupport.checkSupported();
+        }
     }
 
     /**
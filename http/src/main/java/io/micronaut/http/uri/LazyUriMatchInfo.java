@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.uri;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.core.util.ObjectUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link UriMatchInfo} that only records the offsets of the matched variable values.
+ * The matched URI and the variable values are materialized on the first access.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class LazyUriMatchInfo implements UriMatchInfo {
+
+    private final String source;
+    private final int end;
+    private final String[] names;
+    private final int[] offsets;
+    private final List<UriMatchVariable> variables;
+    private final Map<String, UriMatchVariable> variableMap;
+
+    private String uri;
+    private Map<String, Object> variableValues;
+
+    /**
+     * @param source      The URI the template was matched against
+     * @param end         The end index of the matched part of the URI
+     * @param names       The names of the variable values
+     * @param offsets     The start and end offsets of each variable value, -1 if the value is absent
+     * @param variables   The variables
+     * @param variableMap The variables by name
+     */
+    LazyUriMatchInfo(String source,
+                     int end,
+                     String[] names,
+                     int[] offsets,
+                     List<UriMatchVariable> variables,
+                     Map<String, UriMatchVariable> variableMap) {
+        this.source = source;
+        this.end = end;
+        this.names = names;
+        this.offsets = offsets;
+        this.variables = variables;
+        this.variableMap = variableMap;
+    }
+
+    @Override
+    public String getUri() {
+        String uri = this.uri;
+        if (uri == null) {
+            uri = end == source.length() ? source : source.substring(0, end);
+            this.uri = uri;
+        }
+        return uri;
+    }
+
+    @Override
+    public Map<String, Object> getVariableValues() {
+        Map<String, Object> variableValues = this.variableValues;
+        if (variableValues == null) {
+            variableValues = CollectionUtils.newLinkedHashMap(names.length);
+            for (int i = 0; i < names.length; i++) {
+                int start = offsets[i * 2];
+                variableValues.put(names[i], start == -1 ? null : source.substring(start, offsets[i * 2 + 1]));
+            }
+            variableValues = Collections.unmodifiableMap(variableValues);
+            this.variableValues = variableValues;
+        }
+        return variableValues;
+    }
+
+    @Override
+    public List<UriMatchVariable> getVariables() {
+        return variables;
+    }
+
+    @Override
+    public Map<String, UriMatchVariable> getVariableMap() {
+        return variableMap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        LazyUriMatchInfo that = (LazyUriMatchInfo) o;
+        return getUri().equals(that.getUri()) && variables.equals(that.variables);
+    }
+
+    @Override
+    public String toString() {
+        return getUri();
+    }
+
+    @Override
+    public int hashCode() {
+        return ObjectUtils.hash(getUri(), variables);
+    }
+}
@@ -42,7 +42,9 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
     private final String templateString;
     private final List<UriTemplateParser.Part> parts;
     private final List<UriMatchVariable> variables;
+    private final Map<String, UriMatchVariable> variableMap;
     private final Segment[] segments;
+    private final String[] valueNames;
     private final boolean isRoot;
 
     // Matches cache
@@ -70,6 +72,20 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
         this.segments = provideMatchSegments(parts, variables);
         this.isRoot = segments.length == 0 || segments.length == 1 && segments[0].type == SegmentType.LITERAL && isRoot(segments[0].value);
         this.variables = Collections.unmodifiableList(variables);
+        Map<String, UriMatchVariable> variableMap = CollectionUtils.newLinkedHashMap(variables.size());
+        for (UriMatchVariable variable : variables) {
+            variableMap.put(variable.getName(), variable);
+        }
+        this.variableMap = Collections.unmodifiableMap(variableMap);
+        List<String> valueNames = new ArrayList<>(variables.size());
+        for (Segment segment : segments) {
+            if (segment.type == SegmentType.PATH) {
+                valueNames.add(segment.value);
+            } else if (segment.type == SegmentType.REGEXP) {
+                Collections.addAll(valueNames, segment.regexpVariables);
+            }
+        }
+        this.valueNames = valueNames.toArray(String[]::new);
     }
 
     private static Segment[] provideMatchSegments(List<UriTemplateParser.Part> parts, List<UriMatchVariable> variables) {
@@ -255,99 +271,122 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
      */
     @Nullable
     public UriMatchInfo tryMatch(@NonNull String uri) {
-        int length = uri.length();
-        if (length > 1 && uri.charAt(length - 1) == '/') {
-            uri = uri.substring(0, length - 1);
+        // the matched part of the URI is tracked by its end index to avoid intermediate substrings
+        int end = uri.length();
+        if (end > 1 && uri.charAt(end - 1) == '/') {
+            end--;
         }
-        if (isRoot && isRoot(uri)) {
+        if (isRoot && isRoot(uri, end)) {
             if (rootMatchInfo == null) {
-                rootMatchInfo = new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables);
+                rootMatchInfo = new DefaultUriMatchInfo(uri.substring(0, end), Collections.emptyMap(), variables);
             }
             return rootMatchInfo;
         }
         // Remove any url parameters before matching
         int parameterIndex = uri.indexOf('?');
-        if (parameterIndex > -1) {
-            uri = uri.substring(0, parameterIndex);
-            length = uri.length();
-            if (length > 1 && uri.charAt(length - 1) == '/') {
-                uri = uri.substring(0, length - 1);
+        if (parameterIndex > -1 && parameterIndex < end) {
+            end = parameterIndex;
+            if (end > 1 && uri.charAt(end - 1) == '/') {
+                end--;
             }
         }
         if (variables.isEmpty()) {
-            if (uri.equals(templateString)) {
+            if (end == templateString.length() && uri.startsWith(templateString)) {
                 if (exactMatchInfo == null) {
-                    exactMatchInfo = new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables);
+                    exactMatchInfo = new DefaultUriMatchInfo(templateString, Collections.emptyMap(), variables);
                 }
                 return exactMatchInfo;
             }
             return null;
         }
-        Map<String, Object> variableMap = CollectionUtils.newLinkedHashMap(variables.size());
-        if (match(uri, variableMap)) {
-            return new DefaultUriMatchInfo(uri, variableMap, variables);
+        int[] offsets = match(uri, end);
+        if (offsets != null) {
+            return new LazyUriMatchInfo(uri, end, valueNames, offsets, variables, variableMap);
         }
         return null;
     }
 
-    private boolean match(String uri, Map<String, Object> variableMap) {
+    /**
+     * Matches the segments against the URI up to the given end index.
+     *
+     * @param uri The URI
+     * @param end The end index
+     * @return The start and end offsets of the variable values or null if the URI doesn't match
+     */
+    @Nullable
+    private int[] match(String uri, int end) {
+        // allocated on the first captured value only, so that failed matches stay allocation free
+        int[] offsets = null;
+        int position = 0;
+        int valueIndex = 0;
         for (int i = 0; i < segments.length; i++) {
             Segment segment = segments[i];
             switch (segment.type) {
                 case LITERAL -> {
-                    if (uri.startsWith(segment.value)) {
-                        uri = uri.substring(segment.value.length());
+                    String value = segment.value;
+                    if (end - position >= value.length() && uri.startsWith(value, position)) {
+                        position += value.length();
                     } else {
-                        return false;
+                        return null;
                     }
                 }
                 case PATH -> {
                     boolean requiresSlash = i + 1 != segments.length;
-                    int index = readText(uri, requiresSlash);
-                    if (index > 0) { // Deny empty path
-                        String path = uri.substring(0, index);
-                        variableMap.put(segment.value, path);
-                        uri = uri.substring(index);
+                    int index = readText(uri, position, end, requiresSlash);
+                    if (index > position) { // Deny empty path
+                        if (offsets == null) {
+                            offsets = new int[valueNames.length * 2];
+                        }
+                        offsets[valueIndex * 2] = position;
+                        offsets[valueIndex * 2 + 1] = index;
+                        valueIndex++;
+                        position = index;
                     } else {
-                        return false;
+                        return null;
                     }
                 }
                 case REGEXP -> {
-                    Matcher matcher = segment.pattern.matcher(uri);
+                    Matcher matcher = segment.pattern.matcher(uri).region(position, end);
                     if (matcher.matches()) {
+                        if (offsets == null) {
+                            offsets = new int[valueNames.length * 2];
+                        }
                         int groupInx = 2;
-                        for (String matchingVariable : segment.regexpVariables) {
-                            String group = matcher.group(groupInx);
-                            variableMap.put(matchingVariable, group);
+                        for (int j = 0; j < segment.regexpVariables.length; j++) {
+                            offsets[valueIndex * 2] = matcher.start(groupInx);
+                            offsets[valueIndex * 2 + 1] = matcher.end(groupInx);
+                            valueIndex++;
                             groupInx += 2;
                         }
-                        return true;
+                        return offsets;
                     } else {
-                        return false;
+                        return null;
                     }
                 }
                 default -> throw new IllegalStateException("Unsupported segment type: " + segment.type);
             }
         }
-        return uri.isEmpty();
+        if (position != end) {
+            return null;
+        }
+        return offsets == null ? new int[0] : offsets;
     }
 
-    private static int readText(String input, boolean requiresSlash) {
+    private static int readText(String input, int start, int end, boolean requiresSlash) {
         // NOTE: Micronaut doesn't allow some of the character in the path value
-        int length = input.length();
-        for (int i = 0; i < length; i++) {
+        for (int i = start; i < end; i++) {
             char c = input.charAt(i);
             if (requiresSlash && c == '/') {
                 return i;
             }
-            if (rejectCharacter(c, input, i)) {
+            if (rejectCharacter(c, input, i, end)) {
                 return -1;
             }
         }
-        return length;
+        return end;
     }
 
-    private static boolean rejectCharacter(char c, String input, int i) {
+    private static boolean rejectCharacter(char c, String input, int i, int end) {
         switch (c) {
             case '/':
             case '?':
@@ -358,7 +397,7 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
             case '+':
                 return true;
             case '#':
-                if (i + 1 < input.length()) {
+                if (i + 1 < end) {
                     c = input.charAt(i + 1);
                     if (c != '{') {
                         return true;
@@ -463,7 +502,10 @@ public final class UriTemplateMatcher implements UriMatcher, Comparable<UriTempl
     }
 
     private boolean isRoot(String uri) {
-        int length = uri.length();
+        return isRoot(uri, uri.length());
+    }
+
+    private boolean isRoot(String uri, int length) {
         return length == 0 || length == 1 && uri.charAt(0) == '/';
     }
 
@@ -210,4 +210,42 @@ class UriTemplateMatcherSpec extends Specification {
         "/{+someId}"    | '/username%2B1@company.com'   | true      | [someId: 'username%2B1@company.com']
         "/{+someId}"    | '/username+1@company.com'     | true      | [someId: 'username+1@company.com']
     }
+
+    @Unroll
+    void "Test URI template #template matches #uri ignoring the query and trailing slash"() {
+        given:
+        UriTemplateMatcher matchTemplate = new UriTemplateMatcher(template)
+        UriMatchInfo info = matchTemplate.tryMatch(uri)
+
+        expect:
+        info?.uri == matchedUri
+        info?.variableValues == variables
+        info == null || info.variableMap.keySet() == info.variables*.name as Set
+
+        where:
+        template                   | uri                        | matchedUri            | variables
+        "/books/{id}"              | "/books/1?foo=bar"         | "/books/1"            | [id: '1']
+        "/books/{id}"              | "/books/1/?foo=bar"        | "/books/1"            | [id: '1']
+        "/books/{id}"              | "/books/1?foo=/"           | "/books/1"            | [id: '1']
+        "/books/{id}/{name}"       | "/books/1/foo/"            | "/books/1/foo"        | [id: '1', name: 'foo']
+        "/books/{id}"              | "/books/?id=1"             | null                  | null
+        "/books/{id}/show{/tab}"   | "/books/1/show/info?x=1"   | "/books/1/show/info"  | [id: '1', tab: 'info']
+        "/books/{id}/show{/tab}"   | "/books/1/show?x=1"        | "/books/1/show"       | [id: '1', tab: null]
+        "/books/{id}"              | "/books"                   | null                  | null
+    }
+
+    void "Test equal match infos have the same hash code and immutable values"() {
+        given:
+        UriTemplateMatcher matchTemplate = new UriTemplateMatcher("/books/{id}")
+        UriMatchInfo first = matchTemplate.tryMatch("/books/1")
+        UriMatchInfo second = matchTemplate.tryMatch("/books/1?foo=bar")
+
+        when:
+        first.variableValues.put("id", "2")
+
+        then:
+        thrown(UnsupportedOperationException)
+        first == second
+        first.hashCode() == second.hashCode()
+    }
 }
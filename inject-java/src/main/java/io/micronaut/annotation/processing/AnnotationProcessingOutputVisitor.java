@@ -131,6 +131,25 @@ public class AnnotationProcessingOutputVisitor extends AbstractClassWriterOutput
         }
     }
 
+    @Override
+    @SuppressWarnings("java:S1075")
+    public void visitServiceDescriptor(String type, String classname, io.micronaut.inject.ast.Element originatingElement, byte[] content) {
+        final String path = "META-INF/micronaut/" + type + "/" + classname;
+        try {
+            final FileObject fileObject = filer.createResource(
+                StandardLocation.CLASS_OUTPUT,
+                "",
+                path,
+                ((JavaNativeElement) originatingElement.getNativeType()).element()
+            );
+            try (OutputStream out = fileObject.openOutputStream()) {
+                out.write(content);
+            }
+        } catch (IOException e) {
+            throw new ClassGenerationException("Unable to generate Bean entry at path: " + path, e);
+        }
+    }
+
     @Override
     public Optional<GeneratedFile> visitMetaInfFile(String path, io.micronaut.inject.ast.Element... originatingElements) {
         return metaInfFiles.computeIfAbsent(path, s -> {
@@ -390,6 +390,12 @@ public final class JavaVisitorContext implements VisitorContext, BeanElementVisi
         outputVisitor.visitServiceDescriptor(type, classname, originatingElement);
     }
 
+    @Override
+    public void visitServiceDescriptor(String type, String classname, io.micronaut.inject.ast.Element originatingElement, byte[] content) {
+        checkForPostponedOriginalElement(originatingElement);
+        outputVisitor.visitServiceDescriptor(type, classname, originatingElement, content);
+    }
+
     @Override
     public Optional<GeneratedFile> visitMetaInfFile(String path, io.micronaut.inject.ast.Element... originatingElements) {
         checkForPostponedOriginalElements(originatingElements);
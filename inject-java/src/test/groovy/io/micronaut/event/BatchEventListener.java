@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.event;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import jakarta.inject.Singleton;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Singleton
+@Requires(property = "spec.name", value = "BatchingEventPublisherSpec")
+public class BatchEventListener implements ApplicationEventListener<BatchEvent> {
+
+    final Queue<BatchEvent> events = new ConcurrentLinkedQueue<>();
+    final Set<String> threads = ConcurrentHashMap.newKeySet();
+    volatile CountDownLatch firstEventGate;
+    volatile int failingEvent = -1;
+
+    @Override
+    public void onApplicationEvent(BatchEvent event) {
+        CountDownLatch gate = firstEventGate;
+        if (gate != null && event.id() == 0) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (event.id() == failingEvent) {
+            throw new AssertionError("Listener failed for event " + event.id());
+        }
+        threads.add(Thread.currentThread().getName());
+        events.add(event);
+    }
+}
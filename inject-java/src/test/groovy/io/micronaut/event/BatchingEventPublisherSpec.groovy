@@ -0,0 +1,139 @@
+package io.micronaut.event
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.context.event.ApplicationEventPublisherFactory
+import io.micronaut.context.event.EventPublisherStatistics
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Future
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class BatchingEventPublisherSpec extends Specification {
+
+    void "events published asynchronously are dispatched in batches"() {
+        given:
+        ApplicationContext context = run([:])
+        ApplicationEventPublisher<BatchEvent> publisher = context.getEventPublisher(BatchEvent)
+        BatchEventListener listener = context.getBean(BatchEventListener)
+
+        when:
+        List<Future<Void>> futures = (0..<1000).collect { publisher.publishEventAsync(new BatchEvent(it)) }
+        futures.each { it.get(10, TimeUnit.SECONDS) }
+        EventPublisherStatistics statistics = statistics(context)
+
+        then:
+        listener.events.size() == 1000
+        statistics.eventType() == BatchEvent.name
+        statistics.dispatched() == 1000
+        statistics.dropped() == 0
+        statistics.queueDepth() == 0
+        statistics.capacity() == 1024
+        statistics.maxDispatchLatencyNanos() > 0
+
+        cleanup:
+        context.close()
+    }
+
+    void "a listener error completes the future exceptionally"() {
+        given:
+        ApplicationContext context = run([:])
+        BatchEventListener listener = context.getBean(BatchEventListener)
+        listener.failingEvent = 1
+
+        when:
+        List<Future<Void>> futures = (0..<3).collect { context.publishEventAsync(new BatchEvent(it)) }
+        futures[1].get(10, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof AssertionError
+
+        when:
+        futures[0].get(10, TimeUnit.SECONDS)
+        futures[2].get(10, TimeUnit.SECONDS)
+
+        then:
+        listener.events*.id() as Set == [0, 2] as Set
+        statistics(context).dispatched() == 3
+
+        cleanup:
+        context.close()
+    }
+
+    void "events are dropped when the buffer is full"() {
+        given:
+        ApplicationContext context = run(['backpressure': 'DROP'])
+        BatchEventListener listener = context.getBean(BatchEventListener)
+        listener.firstEventGate = new CountDownLatch(1)
+
+        when:
+        List<Future<Void>> futures = (0..<10).collect { context.publishEventAsync(new BatchEvent(it)) }
+        List<Future<Void>> dropped = futures.findAll { it.isCompletedExceptionally() }
+
+        then:
+        dropped.size() >= 7
+
+        when:
+        dropped.first().get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof RejectedExecutionException
+
+        when:
+        listener.firstEventGate.countDown()
+        (futures - dropped).each { it.get(10, TimeUnit.SECONDS) }
+
+        then:
+        listener.events.size() == 10 - dropped.size()
+        statistics(context).dropped() == dropped.size()
+
+        cleanup:
+        listener.firstEventGate.countDown()
+        context.close()
+    }
+
+    void "the publisher notifies the listeners when the buffer is full"() {
+        given:
+        ApplicationContext context = run(['backpressure': 'CALLER_RUNS'])
+        BatchEventListener listener = context.getBean(BatchEventListener)
+        listener.firstEventGate = new CountDownLatch(1)
+
+        when:
+        List<Future<Void>> futures = (0..<10).collect { context.publishEventAsync(new BatchEvent(it)) }
+
+        then:
+        listener.threads.contains(Thread.currentThread().name)
+
+        when:
+        listener.firstEventGate.countDown()
+        futures.each { it.get(10, TimeUnit.SECONDS) }
+
+        then:
+        listener.events.size() == 10
+
+        cleanup:
+        listener.firstEventGate.countDown()
+        context.close()
+    }
+
+    private static ApplicationContext run(Map<String, Object> batching) {
+        Map<String, Object> properties = ['spec.name': 'BatchingEventPublisherSpec', 'micronaut.event-publisher.batching.enabled': true]
+        if (batching) {
+            properties['micronaut.event-publisher.batching.buffer-size'] = 2
+            properties['micronaut.event-publisher.batching.batch-size'] = 1
+            batching.each { k, v -> properties['micronaut.event-publisher.batching.' + k] = v }
+        }
+        ApplicationContext.run(properties)
+    }
+
+    private static EventPublisherStatistics statistics(ApplicationContext context) {
+        ApplicationEventPublisherFactory factory = context.getBeanDefinitions(ApplicationEventPublisher).find { it instanceof ApplicationEventPublisherFactory }
+        factory.statistics.find { it.eventType() == BatchEvent.name }
+    }
+}
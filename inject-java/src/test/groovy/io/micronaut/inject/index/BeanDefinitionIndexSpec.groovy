@@ -0,0 +1,111 @@
+package io.micronaut.inject.index
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.IndexedBeanDefinitionReference
+import io.micronaut.core.io.service.MicronautMetaServiceLoaderUtils
+import io.micronaut.core.type.Argument
+import io.micronaut.inject.BeanDefinitionReference
+import io.micronaut.inject.BeanDefinitionReferenceIndex
+import jakarta.inject.Singleton
+import spock.lang.Specification
+
+class BeanDefinitionIndexSpec extends Specification {
+
+    void "the bean definition reference descriptor contains the index"() {
+        given:
+        String path = 'META-INF/micronaut/' + BeanDefinitionReference.name + '/io.micronaut.inject.index.$EnglishGreeter$Definition'
+        byte[] descriptor = getClass().classLoader.getResourceAsStream(path).bytes
+        BeanDefinitionReferenceIndex index = BeanDefinitionReferenceIndex.read(descriptor)
+
+        expect:
+        index.isAssignableTo(EnglishGreeter.name)
+        index.isAssignableTo(IndexedGreeter.name)
+        !index.isAssignableTo(Runnable.name)
+        index.is(BeanDefinitionReferenceIndex.SINGLETON)
+        !index.is(BeanDefinitionReferenceIndex.CONTEXT_SCOPE)
+        index.hasDeclaredStereotype(Singleton.name)
+        index.indexedTypes.length == 0
+    }
+
+    void "indexed references are only loaded when they are a candidate"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.builder()
+                .properties('spec.name': 'BeanDefinitionIndexSpec')
+                .build()
+        List<BeanDefinitionReference> references = ctx.resolveBeanDefinitionReferences()
+        BeanDefinitionReference english = references.find { it.beanDefinitionName.endsWith('$EnglishGreeter$Definition') }
+        BeanDefinitionReference startup = references.find { it.beanDefinitionName.endsWith('$StartupGreeter$Definition') }
+
+        expect:
+        english.getClass().simpleName == 'IndexedBeanDefinitionReference'
+        !english.loaded
+        startup.isContextScope()
+        !startup.loaded
+
+        when:
+        boolean runnableCandidate = english.isCandidateBean(Argument.of(Runnable))
+
+        then:
+        !runnableCandidate
+        !english.loaded
+
+        when:
+        boolean greeterCandidate = english.isCandidateBean(Argument.of(IndexedGreeter))
+
+        then:
+        greeterCandidate
+        english.loaded
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "indexed beans are resolved by the context"() {
+        given:
+        StartupGreeter.created = false
+        ApplicationContext ctx = ApplicationContext.run('spec.name': 'BeanDefinitionIndexSpec')
+
+        expect:
+        StartupGreeter.created
+        ctx.getBean(EnglishGreeter).greet() == 'Hello'
+        ctx.getBeansOfType(IndexedGreeter)*.greet().toSet() == ['Hello', 'Good morning'] as Set
+        !ctx.containsBean(DisabledGreeter)
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "the descriptors are read when requested and are not cached"() {
+        given:
+        ClassLoader classLoader = getClass().classLoader
+        String path = 'META-INF/micronaut/' + BeanDefinitionReference.name + '/io.micronaut.inject.index.$EnglishGreeter$Definition'
+        byte[] expected = classLoader.getResourceAsStream(path).bytes
+
+        when:
+        Map<String, byte[]> first = MicronautMetaServiceLoaderUtils.findMicronautMetaServiceDescriptors(classLoader, BeanDefinitionReference.name)
+        Map<String, byte[]> second = MicronautMetaServiceLoaderUtils.findMicronautMetaServiceDescriptors(classLoader, BeanDefinitionReference.name)
+        byte[] descriptor = first['io.micronaut.inject.index.$EnglishGreeter$Definition']
+
+        then:
+        descriptor == expected
+        !descriptor.is(second['io.micronaut.inject.index.$EnglishGreeter$Definition'])
+        MicronautMetaServiceLoaderUtils.findMicronautMetaServiceDescriptors(classLoader, 'io.micronaut.inject.index.Missing').isEmpty()
+    }
+
+    void "an indexed reference whose class is missing is not present once resolved"() {
+        given:
+        String path = 'META-INF/micronaut/' + BeanDefinitionReference.name + '/io.micronaut.inject.index.$EnglishGreeter$Definition'
+        BeanDefinitionReferenceIndex index = BeanDefinitionReferenceIndex.read(getClass().classLoader.getResourceAsStream(path).bytes)
+        IndexedBeanDefinitionReference reference = new IndexedBeanDefinitionReference('io.micronaut.inject.index.$MissingGreeter$Definition', getClass().classLoader, index)
+        ApplicationContext ctx = ApplicationContext.builder().build()
+
+        expect:
+        reference.isPresent()
+        !reference.isReferenceEnabled(ctx, null)
+        !reference.isPresent()
+        !reference.loaded
+
+        cleanup:
+        ctx.close()
+    }
+}
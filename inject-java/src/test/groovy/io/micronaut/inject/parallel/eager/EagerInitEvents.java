@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.parallel.eager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class EagerInitEvents {
+    public static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+    private EagerInitEvents() {
+    }
+
+    static void slow(String name) {
+        EVENTS.add("start " + name + " " + Thread.currentThread().getName());
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        EVENTS.add("end " + name);
+    }
+}
@@ -0,0 +1,51 @@
+package io.micronaut.inject.parallel.eager
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.Specification
+
+class ParallelEagerInitSpec extends Specification {
+
+    def setup() {
+        EagerInitEvents.EVENTS.clear()
+    }
+
+    void "eager beans are initialized concurrently along their dependencies"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec')
+                .eagerInitParallelism(4)
+                .start()
+        List<String> events = EagerInitEvents.EVENTS
+        String main = Thread.currentThread().name
+
+        expect: 'independent beans overlap on the io executor'
+        events.findIndexOf { it.startsWith('start A') } < events.indexOf('end B')
+        events.findIndexOf { it.startsWith('start B') } < events.indexOf('end A')
+        !events.find { it.startsWith('start A') }.endsWith(main)
+
+        and: 'a bean starts after its dependencies'
+        events.findIndexOf { it.startsWith('start C') } > events.indexOf('end A')
+
+        and: 'ordered beans keep their order'
+        events.first().startsWith('start First')
+        events.last().startsWith('start Last')
+        events.first().endsWith(main)
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "eager beans are initialized one after another by default"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run('spec.name': 'ParallelEagerInitSpec')
+        List<String> events = EagerInitEvents.EVENTS
+
+        expect:
+        events.findAll { it.startsWith('start') }.every { it.endsWith(Thread.currentThread().name) }
+        events.indexOf('end A') < events.findIndexOf { it.startsWith('start B') } ||
+                events.indexOf('end B') < events.findIndexOf { it.startsWith('start A') }
+
+        cleanup:
+        ctx.close()
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A bounded lookup cache of the bean context that records its hits, misses and evictions.
+ *
+ * <p>Once the bean definitions are read, the cache starts at a quarter of their number and
+ * doubles its capacity, up to twice their number, when it is thrashing: when more than half of
+ * the recent misses evicted another entry, the working set of the application does not fit.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @since 4.7.0
+ */
+@Internal
+final class AdaptiveBeanCache<K, V> {
+
+    static final int MIN_CAPACITY = 30;
+    private static final int ENTRIES_PER_DEFINITION = 2;
+    private static final int SAMPLE_SIZE = 256;
+
+    private final String name;
+    private final ConcurrentLinkedHashMap<K, V> map;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicInteger sampleMisses = new AtomicInteger();
+    private final AtomicInteger sampleEvictions = new AtomicInteger();
+    private volatile long maximumCapacity = MIN_CAPACITY;
+
+    /**
+     * @param name The name of the cache
+     */
+    AdaptiveBeanCache(String name) {
+        this.name = name;
+        this.map = new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(MIN_CAPACITY)
+            .listener((key, value) -> {
+                evictions.increment();
+                sampleEvictions.incrementAndGet();
+            })
+            .build();
+    }
+
+    /**
+     * Derive the initial and the maximum capacity from the number of bean definitions.
+     *
+     * @param definitions The number of bean definitions
+     */
+    void sizeTo(int definitions) {
+        long maximum = Math.max(MIN_CAPACITY, (long) definitions * ENTRIES_PER_DEFINITION);
+        maximumCapacity = maximum;
+        long capacity = Math.min(maximum, Math.max(MIN_CAPACITY, definitions / 4));
+        if (capacity > map.capacity()) {
+            map.setCapacity(capacity);
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The cached value or {@code null}
+     */
+    @Nullable
+    V get(@NonNull K key) {
+        V value = map.get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            if (sampleMisses.incrementAndGet() >= SAMPLE_SIZE) {
+                adapt();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @param key   The key
+     * @param value The value
+     */
+    void put(@NonNull K key, @NonNull V value) {
+        map.put(key, value);
+    }
+
+    /**
+     * @param predicate The keys to remove
+     */
+    void removeIf(@NonNull Predicate<? super K> predicate) {
+        map.keySet().removeIf(predicate);
+    }
+
+    /**
+     * Remove all entries, the statistics are kept.
+     */
+    void clear() {
+        map.clear();
+    }
+
+    /**
+     * @return The statistics of the cache
+     */
+    @NonNull
+    BeanCacheStatistics getStatistics() {
+        return new BeanCacheStatistics(
+            name,
+            map.size(),
+            map.capacity(),
+            hits.sum(),
+            misses.sum(),
+            evictions.sum()
+        );
+    }
+
+    private void adapt() {
+        int sampled = sampleMisses.getAndSet(0);
+        if (sampled < SAMPLE_SIZE) {
+            // another thread adapted the cache concurrently
+            return;
+        }
+        int evicted = sampleEvictions.getAndSet(0);
+        long capacity = map.capacity();
+        if (evicted > sampled / 2 && capacity < maximumCapacity) {
+            map.setCapacity(Math.min(maximumCapacity, capacity * 2));
+        }
+    }
+}
@@ -63,6 +63,32 @@ public interface ApplicationContextBuilder {
         return this;
     }
 
+    /**
+     * Initialize eager beans concurrently on the given number of threads, following the injection
+     * dependencies between them (default is {@code 1}).
+     *
+     * @param parallelism The number of threads
+     * @return This builder
+     * @see BeanContextConfiguration#getEagerInitParallelism()
+     * @since 4.7.0
+     */
+    default @NonNull ApplicationContextBuilder eagerInitParallelism(int parallelism) {
+        return this;
+    }
+
+    /**
+     * Read the configuration files of the config locations and active environments concurrently
+     * (default is {@code false}).
+     *
+     * @param parallel Whether the configuration files are read concurrently
+     * @return This builder
+     * @see ApplicationContextConfiguration#isParallelPropertySourceLoading()
+     * @since 4.7.0
+     */
+    default @NonNull ApplicationContextBuilder parallelPropertySourceLoading(boolean parallel) {
+        return this;
+    }
+
     /**
      * Specify whether the default set of property sources should be enabled (default is {@code true}).
      * @param areEnabled Whether the default property sources are enabled
@@ -92,6 +92,18 @@ public interface ApplicationContextConfiguration extends BeanContextConfiguratio
         return true;
     }
 
+    /**
+     * Whether to read the configuration files of the config locations and active environments
+     * concurrently. The property sources are added in the same order as when they are read one
+     * after another.
+     *
+     * @return Returns {@code true} if the configuration files should be read concurrently
+     * @since 4.7.0
+     */
+    default boolean isParallelPropertySourceLoading() {
+        return false;
+    }
+
     /**
      * @return True if environment variables should contribute to configuration
      */
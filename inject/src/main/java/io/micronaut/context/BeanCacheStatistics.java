@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * The statistics of a lookup cache of the {@link DefaultBeanContext}.
+ *
+ * @param name      The name of the cache
+ * @param size      The number of entries
+ * @param capacity  The current capacity
+ * @param hits      The number of lookups answered by the cache
+ * @param misses    The number of lookups that required resolving the beans
+ * @param evictions The number of entries evicted because the cache was full
+ * @since 4.7.0
+ */
+public record BeanCacheStatistics(
+    @NonNull String name,
+    long size,
+    long capacity,
+    long hits,
+    long misses,
+    long evictions) {
+
+    /**
+     * @return The ratio of lookups answered by the cache, between 0 and 1
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
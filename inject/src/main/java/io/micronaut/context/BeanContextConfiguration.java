@@ -77,4 +77,18 @@ public interface BeanContextConfiguration {
     default Set<Class<? extends Annotation>> getEagerInitAnnotated() {
         return Collections.emptySet();
     }
+
+    /**
+     * The number of threads used to initialize eager beans on startup. With more than one thread,
+     * beans that don't inject each other are initialized concurrently, and each bean starts once the
+     * eager beans it injects are ready. Beans with an explicit negative or positive
+     * {@link io.micronaut.core.annotation.Order} are still initialized one after another, before
+     * and after the others.
+     *
+     * @return The number of threads, {@code 1} or less initializes eager beans one after another
+     * @since 4.7.0
+     */
+    default int getEagerInitParallelism() {
+        return 1;
+    }
 }
@@ -176,7 +176,11 @@ public class DefaultApplicationContext extends DefaultBeanContext implements Con
 
     private boolean isBootstrapPropertySourceLocatorPresent() {
         for (BeanDefinitionReference beanDefinitionReference : resolveBeanDefinitionReferences()) {
-            if (BootstrapPropertySourceLocator.class.isAssignableFrom(beanDefinitionReference.getBeanType())) {
+            if (beanDefinitionReference instanceof IndexedBeanDefinitionReference<?> indexedReference) {
+                if (indexedReference.isAssignableTo(BootstrapPropertySourceLocator.class)) {
+                    return true;
+                }
+            } else if (BootstrapPropertySourceLocator.class.isAssignableFrom(beanDefinitionReference.getBeanType())) {
                 return true;
             }
         }
@@ -793,6 +797,11 @@ public class DefaultApplicationContext extends DefaultBeanContext implements Con
                     return configuration.isEnvironmentPropertySource();
                 }
 
+                @Override
+                public boolean isParallelPropertySourceLoading() {
+                    return configuration.isParallelPropertySourceLoading();
+                }
+
                 @Nullable
                 @Override
                 public List<String> getEnvironmentVariableIncludes() {
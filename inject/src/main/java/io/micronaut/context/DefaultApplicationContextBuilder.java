@@ -72,6 +72,8 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
     private boolean allowEmptyProviders = false;
     private Boolean bootstrapEnvironment = null;
     private boolean enableDefaultPropertySources = true;
+    private boolean parallelPropertySourceLoading = false;
+    private int eagerInitParallelism = 1;
 
     /**
      * Default constructor.
@@ -119,6 +121,18 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return enableDefaultPropertySources;
     }
 
+    @Override
+    @NonNull
+    public ApplicationContextBuilder parallelPropertySourceLoading(boolean parallel) {
+        this.parallelPropertySourceLoading = parallel;
+        return this;
+    }
+
+    @Override
+    public boolean isParallelPropertySourceLoading() {
+        return parallelPropertySourceLoading;
+    }
+
     @NonNull
     @Override
     public ApplicationContextBuilder eagerInitAnnotated(Class<? extends Annotation>... annotations) {
@@ -156,6 +170,18 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return Collections.unmodifiableSet(eagerInitAnnotated);
     }
 
+    @NonNull
+    @Override
+    public ApplicationContextBuilder eagerInitParallelism(int parallelism) {
+        this.eagerInitParallelism = parallelism;
+        return this;
+    }
+
+    @Override
+    public int getEagerInitParallelism() {
+        return eagerInitParallelism;
+    }
+
     @Override
     public @NonNull ApplicationContextBuilder singletons(Object... beans) {
         if (beans != null) {
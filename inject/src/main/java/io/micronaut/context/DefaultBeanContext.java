@@ -85,7 +85,6 @@ import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
-import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
 import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.core.value.ValueResolver;
 import io.micronaut.inject.AdvisedBeanType;
@@ -93,6 +92,7 @@ import io.micronaut.inject.BeanConfiguration;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanDefinitionMethodReference;
 import io.micronaut.inject.BeanDefinitionReference;
+import io.micronaut.inject.BeanDefinitionReferenceIndex;
 import io.micronaut.inject.BeanIdentifier;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.DisposableBeanDefinition;
@@ -140,6 +140,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -168,6 +169,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     private static final String REPLACES_ANN = Replaces.class.getName();
 
     private static final String MSG_COULD_NOT_BE_LOADED = "] could not be loaded: ";
+    private static final String EAGER_INIT_EXECUTOR = "io";
     public static final String MSG_BEAN_DEFINITION = "Bean definition [";
 
     protected final AtomicBoolean running = new AtomicBoolean(false);
@@ -189,18 +191,18 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     private final Map<BeanKey<?>, BeanDefinitionProducer> disabledBeans = new ConcurrentHashMap<>(20);
     private final Map<String, List<String>> disabledConfigurations = new ConcurrentHashMap<>(5);
     private final Map<String, BeanConfiguration> beanConfigurations = new HashMap<>(10);
-    private final Map<BeanKey, Boolean> containsBeanCache = new ConcurrentHashMap<>(30);
+    private final AdaptiveBeanCache<BeanKey, Boolean> containsBeanCache = new AdaptiveBeanCache<>("containsBean");
     private final Map<CharSequence, Object> attributes = Collections.synchronizedMap(new HashMap<>(5));
 
     private final Map<BeanKey, CollectionHolder> singletonBeanRegistrations = new ConcurrentHashMap<>(50);
 
-    private final Map<BeanCandidateKey, Optional<BeanDefinition>> beanConcreteCandidateCache =
-            new ConcurrentLinkedHashMap.Builder<BeanCandidateKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final AdaptiveBeanCache<BeanCandidateKey, Optional<BeanDefinition>> beanConcreteCandidateCache =
+            new AdaptiveBeanCache<>("beanConcreteCandidate");
 
-    private final Map<BeanCandidateKey, Optional<BeanDefinition>> beanProxyTargetCache =
-        new ConcurrentLinkedHashMap.Builder<BeanCandidateKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final AdaptiveBeanCache<BeanCandidateKey, Optional<BeanDefinition>> beanProxyTargetCache =
+        new AdaptiveBeanCache<>("beanProxyTarget");
 
-    private final Map<Argument, Collection<BeanDefinition>> beanCandidateCache = new ConcurrentLinkedHashMap.Builder<Argument, Collection<BeanDefinition>>().maximumWeightedCapacity(30).build();
+    private final AdaptiveBeanCache<Argument, Collection<BeanDefinition>> beanCandidateCache = new AdaptiveBeanCache<>("beanCandidate");
 
     private final Map<Class<?>, Collection<BeanDefinitionProducer>> beanIndex = new ConcurrentHashMap<>(12);
 
@@ -710,10 +712,10 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     }
 
     private <T> void purgeCacheForBeanInstance(T singleton) {
-        beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isInstance(singleton));
-        beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+        beanCandidateCache.removeIf(key -> key.isInstance(singleton));
+        beanConcreteCandidateCache.removeIf(key -> key.beanType.isInstance(singleton));
         singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
-        containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isInstance(singleton));
+        containsBeanCache.removeIf(key -> key.beanType.isInstance(singleton));
     }
 
     @NonNull
@@ -809,8 +811,9 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     public <T> boolean containsBean(Argument<T> beanType, Qualifier<T> qualifier) {
         ArgumentUtils.requireNonNull("beanType", beanType);
         BeanKey<T> beanKey = new BeanKey<>(beanType, qualifier);
-        if (containsBeanCache.containsKey(beanKey)) {
-            return containsBeanCache.get(beanKey);
+        Boolean contains = containsBeanCache.get(beanKey);
+        if (contains != null) {
+            return contains;
         } else {
             boolean result = singletonScope.containsBean(beanType, qualifier) ||
                     isCandidatePresent(beanKey.beanType, qualifier);
@@ -1665,10 +1668,10 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
     }
 
     private <B> void purgeCacheForBeanType(Class<B> beanType) {
-        beanCandidateCache.entrySet().removeIf(entry -> entry.getKey().isAssignableFrom(beanType));
-        beanConcreteCandidateCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
+        beanCandidateCache.removeIf(key -> key.isAssignableFrom(beanType));
+        beanConcreteCandidateCache.removeIf(key -> key.beanType.isAssignableFrom(beanType));
         singletonBeanRegistrations.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
-        containsBeanCache.entrySet().removeIf(entry -> entry.getKey().beanType.isAssignableFrom(beanType));
+        containsBeanCache.removeIf(key -> key.beanType.isAssignableFrom(beanType));
     }
 
     /**
@@ -1868,6 +1871,29 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         singletonBeanRegistrations.clear();
     }
 
+    /**
+     * Returns the statistics of the caches of bean lookups.
+     *
+     * @return The statistics of each cache
+     * @since 4.7.0
+     */
+    @NonNull
+    public List<BeanCacheStatistics> getCacheStatistics() {
+        return List.of(
+            beanCandidateCache.getStatistics(),
+            beanConcreteCandidateCache.getStatistics(),
+            beanProxyTargetCache.getStatistics(),
+            containsBeanCache.getStatistics()
+        );
+    }
+
+    private void sizeCaches(int definitions) {
+        beanCandidateCache.sizeTo(definitions);
+        beanConcreteCandidateCache.sizeTo(definitions);
+        beanProxyTargetCache.sizeTo(definitions);
+        containsBeanCache.sizeTo(definitions);
+    }
+
     /**
      * Resolves the {@link BeanDefinitionReference} class instances. Default implementation uses ServiceLoader pattern.
      *
@@ -1879,7 +1905,12 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
             beanDefinitionReferences = MicronautMetaServiceLoaderUtils.findMetaMicronautServiceEntries(
                 classLoader,
                 BeanDefinitionReference.class,
-                BeanDefinitionReference::isPresent
+                BeanDefinitionReference::isPresent,
+                (className, descriptor) -> {
+                    // references indexed at compile time are only loaded once they are needed
+                    BeanDefinitionReferenceIndex index = BeanDefinitionReferenceIndex.read(descriptor);
+                    return index != null ? new IndexedBeanDefinitionReference<>(className, classLoader, index) : null;
+                }
             );
         }
         return beanDefinitionReferences;
@@ -1989,15 +2020,18 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
             }
             filterReplacedBeans(null, eagerInit);
             OrderUtil.sortOrdered(eagerInit);
-            for (BeanDefinition eagerInitDefinition : eagerInit) {
-                try {
-                    initializeEagerBean(eagerInitDefinition);
-                } catch (DisabledBeanException e) {
-                    if (AbstractBeanContextConditional.ConditionLog.LOG.isDebugEnabled()) {
-                        AbstractBeanContextConditional.ConditionLog.LOG.debug("Bean of type [{}] disabled for reason: {}", eagerInitDefinition.getBeanType().getSimpleName(), e.getMessage());
-                    }
-                } catch (Throwable e) {
-                    throw new BeanInstantiationException(MSG_BEAN_DEFINITION + eagerInitDefinition.getName() + MSG_COULD_NOT_BE_LOADED + e.getMessage(), e);
+            int parallelism = beanContextConfiguration.getEagerInitParallelism();
+            if (parallelism > 1 && eagerInit.size() > 1) {
+                new ParallelEagerInitializer(
+                    parallelism,
+                    this::initializeContextScopeBean,
+                    type -> getBeanDefinitions(type),
+                    // the executor for blocking work, managed by the context
+                    () -> findBean(Executor.class, Qualifiers.byName(EAGER_INIT_EXECUTOR)).orElseGet(ForkJoinPool::commonPool)
+                ).initialize(eagerInit);
+            } else {
+                for (BeanDefinition<Object> eagerInitDefinition : eagerInit) {
+                    initializeContextScopeBean(eagerInitDefinition);
                 }
             }
         }
@@ -2225,7 +2259,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         Collection<BeanDefinitionProducer> beanProducers = this.beanDefinitionsClasses;
         final Class<?> beanClass = instance.getClass();
         Argument<?> beanType = Argument.of(beanClass);
-        Collection<BeanDefinition<T>> beanDefinitions = (Collection<BeanDefinition<T>>) ((Map) beanCandidateCache).get(beanType);
+        Collection<BeanDefinition<T>> beanDefinitions = (Collection) beanCandidateCache.get(beanType);
         if (beanDefinitions != null) {
             return beanDefinitions;
         }
@@ -2679,6 +2713,18 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         }
     }
 
+    private void initializeContextScopeBean(BeanDefinition<Object> eagerInitDefinition) {
+        try {
+            initializeEagerBean(eagerInitDefinition);
+        } catch (DisabledBeanException e) {
+            if (AbstractBeanContextConditional.ConditionLog.LOG.isDebugEnabled()) {
+                AbstractBeanContextConditional.ConditionLog.LOG.debug("Bean of type [{}] disabled for reason: {}", eagerInitDefinition.getBeanType().getSimpleName(), e.getMessage());
+            }
+        } catch (Throwable e) {
+            throw new BeanInstantiationException(MSG_BEAN_DEFINITION + eagerInitDefinition.getName() + MSG_COULD_NOT_BE_LOADED + e.getMessage(), e);
+        }
+    }
+
     private void initializeEagerBean(BeanDefinition<Object> beanDefinition) {
         if (beanDefinition.isIterable() || beanDefinition.hasStereotype(ConfigurationReader.class.getName())) {
             Set<BeanDefinition<Object>> beanCandidates = new HashSet<>(5);
@@ -3338,6 +3384,7 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
                 producers.add(new BeanDefinitionProducer(beanDefinitionReference));
             }
             beanDefinitionsClasses.addAll(producers);
+            sizeCaches(producers.size());
 
             Collection<BeanConfiguration> allConfigurations = beanConfigurations.values();
             List<BeanConfiguration> configurationsDisabled = new ArrayList<>(allConfigurations.size());
@@ -3370,25 +3417,29 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
                     continue;
                 }
 
-                final AnnotationMetadata annotationMetadata = beanDefinitionReference.getAnnotationMetadata();
-                Class<?>[] indexes = annotationMetadata.classValues(INDEXES_TYPE);
-                if (indexes.length > 0) {
-                    //noinspection ForLoopReplaceableByForEach
-                    for (int i = 0; i < indexes.length; i++) {
-                        Class<?> indexedType = indexes[i];
-                        resolveTypeIndex(indexedType).add(beanDefinitionProducer);
-                    }
+                if (beanDefinitionReference instanceof IndexedBeanDefinitionReference<?> indexedReference) {
+                    indexReference(beanDefinitionProducer, indexedReference.getIndex());
                 } else {
-                    if (annotationMetadata.hasStereotype(ADAPTER_TYPE)) {
-                        final Class<?> aClass = annotationMetadata.classValue(ADAPTER_TYPE, AnnotationMetadata.VALUE_MEMBER).orElse(null);
-                        if (indexedTypes.contains(aClass)) {
-                            resolveTypeIndex(aClass).add(beanDefinitionProducer);
+                    final AnnotationMetadata annotationMetadata = beanDefinitionReference.getAnnotationMetadata();
+                    Class<?>[] indexes = annotationMetadata.classValues(INDEXES_TYPE);
+                    if (indexes.length > 0) {
+                        //noinspection ForLoopReplaceableByForEach
+                        for (int i = 0; i < indexes.length; i++) {
+                            Class<?> indexedType = indexes[i];
+                            resolveTypeIndex(indexedType).add(beanDefinitionProducer);
+                        }
+                    } else {
+                        if (annotationMetadata.hasStereotype(ADAPTER_TYPE)) {
+                            final Class<?> aClass = annotationMetadata.classValue(ADAPTER_TYPE, AnnotationMetadata.VALUE_MEMBER).orElse(null);
+                            if (indexedTypes.contains(aClass)) {
+                                resolveTypeIndex(aClass).add(beanDefinitionProducer);
+                            }
                         }
                     }
                 }
                 if (isEagerInit(beanDefinitionReference)) {
                     eagerInitBeans.add(beanDefinitionProducer);
-                } else if (annotationMetadata.hasDeclaredStereotype(PARALLEL_TYPE)) {
+                } else if (hasDeclaredStereotype(beanDefinitionReference, PARALLEL_TYPE)) {
                     parallelBeans.add(beanDefinitionProducer);
                 }
 
@@ -3407,10 +3458,33 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
         return startupBeans;
     }
 
+    // indexes the producer like readBeanDefinitionReferences does, with the types resolved at compile time
+    private void indexReference(BeanDefinitionProducer beanDefinitionProducer, BeanDefinitionReferenceIndex index) {
+        String[] indexes = index.getIndexedTypes();
+        if (indexes.length > 0) {
+            for (String indexedTypeName : indexes) {
+                ClassUtils.forName(indexedTypeName, classLoader)
+                    .ifPresent(indexedType -> resolveTypeIndex(indexedType).add(beanDefinitionProducer));
+            }
+        } else if (index.getAdapterType() != null) {
+            final Class<?> aClass = ClassUtils.forName(index.getAdapterType(), classLoader).orElse(null);
+            if (indexedTypes.contains(aClass)) {
+                resolveTypeIndex(aClass).add(beanDefinitionProducer);
+            }
+        }
+    }
+
+    private static boolean hasDeclaredStereotype(BeanDefinitionReference<?> beanDefinitionReference, String... stereotypes) {
+        if (beanDefinitionReference instanceof IndexedBeanDefinitionReference<?> indexedReference) {
+            return indexedReference.hasDeclaredStereotype(stereotypes);
+        }
+        return beanDefinitionReference.getAnnotationMetadata().hasDeclaredStereotype(stereotypes);
+    }
+
     private boolean isEagerInit(BeanDefinitionReference beanDefinitionReference) {
         return beanDefinitionReference.isContextScope() ||
                 (eagerInitSingletons && beanDefinitionReference.isSingleton()) ||
-                (eagerInitStereotypesPresent && beanDefinitionReference.getAnnotationMetadata().hasDeclaredStereotype(eagerInitStereotypes));
+                (eagerInitStereotypesPresent && hasDeclaredStereotype(beanDefinitionReference, eagerInitStereotypes));
     }
 
     @NonNull
@@ -4246,6 +4320,9 @@ public class DefaultBeanContext implements InitializableBeanContext, Configurabl
             if (ref instanceof io.micronaut.context.AbstractInitializableBeanDefinitionAndReference<?> referenceAndDefinition) {
                 return referenceAndDefinition.isEnabled(context, resolutionContext, true);
             }
+            if (ref instanceof IndexedBeanDefinitionReference<?> indexedReference) {
+                return indexedReference.isReferenceEnabled(context, resolutionContext);
+            }
             return ref.isEnabled(context);
         }
 
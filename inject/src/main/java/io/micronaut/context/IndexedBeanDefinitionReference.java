@@ -0,0 +1,324 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.exceptions.BeanContextException;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.BeanDefinitionReference;
+import io.micronaut.inject.BeanDefinitionReferenceIndex;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Repeatable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link BeanDefinitionReference} that answers the questions the bean context asks about every bean
+ * at startup from the {@link BeanDefinitionReferenceIndex} written at compile time, and only loads the
+ * generated reference class once the bean is a candidate for a lookup.
+ *
+ * @param <T> The bean type
+ * @since 4.7.0
+ */
+@Internal
+final class IndexedBeanDefinitionReference<T> implements BeanDefinitionReference<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType VOID_TYPE = MethodType.methodType(void.class);
+
+    private final String className;
+    private final ClassLoader classLoader;
+    private final BeanDefinitionReferenceIndex index;
+    @Nullable
+    @SuppressWarnings("java:S3077")
+    private volatile BeanDefinitionReference<T> delegate;
+    private volatile boolean missing;
+
+    /**
+     * @param className   The name of the generated reference class
+     * @param classLoader The class loader
+     * @param index       The index
+     */
+    IndexedBeanDefinitionReference(String className, ClassLoader classLoader, BeanDefinitionReferenceIndex index) {
+        this.className = className;
+        this.classLoader = classLoader;
+        this.index = index;
+    }
+
+    /**
+     * @return The index
+     */
+    BeanDefinitionReferenceIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Whether the generated reference class was loaded
+     */
+    boolean isLoaded() {
+        return delegate != null;
+    }
+
+    /**
+     * @param type The type
+     * @return Whether the bean type is the given type or a subtype of it
+     */
+    boolean isAssignableTo(Class<?> type) {
+        return type == Object.class || index.isAssignableTo(type.getName());
+    }
+
+    /**
+     * @param stereotypes The annotation names
+     * @return Whether any of the annotations is declared or is a declared stereotype
+     */
+    boolean hasDeclaredStereotype(String... stereotypes) {
+        for (String stereotype : stereotypes) {
+            if (index.hasDeclaredStereotype(stereotype)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check the conditions that don't require loading the bean definition.
+     *
+     * @param context           The context
+     * @param resolutionContext The resolution context
+     * @return Whether the reference is enabled
+     */
+    boolean isReferenceEnabled(BeanContext context, @Nullable BeanResolutionContext resolutionContext) {
+        BeanDefinitionReference<T> ref = resolve();
+        if (ref == null) {
+            return false;
+        }
+        if (ref instanceof AbstractInitializableBeanDefinitionAndReference<T> referenceAndDefinition) {
+            return referenceAndDefinition.isEnabled(context, resolutionContext, true);
+        }
+        return ref.isEnabled(context, resolutionContext);
+    }
+
+    /**
+     * Loads the generated reference class once, the same way the service loader would.
+     *
+     * @return The reference or {@code null} if the class is not on the classpath
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private BeanDefinitionReference<T> resolve() {
+        BeanDefinitionReference<T> ref = delegate;
+        if (ref == null && !missing) {
+            synchronized (this) {
+                ref = delegate;
+                if (ref == null && !missing) {
+                    try {
+                        Class<?> referenceClass = Class.forName(className, false, classLoader);
+                        ref = (BeanDefinitionReference<T>) LOOKUP.findConstructor(referenceClass, VOID_TYPE).invoke();
+                        delegate = ref;
+                    } catch (NoClassDefFoundError | ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+                        missing = true;
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new BeanContextException("Failed to load bean definition reference [" + className + "]: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return ref;
+    }
+
+    @NonNull
+    private BeanDefinitionReference<T> getDelegate() {
+        BeanDefinitionReference<T> ref = resolve();
+        if (ref == null) {
+            throw new BeanContextException("Bean definition reference [" + className + "] is not present on the classpath");
+        }
+        return ref;
+    }
+
+    @Override
+    public String getBeanDefinitionName() {
+        return className;
+    }
+
+    @Override
+    public BeanDefinition<T> load() {
+        return getDelegate().load();
+    }
+
+    @Override
+    public BeanDefinition<T> load(BeanContext context) {
+        return getDelegate().load(context);
+    }
+
+    /**
+     * The generated class is not loaded to answer this, so a reference is assumed present until it
+     * is resolved. Unlike the references loaded by the service loader, a reference whose class is
+     * missing is therefore not filtered out when the references are read. It is disabled once it is
+     * resolved, so {@link BeanDefinitionRegistry#getBeanDefinitionReferences()} does not return it, and it
+     * reports {@code false} from then on. The methods that need the generated class throw a
+     * {@link BeanContextException} for a missing class.
+     *
+     * @return {@code false} once the generated class was found to be missing
+     */
+    @Override
+    public boolean isPresent() {
+        return !missing;
+    }
+
+    @Override
+    public boolean isEnabled(@NonNull BeanContext context, @Nullable BeanResolutionContext resolutionContext) {
+        BeanDefinitionReference<T> ref = resolve();
+        return ref != null && ref.isEnabled(context, resolutionContext);
+    }
+
+    @Override
+    public boolean isContextScope() {
+        return index.is(BeanDefinitionReferenceIndex.CONTEXT_SCOPE);
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return index.is(BeanDefinitionReferenceIndex.SINGLETON);
+    }
+
+    @Override
+    public boolean isConfigurationProperties() {
+        return index.is(BeanDefinitionReferenceIndex.CONFIGURATION_PROPERTIES);
+    }
+
+    @Override
+    public boolean isContainerType() {
+        return index.is(BeanDefinitionReferenceIndex.CONTAINER_TYPE);
+    }
+
+    @Override
+    public boolean isProxiedBean() {
+        return index.is(BeanDefinitionReferenceIndex.PROXIED_BEAN);
+    }
+
+    @Override
+    public boolean isProxyTarget() {
+        return index.is(BeanDefinitionReferenceIndex.PROXY_TARGET);
+    }
+
+    @Override
+    public boolean requiresMethodProcessing() {
+        return index.is(BeanDefinitionReferenceIndex.REQUIRES_METHOD_PROCESSING);
+    }
+
+    @Override
+    public boolean isCandidateBean(@Nullable Argument<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        // a bean can only be a candidate for a super type, the generic and exposed types are checked by the definition
+        if (!isContainerType() && !isAssignableTo(beanType.getType())) {
+            return false;
+        }
+        BeanDefinitionReference<T> ref = resolve();
+        return ref != null && ref.isCandidateBean(beanType);
+    }
+
+    @Override
+    public boolean isAnnotationPresent(@NonNull Class<? extends Annotation> annotationClass) {
+        Repeatable repeatable = annotationClass.getAnnotation(Repeatable.class);
+        return index.hasAnnotation(repeatable != null ? repeatable.value().getName() : annotationClass.getName());
+    }
+
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return getDelegate().getAnnotationMetadata();
+    }
+
+    @Override
+    public Class<T> getBeanType() {
+        return getDelegate().getBeanType();
+    }
+
+    @Override
+    public Argument<T> getGenericBeanType() {
+        return getDelegate().getGenericBeanType();
+    }
+
+    @Override
+    public Argument<T> asArgument() {
+        return getDelegate().asArgument();
+    }
+
+    @Override
+    public int getOrder() {
+        return getDelegate().getOrder();
+    }
+
+    @Override
+    public String getName() {
+        return getDelegate().getName();
+    }
+
+    @Override
+    public boolean isPrimary() {
+        return getDelegate().isPrimary();
+    }
+
+    @Override
+    public Optional<String> getBeanName() {
+        return getDelegate().getBeanName();
+    }
+
+    @Override
+    public Set<Class<?>> getExposedTypes() {
+        return getDelegate().getExposedTypes();
+    }
+
+    @Override
+    public Qualifier<T> getDeclaredQualifier() {
+        return getDelegate().getDeclaredQualifier();
+    }
+
+    @Override
+    public Qualifier<T> resolveDynamicQualifier() {
+        return getDelegate().resolveDynamicQualifier();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof IndexedBeanDefinitionReference<?> that && className.equals(that.className);
+    }
+
+    @Override
+    public int hashCode() {
+        return className.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        BeanDefinitionReference<T> ref = delegate;
+        return ref != null ? ref.toString() : className;
+    }
+}
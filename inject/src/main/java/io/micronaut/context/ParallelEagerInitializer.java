@@ -0,0 +1,392 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.context.event.BeanInitializedEventListener;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.inject.BeanDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Initializes eager beans concurrently ({@link BeanContextConfiguration#getEagerInitParallelism()}).
+ * A bean starts once the eager beans it injects are initialized, so independent chains of beans
+ * are initialized at the same time, and startup takes about as long as the longest chain.
+ *
+ * <p>Beans with a negative {@link io.micronaut.core.annotation.Order} and bean event listeners
+ * are initialized first, and beans with a positive order last, one after another in their order
+ * as before. Beans whose dependencies form a cycle are initialized one after another once the
+ * others are done.</p>
+ *
+ * <p>The dependencies include the eager beans injected through beans that are not eager. The
+ * beans run on the executor of the context, at most {@code parallelism} at the same time.</p>
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class ParallelEagerInitializer {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelEagerInitializer.class);
+
+    private final int parallelism;
+    private final Consumer<BeanDefinition<Object>> initializer;
+    private final Function<Class<?>, Collection<? extends BeanDefinition<?>>> definitionsByType;
+    private final Supplier<Executor> executor;
+
+    /**
+     * @param parallelism       The maximum number of beans to initialize at the same time
+     * @param initializer       Initializes a single bean
+     * @param definitionsByType Finds the bean definitions of a type, to follow the dependencies that are not eager
+     * @param executor          The executor that initializes the beans
+     */
+    ParallelEagerInitializer(int parallelism,
+                             Consumer<BeanDefinition<Object>> initializer,
+                             Function<Class<?>, Collection<? extends BeanDefinition<?>>> definitionsByType,
+                             Supplier<Executor> executor) {
+        this.parallelism = parallelism;
+        this.initializer = initializer;
+        this.definitionsByType = definitionsByType;
+        this.executor = executor;
+    }
+
+    /**
+     * Initialize the given beans.
+     *
+     * @param definitions The eager beans, sorted by order
+     */
+    void initialize(List<BeanDefinition<Object>> definitions) {
+        long start = System.nanoTime();
+        List<BeanDefinition<Object>> first = new ArrayList<>();
+        List<Node> concurrent = new ArrayList<>();
+        List<BeanDefinition<Object>> last = new ArrayList<>();
+        for (BeanDefinition<Object> definition : definitions) {
+            int order = definition.getOrder();
+            if (order < 0 || isListener(definition)) {
+                first.add(definition);
+            } else if (order > 0) {
+                last.add(definition);
+            } else {
+                concurrent.add(new Node(definition));
+            }
+        }
+
+        first.forEach(initializer);
+        List<Node> cyclic = link(concurrent);
+        runConcurrently(concurrent, cyclic);
+        for (Node node : cyclic) {
+            node.run(initializer);
+        }
+        last.forEach(initializer);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Initialized {} eager beans in {}ms with {} threads, critical path: {}",
+                definitions.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), parallelism, criticalPath(concurrent));
+        }
+    }
+
+    private static boolean isListener(BeanDefinition<?> definition) {
+        Class<?> beanType = definition.getBeanType();
+        return BeanCreatedEventListener.class.isAssignableFrom(beanType) || BeanInitializedEventListener.class.isAssignableFrom(beanType);
+    }
+
+    /**
+     * Connect each bean to the beans that inject it, directly or through beans that are not eager.
+     *
+     * @return The beans that are part of a dependency cycle, they can't be scheduled
+     */
+    private List<Node> link(List<Node> nodes) {
+        Set<BeanDefinition<?>> eager = new HashSet<>(nodes.size());
+        for (Node node : nodes) {
+            eager.add(node.definition);
+        }
+        Map<Class<?>, List<Node>> eagerByType = new HashMap<>();
+        Map<Class<?>, Collection<? extends BeanDefinition<?>>> definitionsCache = new HashMap<>();
+        for (Node node : nodes) {
+            Set<Class<?>> visitedTypes = new HashSet<>();
+            Set<BeanDefinition<?>> visitedDefinitions = new HashSet<>();
+            Deque<Class<?>> types = new ArrayDeque<>(node.definition.getRequiredComponents());
+            while (!types.isEmpty()) {
+                Class<?> required = types.poll();
+                if (!visitedTypes.add(required)) {
+                    continue;
+                }
+                for (Node candidate : eagerByType.computeIfAbsent(required, type -> eagerOfType(type, nodes))) {
+                    if (candidate != node) {
+                        node.dependencies.add(candidate);
+                    }
+                }
+                // follow the beans that are not eager, they are created while initializing this bean
+                for (BeanDefinition<?> definition : definitionsCache.computeIfAbsent(required, definitionsByType)) {
+                    if (!eager.contains(definition) && visitedDefinitions.add(definition)) {
+                        types.addAll(definition.getRequiredComponents());
+                    }
+                }
+            }
+            for (Node dependency : node.dependencies) {
+                dependency.dependents.add(node);
+            }
+            node.pending.set(node.dependencies.size());
+        }
+
+        // Kahn's algorithm, whatever is not visited is on or behind a cycle
+        int[] remaining = new int[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.get(i).index = i;
+            remaining[i] = nodes.get(i).dependencies.size();
+        }
+        Deque<Node> queue = new ArrayDeque<>();
+        for (Node node : nodes) {
+            if (remaining[node.index] == 0) {
+                queue.add(node);
+            }
+        }
+        int visited = 0;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            visited++;
+            for (Node dependent : node.dependents) {
+                if (--remaining[dependent.index] == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        if (visited == nodes.size()) {
+            return List.of();
+        }
+        List<Node> cyclic = new ArrayList<>();
+        for (Node node : nodes) {
+            if (remaining[node.index] > 0) {
+                cyclic.add(node);
+            }
+        }
+        nodes.removeAll(cyclic);
+        for (Node node : nodes) {
+            node.dependents.removeAll(cyclic);
+        }
+        return cyclic;
+    }
+
+    private static List<Node> eagerOfType(Class<?> type, List<Node> nodes) {
+        List<Node> matches = new ArrayList<>(1);
+        for (Node candidate : nodes) {
+            if (type.isAssignableFrom(candidate.definition.getBeanType())) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    private void runConcurrently(List<Node> nodes, List<Node> cyclic) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        Run run = new Run(executor.get(), Thread.currentThread().getContextClassLoader(), new CountDownLatch(nodes.size()));
+        for (Node node : nodes) {
+            if (node.dependencies.isEmpty()) {
+                run.ready.add(node);
+            }
+        }
+        run.schedule();
+        try {
+            run.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while initializing eager beans", e);
+        }
+        Throwable error = run.failure.get();
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (error instanceof Error e) {
+            throw e;
+        }
+    }
+
+    /**
+     * The state of the concurrent phase. At most {@link #parallelism} workers take the beans
+     * whose dependencies are ready from the queue.
+     */
+    private final class Run {
+        final Executor executor;
+        final ClassLoader classLoader;
+        final CountDownLatch done;
+        final Queue<Node> ready = new ConcurrentLinkedQueue<>();
+        final AtomicInteger workers = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Run(Executor executor, ClassLoader classLoader, CountDownLatch done) {
+            this.executor = executor;
+            this.classLoader = classLoader;
+            this.done = done;
+        }
+
+        void schedule() {
+            while (!ready.isEmpty()) {
+                int current = workers.get();
+                if (current >= parallelism) {
+                    return;
+                }
+                if (workers.compareAndSet(current, current + 1)) {
+                    try {
+                        executor.execute(this::work);
+                    } catch (RejectedExecutionException e) {
+                        work();
+                    }
+                }
+            }
+        }
+
+        private void work() {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                Node node;
+                while ((node = ready.poll()) != null) {
+                    initialize(node);
+                }
+            } finally {
+                thread.setContextClassLoader(previous);
+                workers.decrementAndGet();
+            }
+            // a bean may have become ready after the queue was found empty
+            schedule();
+        }
+
+        private void initialize(Node node) {
+            try {
+                if (failure.get() == null) {
+                    // beans whose dependencies failed are skipped, the first failure is rethrown
+                    node.run(initializer);
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                boolean added = false;
+                for (Node dependent : node.dependents) {
+                    if (dependent.pending.decrementAndGet() == 0) {
+                        ready.add(dependent);
+                        added = true;
+                    }
+                }
+                done.countDown();
+                if (added) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    private static String criticalPath(List<Node> nodes) {
+        Node end = null;
+        for (Node node : nodes) {
+            if (end == null || node.chainNanos() > end.chainNanos()) {
+                end = node;
+            }
+        }
+        if (end == null) {
+            return "none";
+        }
+        Deque<Node> path = new ArrayDeque<>();
+        for (Node node = end; node != null; node = node.slowestDependency()) {
+            path.addFirst(node);
+        }
+        StringBuilder builder = new StringBuilder()
+            .append(TimeUnit.NANOSECONDS.toMillis(end.chainNanos()))
+            .append("ms");
+        String separator = " (";
+        for (Node node : path) {
+            builder.append(separator)
+                .append(node.definition.getBeanType().getName())
+                .append(' ')
+                .append(TimeUnit.NANOSECONDS.toMillis(node.durationNanos))
+                .append("ms");
+            separator = " -> ";
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * An eager bean in the dependency graph.
+     */
+    private static final class Node {
+        final BeanDefinition<Object> definition;
+        final Set<Node> dependencies = new LinkedHashSet<>();
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger pending = new AtomicInteger();
+        int index;
+        volatile long durationNanos;
+        private long chainNanos = -1;
+
+        Node(BeanDefinition<Object> definition) {
+            this.definition = definition;
+        }
+
+        void run(Consumer<BeanDefinition<Object>> initializer) {
+            long start = System.nanoTime();
+            try {
+                initializer.accept(definition);
+            } finally {
+                durationNanos = System.nanoTime() - start;
+            }
+        }
+
+        /**
+         * @return The time from the start of the concurrent phase until this bean could be
+         * initialized if there were enough threads
+         */
+        long chainNanos() {
+            if (chainNanos == -1) {
+                Node slowest = slowestDependency();
+                chainNanos = durationNanos + (slowest == null ? 0 : slowest.chainNanos());
+            }
+            return chainNanos;
+        }
+
+        @Nullable
+        Node slowestDependency() {
+            Node slowest = null;
+            for (Node dependency : dependencies) {
+                if (slowest == null || dependency.chainNanos() > slowest.chainNanos()) {
+                    slowest = dependency;
+                }
+            }
+            return slowest;
+        }
+    }
+}
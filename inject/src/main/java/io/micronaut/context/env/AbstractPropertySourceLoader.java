@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.helpers.NOPLogger;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
@@ -118,6 +119,20 @@ public abstract class AbstractPropertySourceLoader implements PropertySourceLoad
 
     @Override
     public Map<String, Object> read(String name, InputStream input) throws IOException {
+        PropertySourceCache cache = PropertySourceCache.configured();
+        if (cache != null) {
+            byte[] content = input.readAllBytes();
+            String key = PropertySourceCache.key(getClass().getName(), content);
+            Map<String, Object> cached = cache.read(key);
+            if (cached != null) {
+                log.debug("Read cached properties for: {}", name);
+                return cached;
+            }
+            Map<String, Object> finalMap = new LinkedHashMap<>();
+            processInput(name, new ByteArrayInputStream(content), finalMap);
+            cache.write(key, finalMap);
+            return finalMap;
+        }
         Map<String, Object> finalMap = new LinkedHashMap<>();
         processInput(name, input, finalMap);
         return finalMap;
@@ -61,10 +61,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -320,6 +323,11 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         return mutableConversionService.canConvert(sourceType, targetType);
     }
 
+    @Override
+    public boolean isCharSequenceConverterAdded(Class<?> targetType) {
+        return mutableConversionService.isCharSequenceConverterAdded(targetType);
+    }
+
     @Override
     public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, TypeConverter<S, T> typeConverter) {
         mutableConversionService.addConverter(sourceType, targetType, typeConverter);
@@ -535,7 +543,7 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
      * @return The list of property sources
      */
     protected List<PropertySource> readPropertySourceList(String name) {
-        List<PropertySource> propertySources = new ArrayList<>();
+        List<Supplier<Optional<PropertySource>>> loads = new ArrayList<>();
         for (String configLocation : configLocations) {
             ResourceLoader resourceLoader;
             if (configLocation.equals("classpath:/")) {
@@ -553,23 +561,49 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
             } else {
                 throw new ConfigurationException("Unsupported config location format: " + configLocation);
             }
-            readPropertySourceList(name, resourceLoader, propertySources);
+            readPropertySourceList(name, resourceLoader, loads);
         }
-        return propertySources;
+        return loadPropertySources(loads);
     }
 
-    private void readPropertySourceList(String name, ResourceLoader resourceLoader, List<PropertySource> propertySources) {
+    private void readPropertySourceList(String name, ResourceLoader resourceLoader, List<Supplier<Optional<PropertySource>>> loads) {
         Collection<PropertySourceLoader> propertySourceLoaders = getPropertySourceLoaders();
         if (propertySourceLoaders.isEmpty()) {
-            loadPropertySourceFromLoader(name, new PropertiesPropertySourceLoader(), propertySources, resourceLoader);
+            loadPropertySourceFromLoader(name, new PropertiesPropertySourceLoader(), loads, resourceLoader);
         } else {
             for (PropertySourceLoader propertySourceLoader : propertySourceLoaders) {
                 log.debug("Reading property sources from loader: {}", propertySourceLoader);
-                loadPropertySourceFromLoader(name, propertySourceLoader, propertySources, resourceLoader);
+                loadPropertySourceFromLoader(name, propertySourceLoader, loads, resourceLoader);
             }
         }
     }
 
+    private List<PropertySource> loadPropertySources(List<Supplier<Optional<PropertySource>>> loads) {
+        List<PropertySource> propertySources = new ArrayList<>(loads.size());
+        if (configuration.isParallelPropertySourceLoading() && loads.size() > 1) {
+            // read concurrently but add in order, so that the result is the same as sequential reads
+            List<CompletableFuture<Optional<PropertySource>>> futures = new ArrayList<>(loads.size());
+            for (Supplier<Optional<PropertySource>> load : loads) {
+                futures.add(CompletableFuture.supplyAsync(load));
+            }
+            for (CompletableFuture<Optional<PropertySource>> future : futures) {
+                try {
+                    future.join().ifPresent(propertySources::add);
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw e;
+                }
+            }
+        } else {
+            for (Supplier<Optional<PropertySource>> load : loads) {
+                load.get().ifPresent(propertySources::add);
+            }
+        }
+        return propertySources;
+    }
+
     /**
      * Adds default property sources.
      *
@@ -630,14 +664,13 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         return allLoaders;
     }
 
-    private void loadPropertySourceFromLoader(String name, PropertySourceLoader propertySourceLoader, List<PropertySource> propertySources, ResourceLoader resourceLoader) {
-        Optional<PropertySource> defaultPropertySource = propertySourceLoader.load(name, resourceLoader);
-        defaultPropertySource.ifPresent(propertySources::add);
+    private void loadPropertySourceFromLoader(String name, PropertySourceLoader propertySourceLoader, List<Supplier<Optional<PropertySource>>> loads, ResourceLoader resourceLoader) {
+        loads.add(() -> propertySourceLoader.load(name, resourceLoader));
         Set<String> activeNames = getActiveNames();
         int i = 0;
         for (String activeName: activeNames) {
-            Optional<PropertySource> propertySource = propertySourceLoader.loadEnv(name, resourceLoader, ActiveEnvironment.of(activeName, i));
-            propertySource.ifPresent(propertySources::add);
+            ActiveEnvironment activeEnvironment = ActiveEnvironment.of(activeName, i);
+            loads.add(() -> propertySourceLoader.loadEnv(name, resourceLoader, activeEnvironment));
             i++;
         }
     }
@@ -185,6 +185,14 @@ public interface Environment extends PropertyResolver, LifeCycle<Environment>, M
      */
     String PROPERTY_SOURCES_KEY = "micronaut.config.files";
 
+    /**
+     * The key of the directory used to cache the properties read from configuration files,
+     * also read from the {@code MICRONAUT_CONFIG_CACHE} environment variable.
+     *
+     * @since 4.7.0
+     */
+    String PROPERTY_SOURCES_CACHE_KEY = "micronaut.config.cache";
+
     /**
      * The host name environment variable.
      */
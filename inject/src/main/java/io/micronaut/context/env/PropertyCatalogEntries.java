@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.env;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * The entries of a property catalog that start with the same letter, in the order they were added.
+ *
+ * <p>Keeps a sorted index of the keys, built on the first prefix query after the keys changed, so
+ * that the entries under a prefix are found with a binary search instead of testing every key,
+ * and memoizes the values with resolved placeholders.</p>
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class PropertyCatalogEntries extends LinkedHashMap<String, Object> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient volatile KeyIndex index;
+    private final transient Map<String, Object> resolvedValues = new ConcurrentHashMap<>();
+
+    /**
+     * @param initialCapacity The initial capacity
+     */
+    PropertyCatalogEntries(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        invalidate();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        invalidate();
+        super.putAll(m);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        invalidate();
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+        super.clear();
+    }
+
+    /**
+     * Forget the resolved placeholders, for example because a property they refer to changed.
+     */
+    void clearResolvedValues() {
+        resolvedValues.clear();
+    }
+
+    /**
+     * @param key      The key
+     * @param value    The value of the key
+     * @param resolver Resolves the placeholders of the value
+     * @return The value with resolved placeholders, resolved once per key
+     */
+    Object resolveValue(String key, Object value, UnaryOperator<Object> resolver) {
+        Object resolved = resolvedValues.get(key);
+        if (resolved == null) {
+            resolved = resolver.apply(value);
+            if (resolved != null) {
+                resolvedValues.put(key, resolved);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * @param prefix The prefix
+     * @return Whether any key starts with the prefix
+     */
+    boolean hasKeysWithPrefix(String prefix) {
+        String[] sorted = index().sorted;
+        int from = lowerBound(sorted, prefix);
+        return from < sorted.length && sorted[from].startsWith(prefix);
+    }
+
+    /**
+     * @param prefix The prefix
+     * @return The keys that start with the prefix, in the order they were added
+     */
+    @NonNull
+    List<String> keysWithPrefix(String prefix) {
+        KeyIndex keyIndex = index();
+        String[] sorted = keyIndex.sorted;
+        int from = lowerBound(sorted, prefix);
+        int to = from;
+        while (to < sorted.length && sorted[to].startsWith(prefix)) {
+            to++;
+        }
+        if (from == to) {
+            return List.of();
+        }
+        int[] positions = Arrays.copyOfRange(keyIndex.positions, from, to);
+        Arrays.sort(positions);
+        List<String> keys = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            keys.add(keyIndex.inOrder[position]);
+        }
+        return keys;
+    }
+
+    private void invalidate() {
+        index = null;
+        resolvedValues.clear();
+    }
+
+    private KeyIndex index() {
+        KeyIndex keyIndex = index;
+        if (keyIndex == null || keyIndex.inOrder.length != size()) {
+            String[] inOrder = keySet().toArray(new String[0]);
+            Integer[] byKey = new Integer[inOrder.length];
+            for (int i = 0; i < byKey.length; i++) {
+                byKey[i] = i;
+            }
+            Arrays.sort(byKey, Comparator.comparing(i -> inOrder[i]));
+            String[] sorted = new String[inOrder.length];
+            int[] positions = new int[inOrder.length];
+            for (int i = 0; i < byKey.length; i++) {
+                positions[i] = byKey[i];
+                sorted[i] = inOrder[byKey[i]];
+            }
+            keyIndex = new KeyIndex(inOrder, sorted, positions);
+            index = keyIndex;
+        }
+        return keyIndex;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int i = Arrays.binarySearch(sorted, key);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * @param inOrder   The keys in the order they were added
+     * @param sorted    The keys in natural order
+     * @param positions The position in {@code inOrder} of each key in {@code sorted}
+     */
+    private record KeyIndex(String[] inOrder, String[] sorted, int[] positions) {
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.env;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An on-disk cache of the properties read from configuration files, keyed by the hash of the
+ * loader and the file content so that a changed file is read again.
+ *
+ * <p>The properties are stored in a compact binary format. Properties with values other than
+ * strings, numbers, booleans, lists and maps are not cached.</p>
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class PropertySourceCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertySourceCache.class);
+    private static final int MAGIC = 0x4D4E5043;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".bin";
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte BIG_INTEGER = 7;
+    private static final byte BIG_DECIMAL = 8;
+    private static final byte LIST = 9;
+    private static final byte MAP = 10;
+
+    private final Path directory;
+
+    private PropertySourceCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The cache configured with {@link Environment#PROPERTY_SOURCES_CACHE_KEY} or {@code null}
+     */
+    @Nullable
+    static PropertySourceCache configured() {
+        String directory = CachedEnvironment.getProperty(Environment.PROPERTY_SOURCES_CACHE_KEY);
+        if (StringUtils.isEmpty(directory)) {
+            directory = CachedEnvironment.getenv(StringUtils.convertDotToUnderscore(Environment.PROPERTY_SOURCES_CACHE_KEY));
+        }
+        return StringUtils.isNotEmpty(directory) ? new PropertySourceCache(Paths.get(directory)) : null;
+    }
+
+    /**
+     * @param loader  The name of the loader
+     * @param content The content of the file
+     * @return The key of the properties read from the content
+     */
+    @NonNull
+    static String key(String loader, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(loader.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The cached properties or {@code null} if they are not cached or cannot be read
+     */
+    @Nullable
+    Map<String, Object> read(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        try {
+            ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (input.getInt() != MAGIC || input.getInt() != VERSION) {
+                return null;
+            }
+            // a key and a value take at least 5 bytes
+            int size = readLength(input, 5);
+            Map<String, Object> properties = new LinkedHashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                properties.put(readString(input), readValue(input));
+            }
+            return properties;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Ignoring unreadable cached properties {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Caches the properties, unless they contain values that cannot be stored.
+     *
+     * @param key        The key
+     * @param properties The properties
+     */
+    void write(String key, Map<String, Object> properties) {
+        Path file = directory.resolve(key + EXTENSION);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(properties.size());
+                for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                    writeString(output, entry.getKey());
+                    writeValue(output, entry.getValue());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Not caching properties in {}: {}", file, e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static Object readValue(ByteBuffer input) throws IOException {
+        byte type = input.get();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> readString(input);
+            case INTEGER -> input.getInt();
+            case LONG -> input.getLong();
+            case DOUBLE -> input.getDouble();
+            case FLOAT -> input.getFloat();
+            case BOOLEAN -> input.get() != 0;
+            case BIG_INTEGER -> new BigInteger(readString(input));
+            case BIG_DECIMAL -> new BigDecimal(readString(input));
+            case LIST -> {
+                int size = readLength(input, 1);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(input));
+                }
+                yield list;
+            }
+            case MAP -> {
+                int size = readLength(input, 2);
+                Map<Object, Object> map = new LinkedHashMap<>(size * 4 / 3 + 1);
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(input), readValue(input));
+                }
+                yield map;
+            }
+            default -> throw new IOException("Unknown value type: " + type);
+        };
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String string) {
+            output.writeByte(STRING);
+            writeString(output, string);
+        } else if (value instanceof Integer integer) {
+            output.writeByte(INTEGER);
+            output.writeInt(integer);
+        } else if (value instanceof Long l) {
+            output.writeByte(LONG);
+            output.writeLong(l);
+        } else if (value instanceof Double d) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(d);
+        } else if (value instanceof Float f) {
+            output.writeByte(FLOAT);
+            output.writeFloat(f);
+        } else if (value instanceof Boolean b) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean(b);
+        } else if (value instanceof BigInteger bigInteger) {
+            output.writeByte(BIG_INTEGER);
+            writeString(output, bigInteger.toString());
+        } else if (value instanceof BigDecimal bigDecimal) {
+            output.writeByte(BIG_DECIMAL);
+            writeString(output, bigDecimal.toString());
+        } else if (value instanceof List<?> list) {
+            output.writeByte(LIST);
+            output.writeInt(list.size());
+            for (Object item : list) {
+                writeValue(output, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            output.writeByte(MAP);
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(output, entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+        }
+    }
+
+    private static String readString(ByteBuffer input) throws IOException {
+        byte[] bytes = new byte[readLength(input, 1)];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length or count, checking it against the bytes left so that a corrupt file
+     * cannot cause a huge allocation.
+     *
+     * @param input          The input
+     * @param minElementSize The minimum number of bytes of each element
+     * @return The length
+     * @throws IOException If the length is negative or exceeds the bytes left
+     */
+    private static int readLength(ByteBuffer input, int minElementSize) throws IOException {
+        int length = input.getInt();
+        if (length < 0 || length > input.remaining() / minElementSize) {
+            throw new IOException("Invalid length " + length + " with " + input.remaining() + " bytes left");
+        }
+        return length;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -199,10 +199,16 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                     return true;
                 } else {
                     String finalName = name + ".";
-                    for (String key : entries.keySet()) {
-                        if (key.startsWith(finalName)) {
+                    if (entries instanceof PropertyCatalogEntries catalogEntries) {
+                        if (catalogEntries.hasKeysWithPrefix(finalName)) {
                             return true;
                         }
+                    } else {
+                        for (String key : entries.keySet()) {
+                            if (key.startsWith(finalName)) {
+                                return true;
+                            }
+                        }
                     }
                 }
             }
@@ -221,20 +227,18 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             return Collections.emptySet();
         }
         String prefix = name + '.';
-        Set<String> strings = entries.keySet();
+        Collection<String> strings = keysWithPrefix(entries, prefix);
         Set<String> result = CollectionUtils.newHashSet(strings.size());
         for (String k : strings) {
-            if (k.startsWith(prefix)) {
-                String withoutPrefix = k.substring(prefix.length());
-                int i = withoutPrefix.indexOf('.');
-                String s;
-                if (i > -1) {
-                    s = withoutPrefix.substring(0, i);
-                } else {
-                    s = withoutPrefix;
-                }
-                result.add(s);
+            String withoutPrefix = k.substring(prefix.length());
+            int i = withoutPrefix.indexOf('.');
+            String s;
+            if (i > -1) {
+                s = withoutPrefix.substring(0, i);
+            } else {
+                s = withoutPrefix;
             }
+            result.add(s);
         }
         return result;
     }
@@ -491,16 +495,14 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             entries = resolveEntriesForKey(name, false, PropertyCatalog.RAW);
         }
         String prefix = name + '.';
-        entries.entrySet().stream()
-            .filter(map -> map.getKey().startsWith(prefix))
-            .forEach(entry -> {
-                Object value = entry.getValue();
-                if (value != null) {
-                    String key = entry.getKey().substring(prefix.length());
-                    key = keyConvention != null ? keyConvention.format(key) : key;
-                    properties.put(key, resolvePlaceHoldersIfNecessary(value.toString()));
-                }
-            });
+        for (String entryKey : keysWithPrefix(entries, prefix)) {
+            Object value = entries.get(entryKey);
+            if (value != null) {
+                String key = entryKey.substring(prefix.length());
+                key = keyConvention != null ? keyConvention.format(key) : key;
+                properties.put(key, resolvePlaceHoldersIfNecessary(value.toString()));
+            }
+        }
 
         return properties;
     }
@@ -545,33 +547,30 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             MapFormat.MapTransformation transformation) {
         final Argument<?> valueType = conversionContext.getTypeVariable("V").orElse(Argument.OBJECT_ARGUMENT);
         boolean valueTypeIsList = List.class.isAssignableFrom(valueType.getType());
-        Map<String, Object> subMap = CollectionUtils.newLinkedHashMap(entries.size());
-
         String prefix = name + '.';
-        for (Map.Entry<String, Object> entry : entries.entrySet()) {
-            final String key = entry.getKey();
+        Collection<String> keys = keysWithPrefix(entries, prefix);
+        Map<String, Object> subMap = CollectionUtils.newLinkedHashMap(keys.size());
 
+        for (String key : keys) {
             if (valueTypeIsList && key.contains("[") && key.endsWith("]")) {
                 continue;
             }
 
-            if (key.startsWith(prefix)) {
-                String subMapKey = key.substring(prefix.length());
+            String subMapKey = key.substring(prefix.length());
 
-                Object value = resolvePlaceHoldersIfNecessary(entry.getValue());
+            Object value = resolvePlaceHoldersIfNecessary(entries, key, entries.get(key));
 
-                if (transformation == MapFormat.MapTransformation.FLAT) {
-                    subMapKey = keyConvention != null ? keyConvention.format(subMapKey) : subMapKey;
-                    value = conversionService.convert(value, valueType).orElse(null);
-                    subMap.put(subMapKey, value);
-                } else {
-                    processSubmapKey(
-                            subMap,
-                            subMapKey,
-                            value,
-                            keyConvention
-                    );
-                }
+            if (transformation == MapFormat.MapTransformation.FLAT) {
+                subMapKey = keyConvention != null ? keyConvention.format(subMapKey) : subMapKey;
+                value = conversionService.convert(value, valueType).orElse(null);
+                subMap.put(subMapKey, value);
+            } else {
+                processSubmapKey(
+                        subMap,
+                        subMapKey,
+                        value,
+                        keyConvention
+                );
             }
         }
         return subMap;
@@ -632,6 +631,8 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
                     rawEntries.put(property, value);
                 }
             }
+            // placeholders may refer to the new values
+            clearResolvedValues();
         }
     }
 
@@ -732,7 +733,7 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
             if (index < catalog.length && index >= 0) {
                 entries = catalog[index];
                 if (allowCreate && entries == null) {
-                    entries = new LinkedHashMap<>(5);
+                    entries = new PropertyCatalogEntries(5);
                     catalog[index] = entries;
                 }
             }
@@ -756,6 +757,30 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
         containsCache.clear();
         resolvedValueCache.clear();
         placeholderResolutionCache.clear();
+        clearResolvedValues();
+    }
+
+    private void clearResolvedValues() {
+        for (Map<String, Object>[] entriesByLetter : List.of(catalog, rawCatalog, nonGenerated)) {
+            for (Map<String, Object> entries : entriesByLetter) {
+                if (entries instanceof PropertyCatalogEntries catalogEntries) {
+                    catalogEntries.clearResolvedValues();
+                }
+            }
+        }
+    }
+
+    private static Collection<String> keysWithPrefix(Map<String, Object> entries, String prefix) {
+        if (entries instanceof PropertyCatalogEntries catalogEntries) {
+            return catalogEntries.keysWithPrefix(prefix);
+        }
+        List<String> keys = new ArrayList<>();
+        for (String key : entries.keySet()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+        return keys;
     }
 
     private void processSubmapKey(Map<String, Object> map, String key, Object value, @Nullable StringConvention keyConvention) {
@@ -786,9 +811,21 @@ public class PropertySourcePropertyResolver implements PropertyResolver, AutoClo
         return name.replace('-', '.');
     }
 
+    private Object resolvePlaceHoldersIfNecessary(Map<String, Object> entries, String key, Object value) {
+        if (value instanceof CharSequence && entries instanceof PropertyCatalogEntries catalogEntries) {
+            // resolved once per key, like placeholderResolutionCache does for getProperty
+            return catalogEntries.resolveValue(key, value, this::resolvePlaceHoldersIfNecessary);
+        }
+        return resolvePlaceHoldersIfNecessary(value);
+    }
+
     private Object resolvePlaceHoldersIfNecessary(Object value) {
         if (value instanceof CharSequence) {
-            return propertyPlaceholderResolver.resolveRequiredPlaceholdersObject(value.toString());
+            String str = value.toString();
+            if (str.indexOf(propertyPlaceholderResolver.getPrefix()) == -1) {
+                return str;
+            }
+            return propertyPlaceholderResolver.resolveRequiredPlaceholdersObject(str);
         } else if (value instanceof List<?> list) {
             List<?> newList = new ArrayList<>(list);
             final ListIterator i = newList.listIterator();
@@ -27,6 +27,7 @@ import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.type.ArgumentCoercible;
 import io.micronaut.core.util.SupplierUtil;
+import io.micronaut.core.value.PropertyResolver;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanDefinitionReference;
 import io.micronaut.inject.InjectionPoint;
@@ -36,6 +37,7 @@ import io.micronaut.inject.qualifiers.Qualifiers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -59,11 +61,24 @@ public final class ApplicationEventPublisherFactory<T>
         implements InstantiatableBeanDefinition<ApplicationEventPublisher<T>>,
                    BeanDefinitionReference<ApplicationEventPublisher<T>> {
 
+    /**
+     * The prefix of the properties that configure the batching of events published asynchronously.
+     *
+     * @since 4.7.0
+     */
+    public static final String BATCHING_PREFIX = "micronaut.event-publisher.batching";
+
     private static final Argument<Object> TYPE_VARIABLE = Argument.ofTypeVariable(Object.class, "T");
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final String DEFAULT_EXECUTOR = "scheduled";
     private final AnnotationMetadata annotationMetadata;
     private ApplicationEventPublisher applicationObjectEventPublisher;
     private final Map<Argument, Supplier<ApplicationEventPublisher>> publishers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ApplicationEventPublisher> publishersByEventClass = new ConcurrentHashMap<>();
+    private final Map<Argument<?>, BatchingEventDispatcher> dispatchers = new ConcurrentHashMap<>();
     private Supplier<Executor> executorSupplier;
+    private Supplier<BatchingEventDispatcher.BatchingConfiguration> batchingSupplier;
 
     public ApplicationEventPublisherFactory() {
         MutableAnnotationMetadata metadata = new MutableAnnotationMetadata();
@@ -136,8 +151,9 @@ public final class ApplicationEventPublisherFactory<T>
     public ApplicationEventPublisher<T> instantiate(BeanResolutionContext resolutionContext, BeanContext context) throws BeanInstantiationException {
         if (executorSupplier == null) {
             executorSupplier = SupplierUtil.memoized(() ->
-                 context.findBean(Executor.class, Qualifiers.byName("scheduled")).orElseGet(ForkJoinPool::commonPool)
+                 context.findBean(Executor.class, Qualifiers.byName(DEFAULT_EXECUTOR)).orElseGet(ForkJoinPool::commonPool)
             );
+            batchingSupplier = SupplierUtil.memoized(() -> resolveBatchingConfiguration(context));
         }
         Argument<?> eventType = Argument.OBJECT_ARGUMENT;
         final BeanResolutionContext.Segment<?, ?> segment = resolutionContext.getPath().currentSegment().orElse(null);
@@ -191,20 +207,61 @@ public final class ApplicationEventPublisherFactory<T>
         return getClass().hashCode();
     }
 
+    /**
+     * @return The statistics of each event type published asynchronously with batching enabled
+     * @since 4.7.0
+     */
+    @NonNull
+    public List<EventPublisherStatistics> getStatistics() {
+        List<EventPublisherStatistics> statistics = new ArrayList<>(dispatchers.size());
+        for (BatchingEventDispatcher dispatcher : dispatchers.values()) {
+            statistics.add(dispatcher.getStatistics());
+        }
+        return statistics;
+    }
+
+    private static BatchingEventDispatcher.BatchingConfiguration resolveBatchingConfiguration(BeanContext context) {
+        if (!(context instanceof PropertyResolver propertyResolver)
+            || !propertyResolver.getProperty(BATCHING_PREFIX + ".enabled", Boolean.class).orElse(false)) {
+            return null;
+        }
+        return new BatchingEventDispatcher.BatchingConfiguration(
+            propertyResolver.getProperty(BATCHING_PREFIX + ".buffer-size", Integer.class).orElse(DEFAULT_BUFFER_SIZE),
+            propertyResolver.getProperty(BATCHING_PREFIX + ".batch-size", Integer.class).orElse(DEFAULT_BATCH_SIZE),
+            propertyResolver.getProperty(BATCHING_PREFIX + ".backpressure", EventPublisherBackpressure.class).orElse(EventPublisherBackpressure.BLOCK),
+            propertyResolver.getProperty(BATCHING_PREFIX + ".executor", String.class).orElse(DEFAULT_EXECUTOR)
+        );
+    }
+
+    private BatchingEventDispatcher createDispatcher(Argument<?> eventType, BatchingEventDispatcher.BatchingConfiguration configuration,
+                                                     BeanContext beanContext, Supplier<ApplicationEventListener[]> listeners) {
+        Executor executor = DEFAULT_EXECUTOR.equals(configuration.executor()) ? executorSupplier.get()
+            : beanContext.findBean(Executor.class, Qualifiers.byName(configuration.executor())).orElseGet(executorSupplier);
+        return new BatchingEventDispatcher(eventType.getTypeName(), configuration, executor, event -> notifyEventListeners(event, listeners.get()));
+    }
+
     private ApplicationEventPublisher<Object> createObjectEventPublisher(BeanContext beanContext) {
         return new ApplicationEventPublisher<>() {
             @Override
             public void publishEvent(Object event) {
-                getTypedEventPublisher(Argument.of(event.getClass()), beanContext).publishEvent(event);
+                getEventClassPublisher(event.getClass(), beanContext).publishEvent(event);
             }
 
             @Override
             public Future<Void> publishEventAsync(Object event) {
-                return getTypedEventPublisher(Argument.of(event.getClass()), beanContext).publishEventAsync(event);
+                return getEventClassPublisher(event.getClass(), beanContext).publishEventAsync(event);
             }
         };
     }
 
+    private ApplicationEventPublisher getEventClassPublisher(Class<?> eventClass, BeanContext beanContext) {
+        ApplicationEventPublisher publisher = publishersByEventClass.get(eventClass);
+        if (publisher == null) {
+            publisher = publishersByEventClass.computeIfAbsent(eventClass, type -> getTypedEventPublisher(Argument.of(type), beanContext));
+        }
+        return publisher;
+    }
+
     private ApplicationEventPublisher getTypedEventPublisher(Argument eventType, BeanContext beanContext) {
         return publishers.computeIfAbsent(eventType, argument -> SupplierUtil.memoized(() -> createEventPublisher(argument, beanContext))).get();
     }
@@ -217,6 +274,12 @@ public final class ApplicationEventPublisherFactory<T>
                 .sorted(OrderUtil.COMPARATOR)
                 .toArray(ApplicationEventListener[]::new));
 
+            private final Supplier<BatchingEventDispatcher> lazyDispatcher = SupplierUtil.memoized(() -> {
+                BatchingEventDispatcher.BatchingConfiguration configuration = batchingSupplier.get();
+                return configuration == null ? null
+                    : dispatchers.computeIfAbsent(eventType, type -> createDispatcher(type, configuration, beanContext, lazyListeners));
+            });
+
             @Override
             public void publishEvent(Object event) {
                 if (event != null) {
@@ -230,6 +293,10 @@ public final class ApplicationEventPublisherFactory<T>
             @Override
             public Future<Void> publishEventAsync(Object event) {
                 Objects.requireNonNull(event, "Event cannot be null");
+                BatchingEventDispatcher dispatcher = lazyDispatcher.get();
+                if (dispatcher != null) {
+                    return dispatcher.dispatch(event);
+                }
                 CompletableFuture<Void> future = new CompletableFuture<>();
                 ApplicationEventListener[] eventListeners = lazyListeners.get();
                 executorSupplier.get().execute(() -> {
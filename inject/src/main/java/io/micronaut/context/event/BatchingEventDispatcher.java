@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.event;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches the events of one type published asynchronously. The events are buffered in a
+ * bounded ring buffer and a single task at a time notifies the listeners of up to a batch of
+ * events, instead of submitting a task per event.
+ *
+ * @since 4.7.0
+ */
+@Internal
+final class BatchingEventDispatcher {
+
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private final String eventType;
+    private final MpscRingBuffer<PendingEvent> buffer;
+    private final int batchSize;
+    private final EventPublisherBackpressure backpressure;
+    private final Executor executor;
+    private final Consumer<Object> listeners;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+    private volatile Thread drainingThread;
+
+    /**
+     * @param eventType     The event type
+     * @param configuration The batching configuration
+     * @param executor      The executor that notifies the listeners
+     * @param listeners     Notifies the listeners of an event
+     */
+    BatchingEventDispatcher(String eventType, BatchingConfiguration configuration, Executor executor, Consumer<Object> listeners) {
+        this.eventType = eventType;
+        this.buffer = new MpscRingBuffer<>(configuration.bufferSize());
+        this.batchSize = Math.max(1, configuration.batchSize());
+        this.backpressure = configuration.backpressure();
+        this.executor = executor;
+        this.listeners = listeners;
+    }
+
+    /**
+     * @param event The event
+     * @return A future that completes once the listeners were notified
+     */
+    CompletableFuture<Void> dispatch(Object event) {
+        PendingEvent pending = new PendingEvent(event, new CompletableFuture<>(), System.nanoTime());
+        if (!buffer.offer(pending)) {
+            if (backpressure == EventPublisherBackpressure.DROP) {
+                dropped.increment();
+                pending.future.completeExceptionally(new RejectedExecutionException("The event buffer for " + eventType + " is full"));
+                return pending.future;
+            }
+            if (backpressure == EventPublisherBackpressure.CALLER_RUNS || Thread.currentThread() == drainingThread) {
+                // waiting on the thread that drains the buffer would never end
+                notify(pending);
+                return pending.future;
+            }
+            do {
+                scheduleDrain();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            } while (!buffer.offer(pending));
+        }
+        scheduleDrain();
+        return pending.future;
+    }
+
+    /**
+     * @return The statistics
+     */
+    EventPublisherStatistics getStatistics() {
+        return new EventPublisherStatistics(
+            eventType,
+            buffer.size(),
+            buffer.capacity(),
+            dispatched.sum(),
+            dropped.sum(),
+            totalLatency.sum(),
+            maxLatency.get()
+        );
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drain();
+            }
+        }
+    }
+
+    private void drain() {
+        drainingThread = Thread.currentThread();
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                PendingEvent pending = buffer.poll();
+                if (pending == null) {
+                    break;
+                }
+                notify(pending);
+            }
+        } finally {
+            drainingThread = null;
+            draining.set(false);
+        }
+        if (!buffer.isEmpty()) {
+            // let other tasks of the executor run between batches
+            scheduleDrain();
+        }
+    }
+
+    private void notify(PendingEvent pending) {
+        Throwable failure = null;
+        try {
+            listeners.accept(pending.event);
+        } catch (Throwable e) {
+            // an error must not leave the future incomplete or stop the drain of the batch
+            failure = e;
+        }
+        long latency = System.nanoTime() - pending.publishedAt;
+        dispatched.increment();
+        totalLatency.add(latency);
+        maxLatency.accumulate(latency);
+        if (failure == null) {
+            pending.future.complete(null);
+        } else {
+            pending.future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * The batching configuration.
+     *
+     * @param bufferSize   The capacity of the buffer of each event type
+     * @param batchSize    The maximum number of events dispatched by one task
+     * @param backpressure What to do when the buffer is full
+     * @param executor     The name of the executor
+     */
+    record BatchingConfiguration(int bufferSize, int batchSize, EventPublisherBackpressure backpressure, String executor) {
+    }
+
+    private record PendingEvent(Object event, CompletableFuture<Void> future, long publishedAt) {
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.event;
+
+/**
+ * What a batching {@link ApplicationEventPublisher} does with an event published asynchronously
+ * when the buffer of its event type is full.
+ *
+ * @since 4.7.0
+ */
+public enum EventPublisherBackpressure {
+
+    /**
+     * Wait until the buffer has room for the event.
+     */
+    BLOCK,
+
+    /**
+     * Drop the event, the returned future completes with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    DROP,
+
+    /**
+     * Notify the listeners on the publishing thread.
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.event;
+
+/**
+ * Statistics of the asynchronous dispatch of an event type by a batching
+ * {@link ApplicationEventPublisher}.
+ *
+ * @param eventType                  The event type
+ * @param queueDepth                 The number of events waiting to be dispatched
+ * @param capacity                   The capacity of the buffer
+ * @param dispatched                 The number of events dispatched
+ * @param dropped                    The number of events dropped because the buffer was full
+ * @param totalDispatchLatencyNanos  The sum of the times from publishing to notified listeners
+ * @param maxDispatchLatencyNanos    The longest time from publishing to notified listeners
+ * @since 4.7.0
+ */
+public record EventPublisherStatistics(String eventType,
+                                       int queueDepth,
+                                       int capacity,
+                                       long dispatched,
+                                       long dropped,
+                                       long totalDispatchLatencyNanos,
+                                       long maxDispatchLatencyNanos) {
+
+    /**
+     * @return The average time from publishing to notified listeners
+     */
+    public double averageDispatchLatencyNanos() {
+        return dispatched == 0 ? 0 : (double) totalDispatchLatencyNanos / dispatched;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The information about a {@link BeanDefinitionReference} that the bean context needs at startup,
+ * computed at compile time and stored in the service descriptor of the reference. It allows
+ * the context to index a bean by type without loading its bean definition class.
+ *
+ * @since 4.7.0
+ */
+@Internal
+public final class BeanDefinitionReferenceIndex {
+
+    public static final int CONTEXT_SCOPE = 1;
+    public static final int SINGLETON = 1 << 1;
+    public static final int CONFIGURATION_PROPERTIES = 1 << 2;
+    public static final int CONTAINER_TYPE = 1 << 3;
+    public static final int PROXIED_BEAN = 1 << 4;
+    public static final int PROXY_TARGET = 1 << 5;
+    public static final int REQUIRES_METHOD_PROCESSING = 1 << 6;
+
+    private static final int VERSION = 1;
+
+    private final int flags;
+    private final Set<String> types;
+    private final String[] indexedTypes;
+    @Nullable
+    private final String adapterType;
+    private final Set<String> annotations;
+    private final Set<String> declaredStereotypes;
+
+    /**
+     * @param flags               The flags, a combination of the constants of this class
+     * @param types               The names of the bean type and all its super types
+     * @param indexedTypes        The names of the {@link io.micronaut.core.annotation.Indexed} types
+     * @param adapterType         The name of the adapted type if the bean is an adapter
+     * @param annotations         The names of the annotations
+     * @param declaredStereotypes The names of the declared annotations and stereotypes
+     */
+    public BeanDefinitionReferenceIndex(int flags,
+                                        @NonNull Set<String> types,
+                                        @NonNull String[] indexedTypes,
+                                        @Nullable String adapterType,
+                                        @NonNull Set<String> annotations,
+                                        @NonNull Set<String> declaredStereotypes) {
+        this.flags = flags;
+        this.types = types;
+        this.indexedTypes = indexedTypes;
+        this.adapterType = adapterType;
+        this.annotations = annotations;
+        this.declaredStereotypes = declaredStereotypes;
+    }
+
+    /**
+     * @param flag The flag
+     * @return Whether the flag is set
+     */
+    public boolean is(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * @param typeName The type name
+     * @return Whether the bean type is the given type or a subtype of it
+     */
+    public boolean isAssignableTo(@NonNull String typeName) {
+        return types.contains(typeName);
+    }
+
+    /**
+     * @return The names of the {@link io.micronaut.core.annotation.Indexed} types
+     */
+    @NonNull
+    public String[] getIndexedTypes() {
+        return indexedTypes;
+    }
+
+    /**
+     * @return The name of the adapted type if the bean is an adapter
+     */
+    @Nullable
+    public String getAdapterType() {
+        return adapterType;
+    }
+
+    /**
+     * @param annotation The annotation name
+     * @return Whether the annotation is present
+     */
+    public boolean hasAnnotation(@NonNull String annotation) {
+        return annotations.contains(annotation);
+    }
+
+    /**
+     * @param annotation The annotation name
+     * @return Whether the annotation is declared or is a declared stereotype
+     */
+    public boolean hasDeclaredStereotype(@NonNull String annotation) {
+        return declaredStereotypes.contains(annotation);
+    }
+
+    /**
+     * @return The serialized form
+     */
+    @NonNull
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(flags);
+            writeStrings(out, types);
+            writeStrings(out, Arrays.asList(indexedTypes));
+            out.writeUTF(adapterType == null ? "" : adapterType);
+            writeStrings(out, annotations);
+            writeStrings(out, declaredStereotypes);
+        } catch (IOException e) {
+            // not possible with an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the serialized form.
+     *
+     * @param bytes The bytes written by {@link #toByteArray()}
+     * @return The index or {@code null} if it is missing or was written by an incompatible version
+     */
+    @Nullable
+    public static BeanDefinitionReferenceIndex read(@Nullable byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != VERSION) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            int flags = in.readInt();
+            Set<String> types = readStrings(in);
+            String[] indexedTypes = readStrings(in).toArray(String[]::new);
+            String adapterType = in.readUTF();
+            Set<String> annotations = readStrings(in);
+            Set<String> declaredStereotypes = readStrings(in);
+            return new BeanDefinitionReferenceIndex(
+                flags,
+                types,
+                indexedTypes,
+                adapterType.isEmpty() ? null : adapterType,
+                annotations,
+                declaredStereotypes
+            );
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+        out.writeShort(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static Set<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Set<String> strings = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+}
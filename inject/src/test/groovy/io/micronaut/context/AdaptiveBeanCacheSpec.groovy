@@ -0,0 +1,65 @@
+package io.micronaut.context
+
+import spock.lang.Specification
+
+class AdaptiveBeanCacheSpec extends Specification {
+
+    void "the cache starts at a quarter of the number of bean definitions"() {
+        given:
+        def cache = new AdaptiveBeanCache<Integer, String>("test")
+
+        expect:
+        cache.statistics.capacity() == AdaptiveBeanCache.MIN_CAPACITY
+
+        when:
+        cache.sizeTo(400)
+
+        then:
+        cache.statistics.capacity() == 100
+    }
+
+    void "the cache records hits, misses and evictions"() {
+        given:
+        def cache = new AdaptiveBeanCache<Integer, String>("test")
+
+        when:
+        cache.put(1, "one")
+        cache.get(1)
+        cache.get(2)
+        (10..<50).each { cache.put(it, it.toString()) }
+        def statistics = cache.statistics
+
+        then:
+        statistics.name() == "test"
+        statistics.hits() == 1
+        statistics.misses() == 1
+        statistics.hitRate() == 0.5d
+        statistics.evictions() == 11
+        statistics.size() == AdaptiveBeanCache.MIN_CAPACITY
+    }
+
+    void "the cache grows when it is thrashing"() {
+        given:
+        def cache = new AdaptiveBeanCache<Integer, String>("test")
+        cache.sizeTo(100)
+
+        when: 'a working set larger than the cache is looked up repeatedly'
+        10.times {
+            (0..<150).each {
+                if (cache.get(it) == null) {
+                    cache.put(it, it.toString())
+                }
+            }
+        }
+
+        then: 'the cache grows up to the limit for the number of definitions'
+        cache.statistics.capacity() == 200
+
+        when: 'the working set fits'
+        long hits = cache.statistics.hits()
+        (0..<150).each { cache.get(it) }
+
+        then:
+        cache.statistics.hits() == hits + 150
+    }
+}
@@ -531,6 +531,27 @@ class DefaultEnvironmentSpec extends Specification {
             applicationContext.stop()
     }
 
+    void "test parallel property source loading respects environment order"() {
+        when:
+            ApplicationContext applicationContext = ApplicationContext.builder()
+                    .overrideConfigLocations("file:./custom-config/", "classpath:custom-config/")
+                    .environments(environments as String[])
+                    .parallelPropertySourceLoading(true)
+                    .build()
+                    .start()
+
+        then:
+            applicationContext.getRequiredProperty("config.prop", String.class) == "file:./custom-config/application-${environments.last()}.yml"
+            applicationContext.getRequiredProperty("custom-config-classpath", String.class) == "xyz"
+            applicationContext.getRequiredProperty("custom-config-file", String.class) == environments.last()
+
+        cleanup:
+            applicationContext.stop()
+
+        where:
+            environments << [["env1", "env2"], ["env2", "env1"]]
+    }
+
     void "test custom config locations - envrionment variables take precedence"() {
         when:
             ApplicationContext applicationContext = SystemLambda.withEnvironmentVariable("CONFIG_PROP", "from-env").execute(() -> {
@@ -0,0 +1,108 @@
+package io.micronaut.context.env
+
+import io.micronaut.context.env.yaml.YamlPropertySourceLoader
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.environment.RestoreSystemProperties
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+@RestoreSystemProperties
+class PropertySourceCacheSpec extends Specification {
+
+    @TempDir
+    Path cacheDirectory
+
+    void "the properties read from a file are cached by content"() {
+        given:
+        System.setProperty(Environment.PROPERTY_SOURCES_CACHE_KEY, cacheDirectory.toString())
+        def loader = new YamlPropertySourceLoader()
+        def yaml = '''\
+datasources:
+  default:
+    url: jdbc:h2:mem:devDb
+    pool-size: 10
+    ratio: 0.5
+    big: 123456789012345678901234567890
+    enabled: true
+    hosts: [a, b]
+    options: {}
+    servers:
+      - name: one
+        port: 8080
+    empty: null
+'''
+
+        when:
+        def properties = loader.read("application", stream(yaml))
+
+        then:
+        Files.list(cacheDirectory).count() == 1
+
+        when:
+        def cached = PropertySourceCache.configured().read(PropertySourceCache.key(YamlPropertySourceLoader.name, yaml.getBytes(StandardCharsets.UTF_8)))
+
+        then:
+        cached == properties
+        cached['datasources.default.pool-size'] instanceof Integer
+        cached['datasources.default.big'] instanceof BigInteger
+        cached['datasources.default.servers'] == [[name: 'one', port: 8080]]
+        cached.containsKey('datasources.default.empty')
+        loader.read("application", stream(yaml)) == properties
+
+        when: 'the file changes'
+        def changed = loader.read("application", stream(yaml.replace('10', '20')))
+
+        then:
+        changed['datasources.default.pool-size'] == 20
+        Files.list(cacheDirectory).count() == 2
+    }
+
+    void "properties with values that cannot be stored are not cached"() {
+        given:
+        System.setProperty(Environment.PROPERTY_SOURCES_CACHE_KEY, cacheDirectory.toString())
+
+        when:
+        def properties = new YamlPropertySourceLoader().read("application", stream('released: 2024-01-01'))
+
+        then:
+        properties.released != null
+        Files.list(cacheDirectory).count() == 0
+    }
+
+    void "a corrupt cache entry is ignored"() {
+        given:
+        System.setProperty(Environment.PROPERTY_SOURCES_CACHE_KEY, cacheDirectory.toString())
+        def yaml = 'foo: bar'
+        Files.write(cacheDirectory.resolve(PropertySourceCache.key(YamlPropertySourceLoader.name, yaml.getBytes(StandardCharsets.UTF_8)) + ".bin"), [1, 2, 3] as byte[])
+
+        expect:
+        new YamlPropertySourceLoader().read("application", stream(yaml)) == [foo: 'bar']
+    }
+
+    void "a cache entry with a corrupt length is ignored"(int size, int length) {
+        given:
+        System.setProperty(Environment.PROPERTY_SOURCES_CACHE_KEY, cacheDirectory.toString())
+        def yaml = 'foo: bar'
+        def key = PropertySourceCache.key(YamlPropertySourceLoader.name, yaml.getBytes(StandardCharsets.UTF_8))
+        def entry = ByteBuffer.allocate(20).putInt(0x4D4E5043).putInt(1).putInt(size).putInt(length).putInt(0)
+        Files.write(cacheDirectory.resolve(key + ".bin"), entry.array())
+
+        expect:
+        PropertySourceCache.configured().read(key) == null
+        new YamlPropertySourceLoader().read("application", stream(yaml)) == [foo: 'bar']
+
+        where:
+        size              | length
+        Integer.MAX_VALUE | 1
+        1                 | Integer.MAX_VALUE
+        1                 | -1
+    }
+
+    private static InputStream stream(String content) {
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))
+    }
+}
@@ -744,6 +744,52 @@ class PropertySourcePropertyResolverSpec extends Specification {
         closed.get()
     }
 
+    void "test prefix queries only match the entries under the prefix in the order they were added"() {
+        given:
+        PropertySourcePropertyResolver resolver = new PropertySourcePropertyResolver(
+                PropertySource.of("test", [
+                        'my.property.zeta' : 'z',
+                        'my.property.alpha': 'a',
+                        'my.propertyx.one' : 'x',
+                        'my.propert'       : 'p',
+                        'my.property.mid'  : 'm'
+                ])
+        )
+
+        expect:
+        resolver.getProperties('my.property', StringConvention.RAW).keySet() as List == ['zeta', 'alpha', 'mid']
+        resolver.getPropertyEntries('my.property') == ['zeta', 'alpha', 'mid'] as Set
+        resolver.containsProperties('my.property')
+        !resolver.containsProperties('my.prop')
+        !resolver.containsProperties('other')
+    }
+
+    void "test placeholders of sub maps are resolved once until the properties change"() {
+        given:
+        PropertySourcePropertyResolver resolver = new PropertySourcePropertyResolver(
+                PropertySource.of("test", [
+                        'server.port': '${random.port}',
+                        'server.host': '${host.name}',
+                        'host.name'  : 'one'
+                ])
+        )
+
+        when:
+        Map<String, Object> first = resolver.getProperties('server', StringConvention.RAW)
+        Map<String, Object> second = resolver.getProperties('server', StringConvention.RAW)
+
+        then:
+        first.port == second.port
+        first.host == 'one'
+
+        when:
+        resolver.addPropertySource(PropertySource.of("other", ['host.name': 'two']))
+        resolver.resetCaches()
+
+        then:
+        resolver.getProperties('server', StringConvention.RAW).host == 'two'
+    }
+
     interface PropertyExpressionResolverAutoCloseable extends PropertyExpressionResolver, AutoCloseable {
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.beans;
+
+import io.micronaut.context.BeanCacheStatistics;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.DefaultBeanContext;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to provide the hits, misses and evictions of the caches
+ * the bean context uses to look up beans.</p>
+ *
+ * @since 4.7.0
+ */
+@Endpoint("beancaches")
+public class BeanCachesEndpoint {
+
+    private final BeanContext beanContext;
+
+    /**
+     * @param beanContext The bean context
+     */
+    public BeanCachesEndpoint(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    /**
+     * @return The statistics of each cache by name
+     */
+    @Read
+    public Map<String, Map<String, Object>> getCaches() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        if (beanContext instanceof DefaultBeanContext defaultBeanContext) {
+            for (BeanCacheStatistics statistics : defaultBeanContext.getCacheStatistics()) {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("size", statistics.size());
+                data.put("capacity", statistics.capacity());
+                data.put("hits", statistics.hits());
+                data.put("misses", statistics.misses());
+                data.put("evictions", statistics.evictions());
+                data.put("hitRate", statistics.hitRate());
+                caches.put(statistics.name(), data);
+            }
+        }
+        return caches;
+    }
+}
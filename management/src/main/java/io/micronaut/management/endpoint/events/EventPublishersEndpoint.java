@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.events;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.ApplicationEventPublisherFactory;
+import io.micronaut.context.event.EventPublisherStatistics;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to provide the queue depth and dispatch latency of the events
+ * published asynchronously with batching enabled.</p>
+ *
+ * @since 4.7.0
+ */
+@Endpoint("eventpublishers")
+public class EventPublishersEndpoint {
+
+    private final BeanContext beanContext;
+
+    /**
+     * @param beanContext The bean context
+     */
+    public EventPublishersEndpoint(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    /**
+     * @return The statistics of each event type by name
+     */
+    @Read
+    public Map<String, Map<String, Object>> getEventPublishers() {
+        Map<String, Map<String, Object>> publishers = new LinkedHashMap<>();
+        for (BeanDefinition<?> definition : beanContext.getBeanDefinitions(ApplicationEventPublisher.class)) {
+            if (definition instanceof ApplicationEventPublisherFactory<?> factory) {
+                for (EventPublisherStatistics statistics : factory.getStatistics()) {
+                    Map<String, Object> data = new LinkedHashMap<>();
+                    data.put("queueDepth", statistics.queueDepth());
+                    data.put("capacity", statistics.capacity());
+                    data.put("dispatched", statistics.dispatched());
+                    data.put("dropped", statistics.dropped());
+                    data.put("averageDispatchLatencyNanos", statistics.averageDispatchLatencyNanos());
+                    data.put("maxDispatchLatencyNanos", statistics.maxDispatchLatencyNanos());
+                    publishers.put(statistics.eventType(), data);
+                }
+            }
+        }
+        return publishers;
+    }
+}
@@ -0,0 +1,33 @@
+package io.micronaut.management.endpoint.beans
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+class BeanCachesEndpointSpec extends Specification {
+
+    void "test bean caches endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['endpoints.beancaches.sensitive': false], Environment.TEST)
+        HttpClient rxClient = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+
+        when:
+        HttpResponse<Map> response = rxClient.toBlocking().exchange("/beancaches", Map)
+        Map<String, Map<String, Object>> caches = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        caches.keySet() == ['beanCandidate', 'beanConcreteCandidate', 'beanProxyTarget', 'containsBean'] as Set
+        caches.beanCandidate.misses > 0
+        caches.beanCandidate.capacity >= 30
+        caches.beanCandidate.hitRate >= 0
+
+        cleanup:
+        rxClient.close()
+        embeddedServer.close()
+    }
+}
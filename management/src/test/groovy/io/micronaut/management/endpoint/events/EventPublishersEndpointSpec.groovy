@@ -0,0 +1,40 @@
+package io.micronaut.management.endpoint.events
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.env.Environment
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class EventPublishersEndpointSpec extends Specification {
+
+    void "test event publishers endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'endpoints.eventpublishers.sensitive'         : false,
+                'micronaut.event-publisher.batching.enabled'  : true
+        ], Environment.TEST)
+        HttpClient rxClient = embeddedServer.applicationContext.createBean(HttpClient, embeddedServer.getURL())
+        ApplicationEventPublisher<String> publisher = embeddedServer.applicationContext.getEventPublisher(String)
+        publisher.publishEventAsync("one").get(10, TimeUnit.SECONDS)
+
+        when:
+        HttpResponse<Map> response = rxClient.toBlocking().exchange("/eventpublishers", Map)
+        Map<String, Map<String, Object>> publishers = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        publishers[String.name].dispatched == 1
+        publishers[String.name].dropped == 0
+        publishers[String.name].capacity == 1024
+
+        cleanup:
+        rxClient.close()
+        embeddedServer.close()
+    }
+}
@@ -22,7 +22,9 @@ import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.PrimitiveConversions;
 import io.micronaut.core.convert.exceptions.ConversionErrorException;
+import io.micronaut.core.reflect.ReflectionUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.http.HttpRequest;
@@ -475,7 +477,13 @@ abstract class AbstractRouteMatch<T, R> implements MethodBasedRouteMatch<T, R> {
                 }
             }
             return value;
+        } else if (argumentType.isPrimitive() && ReflectionUtils.getWrapperType(argumentType).isInstance(value)) {
+            return value;
         } else {
+            Object converted = PrimitiveConversions.convert(conversionService, argument, value);
+            if (converted != null) {
+                return converted;
+            }
             ConversionContext conversionContext = ConversionContext.of(argument);
             Optional<?> result = conversionService.convert(value, argumentType, conversionContext);
             return resolveValueOrError(argument, conversionContext, result);
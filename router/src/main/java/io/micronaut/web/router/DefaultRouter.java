@@ -21,6 +21,7 @@ import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.SupplierUtil;
+import io.micronaut.core.util.Toggleable;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
@@ -54,8 +55,9 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
- * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * <p>The default {@link Router} implementation. The URI routes of each HTTP method are indexed by their static
+ * prefix when the router is constructed, so that only the routes whose prefix matches the request path are
+ * evaluated. This implementation does not perform any additional caching of route discovery.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -65,8 +67,9 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
 
     private static final UriRouteInfo<Object, Object>[] EMPTY = new UriRouteInfo[0];
 
-    private final EnumMap<HttpMethod, UriRouteInfo<Object, Object>[]> methodRoutesByMethod;
     private final Map<String, UriRouteInfo<Object, Object>[]> allRoutesByMethod;
+    private final EnumMap<HttpMethod, UriRouteIndex> methodIndexByMethod;
+    private final Map<String, UriRouteIndex> allIndexByMethod;
     private final StatusRouteInfo<Object, Object>[] statusRoutes;
     private final ErrorRouteInfo<Object, Object>[] errorRoutes;
     private final Set<Integer> exposedPorts;
@@ -79,6 +82,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     // ArrayList to avoid interface checkcast
     private final Supplier<ArrayList<GenericHttpFilter>> alwaysMatchesHttpFilters;
     private final Supplier<ArrayList<GenericHttpFilter>> preMatchingAlwaysMatchesHttpFilters;
+    private final Map<RouteInfo<?>, RouteFilters> routeFilters;
 
     /**
      * Construct a new router for the given route builders.
@@ -155,18 +159,25 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         } else {
             this.exposedPorts = Collections.emptySet();
         }
-        EnumMap<HttpMethod, UriRouteInfo<Object, Object>[]> methodMap = new EnumMap<>(HttpMethod.class);
-        Map<String, UriRouteInfo<Object, Object>[]> customMethodMap = CollectionUtils.newHashMap(routesByMethod.size() + customRoutesByMethod.size());
+        int methodCount = routesByMethod.size() + customRoutesByMethod.size();
+        EnumMap<HttpMethod, UriRouteIndex> methodIndexMap = new EnumMap<>(HttpMethod.class);
+        Map<String, UriRouteInfo<Object, Object>[]> customMethodMap = CollectionUtils.newHashMap(methodCount);
+        Map<String, UriRouteIndex> customMethodIndexMap = CollectionUtils.newHashMap(methodCount);
         for (Map.Entry<HttpMethod, List<UriRouteInfo<Object, Object>>> e : routesByMethod.entrySet()) {
             UriRouteInfo<Object, Object>[] values = finalizeRoutes(e.getValue());
-            methodMap.put(e.getKey(), values);
+            UriRouteIndex index = new UriRouteIndex(values);
+            methodIndexMap.put(e.getKey(), index);
             customMethodMap.put(e.getKey().name(), values);
+            customMethodIndexMap.put(e.getKey().name(), index);
         }
         for (Map.Entry<String, List<UriRouteInfo<Object, Object>>> e : customRoutesByMethod.entrySet()) {
-            customMethodMap.put(e.getKey(), finalizeRoutes(e.getValue()));
+            UriRouteInfo<Object, Object>[] values = finalizeRoutes(e.getValue());
+            customMethodMap.put(e.getKey(), values);
+            customMethodIndexMap.put(e.getKey(), new UriRouteIndex(values));
         }
-        this.methodRoutesByMethod = methodMap;
         this.allRoutesByMethod = customMethodMap;
+        this.methodIndexByMethod = methodIndexMap;
+        this.allIndexByMethod = customMethodIndexMap;
         this.statusRoutes = statusRoutes.toArray(StatusRouteInfo[]::new);
         this.errorRoutes = errorRoutes.toArray(ErrorRouteInfo[]::new);
         this.alwaysMatchesHttpFilters = SupplierUtil.memoized(() -> {
@@ -191,6 +202,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             FilterRunner.sort(httpFilters);
             return httpFilters;
         });
+        this.routeFilters = preconditionFilterRoutes.isEmpty() ? Collections.emptyMap() : computeRouteFilters(customMethodMap.values());
     }
 
     private boolean isMatchesAll(FilterRoute filterRoute) {
@@ -223,22 +235,34 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(@NonNull HttpRequest<?> request, @NonNull CharSequence uri) {
-        return this.<T, R>toMatches(uri.toString(), findInternal(request)).stream();
+        String path = uri.toString();
+        return this.<T, R>toMatches(path, findInternal(request, path)).stream();
     }
 
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(@NonNull HttpRequest<?> request) {
-        return this.<T, R>toMatches(request.getPath(), findInternal(request)).stream();
+        String path = request.getPath();
+        return this.<T, R>toMatches(path, findInternal(request, path)).stream();
     }
 
     @NonNull
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri, @Nullable HttpRequest<?> context) {
-        return this.<T, R>toMatches(
-                uri.toString(),
-            allRoutesByMethod.getOrDefault(httpMethod.name(), EMPTY)
-        ).stream();
+        UriRouteIndex index = allIndexByMethod.get(httpMethod.name());
+        if (index == null) {
+            return Stream.empty();
+        }
+        String path = uri.toString();
+        int[] candidates = index.candidates(path);
+        var uriRoutes = new ArrayList<UriRouteMatch<T, R>>(candidates.length);
+        for (int candidate : candidates) {
+            UriRouteMatch match = index.route(candidate).tryMatch(path);
+            if (match != null) {
+                uriRoutes.add(match);
+            }
+        }
+        return uriRoutes.stream();
     }
 
     @NonNull
@@ -252,11 +276,11 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
 
     @Override
     public <T, R> UriRouteMatch<T, R> findClosest(@NonNull HttpRequest<?> request) throws DuplicateRouteException {
-        List<UriRouteInfo<Object, Object>> routes = findInternal(request);
+        String path = request.getPath();
+        List<UriRouteInfo<Object, Object>> routes = findInternal(request, path);
         if (routes.isEmpty()) {
             return null;
         }
-        String path = request.getPath();
         if (routes.size() == 1) {
             Object o = routes.iterator().next();
             // avoid type pollution perf issues
@@ -285,11 +309,12 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> List<UriRouteMatch<T, R>> findAllClosest(@NonNull HttpRequest<?> request) {
-        List<UriRouteInfo<Object, Object>> routes = findInternal(request);
+        String path = request.getPath();
+        List<UriRouteInfo<Object, Object>> routes = findInternal(request, path);
         if (routes.isEmpty()) {
             return Collections.emptyList();
         }
-        List<UriRouteMatch<T, R>> uriRoutes = toMatches(request.getPath(), routes);
+        List<UriRouteMatch<T, R>> uriRoutes = toMatches(path, routes);
         if (routes.size() == 1) {
             return uriRoutes;
         }
@@ -402,10 +427,15 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri) {
-        for (UriRouteInfo<Object, Object> uriRouteInfo : methodRoutesByMethod.getOrDefault(httpMethod, EMPTY)) {
-            Optional<UriRouteMatch<Object, Object>> match = uriRouteInfo.match(uri.toString());
-            if (match.isPresent()) {
-                return (Optional) match;
+        UriRouteIndex index = methodIndexByMethod.get(httpMethod);
+        if (index == null) {
+            return Optional.empty();
+        }
+        String path = uri.toString();
+        for (int candidate : index.candidates(path)) {
+            UriRouteMatch<Object, Object> match = index.route(candidate).tryMatch(path);
+            if (match != null) {
+                return Optional.of((UriRouteMatch<T, R>) (UriRouteMatch) match);
             }
         }
         return Optional.empty();
@@ -591,23 +621,10 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             ArrayList<GenericHttpFilter> always = alwaysMatchesHttpFilters.get();
             return always;
         }
-        var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
-        httpFilters.addAll(alwaysMatchesHttpFilters.get());
         var routeMatch = (RouteMatch) request.getAttribute(HttpAttributes.ROUTE_MATCH)
             .filter(o -> o instanceof RouteMatch)
             .orElse(null);
-        HttpMethod method = request.getMethod();
-        String path = request.getPath();
-        for (FilterRoute filterRoute : preconditionFilterRoutes) {
-            if (routeMatch != null) {
-                if (!matchesFilterMatcher(filterRoute, routeMatch)) {
-                    continue;
-                }
-            }
-            filterRoute.match(method, path).ifPresent(httpFilters::add);
-        }
-        FilterRunner.sort(httpFilters);
-        return Collections.unmodifiableList(httpFilters);
+        return findFilters(request, routeMatch);
     }
 
     @NonNull
@@ -619,12 +636,18 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             ArrayList<GenericHttpFilter> always = alwaysMatchesHttpFilters.get();
             return always;
         }
-        var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
-        httpFilters.addAll(alwaysMatchesHttpFilters.get());
         HttpMethod method = request.getMethod();
         String path = request.getPath();
+        if (routeMatch != null) {
+            RouteFilters filters = routeFilters.get(routeMatch.getRouteInfo());
+            if (filters != null) {
+                return filters.find(method, path);
+            }
+        }
+        var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
+        httpFilters.addAll(alwaysMatchesHttpFilters.get());
         for (FilterRoute filterRoute : preconditionFilterRoutes) {
-            if (routeMatch != null && !matchesFilterMatcher(filterRoute, routeMatch)) {
+            if (routeMatch != null && !matchesFilterMatcher(filterRoute, routeMatch.getRouteInfo())) {
                 continue;
             }
             filterRoute.match(method, path).ifPresent(httpFilters::add);
@@ -633,6 +656,57 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return Collections.unmodifiableList(httpFilters);
     }
 
+    /**
+     * Splits the filter routes that apply to each route into the ones that do not depend on the
+     * request path, which are resolved once, and the ones whose patterns are matched per request.
+     *
+     * @param routes The routes
+     * @return The filters by route
+     */
+    private Map<RouteInfo<?>, RouteFilters> computeRouteFilters(Collection<UriRouteInfo<Object, Object>[]> routes) {
+        Map<RouteInfo<?>, RouteFilters> filtersByRoute = new HashMap<>();
+        for (UriRouteInfo<Object, Object>[] routeInfos : routes) {
+            for (UriRouteInfo<Object, Object> routeInfo : routeInfos) {
+                if (filtersByRoute.containsKey(routeInfo)) {
+                    continue;
+                }
+                HttpMethod method = routeInfo.getHttpMethod();
+                var candidates = new ArrayList<FilterRoute>(preconditionFilterRoutes.size());
+                var fixed = new ArrayList<FilterRoute>();
+                var pathDependent = new ArrayList<FilterRoute>();
+                for (FilterRoute filterRoute : preconditionFilterRoutes) {
+                    if (!matchesFilterMatcher(filterRoute, routeInfo)) {
+                        continue;
+                    }
+                    candidates.add(filterRoute);
+                    if (!(filterRoute instanceof DefaultFilterRoute)) {
+                        // custom filter routes may match in any way
+                        pathDependent.add(filterRoute);
+                    } else if (filterRoute.hasMethods() && !filterRoute.getFilterMethods().contains(method)) {
+                        continue;
+                    } else if (matchesAllPaths(filterRoute)) {
+                        fixed.add(filterRoute);
+                    } else {
+                        pathDependent.add(filterRoute);
+                    }
+                }
+                filtersByRoute.put(routeInfo, new RouteFilters(method, candidates, fixed, pathDependent));
+            }
+        }
+        return filtersByRoute;
+    }
+
+    private static boolean matchesAllPaths(FilterRoute filterRoute) {
+        if (filterRoute.hasPatterns()) {
+            for (String pattern : filterRoute.getPatterns()) {
+                if (!Filter.MATCH_ALL_PATTERN.equals(pattern)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     @NonNull
     @Override
     public List<GenericHttpFilter> findPreMatchingFilters(@NonNull HttpRequest<?> request) {
@@ -700,18 +774,24 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return matchedRoutes;
     }
 
-    private List<UriRouteInfo<Object, Object>> findInternal(HttpRequest<?> request) {
+    private List<UriRouteInfo<Object, Object>> findInternal(HttpRequest<?> request, String path) {
         HttpMethod httpMethod = request.getMethod();
         boolean permitsBody = httpMethod.permitsRequestBody();
         Collection<MediaType> acceptedProducedTypes = null;
         MediaType contentType = null;
-        UriRouteInfo<Object, Object>[] routes = httpMethod == HttpMethod.CUSTOM ?
-            allRoutesByMethod.getOrDefault(request.getMethodName(), EMPTY) : methodRoutesByMethod.getOrDefault(httpMethod, EMPTY);
-        if (routes.length == 0) {
+        UriRouteIndex index = httpMethod == HttpMethod.CUSTOM ?
+            allIndexByMethod.get(request.getMethodName()) : methodIndexByMethod.get(httpMethod);
+        if (index == null) {
             return Collections.emptyList();
         }
-        var result = new ArrayList<UriRouteInfo<Object, Object>>(routes.length);
-        for (UriRouteInfo<Object, Object> route : routes) {
+        // only the routes whose static prefix matches the path are checked
+        int[] candidates = index.candidates(path);
+        if (candidates.length == 0) {
+            return Collections.emptyList();
+        }
+        var result = new ArrayList<UriRouteInfo<Object, Object>>(candidates.length);
+        for (int candidate : candidates) {
+            UriRouteInfo<Object, Object> route = index.route(candidate);
             if (shouldSkipForPort(request, route)) {
                 continue;
             }
@@ -797,7 +877,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         List<FilterEntry> filterEntries = new ArrayList<>(alwaysMatchesFilterRoutes.size() + preconditionFilterRoutes.size());
         filterEntries.addAll(alwaysMatchesFilterRoutes);
         for (FilterRoute filterRoute : preconditionFilterRoutes) {
-            if (!matchesFilterMatcher(filterRoute, routeMatch)) {
+            if (!matchesFilterMatcher(filterRoute, routeMatch.getRouteInfo())) {
                 filterEntries.add(filterRoute);
             }
         }
@@ -835,11 +915,88 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         return Collections.unmodifiableList(httpFilters);
     }
 
-    private boolean matchesFilterMatcher(FilterRoute filterRoute, RouteMatch<?> context) {
+    private static boolean matchesFilterMatcher(FilterRoute filterRoute, RouteInfo<?> routeInfo) {
         String matchingAnnotation = filterRoute.findMatchingAnnotation();
         if (matchingAnnotation == null) {
             return true;
         }
-        return context.getRouteInfo().getAnnotationMetadata().hasStereotype(matchingAnnotation);
+        return routeInfo.getAnnotationMetadata().hasStereotype(matchingAnnotation);
+    }
+
+    /**
+     * The filters of a route, computed when the router is built. The filters that do not depend
+     * on the request path are resolved on the first request, because resolving a filter
+     * instantiates its bean.
+     */
+    private final class RouteFilters {
+        private final HttpMethod method;
+        private final List<FilterRoute> candidates;
+        private final List<FilterRoute> pathDependent;
+        private final Supplier<ResolvedFilters> fixed;
+
+        /**
+         * @param method        The HTTP method of the route
+         * @param candidates    The filter routes accepted by the {@link FilterMatcher} of the route
+         * @param fixed         The candidates that match the method of the route and any path
+         * @param pathDependent The candidates that match the method of the route and whose patterns are matched per request
+         */
+        RouteFilters(HttpMethod method, List<FilterRoute> candidates, List<FilterRoute> fixed, List<FilterRoute> pathDependent) {
+            this.method = method;
+            this.candidates = candidates;
+            this.pathDependent = pathDependent;
+            this.fixed = SupplierUtil.memoized(() -> resolve(fixed));
+        }
+
+        private ResolvedFilters resolve(List<FilterRoute> fixedRoutes) {
+            var filters = new ArrayList<GenericHttpFilter>(fixedRoutes.size());
+            boolean toggleable = false;
+            for (FilterRoute filterRoute : fixedRoutes) {
+                GenericHttpFilter filter = filterRoute.getFilter();
+                toggleable |= filter instanceof Toggleable;
+                filters.add(filter);
+            }
+            var all = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + filters.size());
+            all.addAll(alwaysMatchesHttpFilters.get());
+            all.addAll(filters);
+            FilterRunner.sort(all);
+            return new ResolvedFilters(filters, Collections.unmodifiableList(all), toggleable);
+        }
+
+        List<GenericHttpFilter> find(HttpMethod method, String path) {
+            if (method != this.method) {
+                // e.g. a HEAD request routed to a GET route
+                var httpFilters = new ArrayList<GenericHttpFilter>(alwaysMatchesFilterRoutes.size() + candidates.size());
+                httpFilters.addAll(alwaysMatchesHttpFilters.get());
+                for (FilterRoute filterRoute : candidates) {
+                    filterRoute.match(method, path).ifPresent(httpFilters::add);
+                }
+                FilterRunner.sort(httpFilters);
+                return Collections.unmodifiableList(httpFilters);
+            }
+            ResolvedFilters resolved = fixed.get();
+            if (pathDependent.isEmpty() && !resolved.toggleable()) {
+                return resolved.all();
+            }
+            var httpFilters = new ArrayList<GenericHttpFilter>(resolved.all().size() + pathDependent.size());
+            httpFilters.addAll(alwaysMatchesHttpFilters.get());
+            for (GenericHttpFilter filter : resolved.filters()) {
+                if (GenericHttpFilter.isEnabled(filter)) {
+                    httpFilters.add(filter);
+                }
+            }
+            for (FilterRoute filterRoute : pathDependent) {
+                filterRoute.match(method, path).ifPresent(httpFilters::add);
+            }
+            FilterRunner.sort(httpFilters);
+            return Collections.unmodifiableList(httpFilters);
+        }
+    }
+
+    /**
+     * @param filters    The resolved path independent filters of a route
+     * @param all        The path independent filters and the filters that always match, sorted
+     * @param toggleable Whether any of the filters can be disabled at runtime
+     */
+    private record ResolvedFilters(List<GenericHttpFilter> filters, List<GenericHttpFilter> all, boolean toggleable) {
     }
 }
@@ -24,6 +24,7 @@ import io.micronaut.http.uri.UriMatchVariable;
 
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,7 @@ public final class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> i
     private final UriMatchInfo matchInfo;
     private final UriRouteInfo<T, R> uriRouteInfo;
     private final Charset defaultCharset;
+    private Map<String, Object> decodedVariableValues;
 
     /**
      * @param matchInfo The URI match info
@@ -65,18 +67,38 @@ public final class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> i
 
     @Override
     public Map<String, Object> getVariableValues() {
+        Map<String, Object> decoded = decodedVariableValues;
+        if (decoded != null) {
+            return decoded;
+        }
+        // the values are decoded on the first access only, they are queried once per bound argument
         Map<String, Object> variables = matchInfo.getVariableValues();
         if (CollectionUtils.isNotEmpty(variables)) {
-            Map<String, Object> decoded = CollectionUtils.newLinkedHashMap(variables.size());
-            variables.forEach((k, v) -> {
-                if (v instanceof CharSequence) {
-                    v = URLDecoder.decode(v.toString(), defaultCharset);
+            decoded = CollectionUtils.newLinkedHashMap(variables.size());
+            for (Map.Entry<String, Object> entry : variables.entrySet()) {
+                Object v = entry.getValue();
+                if (v instanceof CharSequence cs && requiresDecoding(cs)) {
+                    v = URLDecoder.decode(cs.toString(), defaultCharset);
                 }
-                decoded.put(k, v);
-            });
-            return decoded;
+                decoded.put(entry.getKey(), v);
+            }
+            // the map is shared by all callers
+            decoded = Collections.unmodifiableMap(decoded);
+        } else {
+            decoded = variables;
+        }
+        decodedVariableValues = decoded;
+        return decoded;
+    }
+
+    private static boolean requiresDecoding(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
         }
-        return variables;
+        return false;
     }
 
     @Override
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A radix tree over the static (literal) prefix of the route templates of a single HTTP method.
+ *
+ * <p>Every route is stored at the node that represents the literal text preceding its first
+ * template expression. Looking up a path walks the tree once, collecting the routes of every node
+ * that is a prefix of the path, so that only those candidates need to be checked further.
+ * Candidates are returned in the original (sorted) route order.</p>
+ *
+ * @since 4.7.0
+ */
+final class UriRouteIndex {
+
+    private static final int[] EMPTY_INDEXES = new int[0];
+    private static final Node[] EMPTY_NODES = new Node[0];
+
+    private final UriRouteInfo<Object, Object>[] routes;
+    private final Node root = new Node("");
+    private final int[] all;
+
+    /**
+     * @param routes The sorted routes
+     */
+    UriRouteIndex(UriRouteInfo<Object, Object>[] routes) {
+        this.routes = routes;
+        this.all = new int[routes.length];
+        for (int i = 0; i < routes.length; i++) {
+            all[i] = i;
+            insert(staticPrefix(routes[i]), i);
+        }
+    }
+
+    /**
+     * @param index The route index
+     * @return The route
+     */
+    @NonNull
+    UriRouteInfo<Object, Object> route(int index) {
+        return routes[index];
+    }
+
+    /**
+     * Finds the indexes of the routes that can possibly match the given path.
+     *
+     * @param path The path
+     * @return The indexes of the candidate routes, in ascending order
+     */
+    @NonNull
+    int[] candidates(@NonNull String path) {
+        if (routes.length <= 1) {
+            return all;
+        }
+        Node node = root;
+        int[] result = node.routes;
+        boolean merged = false;
+        int size = result.length;
+        int position = 0;
+        int length = path.length();
+        while (position < length) {
+            Node child = node.child(path.charAt(position));
+            if (child == null || !path.startsWith(child.label, position)) {
+                break;
+            }
+            position += child.label.length();
+            node = child;
+            int[] nodeRoutes = node.routes;
+            if (nodeRoutes.length > 0) {
+                if (size == 0) {
+                    result = nodeRoutes;
+                    size = nodeRoutes.length;
+                } else {
+                    if (!merged) {
+                        result = Arrays.copyOf(result, Math.max(size + nodeRoutes.length, 8));
+                        merged = true;
+                    } else if (result.length < size + nodeRoutes.length) {
+                        result = Arrays.copyOf(result, Math.max(size + nodeRoutes.length, result.length * 2));
+                    }
+                    System.arraycopy(nodeRoutes, 0, result, size, nodeRoutes.length);
+                    size += nodeRoutes.length;
+                }
+            }
+        }
+        if (merged) {
+            result = Arrays.copyOf(result, size);
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    private void insert(String key, int routeIndex) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            char c = key.charAt(position);
+            Node child = node.child(c);
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            String label = child.label;
+            int common = commonPrefixLength(label, key, position);
+            if (common < label.length()) {
+                // split the edge
+                Node intermediate = new Node(label.substring(0, common));
+                child.label = label.substring(common);
+                intermediate.addChild(child);
+                node.replaceChild(c, intermediate);
+                child = intermediate;
+            }
+            position += common;
+            node = child;
+        }
+        node.routes = Arrays.copyOf(node.routes, node.routes.length + 1);
+        node.routes[node.routes.length - 1] = routeIndex;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Computes the literal text every path matched by the given route must start with.
+     * The text is cut before the first expression, query or fragment and never ends with a slash
+     * because trailing slashes are ignored during matching.
+     *
+     * @param route The route
+     * @return The static prefix
+     */
+    static String staticPrefix(UriRouteInfo<Object, Object> route) {
+        if (!(route instanceof DefaultUrlRouteInfo)) {
+            // unknown matching semantics, always consider it
+            return "";
+        }
+        String template = route.getUriMatchTemplate().getTemplateString();
+        int end = template.length();
+        for (int i = 0; i < end; i++) {
+            char c = template.charAt(i);
+            if (c == '{' || c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        if (end > 0 && template.charAt(end - 1) == '/') {
+            end--;
+        }
+        return template.substring(0, end);
+    }
+
+    /**
+     * A node of the radix tree.
+     */
+    private static final class Node {
+        private String label;
+        private Node[] children = EMPTY_NODES;
+        private int[] routes = EMPTY_INDEXES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+        }
+
+        void replaceChild(char c, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i].label.charAt(0) == c) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Executable
+import io.micronaut.core.util.Toggleable
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.filter.FilterChain
+import io.micronaut.http.filter.FilterOrder
+import io.micronaut.http.filter.GenericHttpFilter
+import io.micronaut.http.filter.HttpFilter
+import jakarta.inject.Singleton
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class DefaultRouterFiltersSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run()
+
+    void "test the path independent filters of a route are resolved once"() {
+        given:
+        def builder = new DefaultRouteBuilder(context) {}
+        builder.GET("/books/list", FiltersController, "index")
+        builder.GET("/books/{id}", FiltersController, "show", String)
+        builder.GET("/authors", FiltersController, "index")
+        builder.HEAD("/authors", FiltersController, "index")
+        def booksFilter = filter(0)
+        def getFilter = filter(1)
+        builder.filterRoutes.add(new DefaultFilterRoute("/books/**", { booksFilter }))
+        builder.filterRoutes.add(new DefaultFilterRoute("/**", { getFilter }).methods(HttpMethod.GET))
+        def router = new DefaultRouter(builder)
+
+        when:
+        def request = HttpRequest.GET("/books/list")
+
+        then:
+        router.findFilters(request, router.findClosest(request)) == [booksFilter, getFilter]
+
+        when:
+        def bookRequest = HttpRequest.GET("/books/1")
+        def bookRequest2 = HttpRequest.GET("/books/2")
+
+        then:
+        router.findFilters(bookRequest, router.findClosest(bookRequest)) == [booksFilter, getFilter]
+        router.findFilters(bookRequest2, router.findClosest(bookRequest2)) == [booksFilter, getFilter]
+
+        when:
+        def authorsRequest = HttpRequest.GET("/authors")
+        def first = router.findFilters(authorsRequest, router.findClosest(authorsRequest))
+        def second = router.findFilters(authorsRequest, router.findClosest(authorsRequest))
+
+        then:
+        first == [getFilter]
+        first.is(second)
+
+        when:
+        def headRequest = HttpRequest.HEAD("/authors")
+
+        then:
+        router.findFilters(headRequest, router.findClosest(headRequest)).isEmpty()
+    }
+
+    void "test toggled filters are re-evaluated"() {
+        given:
+        def builder = new DefaultRouteBuilder(context) {}
+        builder.GET("/books/list", FiltersController, "index")
+        def toggleable = new ToggleableFilter()
+        def toggleableFilter = GenericHttpFilter.createLegacyFilter(toggleable, new FilterOrder.Fixed(0))
+        builder.filterRoutes.add(new DefaultFilterRoute("/books/**", { toggleableFilter }))
+        def router = new DefaultRouter(builder)
+        def request = HttpRequest.GET("/books/list")
+        def routeMatch = router.findClosest(request)
+
+        expect:
+        router.findFilters(request, routeMatch) == [toggleableFilter]
+
+        when:
+        toggleable.enabled = false
+
+        then:
+        router.findFilters(request, routeMatch).isEmpty()
+
+        when:
+        toggleable.enabled = true
+
+        then:
+        router.findFilters(request, routeMatch) == [toggleableFilter]
+    }
+
+    private static GenericHttpFilter filter(int order) {
+        return GenericHttpFilter.createLegacyFilter(new HttpFilter() {
+            @Override
+            Publisher<? extends HttpResponse<?>> doFilter(HttpRequest<?> request, FilterChain chain) {
+                return null
+            }
+        }, new FilterOrder.Fixed(order))
+    }
+
+    static class ToggleableFilter implements HttpFilter, Toggleable {
+        boolean enabled = true
+
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(HttpRequest<?> request, FilterChain chain) {
+            return null
+        }
+
+        @Override
+        boolean isEnabled() {
+            return enabled
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class FiltersController {
+        String index() {
+            return "index"
+        }
+
+        String show(String id) {
+            return id
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Executable
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import jakarta.inject.Singleton
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class UriRouteIndexSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run()
+
+    @Shared
+    List<UriRoute> uriRoutes
+
+    def setupSpec() {
+        def builder = new DefaultRouteBuilder(context) {}
+        def controller = IndexController
+        builder.GET("/", controller, "index")
+        builder.GET("/books", controller, "index")
+        builder.GET("/books/", controller, "index")
+        builder.GET("/books/{id}", controller, "show", String)
+        builder.GET("/books{/id}/authors", controller, "show", String)
+        builder.GET("/books/stats", controller, "index")
+        builder.GET("/bookshelves/{id}", controller, "show", String)
+        builder.GET("/authors/{id}", controller, "show", String)
+        builder.GET("/authors/{id:[0-9]+}/books", controller, "show", String)
+        builder.GET("/search{?q}", controller, "show", String)
+        builder.GET("/{id}", controller, "show", String)
+        uriRoutes = builder.uriRoutes
+    }
+
+    void "test the index returns the same matches as a linear scan for #uri"() {
+        given:
+        def routes = uriRoutes*.toRouteInfo()
+        def sorted = routes.toSorted().toArray(new UriRouteInfo[0])
+        def index = new UriRouteIndex(sorted)
+
+        when:
+        def expected = sorted.findAll { it.tryMatch(uri) != null }
+        def candidates = index.candidates(uri).collect { index.route(it) }
+
+        then:
+        candidates.containsAll(expected)
+        index.candidates(uri) as List == (index.candidates(uri) as List).toSorted()
+
+        where:
+        uri << [
+                "",
+                "/",
+                "/books",
+                "/books/",
+                "/books/1",
+                "/books/stats",
+                "/books/1/authors",
+                "/books/authors",
+                "/bookshelves/1",
+                "/boo",
+                "/authors/1",
+                "/authors/1/books",
+                "/search",
+                "/search?q=foo",
+                "/other",
+                "/other/nested"
+        ]
+    }
+
+    void "test the index narrows the candidates to the routes sharing the static prefix"() {
+        given:
+        def sorted = uriRoutes*.toRouteInfo().toSorted().toArray(new UriRouteInfo[0])
+        def index = new UriRouteIndex(sorted)
+
+        when:
+        def templates = index.candidates("/authors/1").collect { index.route(it).uriMatchTemplate.templateString }
+
+        then:
+        templates.containsAll(["/authors/{id}", "/authors/{id:[0-9]+}/books", "/{id}"])
+        templates.every { !it.startsWith("/book") && !it.startsWith("/search") }
+    }
+
+    void "test the router resolves routes through the index"() {
+        given:
+        def builder = new DefaultRouteBuilder(context) {}
+        builder.GET("/books/{id}", IndexController, "show", String)
+        builder.GET("/books/stats", IndexController, "index")
+        builder.GET("/authors/{id}", IndexController, "show", String)
+        def router = new DefaultRouter(builder)
+
+        expect:
+        router.route(HttpMethod.GET, "/books/stats").get().routeInfo.uriMatchTemplate.templateString == "/books/stats"
+        router.route(HttpMethod.GET, "/books/1").get().variableValues.id == "1"
+        router.findClosest(HttpRequest.GET("/authors/2")).variableValues.id == "2"
+        !router.route(HttpMethod.GET, "/publishers/1").isPresent()
+        !router.route(HttpMethod.POST, "/books/1").isPresent()
+    }
+
+    @Singleton
+    @Executable
+    static class IndexController {
+        String index() {
+            return "index"
+        }
+
+        String show(String id) {
+            return id
+        }
+    }
+}
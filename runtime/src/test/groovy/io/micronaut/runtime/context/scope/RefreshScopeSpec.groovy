@@ -97,7 +97,7 @@ class RefreshScopeSpec extends Specification {
         bean.testValue() == 'test'
         bean.testConfigProps() == 'test'
         refreshScope.refreshableBeans.size() == 1
-        refreshScope.locks.size() == 1
+        refreshScope.targets.size() == 1
 
         when:
         System.setProperty("foo.bar", "bar")
@@ -109,7 +109,7 @@ class RefreshScopeSpec extends Specification {
         bean.testValue() == 'bar'
         bean.testConfigProps() == 'bar'
         refreshScope.refreshableBeans.size() == 1
-        refreshScope.locks.size() == 1
+        refreshScope.targets.size() == 1
 
         cleanup:
         beanContext?.stop()
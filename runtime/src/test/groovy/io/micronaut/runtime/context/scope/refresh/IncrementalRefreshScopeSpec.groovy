@@ -0,0 +1,132 @@
+package io.micronaut.runtime.context.scope.refresh
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.ConfigurationProperties
+import io.micronaut.context.annotation.Value
+import io.micronaut.context.env.Environment
+import io.micronaut.runtime.context.scope.Refreshable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class IncrementalRefreshScopeSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run([
+            (RefreshScope.INCREMENTAL_PROPERTY): true,
+            'value.name'                       : 'test',
+            'incremental.timeout'              : 10,
+            'other.key'                        : 'x'
+    ])
+
+    void "only the beans that depend on the changed keys are refreshed"() {
+        given:
+        RefreshScope refreshScope = context.getBean(RefreshScope)
+        ValueBean valueBean = context.getBean(ValueBean)
+        ConfigBean configBean = context.getBean(ConfigBean)
+        EnvironmentBean environmentBean = context.getBean(EnvironmentBean)
+        valueBean.name
+        configBean.timeout
+        environmentBean.name
+
+        when:
+        Map<Class, Object> targets = targets(refreshScope)
+        refreshScope.onRefreshEvent(new RefreshEvent(['other.key': 'y']))
+
+        then: 'the environment can be read in any way so that bean is always refreshed'
+        targets(refreshScope)[ValueBean].is(targets[ValueBean])
+        targets(refreshScope)[ConfigBean].is(targets[ConfigBean])
+        !targets(refreshScope).containsKey(EnvironmentBean)
+
+        when:
+        environmentBean.name
+        targets = targets(refreshScope)
+        refreshScope.onRefreshEvent(new RefreshEvent(['value.name': 'old']))
+
+        then:
+        !targets(refreshScope).containsKey(ValueBean)
+        targets(refreshScope)[ConfigBean].is(targets[ConfigBean])
+
+        when:
+        valueBean.name
+        environmentBean.name
+        targets = targets(refreshScope)
+        refreshScope.onRefreshEvent(new RefreshEvent(['incremental.timeout': 5]))
+
+        then: 'a key below the prefix of an injected configuration refreshes the bean'
+        targets(refreshScope)[ValueBean].is(targets[ValueBean])
+        !targets(refreshScope).containsKey(ConfigBean)
+
+        when: 'a key that only shares the start of the name'
+        configBean.timeout
+        environmentBean.name
+        targets = targets(refreshScope)
+        refreshScope.onRefreshEvent(new RefreshEvent(['value.names': 'x']))
+
+        then:
+        targets(refreshScope)[ValueBean].is(targets[ValueBean])
+        targets(refreshScope)[ConfigBean].is(targets[ConfigBean])
+    }
+
+    void "the path matching respects segments"() {
+        expect:
+        RefreshDependencies.matches(key, path) == result
+
+        where:
+        key                                | path                           | result
+        'foo.bar'                          | 'foo.bar'                      | true
+        'foo.bar.baz'                      | 'foo.bar'                      | true
+        'foo.bar[0]'                       | 'foo.bar'                      | true
+        'foo.barbaz'                       | 'foo.bar'                      | false
+        'foo'                              | 'foo.bar'                      | false
+        'datasources.one.url'              | 'datasources.*'                | true
+        'datasources.one.url'              | 'datasources.*.url'            | true
+        'datasources.one.pool'             | 'datasources.*.url'            | false
+        'datasources'                      | 'datasources.*'                | false
+    }
+
+    private static Map<Class, Object> targets(RefreshScope refreshScope) {
+        refreshScope.refreshableBeans.values().collectEntries { [(it.definition().beanType): it.bean()] }
+    }
+
+    @Refreshable
+    static class ValueBean {
+
+        @Value('${value.name}')
+        String name
+    }
+
+    @Refreshable
+    static class ConfigBean {
+
+        final IncrementalConfig config
+
+        ConfigBean(IncrementalConfig config) {
+            this.config = config
+        }
+
+        int getTimeout() {
+            config.timeout
+        }
+    }
+
+    @Refreshable
+    static class EnvironmentBean {
+
+        final Environment environment
+
+        EnvironmentBean(Environment environment) {
+            this.environment = environment
+        }
+
+        String getName() {
+            environment.getProperty('value.name', String).orElse(null)
+        }
+    }
+
+    @ConfigurationProperties('incremental')
+    static class IncrementalConfig {
+        int timeout
+    }
+}
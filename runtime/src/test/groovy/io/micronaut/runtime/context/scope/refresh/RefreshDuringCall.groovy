@@ -0,0 +1,23 @@
+package io.micronaut.runtime.context.scope.refresh
+
+import io.micronaut.aop.Around
+import io.micronaut.context.annotation.Type
+
+import java.lang.annotation.Documented
+import java.lang.annotation.ElementType
+import java.lang.annotation.Retention
+import java.lang.annotation.Target
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME
+
+/**
+ * Refreshes all refreshable beans after the scoped proxy resolved the target, before the
+ * {@link RefreshInterceptor} runs.
+ */
+@Around
+@Type(RefreshDuringCallInterceptor.class)
+@Documented
+@Retention(RUNTIME)
+@Target([ElementType.METHOD])
+@interface RefreshDuringCall {
+}
@@ -0,0 +1,29 @@
+package io.micronaut.runtime.context.scope.refresh
+
+import io.micronaut.aop.MethodInterceptor
+import io.micronaut.aop.MethodInvocationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.order.Ordered
+import jakarta.inject.Singleton
+
+@Singleton
+@Requires(property = 'spec.name', value = 'RefreshInterceptorSpec')
+class RefreshDuringCallInterceptor implements MethodInterceptor<Object, Object>, Ordered {
+
+    private final RefreshScope refreshScope
+
+    RefreshDuringCallInterceptor(RefreshScope refreshScope) {
+        this.refreshScope = refreshScope
+    }
+
+    @Override
+    int getOrder() {
+        return HIGHEST_PRECEDENCE
+    }
+
+    @Override
+    Object intercept(MethodInvocationContext<Object, Object> context) {
+        refreshScope.onRefreshEvent(new RefreshEvent())
+        return context.proceed()
+    }
+}
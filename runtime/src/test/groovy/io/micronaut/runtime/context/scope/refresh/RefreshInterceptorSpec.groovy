@@ -1,9 +1,17 @@
 package io.micronaut.runtime.context.scope.refresh
 
 import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
 import io.micronaut.context.env.Environment
+import io.micronaut.context.scope.CreatedBean
+import io.micronaut.runtime.context.scope.Refreshable
+import jakarta.annotation.PreDestroy
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
 class RefreshInterceptorSpec extends Specification {
 
     void "RefreshInterceptor bean is not loaded for function environment"() {
@@ -38,4 +46,163 @@ class RefreshInterceptorSpec extends Specification {
         cleanup:
         ctx.close()
     }
+
+    void "calls in flight during a refresh complete before the bean is destroyed"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(['spec.name': 'RefreshInterceptorSpec'])
+        RefreshScope refreshScope = ctx.getBean(RefreshScope)
+        BlockingBean bean = ctx.getBean(BlockingBean)
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+
+        when:
+        CompletableFuture<Integer> call = CompletableFuture.supplyAsync { bean.await(started, release) }
+        started.await(10, TimeUnit.SECONDS)
+        int generation = BlockingBean.created
+        refreshScope.onRefreshEvent(new RefreshEvent())
+
+        then: 'the old instance is still alive'
+        BlockingBean.destroyed == 0
+
+        when: 'a new call is made'
+        bean.generation()
+
+        then: 'it goes to a new instance'
+        BlockingBean.created == generation + 1
+
+        when:
+        release.countDown()
+
+        then: 'the call completes on the old instance, which is then destroyed'
+        call.get(10, TimeUnit.SECONDS) == generation
+        BlockingBean.destroyed == 1
+
+        cleanup:
+        release.countDown()
+        ctx.close()
+    }
+
+    void "a call that resolved the bean before a refresh completes on it"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(['spec.name': 'RefreshInterceptorSpec'])
+        BlockingBean bean = ctx.getBean(BlockingBean)
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+
+        when: 'the bean is refreshed after the proxy resolved it, while another call keeps it alive'
+        CompletableFuture<Integer> call = CompletableFuture.supplyAsync { bean.await(started, release) }
+        started.await(10, TimeUnit.SECONDS)
+        int generation = BlockingBean.created
+        int destroyed = BlockingBean.destroyed
+        int late = bean.refreshDuringCall()
+
+        then: 'the call runs on the retired instance, through the whole interceptor chain'
+        late == generation
+        BlockingBean.refreshedCalls == 1
+        BlockingBean.destroyed == destroyed
+
+        when:
+        release.countDown()
+
+        then:
+        call.get(10, TimeUnit.SECONDS) == generation
+        BlockingBean.destroyed == destroyed + 1
+
+        cleanup:
+        release.countDown()
+        BlockingBean.refreshedCalls = 0
+        ctx.close()
+    }
+
+    void "a call that resolved the bean before it was destroyed fails"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(['spec.name': 'RefreshInterceptorSpec'])
+        BlockingBean bean = ctx.getBean(BlockingBean)
+        int generation = bean.generation()
+
+        when: 'the bean is refreshed and destroyed after the proxy resolved it'
+        bean.refreshDuringCall()
+
+        then: 'the call does not run on the destroyed instance'
+        def e = thrown(IllegalStateException)
+        e.message.contains('destroyed by a refresh')
+        BlockingBean.refreshedCalls == 0
+
+        and: 'the next call goes to a new instance'
+        bean.generation() == generation + 1
+
+        cleanup:
+        BlockingBean.refreshedCalls = 0
+        ctx.close()
+    }
+
+    void "a call entering a retired bean backs off once it is destroyed"() {
+        given:
+        CreatedBean createdBean = Mock()
+        List<RefreshTarget> destroyed = []
+        RefreshTarget target = new RefreshTarget(createdBean, { destroyed << it })
+
+        when:
+        boolean entered = target.enter()
+        target.retire()
+
+        then:
+        entered
+        0 * createdBean.close()
+        destroyed.empty
+
+        when: 'a call resolved the bean before the refresh'
+        boolean late = target.enter()
+
+        then: 'it still runs on the retired bean'
+        late
+        0 * createdBean.close()
+
+        when:
+        target.exit()
+        target.exit()
+
+        then:
+        1 * createdBean.close()
+        destroyed == [target]
+
+        when: 'a call enters the destroyed bean'
+        boolean afterDestroy = target.enter()
+
+        then: 'it does not proceed'
+        !afterDestroy
+        0 * createdBean.close()
+    }
+
+    @Refreshable
+    @Requires(property = 'spec.name', value = 'RefreshInterceptorSpec')
+    static class BlockingBean {
+
+        static volatile int created
+        static volatile int destroyed
+        static volatile int refreshedCalls
+
+        final int generation = ++created
+
+        int generation() {
+            generation
+        }
+
+        @RefreshDuringCall
+        int refreshDuringCall() {
+            refreshedCalls++
+            generation
+        }
+
+        int await(CountDownLatch started, CountDownLatch release) {
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            generation
+        }
+
+        @PreDestroy
+        void destroy() {
+            destroyed++
+        }
+    }
 }